@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.aviator;
+
+
+import com.googlecode.aviator.AviatorEvaluator;
+import com.googlecode.aviator.AviatorEvaluatorInstance;
+import com.googlecode.aviator.Expression;
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.model.rule.Condition;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.aviator
+ * @ClassName AviatorExpressions.java
+ * @Description 类 AviatorExpressions 的实现描述：Aviator 表达式工厂 - 将规则定义中的字符串表达式转换为 Condition / Action
+ * <ul>
+ *     <li><b>一次编译：</b>表达式在构建 Condition / Action 时编译，结果由实例直接持有；
+ *     编译结果按（表达式文本，规则版本）缓存在有界 LRU 中，规则热更新时未变化的表达式不再重复编译。</li>
+ *     <li><b>零复制绑定：</b>求值时变量经 Map 视图直接读取 {@link Context}，不把上下文复制为新的 Map。</li>
+ *     <li><b>故障语义：</b>编译失败抛出 {@link ConfigurationFault}；求值失败或条件结果非布尔值抛出 {@link LogicFault}，
+ *     原始异常保留为 cause。</li>
+ * </ul>
+ * <p>条件以 {@code aviator[版本]:表达式} 命名，相同版本下文本相同的表达式被引擎视为同一谓词，可跨规则共享求值结果。</p>
+ * <p>动作支持赋值形式 {@code target = expression}：右侧求值结果写入 target；其他形式求值后丢弃结果，适用于有副作用的自定义函数。</p>
+ * @Date 2026年10月16日 18:26
+ * @Version 1.0.0
+ */
+public final class AviatorExpressions {
+
+    /**
+     * 默认缓存容量
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    /**
+     * 未声明版本的规则使用的版本键
+     */
+    private static final String UNVERSIONED = "";
+
+    private static final Pattern ASSIGNMENT = Pattern.compile("^\\s*([A-Za-z_$][\\w$.]*)\\s*=(?!=)(.+)$", Pattern.DOTALL);
+
+    private final AviatorEvaluatorInstance evaluator;
+
+    private final ExpressionCache cache;
+
+    /**
+     * 以独立的 Aviator 实例与默认缓存容量创建工厂
+     */
+    public AviatorExpressions() {
+        this(AviatorEvaluator.newInstance(), DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * 创建工厂
+     *
+     * @param evaluator 宿主配置好的 Aviator 实例（自定义函数、选项等），不应为null
+     * @param cacheSize 编译缓存容量，必须为正数
+     */
+    public AviatorExpressions(AviatorEvaluatorInstance evaluator, int cacheSize) {
+        if (evaluator == null || cacheSize <= 0) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Aviator expressions require an evaluator and a positive cache size",
+                    Map.of("cacheSize", cacheSize, "evaluatorPresent", evaluator != null)
+            );
+        }
+        this.evaluator = evaluator;
+        this.cache = new ExpressionCache(cacheSize);
+    }
+
+    /**
+     * 创建表达式条件（未声明版本）
+     *
+     * @param expression 布尔表达式
+     * @return 具名条件
+     */
+    public Condition condition(String expression) {
+        return condition(expression, UNVERSIONED);
+    }
+
+    /**
+     * 创建表达式条件
+     *
+     * @param expression 布尔表达式，如 {@code amount > 1000 && channel == 'web'}
+     * @param version    规则版本，可为null
+     * @return 具名条件
+     * @throws ConfigurationFault 如果表达式为空或无法编译
+     */
+    public Condition condition(String expression, String version) {
+        String ruleVersion = version == null ? UNVERSIONED : version;
+        Expression compiled = compile(expression, ruleVersion);
+        return Condition.named("aviator[" + ruleVersion + "]:" + expression,
+                ctx -> test(compiled, expression, ctx.context()));
+    }
+
+    /**
+     * 创建表达式动作（未声明版本）
+     *
+     * @param expression 赋值或普通表达式
+     * @return 动作
+     */
+    public Action action(String expression) {
+        return action(expression, UNVERSIONED);
+    }
+
+    /**
+     * 创建表达式动作
+     *
+     * @param expression 赋值形式 {@code target = expression}，或仅为副作用求值的普通表达式
+     * @param version    规则版本，可为null
+     * @return 动作
+     * @throws ConfigurationFault 如果表达式为空或无法编译
+     */
+    public Action action(String expression, String version) {
+        Matcher assignment = expression == null ? null : ASSIGNMENT.matcher(expression);
+        if (assignment != null && assignment.matches()) {
+            return assign(assignment.group(1), assignment.group(2).trim(), version);
+        }
+        String ruleVersion = version == null ? UNVERSIONED : version;
+        Expression compiled = compile(expression, ruleVersion);
+        return ctx -> run(compiled, expression, new ContextEnv(ctx, ctx), EngineErrorCode.ACTION_EXEC_ERROR);
+    }
+
+    /**
+     * 创建赋值动作：将表达式结果写入指定事实
+     *
+     * @param target     目标键名
+     * @param expression 取值表达式
+     * @param version    规则版本，可为null
+     * @return 动作
+     * @throws ConfigurationFault 如果表达式为空或无法编译
+     */
+    public Action assign(String target, String expression, String version) {
+        String ruleVersion = version == null ? UNVERSIONED : version;
+        Expression compiled = compile(expression, ruleVersion);
+        return ctx -> ctx.put(target, run(compiled, expression, new ContextEnv(ctx, null), EngineErrorCode.ACTION_EXEC_ERROR));
+    }
+
+    /**
+     * 缓存中的编译结果数量
+     *
+     * @return 条目数
+     */
+    public int cachedCount() {
+        return cache.size();
+    }
+
+    /**
+     * 缓存命中次数
+     *
+     * @return 自创建以来的命中数
+     */
+    public long cacheHits() {
+        return cache.hits();
+    }
+
+    /**
+     * 缓存未命中（即实际编译）次数
+     *
+     * @return 自创建以来的编译数
+     */
+    public long cacheMisses() {
+        return cache.misses();
+    }
+
+    /**
+     * 清空编译缓存；已创建的条件与动作继续持有各自的编译结果
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private Expression compile(String expression, String version) {
+        if (expression == null || expression.isBlank()) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Expression cannot be empty",
+                    Map.of("version", version)
+            );
+        }
+        return cache.get(expression, version, text -> {
+            try {
+                // 缓存由本类管理，不使用 Aviator 实例的内部缓存
+                return evaluator.compile(text, false);
+            } catch (RuntimeException e) {
+                throw new ConfigurationFault(
+                        EngineErrorCode.CONFIGURATION_ERROR,
+                        "Expression failed to compile",
+                        Map.of("expression", text, "version", version),
+                        e
+                );
+            }
+        });
+    }
+
+    private static boolean test(Expression compiled, String expression, Context context) {
+        Object result = run(compiled, expression, new ContextEnv(context, null), EngineErrorCode.CONDITION_EVAL_ERROR);
+        if (result instanceof Boolean verdict) {
+            return verdict;
+        }
+        throw new LogicFault(
+                EngineErrorCode.TYPE_MISMATCH,
+                "Condition expression did not yield a boolean",
+                Map.of("expression", expression, "resultType", result == null ? "null" : result.getClass().getName())
+        );
+    }
+
+    private static Object run(Expression compiled, String expression, ContextEnv env, EngineErrorCode errorCode) {
+        try {
+            return compiled.execute(env);
+        } catch (EngineFault e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new LogicFault(
+                    errorCode,
+                    "Expression evaluation failed",
+                    Map.of("expression", expression),
+                    e
+            );
+        }
+    }
+}
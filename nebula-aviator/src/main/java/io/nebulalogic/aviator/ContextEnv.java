@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.aviator;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.MutatorContext;
+import io.nebulalogic.core.model.types.FinancialValue;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.aviator
+ * @ClassName ContextEnv.java
+ * @Description 类 ContextEnv 的实现描述：表达式变量环境 - {@link Context} 之上的 Map 视图
+ * <ul>
+ *     <li><b>零复制：</b>变量按名称直接读取上下文，每次求值只分配本视图一个对象。</li>
+ *     <li><b>数值桥接：</b>{@link FinancialValue} 以其 BigDecimal 交给表达式，保持十进制精度。</li>
+ *     <li><b>写入：</b>仅动作环境持有 {@link MutatorContext}，条件环境中的写入被拒绝。</li>
+ * </ul>
+ * <p>{@link #entrySet()} 需要遍历全部事实，只在表达式显式枚举环境时才会生成。</p>
+ * @Date 2026年10月16日 18:22
+ * @Version 1.0.0
+ */
+final class ContextEnv extends AbstractMap<String, Object> {
+
+    private final Context context;
+
+    private final MutatorContext mutator;
+
+    ContextEnv(Context context, MutatorContext mutator) {
+        this.context = context;
+        this.mutator = mutator;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        return bridge(context.get(name));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && context.contains(name);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (mutator == null) {
+            throw new LogicFault(
+                    EngineErrorCode.MUTATOR_NOT_ALLOWED,
+                    "Condition expressions cannot assign variables",
+                    Map.of("key", key)
+            );
+        }
+        Object previous = get(key);
+        mutator.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object previous = get(key);
+        if (previous != null) {
+            put((String) key, null);
+        }
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return context.keySet().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return context.keySet().isEmpty();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> bridged = new LinkedHashMap<>();
+        context.asMap().forEach((key, value) -> bridged.put(key, bridge(value)));
+        return Collections.unmodifiableMap(bridged).entrySet();
+    }
+
+    private static Object bridge(Object value) {
+        return value instanceof FinancialValue financial ? financial.decimalValue() : value;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.aviator;
+
+
+import com.googlecode.aviator.Expression;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.aviator
+ * @ClassName ExpressionCache.java
+ * @Description 类 ExpressionCache 的实现描述：编译表达式缓存 - 以表达式文本与规则版本为键的有界 LRU
+ * <p>只在规则构建期访问；执行期条件与动作直接持有编译结果，不经过缓存。</p>
+ * @Date 2026年10月16日 18:20
+ * @Version 1.0.0
+ */
+final class ExpressionCache {
+
+    private final int capacity;
+
+    private final LinkedHashMap<Key, Expression> entries;
+
+    private long hits;
+
+    private long misses;
+
+    ExpressionCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Expression> eldest) {
+                return size() > ExpressionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * 读取或编译表达式
+     *
+     * @param text     表达式文本
+     * @param version  规则版本
+     * @param compiler 未命中时的编译函数
+     * @return 编译结果
+     */
+    synchronized Expression get(String text, String version, Function<String, Expression> compiler) {
+        Key key = new Key(text, version);
+        Expression compiled = entries.get(key);
+        if (compiled != null) {
+            hits++;
+            return compiled;
+        }
+        misses++;
+        compiled = compiler.apply(text);
+        entries.put(key, compiled);
+        return compiled;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    private record Key(String text, String version) {
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.benchmarks;
+
+
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.benchmarks
+ * @ClassName ActionChainBenchmark.java
+ * @Description 类 ActionChainBenchmark 的实现描述：动作链 - andThen 组合长度对执行开销的影响
+ * @Date 2026年10月16日 17:16
+ * @Version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionChainBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int length;
+
+    private Action chain;
+
+    private SlotContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        chain = Action.setVariable("v0", 0);
+        for (int i = 1; i < length; i++) {
+            chain = chain.andThen(Action.setVariable("v" + i, i));
+        }
+        context = new SlotContext(SlotSchema.EMPTY);
+    }
+
+    @Benchmark
+    public SlotContext execute() {
+        chain.execute(context);
+        return context;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.benchmarks;
+
+
+import io.nebulalogic.core.api.NebulaBootstrap;
+import io.nebulalogic.core.engine.DefaultEngine;
+import io.nebulalogic.core.model.rule.Rule;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.benchmarks
+ * @ClassName BudgetGate.java
+ * @Description 类 BudgetGate 的实现描述：NFR 预算门禁 - 运行关键基准并在超出文档预算时以非零状态退出
+ * <ul>
+ *     <li><b>C-NFR-001：</b>100 条规则、线性匹配，单次决策 P95 &lt; 5ms。</li>
+ *     <li><b>C-NFR-002：</b>1000 条规则冷启动构建 &lt; 2s（取多次全新 JVM 中的最大值）。</li>
+ *     <li><b>C-NFR-005：</b>1000 条规则的引擎常驻堆内存 &lt; 50MB。</li>
+ * </ul>
+ * <p>预算可通过系统属性覆盖：{@code nebula.budget.p95Millis}、{@code nebula.budget.startupMillis}、
+ * {@code nebula.budget.heapMegabytes}。每次决策的分配量一并输出，仅作报告不设门槛。</p>
+ * @Date 2026年10月16日 17:22
+ * @Version 1.0.0
+ */
+public final class BudgetGate {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BudgetGate() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        double p95Budget = Double.parseDouble(System.getProperty("nebula.budget.p95Millis", "5"));
+        double startupBudget = Double.parseDouble(System.getProperty("nebula.budget.startupMillis", "2000"));
+        double heapBudget = Double.parseDouble(System.getProperty("nebula.budget.heapMegabytes", "50"));
+
+        List<String> violations = new ArrayList<>();
+
+        RunResult latency = single(new OptionsBuilder()
+                .include("\\." + EngineExecutionBenchmark.class.getSimpleName() + "\\.execute$")
+                .param("ruleCount", "100")
+                .param("matcherMode", "LINEAR")
+                .param("traceLevel", "TAIL")
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .addProfiler(GCProfiler.class)
+                .build());
+        double p95 = latency.getPrimaryResult().getStatistics().getPercentile(95.0);
+        report("C-NFR-001 decision P95 (ms)", p95, p95Budget, violations);
+        Result allocation = secondary(latency, ALLOCATION_METRIC);
+        if (allocation != null) {
+            System.out.printf("[INFO] allocation per decision: %.1f %s%n", allocation.getScore(), allocation.getScoreUnit());
+        }
+
+        RunResult startup = single(new OptionsBuilder()
+                .include("\\." + EngineStartupBenchmark.class.getSimpleName() + "\\.build$")
+                .param("ruleCount", "1000")
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .build());
+        report("C-NFR-002 startup at 1000 rules (ms)", startup.getPrimaryResult().getStatistics().getMax(),
+                startupBudget, violations);
+
+        report("C-NFR-005 retained heap at 1000 rules (MB)", retainedHeapMegabytes(1000), heapBudget, violations);
+
+        if (!violations.isEmpty()) {
+            System.err.println("NFR budget exceeded: " + violations);
+            System.exit(1);
+        }
+        System.out.println("All NFR budgets met.");
+    }
+
+    private static RunResult single(Options options) throws RunnerException {
+        Collection<RunResult> results = new Runner(options).run();
+        if (results.size() != 1) {
+            throw new IllegalStateException("Expected exactly one benchmark result, got " + results.size());
+        }
+        return results.iterator().next();
+    }
+
+    /**
+     * 按后缀查找次要指标，兼容不同 JMH 版本的指标名前缀
+     */
+    private static Result secondary(RunResult result, String suffix) {
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith(suffix)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 构建引擎前后的堆占用差值；多次 GC 后测量以排除临时对象，规则对象本身计入占用
+     */
+    private static double retainedHeapMegabytes(int ruleCount) {
+        Runtime runtime = Runtime.getRuntime();
+        long before = usedAfterGc(runtime);
+        List<Rule> rules = new RuleSetGenerator(42L).rules(ruleCount);
+        DefaultEngine engine = NebulaBootstrap.builder().maxRules(ruleCount).addRules(rules).build();
+        long after = usedAfterGc(runtime);
+        // 保持引擎可达直到测量结束
+        if (engine.snapshots().current().size() != ruleCount) {
+            throw new IllegalStateException("Unexpected snapshot size");
+        }
+        return (after - before) / (1024.0 * 1024.0);
+    }
+
+    private static long usedAfterGc(Runtime runtime) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void report(String name, double value, double budget, List<String> violations) {
+        boolean ok = value < budget;
+        System.out.printf("[%s] %s: %.3f (budget < %.3f)%n", ok ? "PASS" : "FAIL", name, value, budget);
+        if (!ok) {
+            violations.add(name);
+        }
+    }
+}
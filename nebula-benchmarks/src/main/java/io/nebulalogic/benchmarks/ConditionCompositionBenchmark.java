@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.benchmarks;
+
+
+import io.nebulalogic.core.model.context.ExecutionPhase;
+import io.nebulalogic.core.model.rule.Condition;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.dsl.DslCondition;
+import io.nebulalogic.core.runtime.session.EngineSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.benchmarks
+ * @ClassName ConditionCompositionBenchmark.java
+ * @Description 类 ConditionCompositionBenchmark 的实现描述：条件组合深度 - and / or / negate 嵌套层数对单次求值的影响
+ * <p>{@code dslConjunction} 以原生 DSL 表达同一合取链（n 个布尔事实相与），对比 MethodHandle 树与条件对象树的求值成本。</p>
+ * @Date 2026年10月16日 17:10
+ * @Version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionCompositionBenchmark {
+
+    @Param({"1", "5", "10", "20"})
+    public int depth;
+
+    private Condition conjunction;
+
+    private Condition alternating;
+
+    private Condition dsl;
+
+    private EngineSession session;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Condition leaf = Condition.named("flag", ctx -> Boolean.TRUE.equals(ctx.context().getBoolean("flag")));
+        conjunction = leaf;
+        alternating = leaf;
+        for (int i = 1; i < depth; i++) {
+            Condition next = Condition.named("flag" + i, ctx -> Boolean.TRUE.equals(ctx.context().getBoolean("flag")));
+            conjunction = conjunction.and(next);
+            alternating = (i % 2 == 0 ? alternating.or(next.negate()) : alternating.and(next)).negate();
+        }
+        StringBuilder expression = new StringBuilder("flag");
+        for (int i = 1; i < depth; i++) {
+            expression.append(" and flag");
+        }
+        dsl = DslCondition.compile(expression.toString());
+        SlotContext facts = new SlotContext(SlotSchema.EMPTY);
+        facts.put("flag", true);
+        session = new EngineSession(facts);
+        session.enter(ExecutionPhase.CONDITION);
+    }
+
+    @Benchmark
+    public boolean flatConjunction() {
+        return conjunction.evaluate(session);
+    }
+
+    @Benchmark
+    public boolean dslConjunction() {
+        return dsl.evaluate(session);
+    }
+
+    @Benchmark
+    public boolean nestedAlternation() {
+        return alternating.evaluate(session);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.benchmarks;
+
+
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.context.PersistentContext;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.benchmarks
+ * @ClassName ContextReadBenchmark.java
+ * @Description 类 ContextReadBenchmark 的实现描述：上下文读取 - 键名查找、槽位下标读取与数值转换缓存
+ * <p>另以两次写入加一次阶段转换对比复制式（SlotContext.copyOf）与持久化（PersistentContext.evolve）上下文的成本。</p>
+ * @Date 2026年10月16日 17:12
+ * @Version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextReadBenchmark {
+
+    @Param({"10", "100", "400"})
+    public int factCount;
+
+    private SlotContext slotted;
+
+    private SlotContext overflow;
+
+    private PersistentContext persistent;
+
+    private String key;
+
+    private int slot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> keys = new ArrayList<>(factCount);
+        for (int i = 0; i < factCount; i++) {
+            keys.add("fact-" + i);
+        }
+        SlotSchema schema = SlotSchema.of(keys);
+        slotted = new SlotContext(schema);
+        overflow = new SlotContext(SlotSchema.EMPTY);
+        persistent = new PersistentContext();
+        for (int i = 0; i < factCount; i++) {
+            FinancialValue value = FinancialValues.of(i * 100L);
+            slotted.put(keys.get(i), value);
+            overflow.put(keys.get(i), value);
+            persistent.put(keys.get(i), value);
+        }
+        key = keys.get(factCount / 2);
+        slot = schema.slotOf(key);
+    }
+
+    @Benchmark
+    public Object getByKeyOverflow() {
+        return overflow.get(key);
+    }
+
+    @Benchmark
+    public Object getByKeySlotted() {
+        return slotted.get(key);
+    }
+
+    @Benchmark
+    public Object getBySlot() {
+        return slotted.getSlot(slot);
+    }
+
+    @Benchmark
+    public FinancialValue getFinancialBySlot() {
+        return slotted.getFinancialSlot(slot);
+    }
+
+    @Benchmark
+    public FinancialValue getFinancialByKey() {
+        return overflow.getFinancial(key);
+    }
+
+    @Benchmark
+    public Object getByKeyPersistent() {
+        return persistent.get(key);
+    }
+
+    @Benchmark
+    public Context copyOnTransition() {
+        SlotContext next = SlotContext.copyOf(SlotSchema.EMPTY, overflow);
+        next.put(key, FinancialValues.of(1L));
+        next.put("extra", Boolean.TRUE);
+        return next.asReadOnly();
+    }
+
+    @Benchmark
+    public Context persistentTransition() {
+        return persistent.toMutable().evolve(ctx -> ctx.put(key, FinancialValues.of(1L)).put("extra", Boolean.TRUE));
+    }
+}
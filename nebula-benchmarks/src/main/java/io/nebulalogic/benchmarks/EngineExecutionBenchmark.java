@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.benchmarks;
+
+
+import io.nebulalogic.core.api.NebulaBootstrap;
+import io.nebulalogic.core.api.TraceLevel;
+import io.nebulalogic.core.engine.DefaultEngine;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.decision.Decision;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.runtime.matcher.MatcherMode;
+import io.nebulalogic.core.runtime.metrics.EngineMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.benchmarks
+ * @ClassName EngineExecutionBenchmark.java
+ * @Description 类 EngineExecutionBenchmark 的实现描述：整引擎单次决策延迟 - 对应 C-NFR-001（100 条规则 P95 &lt; 5ms）
+ * <p>以 SampleTime 模式采样，报告 P50 / P95 / P99；配合 {@code -prof gc} 查看每次决策的分配量（gc.alloc.rate.norm）。
+ * TAIL 与 OFF 的差值即尾部追踪的常态成本。{@link #executeRecycled} 启用上下文复用，二者的分配量之差即上下文对象图的成本；{@link #executeMeasured} 启用指标，与 {@link #execute} 的差值即指标记录的常态成本。</p>
+ * @Date 2026年10月16日 17:05
+ * @Version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineExecutionBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    @Param({"100", "1000", "10000"})
+    public int ruleCount;
+
+    @Param({"LINEAR", "PREDICATE_BITMAP", "INDEXED"})
+    public MatcherMode matcherMode;
+
+    @Param({"OFF", "TAIL"})
+    public TraceLevel traceLevel;
+
+    private DefaultEngine engine;
+
+    private DefaultEngine recyclingEngine;
+
+    private DefaultEngine measuredEngine;
+
+    private Context[] inputs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RuleSetGenerator generator = new RuleSetGenerator(42L);
+        List<Rule> rules = generator.rules(ruleCount);
+        engine = NebulaBootstrap.builder()
+                .matcherMode(matcherMode)
+                .trace(traceLevel)
+                .maxRules(Math.max(ruleCount, 1000))
+                .addRules(rules)
+                .build();
+        recyclingEngine = NebulaBootstrap.builder()
+                .matcherMode(matcherMode)
+                .trace(traceLevel)
+                .maxRules(Math.max(ruleCount, 1000))
+                .addRules(rules)
+                .recycleContexts(Runtime.getRuntime().availableProcessors())
+                .build();
+        measuredEngine = NebulaBootstrap.builder()
+                .matcherMode(matcherMode)
+                .trace(traceLevel)
+                .maxRules(Math.max(ruleCount, 1000))
+                .addRules(rules)
+                .metrics(new EngineMetrics())
+                .build();
+        inputs = new Context[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            inputs[i] = generator.context();
+        }
+    }
+
+    @Benchmark
+    public Decision execute(Cursor cursor) {
+        return engine.execute(inputs[cursor.next(INPUTS)]);
+    }
+
+    @Benchmark
+    public int executeRecycled(Cursor cursor) {
+        try (Decision decision = recyclingEngine.execute(inputs[cursor.next(INPUTS)])) {
+            return decision.firedRules().size();
+        }
+    }
+
+    @Benchmark
+    public Decision executeMeasured(Cursor cursor) {
+        return measuredEngine.execute(inputs[cursor.next(INPUTS)]);
+    }
+
+    /**
+     * 线程私有的输入游标，避免所有线程反复读取同一条输入
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int position;
+
+        int next(int bound) {
+            int current = position;
+            position = current + 1 == bound ? 0 : current + 1;
+            return current;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.benchmarks;
+
+
+import io.nebulalogic.core.api.NebulaBootstrap;
+import io.nebulalogic.core.engine.DefaultEngine;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.runtime.image.SnapshotImage;
+import io.nebulalogic.core.runtime.loader.RuleBindings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.benchmarks
+ * @ClassName EngineStartupBenchmark.java
+ * @Description 类 EngineStartupBenchmark 的实现描述：引擎初始化耗时 - 对应 C-NFR-002（&lt; 2s）
+ * <p>以 SingleShotTime 模式在全新 JVM 中测量冷启动：规则校验、条件绑定与匹配器预计算。
+ * 规则对象在计时之外生成，加载器的解析成本不在此基准范围内。</p>
+ * <p>{@code buildFromImage} 从预先写好的快照镜像启动：映射文件、校验 CRC32C，再以镜像规则视图构建引擎。</p>
+ * @Date 2026年10月16日 17:08
+ * @Version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class EngineStartupBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int ruleCount;
+
+    private List<Rule> rules;
+
+    private Path image;
+
+    private RuleBindings bindings;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        rules = new RuleSetGenerator(42L).rules(ruleCount);
+        image = Files.createTempFile("nebula-startup", ".nbi");
+        SnapshotImage.write(rules, image);
+        bindings = RuleBindings.of(Map.of("vip", RuleSetGenerator.VIP), Map.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(image);
+    }
+
+    @Benchmark
+    public DefaultEngine build() {
+        return NebulaBootstrap.builder()
+                .maxRules(Math.max(ruleCount, 1000))
+                .addRules(rules)
+                .build();
+    }
+
+    @Benchmark
+    public DefaultEngine buildFromImage() {
+        return NebulaBootstrap.builder()
+                .maxRules(Math.max(ruleCount, 1000))
+                .addRules(SnapshotImage.open(image).rules(bindings))
+                .build();
+    }
+}
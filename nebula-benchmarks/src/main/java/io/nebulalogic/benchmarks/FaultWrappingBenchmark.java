@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.benchmarks;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.ExecutionPhase;
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.model.rule.Condition;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.session.EngineSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.benchmarks
+ * @ClassName FaultWrappingBenchmark.java
+ * @Description 类 FaultWrappingBenchmark 的实现描述：故障传播 - 叶子故障穿过 N 层组合条件 / 动作链到达调用方的成本
+ * <p>模拟脏数据流量：每次求值都在最深处抛出故障，测量故障构造、逐层路径追加与栈采集的总开销；
+ * 以 {@code -Dnebula.fault.stackless=true} 运行可对比无栈模式。</p>
+ * @Date 2026年10月16日 17:18
+ * @Version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FaultWrappingBenchmark {
+
+    @Param({"1", "5", "10"})
+    public int depth;
+
+    private Condition condition;
+
+    private Action chain;
+
+    private EngineSession session;
+
+    private SlotContext facts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Condition failing = Condition.named("failing", ctx -> {
+            throw new LogicFault(EngineErrorCode.TYPE_MISMATCH, "Bad input", Map.of("key", "amount"));
+        });
+        Condition pass = Condition.named("pass", ctx -> true);
+        condition = failing;
+        for (int i = 1; i < depth; i++) {
+            condition = i % 2 == 0 ? pass.and(condition) : condition.or(pass).negate();
+        }
+        chain = ctx -> {
+            throw new LogicFault(EngineErrorCode.ACTION_EXEC_ERROR, "Action failed", Map.of("action", "leaf"));
+        };
+        for (int i = 1; i < depth; i++) {
+            chain = Action.noop().andThen(chain);
+        }
+        facts = new SlotContext(SlotSchema.EMPTY);
+        session = new EngineSession(facts);
+        session.enter(ExecutionPhase.CONDITION);
+    }
+
+    @Benchmark
+    public EngineFault conditionFault() {
+        try {
+            condition.evaluate(session);
+            return null;
+        } catch (EngineFault e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public EngineFault actionChainFault() {
+        try {
+            chain.execute(facts);
+            return null;
+        } catch (EngineFault e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.benchmarks;
+
+
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+import io.nebulalogic.core.runtime.types.ScaledFinancialValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.benchmarks
+ * @ClassName FinancialValueBenchmark.java
+ * @Description 类 FinancialValueBenchmark 的实现描述：金融数值运算 - 紧凑表示与 BigDecimal 回退路径的比较、加法与解析
+ * @Date 2026年10月16日 17:14
+ * @Version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FinancialValueBenchmark {
+
+    private ScaledFinancialValue price;
+
+    private ScaledFinancialValue threshold;
+
+    private FinancialValue wide;
+
+    private BigDecimal bigPrice;
+
+    private BigDecimal bigThreshold;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        price = ScaledFinancialValue.parse("1999.99");
+        threshold = ScaledFinancialValue.parse("2000.0");
+        wide = FinancialValues.of(new BigDecimal("123456789012345678901234567890.123456789"));
+        bigPrice = new BigDecimal("1999.99");
+        bigThreshold = new BigDecimal("2000.0");
+        text = "1999.99";
+    }
+
+    @Benchmark
+    public int compareCompactMixedScale() {
+        return price.compareTo(threshold);
+    }
+
+    @Benchmark
+    public int compareInflated() {
+        return wide.compareTo(price);
+    }
+
+    @Benchmark
+    public int compareBigDecimalBaseline() {
+        return bigPrice.compareTo(bigThreshold);
+    }
+
+    @Benchmark
+    public FinancialValue addCompact() {
+        return price.add(threshold);
+    }
+
+    @Benchmark
+    public FinancialValue parse() {
+        return FinancialValues.parse(text);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.benchmarks;
+
+
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.model.rule.Condition;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.benchmarks
+ * @ClassName RuleSetGenerator.java
+ * @Description 类 RuleSetGenerator 的实现描述：合成规则集生成器 - 为基准提供可复现的规则与输入
+ * <p>规则形态参照典型 SaaS 定价 / 风控规则：渠道等值判定、金额分档区间、会员标记等不透明谓词，
+ * 命中后写入一到两个结果变量。同一种子总是生成同一规则集与同一输入序列。</p>
+ * @Date 2026年10月16日 17:00
+ * @Version 1.0.0
+ */
+public final class RuleSetGenerator {
+
+    private static final String[] CHANNELS = {"APP", "WEB", "POS", "API"};
+
+    private static final String[] REGIONS = {"CN", "US", "EU", "SEA", "LATAM"};
+
+    /**
+     * 规则集中唯一的具名谓词，从快照镜像加载时按名称绑定
+     */
+    public static final Condition VIP = Condition.named("vip", ctx -> Boolean.TRUE.equals(ctx.context().getBoolean("vip")));
+
+    private final Random random;
+
+    public RuleSetGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * 生成规则集
+     *
+     * @param count 规则数量
+     * @return 按声明顺序排列的规则
+     */
+    public List<Rule> rules(int count) {
+        List<Rule> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rules.add(new SyntheticRule("rule-" + i, condition(), random.nextInt(10), actions(i)));
+        }
+        return rules;
+    }
+
+    /**
+     * 生成一条输入上下文
+     *
+     * @return 可写上下文
+     */
+    public Context context() {
+        SlotContext context = new SlotContext(SlotSchema.EMPTY);
+        context.put("channel", CHANNELS[random.nextInt(CHANNELS.length)]);
+        context.put("region", REGIONS[random.nextInt(REGIONS.length)]);
+        context.put("amount", FinancialValues.parse(random.nextInt(5000) + "." + random.nextInt(100)));
+        context.put("vip", random.nextBoolean());
+        context.put("orderCount", random.nextInt(200));
+        return context;
+    }
+
+    private Condition condition() {
+        int low = random.nextInt(4000);
+        return switch (random.nextInt(4)) {
+            case 0 -> Condition.equalTo("channel", CHANNELS[random.nextInt(CHANNELS.length)])
+                    .and(Condition.between("amount", FinancialValues.of(low), FinancialValues.of(low + 500L)));
+            case 1 -> Condition.equalTo("region", REGIONS[random.nextInt(REGIONS.length)])
+                    .and(VIP);
+            case 2 -> Condition.greaterOrEqual("orderCount", FinancialValues.of(random.nextInt(200)))
+                    .or(Condition.equalTo("channel", "POS").negate());
+            default -> Condition.lessThan("amount", FinancialValues.of(low))
+                    .and(Condition.notEqualTo("region", REGIONS[random.nextInt(REGIONS.length)]));
+        };
+    }
+
+    private List<Action> actions(int index) {
+        Action tag = Action.setVariable("lastRule", "rule-" + index);
+        return random.nextBoolean() ? List.of(tag) : List.of(tag, Action.setVariable("discount", index % 7));
+    }
+
+    /**
+     * 基准使用的最小规则实现
+     */
+    public record SyntheticRule(String getId, Condition getCondition, int getPriority, List<Action> getActions)
+            implements Rule {
+
+        @Override
+        public String getName() {
+            return getId;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.api;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.api
+ * @ClassName ExecutionStrategy.java
+ * @Description 类 ExecutionStrategy 的实现描述：执行策略 - 匹配集的冲突解决方式
+ * <p>匹配集按 {@code Rule.getPriority()} 升序排列（数值越小越优先），优先级相同时按规则在快照中的声明顺序，
+ * 保证同一输入总是得到同一待执行列表（C-RUNTIME-005）。</p>
+ * @Date 2026年10月16日 16:00
+ * @Version 1.0.0
+ */
+public enum ExecutionStrategy {
+
+    /**
+     * 首次命中：只执行排序后的第一条命中规则
+     * <p>条件按同一顺序逐条评估，首条命中即停止，其后的规则既不评估、也不会因条件故障中断决策。</p>
+     */
+    FIRE_FIRST,
+
+    /**
+     * 全部命中：按排序依次执行所有命中规则
+     */
+    FIRE_ALL
+}
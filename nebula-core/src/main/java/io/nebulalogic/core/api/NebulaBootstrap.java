@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.api;
+
+
+import io.nebulalogic.core.engine.EngineBuilder;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.api
+ * @ClassName NebulaBootstrap.java
+ * @Description 类 NebulaBootstrap 的实现描述：引擎启动入口 - 创建引擎构建器
+ * @Date 2026年10月16日 16:04
+ * @Version 1.0.0
+ */
+public final class NebulaBootstrap {
+
+    private NebulaBootstrap() {
+    }
+
+    /**
+     * 创建引擎构建器
+     *
+     * @return 新的构建器
+     */
+    public static EngineBuilder builder() {
+        return new EngineBuilder();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.api;
+
+
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.decision.Decision;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.api
+ * @ClassName NebulaEngine.java
+ * @Description 类 NebulaEngine 的实现描述：引擎门面 - 宿主应用唯一的执行入口
+ * <p>每次 {@link #execute(Context)} 都是一次瞬时、无状态、同步的决策过程；引擎实例可被多线程并发调用。</p>
+ * @Date 2026年10月16日 16:02
+ * @Version 1.0.0
+ */
+public interface NebulaEngine {
+
+    /**
+     * 执行一次决策
+     * <p>引擎复制输入事实后在内部上下文上演进，宿主传入的 Context 不会被修改。</p>
+     *
+     * @param context 决策输入，不应为null
+     * @return 决策结果
+     * @throws io.nebulalogic.core.exception.EngineFault 条件评估或动作执行失败时抛出
+     */
+    Decision execute(Context context);
+}
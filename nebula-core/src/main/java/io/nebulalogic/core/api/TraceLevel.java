@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.api;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.api
+ * @ClassName TraceLevel.java
+ * @Description 类 TraceLevel 的实现描述：决策追踪级别（C-NFR-003）
+ * <p>级别越高，单次决策的追踪成本越高；TAIL 在保持近乎零分配的前提下，只为值得审计的决策生成完整轨迹。</p>
+ * @Date 2026年10月16日 17:34
+ * @Version 1.0.0
+ */
+public enum TraceLevel {
+
+    /**
+     * 关闭：不记录任何追踪信息（默认）
+     */
+    OFF,
+
+    /**
+     * 仅计数：每个决策携带匹配、触发、动作与事实变更的计数，不记录事件
+     */
+    COUNTERS,
+
+    /**
+     * 采样：每 N 次决策完整记录一次，其余决策不产生任何追踪成本
+     */
+    SAMPLED,
+
+    /**
+     * 尾部追踪：所有决策都写入线程私有的环形缓冲区，仅当决策超时、发生故障或被采样时生成完整轨迹
+     */
+    TAIL
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.engine;
+
+
+import io.nebulalogic.core.api.ExecutionStrategy;
+import io.nebulalogic.core.api.NebulaEngine;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.decision.BatchDecision;
+import io.nebulalogic.core.model.decision.Decision;
+import io.nebulalogic.core.runtime.batch.BatchEvaluator;
+import io.nebulalogic.core.runtime.batch.FactFrame;
+import io.nebulalogic.core.runtime.matcher.Matcher;
+import io.nebulalogic.core.runtime.matcher.ParallelMatcher;
+import io.nebulalogic.core.runtime.metrics.EngineMetrics;
+import io.nebulalogic.core.runtime.metrics.RuleMetrics;
+import io.nebulalogic.core.runtime.pipeline.ExecutionPipeline;
+import io.nebulalogic.core.runtime.session.EngineSession;
+import io.nebulalogic.core.runtime.session.SessionPool;
+import io.nebulalogic.core.runtime.snapshot.RuleSnapshot;
+import io.nebulalogic.core.runtime.snapshot.SnapshotHolder;
+import io.nebulalogic.core.runtime.trace.TracePolicy;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.engine
+ * @ClassName DefaultEngine.java
+ * @Description 类 DefaultEngine 的实现描述：默认引擎实现 - 持有快照并委托执行管线
+ * <p>每次决策只读取一次当前快照并全程使用；规则热更新通过 {@link #snapshots()} 发布，
+ * 不影响进行中的决策（C-RUNTIME-004）。</p>
+ * <p>除单条执行外，{@link #executeBatch(FactFrame)} 以列式事实帧批量评估同一规则集。
+ * 启用上下文复用时，单条与批量执行返回的每个 {@link Decision} 都应在读取完毕后关闭。</p>
+ * @Date 2026年10月16日 16:24
+ * @Version 1.0.0
+ */
+public final class DefaultEngine implements NebulaEngine {
+
+    private final SnapshotHolder snapshots;
+
+    private final ExecutionPipeline pipeline;
+
+    private final EngineMetrics metrics;
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    /**
+     * 最近一次使用的快照及其匹配器；快照切换后由首个决策重建，并发重建的结果等价，无需加锁
+     */
+    private volatile Binding binding;
+
+    DefaultEngine(SnapshotHolder snapshots, ExecutionStrategy strategy, TracePolicy tracePolicy,
+                  SessionPool sessionPool, EngineMetrics metrics, Executor executor, int parallelism) {
+        this.snapshots = snapshots;
+        this.pipeline = new ExecutionPipeline(strategy, tracePolicy, sessionPool, metrics);
+        this.metrics = metrics;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public Decision execute(Context context) {
+        RuleSnapshot snapshot = snapshots.current();
+        Binding current = binding;
+        if (current == null || current.snapshot() != snapshot) {
+            current = new Binding(snapshot, matcherFor(snapshot));
+            binding = current;
+        }
+        return pipeline.run(snapshot, current.matcher(), context);
+    }
+
+    /**
+     * 批量执行：以同一快照对事实帧中的每条记录各执行一次决策
+     * <p>条件按谓词在整帧上批量求值，得到每条记录的匹配集；动作阶段仍按记录逐条执行，
+     * 每条记录拥有独立的可写上下文。单条记录的故障被收集到结果中，不中断整批：
+     * 条件或动作抛出的非引擎异常分别包装为 {@link EngineErrorCode#CONDITION_EVAL_ERROR}、{@link EngineErrorCode#ACTION_EXEC_ERROR}
+     * 的 {@link LogicFault}，同样只记录在该条记录上。</p>
+     * <p>启用指标时与单条执行口径一致：每条记录计入决策与阶段耗时、故障（含上述包装后的故障）以及规则的条件结果；
+     * 匹配集由批量求值得到的记录不单独计时规则评估。</p>
+     *
+     * @param frame 列式事实帧
+     * @return 按记录下标排列的批量结果
+     */
+    public BatchDecision executeBatch(FactFrame frame) {
+        RuleSnapshot snapshot = snapshots.current();
+        Matcher fallbackMatcher = new GuardedMatcher(snapshot.matcher());
+        BatchEvaluator evaluator = new BatchEvaluator(snapshot, frame);
+        BitSet[] matched = evaluator.match();
+        BitSet fallback = evaluator.fallback();
+
+        Decision[] decisions = new Decision[frame.rows()];
+        EngineFault[] faults = new EngineFault[frame.rows()];
+        for (int r = 0; r < frame.rows(); r++) {
+            Matcher matcher = fallback.get(r) ? fallbackMatcher : new PrecomputedMatcher(matched[r]);
+            try {
+                decisions[r] = pipeline.run(snapshot, matcher, frame.row(r));
+            } catch (EngineFault e) {
+                faults[r] = e;
+            } catch (RuntimeException e) {
+                faults[r] = new LogicFault(
+                        EngineErrorCode.ACTION_EXEC_ERROR,
+                        "Batch row failed with an unexpected exception",
+                        Map.of("row", r, "exception", e.getClass().getName()),
+                        e
+                );
+                if (metrics != null) {
+                    metrics.recordFault(faults[r]);
+                }
+            }
+        }
+        return new BatchDecision(decisions, faults);
+    }
+
+    /**
+     * 快照持有者，用于规则热更新与回滚
+     *
+     * @return 快照持有者
+     */
+    public SnapshotHolder snapshots() {
+        return snapshots;
+    }
+
+    /**
+     * 执行策略
+     *
+     * @return 冲突解决策略
+     */
+    public ExecutionStrategy strategy() {
+        return pipeline.strategy();
+    }
+
+    private Matcher matcherFor(RuleSnapshot snapshot) {
+        return executor == null ? snapshot.matcher() : new ParallelMatcher(snapshot.rules(), executor, parallelism);
+    }
+
+    private record Binding(RuleSnapshot snapshot, Matcher matcher) {
+    }
+
+    /**
+     * 已由批量求值得到匹配集的记录：首次命中按优先级顺序取匹配集中的首个序号，不再重新评估条件
+     * <p>会话启用指标时按逐条评估的口径记录条件结果：必需事实缺失的规则不记录，首次命中只记录排在命中规则及其之前的规则。</p>
+     */
+    private record PrecomputedMatcher(BitSet matched) implements Matcher {
+
+        @Override
+        public BitSet match(ExecutionContext ctx) {
+            RuleMetrics[] ruleMetrics = ruleMetrics(ctx);
+            if (ruleMetrics != null) {
+                BitSet skipped = ((EngineSession) ctx).unsatisfiable();
+                for (int ordinal = 0; ordinal < ruleMetrics.length; ordinal++) {
+                    if (skipped == null || !skipped.get(ordinal)) {
+                        ruleMetrics[ordinal].record(matched.get(ordinal));
+                    }
+                }
+            }
+            return matched;
+        }
+
+        @Override
+        public int matchFirst(ExecutionContext ctx, RuleSnapshot snapshot) {
+            RuleMetrics[] ruleMetrics = ruleMetrics(ctx);
+            BitSet skipped = ruleMetrics == null ? null : ((EngineSession) ctx).unsatisfiable();
+            for (int ordinal : snapshot.priorityOrder()) {
+                boolean hit = matched.get(ordinal);
+                if (ruleMetrics != null && (skipped == null || !skipped.get(ordinal))) {
+                    ruleMetrics[ordinal].record(hit);
+                }
+                if (hit) {
+                    return ordinal;
+                }
+            }
+            return -1;
+        }
+
+        private static RuleMetrics[] ruleMetrics(ExecutionContext ctx) {
+            return ctx instanceof EngineSession session ? session.ruleMetrics() : null;
+        }
+    }
+
+    /**
+     * 批量回退记录的匹配器：条件抛出的非引擎异常包装为条件故障，与动作阶段的异常区分
+     */
+    private record GuardedMatcher(Matcher delegate) implements Matcher {
+
+        @Override
+        public BitSet match(ExecutionContext ctx) {
+            try {
+                return delegate.match(ctx);
+            } catch (EngineFault e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw conditionFault(e);
+            }
+        }
+
+        @Override
+        public int matchFirst(ExecutionContext ctx, RuleSnapshot snapshot) {
+            try {
+                return delegate.matchFirst(ctx, snapshot);
+            } catch (EngineFault e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw conditionFault(e);
+            }
+        }
+
+        private static LogicFault conditionFault(RuntimeException e) {
+            return new LogicFault(
+                    EngineErrorCode.CONDITION_EVAL_ERROR,
+                    "Batch row condition failed with an unexpected exception",
+                    Map.of("exception", e.getClass().getName()),
+                    e
+            );
+        }
+    }
+}
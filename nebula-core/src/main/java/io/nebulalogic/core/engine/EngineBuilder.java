@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.engine;
+
+
+import io.nebulalogic.core.api.ExecutionStrategy;
+import io.nebulalogic.core.api.TraceLevel;
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.runtime.matcher.MatcherMode;
+import io.nebulalogic.core.runtime.metrics.EngineMetrics;
+import io.nebulalogic.core.runtime.session.SessionPool;
+import io.nebulalogic.core.runtime.snapshot.SnapshotBuilder;
+import io.nebulalogic.core.runtime.snapshot.SnapshotHolder;
+import io.nebulalogic.core.runtime.trace.TracePolicy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.engine
+ * @ClassName EngineBuilder.java
+ * @Description 类 EngineBuilder 的实现描述：引擎构建器 - 汇总规则与执行配置，生成就绪态的引擎实例
+ * <p>默认配置：{@link ExecutionStrategy#FIRE_ALL}、{@link MatcherMode#LINEAR}、顺序评估、{@link TraceLevel#OFF}。</p>
+ * @Date 2026年10月16日 16:20
+ * @Version 1.0.0
+ */
+public final class EngineBuilder {
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    private ExecutionStrategy strategy = ExecutionStrategy.FIRE_ALL;
+
+    private MatcherMode matcherMode = MatcherMode.LINEAR;
+
+    private int maxRules = SnapshotBuilder.DEFAULT_MAX_RULES;
+
+    private Executor executor;
+
+    private int parallelism = 1;
+
+    private TraceLevel traceLevel = TraceLevel.OFF;
+
+    private int traceSampleEvery = TracePolicy.DEFAULT_SAMPLE_EVERY;
+
+    private long slowDecisionNanos = TracePolicy.DEFAULT_SLOW_THRESHOLD_NANOS;
+
+    private SessionPool sessionPool;
+
+    private EngineMetrics metrics;
+
+    /**
+     * 追加单条规则
+     *
+     * @param rule 规则定义
+     * @return 当前构建器
+     */
+    public EngineBuilder addRule(Rule rule) {
+        rules.add(rule);
+        return this;
+    }
+
+    /**
+     * 追加一组规则，保持给定顺序
+     *
+     * @param rules 规则定义集合
+     * @return 当前构建器
+     */
+    public EngineBuilder addRules(Collection<? extends Rule> rules) {
+        this.rules.addAll(rules);
+        return this;
+    }
+
+    /**
+     * 指定执行策略
+     *
+     * @param strategy 执行策略，不应为null
+     * @return 当前构建器
+     */
+    public EngineBuilder strategy(ExecutionStrategy strategy) {
+        if (strategy == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Execution strategy cannot be null",
+                    Map.of("context", "engine_build")
+            );
+        }
+        this.strategy = strategy;
+        return this;
+    }
+
+    /**
+     * 指定匹配模式
+     *
+     * @param matcherMode 匹配模式
+     * @return 当前构建器
+     */
+    public EngineBuilder matcherMode(MatcherMode matcherMode) {
+        this.matcherMode = matcherMode;
+        return this;
+    }
+
+    /**
+     * 调整规则数量上限（C-DATA-004）
+     *
+     * @param maxRules 上限，必须为正数
+     * @return 当前构建器
+     */
+    public EngineBuilder maxRules(int maxRules) {
+        this.maxRules = maxRules;
+        return this;
+    }
+
+    /**
+     * 启用并行条件评估
+     * <p>快照按序号切分为至多 parallelism 个块，在宿主提供的执行器上评估；引擎不创建、也不关闭执行器
+     * （C-RUNTIME-001）。启用后匹配模式不再生效，每条规则在所属块内按序评估。</p>
+     *
+     * @param executor    宿主提供的执行器，如 ForkJoinPool 或虚拟线程执行器
+     * @param parallelism 最大并行块数，必须为正数
+     * @return 当前构建器
+     */
+    public EngineBuilder parallelEvaluation(Executor executor, int parallelism) {
+        if (executor == null || parallelism <= 0) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Parallel evaluation requires an executor and positive parallelism",
+                    Map.of("parallelism", parallelism, "executorPresent", executor != null)
+            );
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 指定决策追踪级别（C-NFR-003）
+     *
+     * @param traceLevel 追踪级别，不应为null
+     * @return 当前构建器
+     */
+    public EngineBuilder trace(TraceLevel traceLevel) {
+        this.traceLevel = traceLevel;
+        return this;
+    }
+
+    /**
+     * 指定采样间隔，作用于 SAMPLED 与 TAIL 级别
+     *
+     * @param sampleEvery 平均每 N 次决策采样一次，必须为正数
+     * @return 当前构建器
+     */
+    public EngineBuilder traceSampleEvery(int sampleEvery) {
+        this.traceSampleEvery = sampleEvery;
+        return this;
+    }
+
+    /**
+     * 指定慢决策阈值，TAIL 级别下耗时达到阈值的决策生成完整轨迹
+     *
+     * @param threshold 耗时阈值，不应为null或为负
+     * @return 当前构建器
+     */
+    public EngineBuilder slowDecisionThreshold(Duration threshold) {
+        this.slowDecisionNanos = threshold == null ? -1 : threshold.toNanos();
+        return this;
+    }
+
+    /**
+     * 启用上下文复用
+     * <p>每次决策的上下文对象图取自容量为 poolSize 的池，宿主关闭 {@link io.nebulalogic.core.model.decision.Decision}
+     * 后归还并在下一次决策中复用；关闭后的上下文拒绝读取。容量通常取并发执行决策的线程数。</p>
+     *
+     * @param poolSize 最多保留的空闲上下文数，必须为正数
+     * @return 当前构建器
+     * @throws ConfigurationFault 如果容量不是正数
+     */
+    public EngineBuilder recycleContexts(int poolSize) {
+        this.sessionPool = new SessionPool(poolSize);
+        return this;
+    }
+
+    /**
+     * 启用指标
+     * <p>引擎把规则命中率、条件评估延迟、阶段耗时与故障计数记录到给定注册表，宿主经
+     * {@link EngineMetrics#snapshot()} 或 {@link EngineMetrics#export(io.nebulalogic.core.runtime.metrics.MetricsExporter)} 抓取。
+     * 一个注册表应只绑定一个引擎。</p>
+     *
+     * @param metrics 指标注册表，null 表示关闭（默认）
+     * @return 当前构建器
+     */
+    public EngineBuilder metrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * 构建引擎
+     *
+     * @return 就绪态的引擎实例
+     * @throws ConfigurationFault 如果规则定义不合法或超出数量上限
+     */
+    public DefaultEngine build() {
+        TracePolicy tracePolicy = new TracePolicy(traceLevel, traceSampleEvery, slowDecisionNanos);
+        SnapshotHolder snapshots = new SnapshotHolder(
+                new SnapshotBuilder()
+                        .matcherMode(matcherMode)
+                        .maxRules(maxRules)
+                        .addRules(rules)
+                        .build(),
+                maxRules
+        );
+        return new DefaultEngine(snapshots, strategy, tracePolicy, sessionPool, metrics, executor, parallelism);
+    }
+}
@@ -26,15 +26,33 @@ import java.util.Map;
 
 public class ConfigurationFault extends DescriptiveFault {
 
+    private static final long serialVersionUID = 1L;
+
     public ConfigurationFault(ErrorCode errorCode, String message, Map<String, Object> attrs) {
         super(errorCode, FaultCategory.CONFIGURATION, message, attrs);
     }
 
+    /**
+     * 构造包装原始异常的配置故障
+     *
+     * @param errorCode 配置相关的错误码
+     * @param message   具体的故障描述
+     * @param attrs     相关的配置参数
+     * @param cause     原始异常（如读取规则文件时的 IOException）
+     */
+    public ConfigurationFault(ErrorCode errorCode, String message, Map<String, Object> attrs, Throwable cause) {
+        super(errorCode, FaultCategory.CONFIGURATION, message, cause, attrs);
+    }
+
+    private ConfigurationFault(ConfigurationFault origin, Map<String, Object> attributes) {
+        super(origin, attributes);
+    }
+
     @Override
     public ConfigurationFault withAttribute(String key, Object value) {
         Map<String, Object> next = new HashMap<>(attributes);
         next.put(key, value);
-        return new ConfigurationFault(getErrorCode(), getMessage(), next);
+        return inheritStackTrace(new ConfigurationFault(this, next));
     }
 
 }
@@ -33,6 +33,8 @@ import java.util.Map;
 
 public abstract class DescriptiveFault extends EngineFault {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * 结构化诊断属性（只读）
      * <p>用于携带与当前故障相关的上下文信息，</p>
@@ -54,10 +56,40 @@ public abstract class DescriptiveFault extends EngineFault {
             String message,
             Map<String, Object> attributes
     ) {
-        super(errorCode, category, message);
+        this(errorCode, category, message, null, attributes);
+    }
+
+    /**
+     * 构造包装原始异常的可描述故障
+     *
+     * @param errorCode  错误码，用于机器识别
+     * @param category   故障分类，定义业务领域边界
+     * @param message    人类可读的故障描述
+     * @param cause      原始异常
+     * @param attributes 诊断属性集合，可为null（转换为空Map）
+     */
+    protected DescriptiveFault(
+            ErrorCode errorCode,
+            FaultCategory category,
+            String message,
+            Throwable cause,
+            Map<String, Object> attributes
+    ) {
+        super(errorCode, category, message, cause, null);
         this.attributes = attributes == null ? Map.of() : Map.copyOf(attributes);
     }
 
+    /**
+     * 派生构造器：沿用原故障的编码、描述、原因、路径与调用栈，仅替换诊断属性
+     *
+     * @param origin     原故障
+     * @param attributes 新的诊断属性集合
+     */
+    protected DescriptiveFault(DescriptiveFault origin, Map<String, Object> attributes) {
+        super(origin);
+        this.attributes = Map.copyOf(attributes);
+    }
+
     /**
      * 获取诊断属性集合
      *
@@ -27,6 +27,7 @@ public enum EngineErrorCode implements ErrorCode {
     /* --- Context 相关 --- */
     CONTEXT_FROZEN("E-C-001", "Context is frozen and cannot be modified"),
     MUTATOR_NOT_ALLOWED("E-C-003", "Write access is not allowed in this phase"),
+    CONTEXT_RELEASED("E-C-004", "Context has been released and can no longer be used"),
 
     /* --- 数据校验相关 --- */
     TYPE_MISMATCH("E-D-001", "Data type mismatch"),
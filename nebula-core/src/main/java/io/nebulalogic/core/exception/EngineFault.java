@@ -11,7 +11,8 @@
 package io.nebulalogic.core.exception;
 
 
-import java.util.HashMap;
+import io.nebulalogic.core.model.decision.DecisionTrace;
+
 import java.util.Map;
 
 /**
@@ -22,13 +23,25 @@ import java.util.Map;
  * @Description 类 EngineFault 的实现描述：引擎故障抽象基类 - Nebula-Engine 统一的异常体系核心
  * <p>设计哲学：在内核中，我们不谈“错误”，只谈“故障（Fault）”。</p>
  * <p>每一个故障都具备：确定的编码、明确的分类以及现场的属性快照。</p>
+ * <p><b>传播成本：</b>故障在深层条件树或动作链中出现时，外层不再逐层包装，而是经 {@link #at(FaultPath.Kind, String, int)}
+ * 取得追加了一个 {@link FaultPath} 节点的浅拷贝后抛出；原实例从不被修改，预分配或被多个线程同时抛出的故障实例不会累积路径。
+ * 消息文本在首次读取 {@link #getMessage()} 时才格式化。</p>
+ * <p><b>决策轨迹：</b>开启追踪时，以故障结束的决策经 {@link #withTrace(DecisionTrace)} 附加轨迹，同样只产生浅拷贝，
+ * 故障的具体类型保持不变。</p>
+ * <p><b>无栈模式：</b>CONTROL 类故障从不采集调用栈；以 {@code -Dnebula.fault.stackless=true} 启动时，
+ * 所有故障都不采集调用栈，适用于脏数据等故障密集的流量。诊断依赖错误码、属性与故障路径。</p>
  * @Date 2026年01月28日 11:45
  * @Version 1.0.0
  */
-public abstract class EngineFault extends RuntimeException {
+public abstract class EngineFault extends RuntimeException implements Cloneable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * 是否为错误类故障采集调用栈，JVM 启动时确定
+     */
+    private static final boolean CAPTURE_STACK_TRACE = !Boolean.getBoolean("nebula.fault.stackless");
+
     /**
      * 机器可读的错误码
      * <p>用于程序化错误处理、监控指标统计、国际化消息映射等场景</p>
@@ -47,6 +60,26 @@ public abstract class EngineFault extends RuntimeException {
      */
     private final Map<String, Object> attributes;
 
+    /**
+     * 未格式化的故障描述
+     */
+    private final String detail;
+
+    /**
+     * 故障传播经过的结构位置，由外向内；只在 {@link #at(FaultPath.Kind, String, int)} 产生的拷贝上设置，不参与序列化
+     */
+    private transient FaultPath path;
+
+    /**
+     * 故障结束的决策轨迹；只在 {@link #withTrace(DecisionTrace)} 产生的拷贝上设置，不参与序列化
+     */
+    private transient DecisionTrace trace;
+
+    /**
+     * 延迟格式化的消息头缓存
+     */
+    private String formatted;
+
     /**
      * 完整构造器
      *
@@ -64,16 +97,34 @@ public abstract class EngineFault extends RuntimeException {
             Throwable cause,
             Map<String, Object> attributes
     ) {
-        // 构建格式化的异常消息：[类别] 错误码: 描述
-        super(String.format("[%s] %s: %s", category, errorCode.code(), message), cause);
+        // 消息延迟格式化，调用栈按故障模式决定是否采集
+        super(null, cause, true, CAPTURE_STACK_TRACE && category.isError());
 
         this.errorCode = errorCode;
         this.category = category;
+        this.detail = message;
 
         // 确保attributes的不可变性
         this.attributes = attributes == null ? Map.of() : Map.copyOf(attributes);
     }
 
+    /**
+     * 派生构造器：复制原故障的编码、分类、描述、原因与路径
+     * <p>供 {@link DescriptiveFault#withAttribute(String, Object)} 的实现使用，构造完成后经
+     * {@link #inheritStackTrace(EngineFault)} 沿用原故障的调用栈而非重新定位。</p>
+     *
+     * @param origin 原故障
+     */
+    protected EngineFault(EngineFault origin) {
+        super(null, origin.getCause(), true, CAPTURE_STACK_TRACE && origin.category.isError());
+        this.errorCode = origin.errorCode;
+        this.category = origin.category;
+        this.detail = origin.detail;
+        this.attributes = origin.attributes;
+        this.path = origin.path;
+        this.trace = origin.trace;
+    }
+
     /**
      * 快捷构造器（无cause和attributes）
      */
@@ -102,4 +153,103 @@ public abstract class EngineFault extends RuntimeException {
         return attributes;
     }
 
+    /**
+     * 未格式化的故障描述
+     *
+     * @return 构造时传入的描述
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * 故障传播路径
+     *
+     * @return 由外向内的路径表头，尚未经过任何结构层时为null
+     */
+    public FaultPath getPath() {
+        return path;
+    }
+
+    /**
+     * 故障结束的决策轨迹
+     *
+     * @return 追踪开启时故障所在决策的轨迹，否则为null
+     */
+    public DecisionTrace getTrace() {
+        return trace;
+    }
+
+    /**
+     * 故障所属的规则ID
+     *
+     * @return 路径中记录的规则ID，尚未到达规则层时为null
+     */
+    public String getRuleId() {
+        FaultPath rule = path == null ? null : path.find(FaultPath.Kind.RULE);
+        return rule == null ? null : rule.name();
+    }
+
+    /**
+     * 记录故障穿过的一层结构，返回追加了该层路径的故障以便直接抛出
+     * <p>返回当前故障的浅拷贝，只分配拷贝本身与一个路径节点，不复制属性、不采集调用栈；当前实例保持不变。</p>
+     *
+     * @param kind  结构类型
+     * @param name  结构名称
+     * @param index 结构内的位置下标
+     * @return 携带新路径的故障拷贝
+     */
+    public EngineFault at(FaultPath.Kind kind, String name, int index) {
+        EngineFault copy = copy();
+        copy.path = new FaultPath(kind, name, index, path);
+        return copy;
+    }
+
+    /**
+     * 附加故障结束的决策轨迹，返回携带轨迹的浅拷贝，当前实例保持不变
+     *
+     * @param trace 决策轨迹
+     * @return 携带轨迹的故障拷贝
+     */
+    public EngineFault withTrace(DecisionTrace trace) {
+        EngineFault copy = copy();
+        copy.trace = trace;
+        return copy;
+    }
+
+    private EngineFault copy() {
+        try {
+            return (EngineFault) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * 让派生故障沿用当前故障的调用栈
+     *
+     * @param derived 由派生构造器创建的故障
+     * @param <T>     故障类型
+     * @return 传入的派生故障
+     */
+    protected final <T extends EngineFault> T inheritStackTrace(T derived) {
+        if (CAPTURE_STACK_TRACE && category.isError()) {
+            derived.setStackTrace(getStackTrace());
+        }
+        return derived;
+    }
+
+    /**
+     * 格式化消息：[类别] 错误码: 描述，有传播路径时追加 " @ 路径"
+     */
+    @Override
+    public String getMessage() {
+        String head = formatted;
+        if (head == null) {
+            head = String.format("[%s] %s: %s", category, errorCode.code(), detail);
+            formatted = head;
+        }
+        return path == null ? head : head + " @ " + path;
+    }
+
 }
@@ -33,6 +33,8 @@ import java.util.Map;
 
 public final class ExecutionInterrupted extends EngineFault {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * 构造执行中断
      *
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.exception;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.exception
+ * @ClassName FaultPath.java
+ * @Description 类 FaultPath 的实现描述：故障路径 - 故障从发生点向上传播时经过的结构位置
+ * <p>路径是由外向内的不可变单链表：每经过一层（条件节点、动作链、规则）只在表头追加一个节点，
+ * 不复制属性、不格式化字符串、不重新采集调用栈；文本形式仅在 {@link #toString()} 时生成。</p>
+ * <p>示例：{@code rule[r-42]/AND[1]/NOT[0]} 表示规则 r-42 条件中第 2 个合取项下的取反节点内部出错。</p>
+ * @Date 2026年10月16日 17:30
+ * @Version 1.0.0
+ */
+public final class FaultPath {
+
+    /**
+     * 路径节点的结构类型
+     */
+    public enum Kind {
+
+        /**
+         * 规则：name 为规则ID，index 为快照内序号
+         */
+        RULE,
+
+        /**
+         * 条件节点：name 为节点类型（AND / OR / NOT），index 为出错的操作数下标
+         */
+        CONDITION,
+
+        /**
+         * 动作：name 为动作位置描述（如 andThen），index 为动作下标
+         */
+        ACTION
+    }
+
+    private final Kind kind;
+
+    private final String name;
+
+    private final int index;
+
+    private final FaultPath inner;
+
+    FaultPath(Kind kind, String name, int index, FaultPath inner) {
+        this.kind = kind;
+        this.name = name;
+        this.index = index;
+        this.inner = inner;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    /**
+     * 更靠近故障发生点的下一层
+     *
+     * @return 内层路径节点，已到达最内层时为null
+     */
+    public FaultPath inner() {
+        return inner;
+    }
+
+    /**
+     * 沿路径查找首个指定类型的节点
+     *
+     * @param kind 节点类型
+     * @return 路径节点，不存在时为null
+     */
+    public FaultPath find(Kind kind) {
+        for (FaultPath node = this; node != null; node = node.inner) {
+            if (node.kind == kind) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 路径深度
+     *
+     * @return 节点数量
+     */
+    public int depth() {
+        int depth = 0;
+        for (FaultPath node = this; node != null; node = node.inner) {
+            depth++;
+        }
+        return depth;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (FaultPath node = this; node != null; node = node.inner) {
+            if (!text.isEmpty()) {
+                text.append('/');
+            }
+            text.append(node.kind == Kind.RULE ? "rule" : node.name).append('[');
+            text.append(node.kind == Kind.RULE ? node.name : String.valueOf(node.index)).append(']');
+        }
+        return text.toString();
+    }
+}
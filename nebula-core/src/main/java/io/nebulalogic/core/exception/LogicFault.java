@@ -32,6 +32,8 @@ import java.util.Map;
 
 public class LogicFault extends DescriptiveFault {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * 构造逻辑故障
      *
@@ -43,11 +45,27 @@ public class LogicFault extends DescriptiveFault {
         super(errorCode, FaultCategory.LOGIC, message, attrs);
     }
 
+    /**
+     * 构造包装原始故障的逻辑故障
+     *
+     * @param errorCode 逻辑相关的错误码
+     * @param message   具体的故障描述
+     * @param attrs     相关的业务参数和状态信息
+     * @param cause     原始异常，诊断时经 getCause() 取得，无需复制其消息
+     */
+    public LogicFault(ErrorCode errorCode, String message, Map<String, Object> attrs, Throwable cause) {
+        super(errorCode, FaultCategory.LOGIC, message, cause, attrs);
+    }
+
+    private LogicFault(LogicFault origin, Map<String, Object> attributes) {
+        super(origin, attributes);
+    }
+
     @Override
     public LogicFault withAttribute(String key, Object value) {
         Map<String, Object> next = new HashMap<>(attributes);
         next.put(key, value);
-        return new LogicFault(getErrorCode(), getMessage(), next);
+        return inheritStackTrace(new LogicFault(this, next));
     }
 
     /**
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.decision;
+
+
+import io.nebulalogic.core.exception.EngineFault;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.decision
+ * @ClassName BatchDecision.java
+ * @Description 类 BatchDecision 的实现描述：批量决策结果 - 按记录下标排列的决策或故障
+ * <p>批量执行中单条记录的故障不会中断整批：故障记录的决策为null，故障本身可经 {@link #fault(int)} 取得。</p>
+ * @Date 2026年10月16日 16:48
+ * @Version 1.0.0
+ */
+public final class BatchDecision {
+
+    private final Decision[] decisions;
+
+    private final EngineFault[] faults;
+
+    private final int faultCount;
+
+    public BatchDecision(Decision[] decisions, EngineFault[] faults) {
+        this.decisions = decisions.clone();
+        this.faults = faults.clone();
+        int count = 0;
+        for (EngineFault fault : this.faults) {
+            if (fault != null) {
+                count++;
+            }
+        }
+        this.faultCount = count;
+    }
+
+    /**
+     * 记录数量
+     *
+     * @return 批内记录数
+     */
+    public int size() {
+        return decisions.length;
+    }
+
+    /**
+     * 单条记录的决策
+     *
+     * @param row 记录下标
+     * @return 决策，该记录故障时为null
+     */
+    public Decision decision(int row) {
+        return decisions[row];
+    }
+
+    /**
+     * 单条记录的故障
+     *
+     * @param row 记录下标
+     * @return 故障，该记录成功时为null
+     */
+    public EngineFault fault(int row) {
+        return faults[row];
+    }
+
+    /**
+     * 故障记录数量
+     *
+     * @return 执行失败的记录数
+     */
+    public int faultCount() {
+        return faultCount;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchDecision[size=" + decisions.length + ", faults=" + faultCount + "]";
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.decision;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.decision
+ * @ClassName Decision.java
+ * @Description 类 Decision 的实现描述：决策结果 - 一次执行的不可变输出
+ * <ul>
+ *     <li><b>触发规则：</b>按实际执行顺序排列的规则ID。</li>
+ *     <li><b>最终上下文：</b>ACTION 阶段结束后冻结的只读上下文。</li>
+ *     <li><b>事实变更：</b>动作产生的有序变更日志，以及决策前的事实视图；二者均不复制上下文。</li>
+ *     <li><b>匹配规模：</b>冲突解决之前匹配集的大小。</li>
+ *     <li><b>决策轨迹：</b>按追踪级别生成的审计记录，未生成时为空（C-NFR-003）。</li>
+ * </ul>
+ * <p>引擎启用上下文复用时，两个上下文借用自池中的对象，宿主读取完毕后应调用 {@link #close()} 归还；
+ * 关闭后 {@link #context()} / {@link #before()} 以及此前取得的上下文视图都会拒绝读取。
+ * 未启用复用时 {@link #close()} 不做任何事。</p>
+ * @Date 2026年10月16日 16:06
+ * @Version 1.0.0
+ */
+public final class Decision implements AutoCloseable {
+
+    private final List<String> firedRules;
+
+    private final int matchedCount;
+
+    private final Context before;
+
+    private final Context context;
+
+    private final List<FactChange> changes;
+
+    private final long elapsedNanos;
+
+    private final DecisionTrace trace;
+
+    /**
+     * 归还借用上下文的回调；未启用复用时为null
+     */
+    private final Runnable release;
+
+    private boolean released;
+
+    public Decision(List<String> firedRules, int matchedCount, Context context, long elapsedNanos) {
+        this(firedRules, matchedCount, context, elapsedNanos, null);
+    }
+
+    public Decision(List<String> firedRules, int matchedCount, Context context, long elapsedNanos,
+                    DecisionTrace trace) {
+        this(firedRules, matchedCount, context, context, List.of(), elapsedNanos, trace);
+    }
+
+    public Decision(List<String> firedRules, int matchedCount, Context before, Context context,
+                    List<FactChange> changes, long elapsedNanos, DecisionTrace trace) {
+        this(firedRules, matchedCount, before, context, changes, elapsedNanos, trace, null);
+    }
+
+    public Decision(List<String> firedRules, int matchedCount, Context before, Context context,
+                    List<FactChange> changes, long elapsedNanos, DecisionTrace trace, Runnable release) {
+        this.firedRules = List.copyOf(firedRules);
+        this.matchedCount = matchedCount;
+        this.before = before;
+        this.context = context;
+        this.changes = changes;
+        this.elapsedNanos = elapsedNanos;
+        this.trace = trace;
+        this.release = release;
+    }
+
+    /**
+     * 已执行动作的规则ID
+     *
+     * @return 按执行顺序排列的不可变列表
+     */
+    public List<String> firedRules() {
+        return firedRules;
+    }
+
+    /**
+     * 是否有规则被触发
+     *
+     * @return true 表示至少一条规则执行了动作
+     */
+    public boolean isHit() {
+        return !firedRules.isEmpty();
+    }
+
+    /**
+     * 冲突解决之前的匹配集大小
+     * <p>首次命中策略在首条命中处停止评估，此值至多为 1。</p>
+     *
+     * @return 条件为真的规则数
+     */
+    public int matchedCount() {
+        return matchedCount;
+    }
+
+    /**
+     * 决策结束时冻结的上下文
+     *
+     * @return 只读上下文
+     */
+    public Context context() {
+        checkLive();
+        return context;
+    }
+
+    /**
+     * 决策开始时的事实视图
+     *
+     * @return 动作执行前的只读上下文
+     */
+    public Context before() {
+        checkLive();
+        return before;
+    }
+
+    /**
+     * 动作产生的事实变更
+     *
+     * @return 按发生顺序排列的不可变列表
+     */
+    public List<FactChange> changes() {
+        return changes;
+    }
+
+    /**
+     * 被修改事实的最终值，按变更日志即时归并
+     *
+     * @return 按首次修改顺序排列的不可变 Map，被移除的键映射为null
+     */
+    public Map<String, Object> delta() {
+        if (changes.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Object> delta = new LinkedHashMap<>();
+        for (FactChange change : changes) {
+            delta.put(change.key(), change.after());
+        }
+        return Collections.unmodifiableMap(delta);
+    }
+
+    /**
+     * 决策耗时
+     *
+     * @return 纳秒
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * 决策轨迹
+     *
+     * @return 追踪关闭、未被采样或尾部追踪下决策既不慢也无故障时为空
+     */
+    public Optional<DecisionTrace> trace() {
+        return Optional.ofNullable(trace);
+    }
+
+    /**
+     * 归还借用的上下文
+     * <p>幂等；触发规则、变更日志与轨迹在关闭后仍可读取。</p>
+     */
+    @Override
+    public void close() {
+        if (release != null && !released) {
+            released = true;
+            release.run();
+        }
+    }
+
+    private void checkLive() {
+        if (released) {
+            throw new LogicFault(
+                    EngineErrorCode.CONTEXT_RELEASED,
+                    "Decision context was used after the decision had been closed",
+                    Map.of("firedRules", firedRules.size())
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Decision[fired=" + firedRules + ", matched=" + matchedCount + ", elapsedNanos=" + elapsedNanos + "]";
+    }
+}
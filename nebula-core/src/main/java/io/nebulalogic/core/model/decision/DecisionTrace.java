@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.decision;
+
+
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.decision
+ * @ClassName DecisionTrace.java
+ * @Description 类 DecisionTrace 的实现描述：决策轨迹 - 命中规则、执行动作与事实变更的审计记录（C-NFR-003）
+ * <p>计数始终完整；事件列表受环形缓冲区容量限制，溢出时保留最近的事件，丢弃数量见 {@link #droppedEvents()}。</p>
+ * @Date 2026年10月16日 17:38
+ * @Version 1.0.0
+ */
+public final class DecisionTrace {
+
+    /**
+     * 生成完整轨迹的原因
+     */
+    public enum Trigger {
+
+        /**
+         * 仅计数级别，事件列表为空
+         */
+        COUNTERS,
+
+        /**
+         * 决策被采样
+         */
+        SAMPLED,
+
+        /**
+         * 决策耗时超过慢决策阈值
+         */
+        SLOW,
+
+        /**
+         * 决策以故障结束
+         */
+        FAULTED
+    }
+
+    private final Trigger trigger;
+
+    private final int matchedCount;
+
+    private final int firedCount;
+
+    private final int actionCount;
+
+    private final int factChangeCount;
+
+    private final int droppedEvents;
+
+    private final List<TraceEvent> events;
+
+    public DecisionTrace(Trigger trigger, int matchedCount, int firedCount, int actionCount,
+                         int factChangeCount, int droppedEvents, List<TraceEvent> events) {
+        this.trigger = trigger;
+        this.matchedCount = matchedCount;
+        this.firedCount = firedCount;
+        this.actionCount = actionCount;
+        this.factChangeCount = factChangeCount;
+        this.droppedEvents = droppedEvents;
+        this.events = List.copyOf(events);
+    }
+
+    public Trigger trigger() {
+        return trigger;
+    }
+
+    public int matchedCount() {
+        return matchedCount;
+    }
+
+    public int firedCount() {
+        return firedCount;
+    }
+
+    public int actionCount() {
+        return actionCount;
+    }
+
+    public int factChangeCount() {
+        return factChangeCount;
+    }
+
+    /**
+     * 因缓冲区溢出而丢弃的最早事件数
+     *
+     * @return 丢弃数量
+     */
+    public int droppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * 按发生顺序排列的事件
+     *
+     * @return 不可变列表
+     */
+    public List<TraceEvent> events() {
+        return events;
+    }
+
+    @Override
+    public String toString() {
+        return "DecisionTrace[trigger=" + trigger + ", matched=" + matchedCount + ", fired=" + firedCount
+                + ", actions=" + actionCount + ", factChanges=" + factChangeCount
+                + ", events=" + events.size() + ", dropped=" + droppedEvents + "]";
+    }
+}
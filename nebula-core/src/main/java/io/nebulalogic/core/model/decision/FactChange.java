@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.decision;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.decision
+ * @ClassName FactChange.java
+ * @Description 类 FactChange 的实现描述：动作阶段的一次事实变更
+ *
+ * @param ruleId      执行写入的规则ID，动作阶段之外的写入为null
+ * @param actionIndex 动作在规则内的下标，动作阶段之外的写入为 -1
+ * @param key         事实键名
+ * @param before         写入前的值，事实原本不存在或写入前的值未知时为null
+ * @param after          写入后的值，移除时为null
+ * @param beforeResolved 写入前的值是否已知；被覆盖的是尚未求值的按需事实时为false，记录变更时不为此调用其提供者
+ * @Date 2026年10月16日 17:52
+ * @Version 1.0.0
+ */
+public record FactChange(String ruleId, int actionIndex, String key, Object before, Object after,
+                         boolean beforeResolved) {
+
+    public FactChange(String ruleId, int actionIndex, String key, Object before, Object after) {
+        this(ruleId, actionIndex, key, before, after, true);
+    }
+
+    /**
+     * 是否为移除操作
+     *
+     * @return true 表示写入后事实不存在
+     */
+    public boolean isRemoval() {
+        return after == null;
+    }
+
+    @Override
+    public String toString() {
+        return (ruleId == null ? "" : ruleId + "#" + actionIndex + " ") + key + ": "
+                + (beforeResolved ? before : "<unresolved>") + " -> " + after;
+    }
+}
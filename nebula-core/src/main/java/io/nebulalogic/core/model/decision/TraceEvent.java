@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.decision;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.decision
+ * @ClassName TraceEvent.java
+ * @Description 类 TraceEvent 的实现描述：决策轨迹中的单个事件
+ * <p>未使用的字段为 null（ruleId / key / value）或 -1（index）。</p>
+ *
+ * @param kind        事件类型
+ * @param ruleId      事件所属规则ID
+ * @param index       动作在规则内的下标
+ * @param key         变更的事实键名
+ * @param value       写入的事实值，或 FAULT 事件中的错误码
+ * @param offsetNanos 相对决策开始的纳秒偏移
+ * @Date 2026年10月16日 17:36
+ * @Version 1.0.0
+ */
+public record TraceEvent(Kind kind, String ruleId, int index, String key, Object value, long offsetNanos) {
+
+    /**
+     * 事件类型
+     */
+    public enum Kind {
+
+        /**
+         * 规则条件为真，进入匹配集
+         */
+        RULE_MATCHED,
+
+        /**
+         * 规则的单个动作执行完成
+         */
+        ACTION_EXECUTED,
+
+        /**
+         * 规则的全部动作执行完成
+         */
+        RULE_FIRED,
+
+        /**
+         * 动作写入了一个事实
+         */
+        FACT_CHANGED,
+
+        /**
+         * 动作移除了一个事实
+         */
+        FACT_REMOVED,
+
+        /**
+         * 决策以故障结束
+         */
+        FAULT
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("+").append(offsetNanos).append("ns ").append(kind);
+        if (ruleId != null) {
+            text.append(" rule=").append(ruleId);
+        }
+        if (index >= 0) {
+            text.append(" action=").append(index);
+        }
+        if (key != null) {
+            text.append(' ').append(key).append('=').append(value);
+        } else if (value != null) {
+            text.append(' ').append(value);
+        }
+        return text.toString();
+    }
+}
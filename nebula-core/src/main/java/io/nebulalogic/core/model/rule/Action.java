@@ -14,8 +14,10 @@ package io.nebulalogic.core.model.rule;
 import io.nebulalogic.core.exception.ConfigurationFault;
 import io.nebulalogic.core.exception.EngineErrorCode;
 import io.nebulalogic.core.exception.EngineFault;
-import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.exception.FaultPath;
 import io.nebulalogic.core.model.context.MutatorContext;
+import io.nebulalogic.core.model.rule.action.NamedAction;
+import io.nebulalogic.core.model.rule.action.VariableAssignment;
 
 import java.util.Map;
 
@@ -66,15 +68,16 @@ public interface Action {
         }
 
         return ctx -> {
+            // 保留原始故障，仅在路径上记录出错的链内位置，不复制属性
             try {
                 this.execute(ctx);
+            } catch (EngineFault e) {
+                throw e.at(FaultPath.Kind.ACTION, "andThen", 0);
+            }
+            try {
                 next.execute(ctx);
             } catch (EngineFault e) {
-                // 保留原始异常信息，添加上下文
-                if (e instanceof LogicFault) {
-                    throw ((LogicFault) e).withAttribute("actionChain", "sequential");
-                }
-                throw e;
+                throw e.at(FaultPath.Kind.ACTION, "andThen", 1);
             }
         };
     }
@@ -98,23 +101,26 @@ public interface Action {
      * @return 设置变量动作
      */
     static Action setVariable(String key, Object value) {
-        return ctx -> {
-            if (ctx == null) {
-                throw new ConfigurationFault(
-                        EngineErrorCode.CONFIGURATION_ERROR,
-                        "MutatorContext cannot be null for variable assignment",
-                        Map.of("key", key, "value", value)
-                );
-            }
-            try {
-                ctx.put(key, value);
-            } catch (EngineFault e) {
-                throw new LogicFault(
-                        EngineErrorCode.ACTION_EXEC_ERROR,
-                        "Failed to set variable",
-                        Map.of("key", key, "value", value, "nestedFault", e.getMessage())
-                );
-            }
-        };
+        return new VariableAssignment(key, value);
+    }
+
+    /**
+     * 静态方法：创建具名动作
+     * <p>宿主注册的动作以名称包装后，规则可以写入快照镜像并在加载时按名称重新解析。</p>
+     *
+     * @param name   动作名称，不应为空
+     * @param action 实际执行的动作，不应为null
+     * @return 具名动作
+     * @throws io.nebulalogic.core.exception.ConfigurationFault 如果名称为空或动作为null
+     */
+    static Action named(String name, Action action) {
+        if (name == null || name.isEmpty() || action == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Named action requires non-empty name and non-null action",
+                    Map.of("operation", "NAMED", "context", "action_composition")
+            );
+        }
+        return new NamedAction(name, action);
     }
 }
@@ -13,10 +13,17 @@ package io.nebulalogic.core.model.rule;
 
 import io.nebulalogic.core.exception.ConfigurationFault;
 import io.nebulalogic.core.exception.EngineErrorCode;
-import io.nebulalogic.core.exception.EngineFault;
 import io.nebulalogic.core.exception.LogicFault;
-import io.nebulalogic.core.model.context.Context;
 import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.rule.condition.AndCondition;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.ConstantCondition;
+import io.nebulalogic.core.model.rule.condition.FactOperator;
+import io.nebulalogic.core.model.rule.condition.FactPredicate;
+import io.nebulalogic.core.model.rule.condition.NotCondition;
+import io.nebulalogic.core.model.rule.condition.OrCondition;
+import io.nebulalogic.core.model.rule.condition.PredicateCondition;
+import io.nebulalogic.core.model.types.FinancialValue;
 
 import java.util.Map;
 
@@ -26,6 +33,8 @@ import java.util.Map;
  * @BelongPackage io.nebulalogic.core.model.rule
  * @ClassName Condition.java
  * @Description 类 Condition 的实现描述：条件评估接口 - 规则触发条件的抽象
+ * <p>组合方法（and / or / negate）构建可内省的条件语法树（见 {@link ConditionNode}），
+ * 连续的 AND / OR 链在构建时即被扁平化为 n 元节点，便于引擎在执行前分析与优化。</p>
  * @Date 2026年01月21日 12:39
  * @Version 1.0.0
  */
@@ -58,18 +67,7 @@ public interface Condition {
             );
         }
 
-        return ctx -> {
-            try {
-                return this.evaluate(ctx) && other.evaluate(ctx);
-            } catch (EngineFault e) {
-                // 包装组合条件评估中的异常，保留原始信息
-                throw new LogicFault(
-                        EngineErrorCode.CONDITION_EVAL_ERROR,
-                        "Condition AND evaluation failed",
-                        Map.of("nestedFault", e.getMessage())
-                ).withAttribute("operation", "AND");
-            }
-        };
+        return AndCondition.of(ConditionNode.of(this), ConditionNode.of(other));
     }
 
 
@@ -90,17 +88,7 @@ public interface Condition {
             );
         }
 
-        return ctx -> {
-            try {
-                return this.evaluate(ctx) || other.evaluate(ctx);
-            } catch (EngineFault e) {
-                throw new LogicFault(
-                        EngineErrorCode.CONDITION_EVAL_ERROR,
-                        "Condition OR evaluation failed",
-                        Map.of("nestedFault", e.getMessage())
-                ).withAttribute("operation", "OR");
-            }
-        };
+        return OrCondition.of(ConditionNode.of(this), ConditionNode.of(other));
     }
 
     /**
@@ -110,17 +98,7 @@ public interface Condition {
      * @return 取反后的新条件
      */
     default Condition negate() {
-        return ctx -> {
-            try {
-                return !this.evaluate(ctx);
-            } catch (EngineFault e) {
-                throw new LogicFault(
-                        EngineErrorCode.CONDITION_EVAL_ERROR,
-                        "Condition negation evaluation failed",
-                        Map.of("nestedFault", e.getMessage())
-                ).withAttribute("operation", "NOT");
-            }
-        };
+        return new NotCondition(ConditionNode.of(this));
     }
 
     /**
@@ -129,7 +107,7 @@ public interface Condition {
      * @return 恒真条件
      */
     static Condition always() {
-        return ctx -> true;
+        return ConstantCondition.TRUE;
     }
 
     /**
@@ -138,7 +116,141 @@ public interface Condition {
      * @return 恒假条件
      */
     static Condition never() {
-        return ctx -> false;
+        return ConstantCondition.FALSE;
     }
 
+    /**
+     * 静态方法：创建具名的原子谓词
+     * <p>名称相同的谓词被视为同一判定，引擎可据此跨规则识别共享的业务谓词（如 "isVip"）。</p>
+     *
+     * @param name      谓词名称，不应为null或空字符串
+     * @param predicate 实际的判定逻辑，不应为null
+     * @return 具名谓词节点
+     * @throws ConfigurationFault 如果name或predicate为null
+     */
+    static Condition named(String name, Condition predicate) {
+        if (name == null || name.isEmpty() || predicate == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Named predicate requires non-empty name and non-null condition",
+                    Map.of("operation", "NAMED", "context", "condition_composition")
+            );
+        }
+        return new PredicateCondition(predicate, name);
+    }
+
+    /**
+     * 静态方法：创建相等判定 {@code key == value}
+     * <p>结构化的事实谓词，引擎可在快照构建期据此建立哈希索引。</p>
+     *
+     * @param key   事实键名，不应为null或空字符串
+     * @param value 比较常量，不应为null；为 FinancialValue 时按金融级语义比较
+     * @return 事实谓词
+     * @throws ConfigurationFault 如果key或value为null
+     */
+    static Condition equalTo(String key, Object value) {
+        return fact(key, FactOperator.EQ, value);
+    }
+
+    /**
+     * 静态方法：创建不等判定 {@code key != value}
+     * <p>事实不存在时判定为 true。</p>
+     *
+     * @param key   事实键名，不应为null或空字符串
+     * @param value 比较常量，不应为null
+     * @return 事实谓词
+     * @throws ConfigurationFault 如果key或value为null
+     */
+    static Condition notEqualTo(String key, Object value) {
+        return fact(key, FactOperator.NE, value);
+    }
+
+    /**
+     * 静态方法：创建数值判定 {@code key > value}
+     *
+     * @param key   事实键名，不应为null或空字符串
+     * @param value 比较常量，不应为null
+     * @return 事实谓词
+     * @throws ConfigurationFault 如果key或value为null
+     */
+    static Condition greaterThan(String key, FinancialValue value) {
+        return fact(key, FactOperator.GT, value);
+    }
+
+    /**
+     * 静态方法：创建数值判定 {@code key >= value}
+     *
+     * @param key   事实键名，不应为null或空字符串
+     * @param value 比较常量，不应为null
+     * @return 事实谓词
+     * @throws ConfigurationFault 如果key或value为null
+     */
+    static Condition greaterOrEqual(String key, FinancialValue value) {
+        return fact(key, FactOperator.GE, value);
+    }
+
+    /**
+     * 静态方法：创建数值判定 {@code key < value}
+     *
+     * @param key   事实键名，不应为null或空字符串
+     * @param value 比较常量，不应为null
+     * @return 事实谓词
+     * @throws ConfigurationFault 如果key或value为null
+     */
+    static Condition lessThan(String key, FinancialValue value) {
+        return fact(key, FactOperator.LT, value);
+    }
+
+    /**
+     * 静态方法：创建数值判定 {@code key <= value}
+     *
+     * @param key   事实键名，不应为null或空字符串
+     * @param value 比较常量，不应为null
+     * @return 事实谓词
+     * @throws ConfigurationFault 如果key或value为null
+     */
+    static Condition lessOrEqual(String key, FinancialValue value) {
+        return fact(key, FactOperator.LE, value);
+    }
+
+    /**
+     * 静态方法：创建左闭右开的区间判定 {@code low <= key < high}
+     * <p>阶梯定价、额度分档等场景的标准写法，区间首尾相接时不会重叠。</p>
+     *
+     * @param key  事实键名，不应为null或空字符串
+     * @param low  下界（包含），不应为null
+     * @param high 上界（不包含），不应为null
+     * @return 由两个事实谓词组成的 AND 条件
+     * @throws ConfigurationFault 如果参数为null
+     */
+    static Condition between(String key, FinancialValue low, FinancialValue high) {
+        return greaterOrEqual(key, low).and(lessThan(key, high));
+    }
+
+    /**
+     * 静态方法：创建结构化事实谓词 {@code key <operator> value}
+     *
+     * @param key      事实键名，不应为null或空字符串
+     * @param operator 比较运算符，不应为null
+     * @param value    比较常量，不应为null；区间运算符要求为 FinancialValue
+     * @return 事实谓词
+     * @throws ConfigurationFault 如果参数为null或区间运算符的常量不是 FinancialValue
+     */
+    static Condition fact(String key, FactOperator operator, Object value) {
+        if (key == null || key.isEmpty() || operator == null || value == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Fact predicate requires non-empty key, operator and operand",
+                    Map.of("operation", "FACT", "context", "condition_composition", "key", String.valueOf(key))
+            );
+        }
+        if (operator.isRange() && !(value instanceof FinancialValue)) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Range predicate requires a FinancialValue operand",
+                    Map.of("operation", operator.name(), "key", key, "operandType", value.getClass().getName())
+            );
+        }
+        return new FactPredicate(key, operator, value);
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.action;
+
+
+import io.nebulalogic.core.model.context.MutatorContext;
+import io.nebulalogic.core.model.rule.Action;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.action
+ * @ClassName NamedAction.java
+ * @Description 类 NamedAction 的实现描述：具名动作 - 为宿主注册的动作保留名称
+ * <p>动作实现属于宿主代码，无法序列化；名称使规则可以写入快照镜像，并在加载时经同一份注册表重新解析。
+ * 与具名谓词一致，同名动作由命名方保证语义一致。</p>
+ * @Date 2026年10月17日 10:40
+ * @Version 1.0.0
+ */
+public final class NamedAction implements Action {
+
+    private final String name;
+
+    private final Action delegate;
+
+    /**
+     * 构造具名动作
+     *
+     * @param name     动作名称，不应为空
+     * @param delegate 实际执行的动作，不应为null
+     */
+    public NamedAction(String name, Action delegate) {
+        this.name = name;
+        this.delegate = delegate;
+    }
+
+    /**
+     * 动作名称
+     *
+     * @return 注册名称
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 被包装的原始动作
+     *
+     * @return 原始动作实例
+     */
+    public Action delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void execute(MutatorContext ctx) {
+        delegate.execute(ctx);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.action;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.MutatorContext;
+import io.nebulalogic.core.model.rule.Action;
+
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.action
+ * @ClassName VariableAssignment.java
+ * @Description 类 VariableAssignment 的实现描述：赋值动作 - 将常量写入一个事实
+ * <p>由 {@link Action#setVariable(String, Object)} 创建；键与值可读取，规则因此可以原样写入快照镜像。</p>
+ * @Date 2026年10月17日 10:40
+ * @Version 1.0.0
+ */
+public final class VariableAssignment implements Action {
+
+    private final String key;
+
+    private final Object value;
+
+    /**
+     * 构造赋值动作
+     *
+     * @param key   变量名
+     * @param value 变量值
+     */
+    public VariableAssignment(String key, Object value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * 变量名
+     *
+     * @return 写入的键
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * 变量值
+     *
+     * @return 写入的值
+     */
+    public Object value() {
+        return value;
+    }
+
+    @Override
+    public void execute(MutatorContext ctx) {
+        if (ctx == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "MutatorContext cannot be null for variable assignment",
+                    Map.of("key", key, "value", value)
+            );
+        }
+        try {
+            ctx.put(key, value);
+        } catch (EngineFault e) {
+            throw new LogicFault(
+                    EngineErrorCode.ACTION_EXEC_ERROR,
+                    "Failed to set variable",
+                    Map.of("key", key, "value", value),
+                    e
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "set " + key + " = " + value;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.condition;
+
+
+import io.nebulalogic.core.model.rule.Condition;
+
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.condition
+ * @ClassName ConditionNode.java
+ * @Description 类 ConditionNode 的实现描述：可内省的条件节点 - 条件语法树的统一抽象
+ * <p>{@link Condition} 的组合方法（and / or / negate）不再返回匿名闭包，而是构建由本接口描述的语法树：</p>
+ * <ul>
+ *     <li><b>可内省：</b>引擎可以在执行前遍历、重排、去重、索引规则条件。</li>
+ *     <li><b>扁平化：</b>连续的 AND / OR 链在构建时即被展开为 n 元节点，避免深层嵌套。</li>
+ *     <li><b>不可变：</b>节点构造后不可修改，可被多个规则、多个线程安全共享。</li>
+ * </ul>
+ * @Date 2026年10月16日 09:15
+ * @Version 1.0.0
+ */
+public interface ConditionNode extends Condition {
+
+    /**
+     * 节点类型
+     *
+     * @return 节点的结构分类，不为null
+     */
+    NodeKind kind();
+
+    /**
+     * 子条件列表
+     * <p>AND / OR 为 n 元（至少两个），NOT 恰好一个，叶子节点返回空列表。</p>
+     *
+     * @return 不可变的子条件列表，不为null
+     */
+    List<ConditionNode> operands();
+
+    /**
+     * 将任意条件提升为语法树节点
+     * <p>已是 {@link ConditionNode} 的条件原样返回；其他实现（通常是 lambda）包装为不透明的 {@link PredicateCondition}。</p>
+     *
+     * @param condition 待提升的条件，不应为null
+     * @return 语法树节点
+     */
+    static ConditionNode of(Condition condition) {
+        if (condition instanceof ConditionNode node) {
+            return node;
+        }
+        return new PredicateCondition(condition, null);
+    }
+}
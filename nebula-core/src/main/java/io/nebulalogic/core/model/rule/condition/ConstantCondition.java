@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.condition;
+
+
+import io.nebulalogic.core.model.context.ExecutionContext;
+
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.condition
+ * @ClassName ConstantCondition.java
+ * @Description 类 ConstantCondition 的实现描述：常量条件节点 - 恒真 / 恒假的单例
+ * <p>以枚举实现，保证全局唯一，便于在编译期识别并折叠。</p>
+ * @Date 2026年10月16日 09:33
+ * @Version 1.0.0
+ */
+public enum ConstantCondition implements ConditionNode {
+
+    /**
+     * 恒真条件
+     */
+    TRUE(true),
+
+    /**
+     * 恒假条件
+     */
+    FALSE(false);
+
+    private final boolean value;
+
+    ConstantCondition(boolean value) {
+        this.value = value;
+    }
+
+    /**
+     * 常量值
+     *
+     * @return 条件恒定的求值结果
+     */
+    public boolean value() {
+        return value;
+    }
+
+    /**
+     * 根据布尔值获取常量节点
+     *
+     * @param value 常量值
+     * @return 对应的常量节点
+     */
+    public static ConstantCondition of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    @Override
+    public NodeKind kind() {
+        return NodeKind.CONSTANT;
+    }
+
+    @Override
+    public List<ConditionNode> operands() {
+        return List.of();
+    }
+
+    @Override
+    public boolean evaluate(ExecutionContext ctx) {
+        return value;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.condition;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.condition
+ * @ClassName FactOperator.java
+ * @Description 类 FactOperator 的实现描述：事实谓词的比较运算符
+ * @Date 2026年10月16日 14:20
+ * @Version 1.0.0
+ */
+public enum FactOperator {
+
+    /**
+     * 等于：事实存在且与常量相等
+     */
+    EQ("=="),
+
+    /**
+     * 不等于：事实不存在或与常量不相等
+     */
+    NE("!="),
+
+    /**
+     * 大于：仅适用于 FinancialValue 常量，事实不存在时为 false
+     */
+    GT(">"),
+
+    /**
+     * 大于等于：仅适用于 FinancialValue 常量，事实不存在时为 false
+     */
+    GE(">="),
+
+    /**
+     * 小于：仅适用于 FinancialValue 常量，事实不存在时为 false
+     */
+    LT("<"),
+
+    /**
+     * 小于等于：仅适用于 FinancialValue 常量，事实不存在时为 false
+     */
+    LE("<=");
+
+    private final String symbol;
+
+    FactOperator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * 是否为区间（大小）比较
+     *
+     * @return true 表示 GT / GE / LT / LE
+     */
+    public boolean isRange() {
+        return this == GT || this == GE || this == LT || this == LE;
+    }
+
+    /**
+     * 运算符的文本形式
+     *
+     * @return 如 "=="
+     */
+    public String symbol() {
+        return symbol;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.condition;
+
+
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.types.FinancialValue;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.condition
+ * @ClassName FactPredicate.java
+ * @Description 类 FactPredicate 的实现描述：结构化事实谓词 - 形如 {@code key <op> constant} 的原子条件
+ * <p>与不透明的 {@link PredicateCondition} 不同，事实谓词向引擎公开了读取的键名、运算符与常量，
+ * 引擎可据此建立索引、解析槽位或做静态分析。</p>
+ * <ul>
+ *     <li><b>数值比较：</b>常量为 {@link FinancialValue} 时，事实经 {@link Context#getFinancial(String)} 读取，
+ *     按金融级语义比较（1.0 == 1.00）。</li>
+ *     <li><b>对象比较：</b>其他常量按 {@link Object#equals(Object)} 比较，不做类型转换。</li>
+ *     <li><b>区间比较：</b>GT / GE / LT / LE 只接受 FinancialValue 常量。</li>
+ * </ul>
+ * @Date 2026年10月16日 14:25
+ * @Version 1.0.0
+ */
+public final class FactPredicate implements ConditionNode {
+
+    private final String key;
+
+    private final FactOperator operator;
+
+    private final Object operand;
+
+    public FactPredicate(String key, FactOperator operator, Object operand) {
+        this.key = key;
+        this.operator = operator;
+        this.operand = operand;
+    }
+
+    /**
+     * 读取的事实键名
+     *
+     * @return 键名
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * 比较运算符
+     *
+     * @return 运算符
+     */
+    public FactOperator operator() {
+        return operator;
+    }
+
+    /**
+     * 比较常量
+     *
+     * @return 常量值
+     */
+    public Object operand() {
+        return operand;
+    }
+
+    /**
+     * 是否为数值比较
+     *
+     * @return true 表示常量为 FinancialValue，事实须以 getFinancial 读取
+     */
+    public boolean isNumeric() {
+        return operand instanceof FinancialValue;
+    }
+
+    @Override
+    public NodeKind kind() {
+        return NodeKind.PREDICATE;
+    }
+
+    @Override
+    public List<ConditionNode> operands() {
+        return List.of();
+    }
+
+    @Override
+    public boolean evaluate(ExecutionContext ctx) {
+        Context context = ctx.context();
+        return test(isNumeric() ? context.getFinancial(key) : context.get(key));
+    }
+
+    /**
+     * 对已读取的事实值求值
+     * <p>供引擎在已按槽位或索引读取事实后直接判定；数值比较时 fact 必须已是 FinancialValue。</p>
+     *
+     * @param fact 事实值，null 表示事实不存在
+     * @return 判定结果
+     */
+    public boolean test(Object fact) {
+        return switch (operator) {
+            case EQ -> fact != null && operand.equals(fact);
+            case NE -> fact == null || !operand.equals(fact);
+            case GT -> fact != null && compare(fact) > 0;
+            case GE -> fact != null && compare(fact) >= 0;
+            case LT -> fact != null && compare(fact) < 0;
+            case LE -> fact != null && compare(fact) <= 0;
+        };
+    }
+
+    private int compare(Object fact) {
+        return ((FinancialValue) fact).compareTo((FinancialValue) operand);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof FactPredicate other
+                && key.equals(other.key)
+                && operator == other.operator
+                && operand.equals(other.operand);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, operator, operand);
+    }
+
+    @Override
+    public String toString() {
+        return key + " " + operator.symbol() + " " + operand;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.condition;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.condition
+ * @ClassName JunctionCondition.java
+ * @Description 类 JunctionCondition 的实现描述：n 元逻辑连接节点的公共基类（AND / OR）
+ * <p>子条件以数组形式持有，求值时顺序遍历，保证短路语义与声明顺序一致。</p>
+ * @Date 2026年10月16日 09:20
+ * @Version 1.0.0
+ */
+public abstract class JunctionCondition implements ConditionNode {
+
+    /**
+     * 扁平化后的子条件，构造后不可修改
+     */
+    protected final ConditionNode[] operands;
+
+    private final List<ConditionNode> operandView;
+
+    protected JunctionCondition(ConditionNode[] operands) {
+        this.operands = operands;
+        this.operandView = List.of(operands);
+    }
+
+    @Override
+    public List<ConditionNode> operands() {
+        return operandView;
+    }
+
+    /**
+     * 子条件个数
+     *
+     * @return 至少为 2
+     */
+    public int arity() {
+        return operands.length;
+    }
+
+    /**
+     * 按给定类型展开两个操作数：同类型的连接节点直接拼接其子条件，实现 n 元扁平化
+     *
+     * @param kind  连接类型（AND / OR）
+     * @param left  左操作数
+     * @param right 右操作数
+     * @return 扁平化后的子条件数组
+     */
+    static ConditionNode[] flatten(NodeKind kind, ConditionNode left, ConditionNode right) {
+        List<ConditionNode> merged = new ArrayList<>();
+        append(kind, left, merged);
+        append(kind, right, merged);
+        return merged.toArray(new ConditionNode[0]);
+    }
+
+    private static void append(NodeKind kind, ConditionNode node, List<ConditionNode> target) {
+        if (node.kind() == kind && node instanceof JunctionCondition junction) {
+            target.addAll(Arrays.asList(junction.operands));
+        } else {
+            target.add(node);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        return Arrays.equals(operands, ((JunctionCondition) obj).operands);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * kind().hashCode() + Arrays.hashCode(operands);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(kind().name()).append('(');
+        for (int i = 0; i < operands.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(operands[i]);
+        }
+        return sb.append(')').toString();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.condition;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.condition
+ * @ClassName NodeKind.java
+ * @Description 类 NodeKind 的实现描述：条件节点类型枚举 - 条件语法树的结构分类
+ * @Date 2026年10月16日 09:12
+ * @Version 1.0.0
+ */
+public enum NodeKind {
+
+    /**
+     * 逻辑与（n 元）
+     * <p>全部子条件为 true 时成立，按声明顺序短路</p>
+     */
+    AND,
+
+    /**
+     * 逻辑或（n 元）
+     * <p>任一子条件为 true 时成立，按声明顺序短路</p>
+     */
+    OR,
+
+    /**
+     * 逻辑非（一元）
+     */
+    NOT,
+
+    /**
+     * 常量条件
+     * <p>恒真 / 恒假，由 {@code Condition.always()} 与 {@code Condition.never()} 产生</p>
+     */
+    CONSTANT,
+
+    /**
+     * 原子谓词（叶子节点）
+     * <p>对引擎而言不透明的业务判定，是所有组合条件的最小单元</p>
+     */
+    PREDICATE;
+
+    /**
+     * 检查当前节点是否为组合节点（拥有子条件）
+     *
+     * @return true 表示 AND / OR / NOT
+     */
+    public boolean isComposite() {
+        return this == AND || this == OR || this == NOT;
+    }
+}
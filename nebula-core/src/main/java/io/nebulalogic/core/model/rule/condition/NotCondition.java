@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.condition;
+
+
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.FaultPath;
+import io.nebulalogic.core.model.context.ExecutionContext;
+
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.condition
+ * @ClassName NotCondition.java
+ * @Description 类 NotCondition 的实现描述：逻辑非节点
+ * @Date 2026年10月16日 09:30
+ * @Version 1.0.0
+ */
+public final class NotCondition implements ConditionNode {
+
+    private final ConditionNode operand;
+
+    public NotCondition(ConditionNode operand) {
+        this.operand = operand;
+    }
+
+    /**
+     * 被取反的子条件
+     *
+     * @return 子条件，不为null
+     */
+    public ConditionNode operand() {
+        return operand;
+    }
+
+    @Override
+    public NodeKind kind() {
+        return NodeKind.NOT;
+    }
+
+    @Override
+    public List<ConditionNode> operands() {
+        return List.of(operand);
+    }
+
+    @Override
+    public boolean evaluate(ExecutionContext ctx) {
+        try {
+            return !operand.evaluate(ctx);
+        } catch (EngineFault e) {
+            throw e.at(FaultPath.Kind.CONDITION, "NOT", 0);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof NotCondition other && operand.equals(other.operand);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * NodeKind.NOT.hashCode() + operand.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "NOT(" + operand + ")";
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.condition;
+
+
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.FaultPath;
+import io.nebulalogic.core.model.context.ExecutionContext;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.condition
+ * @ClassName OrCondition.java
+ * @Description 类 OrCondition 的实现描述：n 元逻辑或节点
+ * @Date 2026年10月16日 09:27
+ * @Version 1.0.0
+ */
+public final class OrCondition extends JunctionCondition {
+
+    private OrCondition(ConditionNode[] operands) {
+        super(operands);
+    }
+
+    /**
+     * 构建扁平化的 OR 节点
+     *
+     * @param left  左操作数，不应为null
+     * @param right 右操作数，不应为null
+     * @return 扁平化后的 OR 节点
+     */
+    public static OrCondition of(ConditionNode left, ConditionNode right) {
+        return new OrCondition(flatten(NodeKind.OR, left, right));
+    }
+
+    /**
+     * 直接以子条件数组构建 OR 节点（供规则编译期的树重写使用，不做扁平化）
+     *
+     * @param operands 子条件，长度至少为 2
+     * @return OR 节点
+     */
+    public static OrCondition ofAll(ConditionNode... operands) {
+        return new OrCondition(operands.clone());
+    }
+
+    @Override
+    public NodeKind kind() {
+        return NodeKind.OR;
+    }
+
+    @Override
+    public boolean evaluate(ExecutionContext ctx) {
+        int i = 0;
+        try {
+            for (; i < operands.length; i++) {
+                if (operands[i].evaluate(ctx)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (EngineFault e) {
+            // 不再包装：抛出追加了一个路径节点的故障浅拷贝
+            throw e.at(FaultPath.Kind.CONDITION, "OR", i);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.model.rule.condition;
+
+
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.rule.Condition;
+
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.model.rule.condition
+ * @ClassName PredicateCondition.java
+ * @Description 类 PredicateCondition 的实现描述：原子谓词节点 - 包装宿主提供的不透明条件
+ * <p>相等性语义：</p>
+ * <ul>
+ *     <li>具名谓词：名称相同即视为同一谓词（由命名方保证语义一致）。</li>
+ *     <li>匿名谓词：仅当包装的是同一个条件实例时相等。</li>
+ * </ul>
+ * @Date 2026年10月16日 09:36
+ * @Version 1.0.0
+ */
+public final class PredicateCondition implements ConditionNode {
+
+    private final Condition delegate;
+
+    private final String name;
+
+    /**
+     * 构造原子谓词
+     *
+     * @param delegate 实际执行判定的条件，不应为null
+     * @param name     谓词名称，可为null（匿名谓词）
+     */
+    public PredicateCondition(Condition delegate, String name) {
+        this.delegate = delegate;
+        this.name = name;
+    }
+
+    /**
+     * 被包装的原始条件
+     *
+     * @return 原始条件实例
+     */
+    public Condition delegate() {
+        return delegate;
+    }
+
+    /**
+     * 谓词名称
+     *
+     * @return 名称，匿名谓词返回null
+     */
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public NodeKind kind() {
+        return NodeKind.PREDICATE;
+    }
+
+    @Override
+    public List<ConditionNode> operands() {
+        return List.of();
+    }
+
+    @Override
+    public boolean evaluate(ExecutionContext ctx) {
+        return delegate.evaluate(ctx);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PredicateCondition other)) {
+            return false;
+        }
+        if (name != null || other.name != null) {
+            return name != null && name.equals(other.name);
+        }
+        return delegate.equals(other.delegate);
+    }
+
+    @Override
+    public int hashCode() {
+        return name != null ? name.hashCode() : delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name != null ? name : "predicate@" + Integer.toHexString(System.identityHashCode(delegate));
+    }
+}
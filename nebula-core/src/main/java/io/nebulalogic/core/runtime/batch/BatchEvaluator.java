@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.batch;
+
+
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.context.ExecutionPhase;
+import io.nebulalogic.core.model.context.MutatorContext;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.ConstantCondition;
+import io.nebulalogic.core.model.rule.condition.FactOperator;
+import io.nebulalogic.core.model.rule.condition.FactPredicate;
+import io.nebulalogic.core.runtime.snapshot.BoundFactPredicate;
+import io.nebulalogic.core.runtime.snapshot.CompiledRule;
+import io.nebulalogic.core.runtime.snapshot.RuleSnapshot;
+import io.nebulalogic.core.runtime.types.ScaledFinancialValue;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.batch
+ * @ClassName BatchEvaluator.java
+ * @Description 类 BatchEvaluator 的实现描述：批量条件评估器 - 以谓词为单位在整帧上求值
+ * <ul>
+ *     <li><b>谓词优先：</b>每个不同的事实谓词在整列上以紧凑循环求值一次，结果为记录位图；整数列上的数值谓词
+ *     直接以定标常量与 long 比较，不为记录创建数值实例；
+ *     AND / OR / NOT 退化为位图的与、或、补运算，不再逐条记录遍历条件树。</li>
+ *     <li><b>不透明谓词：</b>无法向量化的叶子逐条记录在只读行视图上求值，同一实例在整帧内只评估一次。</li>
+ *     <li><b>故障回退：</b>批量求值不具备逐条执行的短路顺序，任一叶子在某条记录上出错时，
+ *     该记录被标记为回退，由调用方按逐条路径重新执行，故障语义与单条执行完全一致。</li>
+ * </ul>
+ * @Date 2026年10月16日 16:42
+ * @Version 1.0.0
+ */
+public final class BatchEvaluator {
+
+    private final RuleSnapshot snapshot;
+
+    private final FactFrame frame;
+
+    private final int rows;
+
+    /**
+     * 需要按逐条路径重新执行的记录
+     */
+    private final BitSet fallback;
+
+    private final BitSet all;
+
+    private final Map<ConditionNode, BitSet> predicates = new HashMap<>();
+
+    private final Map<ConditionNode, BitSet> composites = new IdentityHashMap<>();
+
+    public BatchEvaluator(RuleSnapshot snapshot, FactFrame frame) {
+        this.snapshot = snapshot;
+        this.frame = frame;
+        this.rows = frame.rows();
+        this.fallback = new BitSet(rows);
+        this.all = new BitSet(rows);
+        all.set(0, rows);
+    }
+
+    /**
+     * 计算每条记录的匹配集
+     *
+     * @return 按记录下标排列的规则序号位图；回退记录的位图无意义
+     */
+    public BitSet[] match() {
+        BitSet[] matched = new BitSet[rows];
+        for (int r = 0; r < rows; r++) {
+            matched[r] = new BitSet(snapshot.size());
+        }
+        List<CompiledRule> rules = snapshot.rules();
+        for (CompiledRule rule : rules) {
+            BitSet hits = evaluate(rule.executable());
+            for (int r = hits.nextSetBit(0); r >= 0; r = hits.nextSetBit(r + 1)) {
+                matched[r].set(rule.ordinal());
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 需要按逐条路径重新执行的记录，须在 {@link #match()} 之后读取
+     *
+     * @return 记录下标位图
+     */
+    public BitSet fallback() {
+        return fallback;
+    }
+
+    /**
+     * 求值条件节点，返回的位图为缓存实例，调用方不得修改
+     */
+    private BitSet evaluate(ConditionNode node) {
+        if (node instanceof BoundFactPredicate || node instanceof FactPredicate) {
+            BitSet cached = predicates.get(node);
+            if (cached == null) {
+                FactPredicate predicate = node instanceof BoundFactPredicate bound ? bound.source() : (FactPredicate) node;
+                cached = evaluateFact(predicate);
+                predicates.put(node, cached);
+            }
+            return cached;
+        }
+        BitSet cached = composites.get(node);
+        if (cached == null) {
+            cached = evaluateNode(node);
+            composites.put(node, cached);
+        }
+        return cached;
+    }
+
+    private BitSet evaluateNode(ConditionNode node) {
+        switch (node.kind()) {
+            case AND -> {
+                BitSet result = (BitSet) all.clone();
+                for (ConditionNode operand : node.operands()) {
+                    result.and(evaluate(operand));
+                }
+                return result;
+            }
+            case OR -> {
+                BitSet result = new BitSet(rows);
+                for (ConditionNode operand : node.operands()) {
+                    result.or(evaluate(operand));
+                }
+                return result;
+            }
+            case NOT -> {
+                BitSet result = (BitSet) all.clone();
+                result.andNot(evaluate(node.operands().get(0)));
+                return result;
+            }
+            case CONSTANT -> {
+                return node == ConstantCondition.TRUE ? all : new BitSet(rows);
+            }
+            default -> {
+                return evaluateOpaque(node);
+            }
+        }
+    }
+
+    private BitSet evaluateFact(FactPredicate predicate) {
+        BitSet result = new BitSet(rows);
+        FactColumn column = frame.column(predicate.key());
+        if (column == null) {
+            return predicate.test(null) ? (BitSet) all.clone() : result;
+        }
+        if (column.isLong() && predicate.operand() instanceof ScaledFinancialValue operand) {
+            FactOperator operator = predicate.operator();
+            for (int r = 0; r < rows; r++) {
+                // 常量与事实比较，取反即事实与常量比较
+                if (test(operator, -operand.compareTo(column.getLong(r), 0))) {
+                    result.set(r);
+                }
+            }
+        } else if (predicate.isNumeric()) {
+            for (int r = 0; r < rows; r++) {
+                if (predicate.test(column.financialOrFault(r, fallback))) {
+                    result.set(r);
+                }
+            }
+        } else {
+            for (int r = 0; r < rows; r++) {
+                if (predicate.test(column.get(r))) {
+                    result.set(r);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按运算符解释事实与常量的比较结果，与 {@link FactPredicate#test(Object)} 对存在的数值事实的判定一致
+     */
+    private static boolean test(FactOperator operator, int comparison) {
+        return switch (operator) {
+            case EQ -> comparison == 0;
+            case NE -> comparison != 0;
+            case GT -> comparison > 0;
+            case GE -> comparison >= 0;
+            case LT -> comparison < 0;
+            case LE -> comparison <= 0;
+        };
+    }
+
+    private BitSet evaluateOpaque(ConditionNode node) {
+        BitSet result = new BitSet(rows);
+        for (int r = 0; r < rows; r++) {
+            try {
+                if (node.evaluate(new RowExecution(frame.row(r)))) {
+                    result.set(r);
+                }
+            } catch (RuntimeException e) {
+                fallback.set(r);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 条件阶段的单行执行上下文：只读、不授予写能力
+     */
+    private record RowExecution(Context context) implements ExecutionContext {
+
+        @Override
+        public Optional<MutatorContext> mutator() {
+            return Optional.empty();
+        }
+
+        @Override
+        public ExecutionPhase getPhase() {
+            return ExecutionPhase.CONDITION;
+        }
+
+        @Override
+        public Context freeze() {
+            return context;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.batch;
+
+
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+
+import java.util.BitSet;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.batch
+ * @ClassName FactColumn.java
+ * @Description 类 FactColumn 的实现描述：事实列 - 批量帧中单个键在全部记录上的取值
+ * <ul>
+ *     <li>原始值按记录下标连续存放，null 表示该记录缺少此事实。</li>
+ *     <li>数值视图按需逐行转换并缓存，同一列被多个数值谓词引用时只转换一次；
+ *     以 FinancialValue 数组构建的列不需要转换；转换失败的记录同样被记住，批量求值时不再重复抛出。</li>
+ *     <li>以 long 数组构建的列保持原始数组，不预先装箱：数值谓词直接在 long 上比较（{@link #isLong()}），
+ *     只有行视图读取某条记录时才为其创建对象。</li>
+ * </ul>
+ * <p>与 {@link FactFrame} 一致，本类视为单线程对象。</p>
+ * @Date 2026年10月16日 16:32
+ * @Version 1.0.0
+ */
+public final class FactColumn {
+
+    private final String key;
+
+    /**
+     * 原始值；整数列为null
+     */
+    private final Object[] values;
+
+    /**
+     * 整数列的原始数组；其他列为null
+     */
+    private final long[] longs;
+
+    /**
+     * 数值视图缓存；纯数值列直接共享 values
+     */
+    private final FinancialValue[] financials;
+
+    /**
+     * 已确认无法转换为数值的记录，批量求值时不再重复转换与抛出
+     */
+    private final BitSet unconvertible = new BitSet();
+
+    FactColumn(String key, Object[] values) {
+        this.key = key;
+        this.values = values;
+        this.longs = null;
+        this.financials = new FinancialValue[values.length];
+    }
+
+    FactColumn(String key, FinancialValue[] values) {
+        this.key = key;
+        this.values = values;
+        this.longs = null;
+        this.financials = values;
+    }
+
+    FactColumn(String key, long[] values) {
+        this.key = key;
+        this.values = null;
+        this.longs = values;
+        this.financials = new FinancialValue[values.length];
+    }
+
+    /**
+     * 列对应的事实键名
+     *
+     * @return 键名
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * 记录数量
+     *
+     * @return 列长度
+     */
+    public int size() {
+        return longs == null ? values.length : longs.length;
+    }
+
+    /**
+     * 是否为整数列
+     *
+     * @return true 表示每条记录都有值，可经 {@link #getLong(int)} 无分配读取
+     */
+    public boolean isLong() {
+        return longs != null;
+    }
+
+    /**
+     * 读取整数列的原始值
+     *
+     * @param row 记录下标
+     * @return 整数值
+     * @throws IllegalStateException 如果不是整数列
+     */
+    public long getLong(int row) {
+        if (longs == null) {
+            throw new IllegalStateException("Column " + key + " is not a long column");
+        }
+        return longs[row];
+    }
+
+    /**
+     * 读取原始值
+     *
+     * @param row 记录下标
+     * @return 原始事实值，缺失时为null；整数列返回装箱后的 Long
+     */
+    public Object get(int row) {
+        return longs == null ? values[row] : Long.valueOf(longs[row]);
+    }
+
+    /**
+     * 读取数值视图
+     *
+     * @param row 记录下标
+     * @return FinancialValue，缺失时为null
+     * @throws io.nebulalogic.core.exception.LogicFault 如果该记录的值无法转换为 FinancialValue
+     */
+    public FinancialValue getFinancial(int row) {
+        FinancialValue cached = financials[row];
+        if (cached != null) {
+            return cached;
+        }
+        if (longs != null) {
+            cached = FinancialValues.of(longs[row]);
+            financials[row] = cached;
+            return cached;
+        }
+        if (values[row] == null) {
+            return null;
+        }
+        FinancialValue converted = FinancialValues.convert(key, values[row]);
+        financials[row] = converted;
+        return converted;
+    }
+
+    /**
+     * 逐行读取数值视图，转换失败的记录登记到 faulted 并按缺失处理
+     */
+    FinancialValue financialOrFault(int row, BitSet faulted) {
+        if (unconvertible.get(row)) {
+            faulted.set(row);
+            return null;
+        }
+        try {
+            return getFinancial(row);
+        } catch (EngineFault e) {
+            unconvertible.set(row);
+            faulted.set(row);
+            return null;
+        }
+    }
+}
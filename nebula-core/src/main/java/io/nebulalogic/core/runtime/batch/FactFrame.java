@@ -0,0 +1,231 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.batch;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.types.FinancialValue;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.batch
+ * @ClassName FactFrame.java
+ * @Description 类 FactFrame 的实现描述：列式事实帧 - 一批记录的事实按键名分列存放
+ * <p>批量执行时，每个谓词在整列上以紧凑循环一次性求值，而不是逐条记录遍历条件树。
+ * {@link #row(int)} 提供单条记录的只读 {@link Context} 视图，供不透明谓词与动作阶段使用。</p>
+ * <p>本类视为单线程对象：数值视图在首次读取时按行转换并缓存。</p>
+ * @Date 2026年10月16日 16:36
+ * @Version 1.0.0
+ */
+public final class FactFrame {
+
+    private final int rows;
+
+    private final Map<String, FactColumn> columns;
+
+    private FactFrame(int rows, Map<String, FactColumn> columns) {
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @param rows 记录数量，不应为负数
+     * @return 构建器
+     */
+    public static Builder builder(int rows) {
+        if (rows < 0) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Fact frame row count cannot be negative",
+                    Map.of("rows", rows)
+            );
+        }
+        return new Builder(rows);
+    }
+
+    /**
+     * 记录数量
+     *
+     * @return 帧内记录数
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * 按键名获取列
+     *
+     * @param key 键名
+     * @return 列，不存在时为null
+     */
+    public FactColumn column(String key) {
+        return columns.get(key);
+    }
+
+    /**
+     * 全部列的键名
+     *
+     * @return 按声明顺序排列的只读集合
+     */
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * 单条记录的只读上下文视图，读取直接委托到列，不复制事实
+     *
+     * @param row 记录下标
+     * @return 只读上下文
+     */
+    public Context row(int row) {
+        return new Row(row);
+    }
+
+    /**
+     * 记录视图：只读，键集合为该记录上取值非null的列
+     */
+    private final class Row implements Context {
+
+        private final int row;
+
+        Row(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(String key) {
+            FactColumn column = columns.get(key);
+            return column == null ? null : column.get(row);
+        }
+
+        @Override
+        public FinancialValue getFinancial(String key) {
+            FactColumn column = columns.get(key);
+            return column == null ? null : column.getFinancial(row);
+        }
+
+        @Override
+        public Map<String, Object> asMap() {
+            Map<String, Object> facts = new LinkedHashMap<>();
+            for (FactColumn column : columns.values()) {
+                Object value = column.get(row);
+                if (value != null) {
+                    facts.put(column.key(), value);
+                }
+            }
+            return Collections.unmodifiableMap(facts);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            Set<String> keys = new LinkedHashSet<>();
+            for (FactColumn column : columns.values()) {
+                if (column.get(row) != null) {
+                    keys.add(column.key());
+                }
+            }
+            return Collections.unmodifiableSet(keys);
+        }
+
+        @Override
+        public Context asReadOnly() {
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "FactFrame.Row[" + row + "]" + asMap();
+        }
+    }
+
+    /**
+     * 事实帧构建器：各列长度必须等于记录数，同名列以后声明的为准
+     */
+    public static final class Builder {
+
+        private final int rows;
+
+        private final Map<String, FactColumn> columns = new LinkedHashMap<>();
+
+        private Builder(int rows) {
+            this.rows = rows;
+        }
+
+        /**
+         * 追加通用列，数值谓词读取时按需转换
+         *
+         * @param key    键名
+         * @param values 按记录下标排列的原始值，null 表示缺失
+         * @return 当前构建器
+         */
+        public Builder column(String key, Object[] values) {
+            checkLength(key, values == null ? -1 : values.length);
+            columns.put(key, new FactColumn(key, values.clone()));
+            return this;
+        }
+
+        /**
+         * 追加数值列
+         *
+         * @param key    键名
+         * @param values 按记录下标排列的数值，null 表示缺失
+         * @return 当前构建器
+         */
+        public Builder financialColumn(String key, FinancialValue[] values) {
+            checkLength(key, values == null ? -1 : values.length);
+            columns.put(key, new FactColumn(key, values.clone()));
+            return this;
+        }
+
+        /**
+         * 追加整数列，保持原始 long 数组，数值谓词直接在其上比较
+         *
+         * @param key    键名
+         * @param values 按记录下标排列的整数
+         * @return 当前构建器
+         */
+        public Builder longColumn(String key, long[] values) {
+            checkLength(key, values == null ? -1 : values.length);
+            columns.put(key, new FactColumn(key, values.clone()));
+            return this;
+        }
+
+        /**
+         * 构建事实帧
+         *
+         * @return 事实帧
+         */
+        public FactFrame build() {
+            return new FactFrame(rows, new LinkedHashMap<>(columns));
+        }
+
+        private void checkLength(String key, int length) {
+            if (key == null || key.isEmpty() || length != rows) {
+                throw new ConfigurationFault(
+                        EngineErrorCode.CONFIGURATION_ERROR,
+                        "Fact column must have a non-empty key and one value per row",
+                        Map.of("key", String.valueOf(key), "length", length, "rows", rows)
+                );
+            }
+        }
+    }
+}
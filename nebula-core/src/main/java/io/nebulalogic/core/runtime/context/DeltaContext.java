@@ -0,0 +1,377 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.context;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.MutatorContext;
+import io.nebulalogic.core.model.decision.FactChange;
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.context
+ * @ClassName DeltaContext.java
+ * @Description 类 DeltaContext 的实现描述：写时复制的增量覆盖上下文
+ * <ul>
+ *     <li><b>基底：</b>冻结的输入上下文，本类从不修改它，它本身即是决策前的事实视图。</li>
+ *     <li><b>覆盖层：</b>{@code put} / {@code putAll} / {@code remove} 只写入按插入顺序排列的覆盖 Map，
+ *     移除以墓碑标记；读取先查覆盖层，未命中再读基底。</li>
+ *     <li><b>变更日志：</b>每次写入按发生顺序记录一条 {@link FactChange}，并归属到 {@link #beginAction(String, int)}
+ *     标记的当前动作。基底为 {@link LazyContext} 时，被覆盖的事实已求值则记录其缓存值；尚未求值则记为
+ *     {@link FactChange#beforeResolved()} 为false，只写不读的键不会触发其提供者；移除这样的键同样照常记录。</li>
+ * </ul>
+ * <p>覆盖层与日志在首次写入时才创建；{@link #delta()}、{@link #asMap()} 等合并视图只在调用时生成，
+ * 因此追踪成本与动作实际修改的事实数成正比，而与上下文规模无关。</p>
+ * <p>{@link #reset(Context)} 以新的基底复用实例与覆盖 Map，此前发出的只读视图随即失效；已发出的变更日志不受影响。</p>
+ * <p>尚无任何写入时，{@link #asReadOnly()} 直接返回基底，槽位感知的读取路径保持不变。
+ * 与 {@link Context} 契约一致，本类视为单线程对象；写入 null 等价于移除该键。</p>
+ * @Date 2026年10月16日 17:55
+ * @Version 1.0.0
+ */
+public final class DeltaContext implements MutatorContext {
+
+    /**
+     * 覆盖层中的移除标记
+     */
+    private static final Object REMOVED = new Object();
+
+    /**
+     * {@link #previous(String)} 的返回标记：被覆盖的按需事实尚未求值
+     */
+    private static final Object PENDING = new Object();
+
+    private Context base;
+
+    /**
+     * 只读视图持有原始的可写实例；可写实例自身为null
+     */
+    private final DeltaContext owner;
+
+    private Map<String, Object> overlay;
+
+    private List<FactChange> changes;
+
+    private String currentRule;
+
+    private int currentAction = -1;
+
+    private DeltaContext readOnlyView;
+
+    /**
+     * 上一轮清空后留待复用的覆盖 Map
+     */
+    private Map<String, Object> spareOverlay;
+
+    /**
+     * 可写实例为当前代数，每次 {@link #reset(Context)} 递增；只读视图为创建时捕获的代数
+     */
+    private int generation;
+
+    /**
+     * 创建以给定上下文为基底的覆盖上下文
+     *
+     * @param base 冻结的基底上下文，不应再被其他代码修改
+     */
+    public DeltaContext(Context base) {
+        this.base = base;
+        this.owner = null;
+    }
+
+    private DeltaContext(DeltaContext owner) {
+        this.base = owner.base;
+        this.owner = owner;
+        this.generation = owner.generation;
+    }
+
+    /**
+     * 以新的基底复用当前实例
+     * <p>清空覆盖层并保留其 Map 以便复用；变更日志另起新表，已交给调用方的日志保持不变。
+     * 此前发出的只读视图随即失效，之后对其读取将抛出 {@link EngineErrorCode#CONTEXT_RELEASED} 故障。</p>
+     *
+     * @param base 新的冻结基底
+     * @throws LogicFault 如果当前实例是只读视图
+     */
+    public void reset(Context base) {
+        checkWritable(null);
+        if (overlay != null) {
+            overlay.clear();
+            spareOverlay = overlay;
+            overlay = null;
+        }
+        this.base = base;
+        this.changes = null;
+        this.currentRule = null;
+        this.currentAction = -1;
+        this.readOnlyView = null;
+        generation++;
+    }
+
+    /**
+     * 标记后续写入所属的动作
+     *
+     * @param ruleId      规则ID
+     * @param actionIndex 动作在规则内的下标
+     */
+    public void beginAction(String ruleId, int actionIndex) {
+        checkWritable(null);
+        this.currentRule = ruleId;
+        this.currentAction = actionIndex;
+    }
+
+    /**
+     * 决策前的事实视图
+     *
+     * @return 基底上下文
+     */
+    public Context before() {
+        return base;
+    }
+
+    /**
+     * 决策后的事实视图
+     *
+     * @return 只读的覆盖视图
+     */
+    public Context after() {
+        return writer().overlay == null ? base : writer().view();
+    }
+
+    /**
+     * 按发生顺序排列的变更日志
+     *
+     * @return 不可变列表，没有写入时为空
+     */
+    public List<FactChange> changes() {
+        List<FactChange> log = writer().changes;
+        return log == null ? List.of() : Collections.unmodifiableList(log);
+    }
+
+    /**
+     * 被修改事实的最终值
+     *
+     * @return 按首次修改顺序排列的不可变 Map，被移除的键映射为null
+     */
+    public Map<String, Object> delta() {
+        Map<String, Object> written = writer().overlay;
+        if (written == null) {
+            return Map.of();
+        }
+        Map<String, Object> result = new LinkedHashMap<>(written.size());
+        written.forEach((key, value) -> result.put(key, value == REMOVED ? null : value));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * 被修改的事实数量
+     *
+     * @return 覆盖层中的键数
+     */
+    public int deltaSize() {
+        Map<String, Object> written = writer().overlay;
+        return written == null ? 0 : written.size();
+    }
+
+    @Override
+    public Object get(String key) {
+        checkLive();
+        Map<String, Object> written = writer().overlay;
+        if (written != null) {
+            Object value = written.get(key);
+            if (value != null) {
+                return value == REMOVED ? null : value;
+            }
+        }
+        return base.get(key);
+    }
+
+    @Override
+    public FinancialValue getFinancial(String key) {
+        checkLive();
+        Map<String, Object> written = writer().overlay;
+        if (written != null && written.containsKey(key)) {
+            return FinancialValues.convert(key, get(key));
+        }
+        return base.getFinancial(key);
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public MutatorContext put(String key, Object value) {
+        checkWritable(key);
+        if (value == null) {
+            remove(key);
+            return this;
+        }
+        Object previous = previous(key);
+        if (overlay == null) {
+            openOverlay();
+        }
+        overlay.put(key, value);
+        changes.add(change(key, previous, value));
+        return this;
+    }
+
+    @Override
+    public void putAll(Map<String, Object> data) {
+        checkWritable(null);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        checkWritable(key);
+        Object previous = previous(key);
+        if (previous == null) {
+            return;
+        }
+        if (overlay == null) {
+            openOverlay();
+        }
+        overlay.put(key, REMOVED);
+        changes.add(change(key, previous, null));
+    }
+
+    @Override
+    public Map<String, Object> asMap() {
+        checkLive();
+        Map<String, Object> written = writer().overlay;
+        if (written == null) {
+            return base.asMap();
+        }
+        Map<String, Object> view = new LinkedHashMap<>(base.asMap());
+        written.forEach((key, value) -> {
+            if (value == REMOVED) {
+                view.remove(key);
+            } else {
+                view.put(key, value);
+            }
+        });
+        return Collections.unmodifiableMap(view);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        checkLive();
+        Map<String, Object> written = writer().overlay;
+        if (written == null) {
+            return base.keySet();
+        }
+        Set<String> keys = new LinkedHashSet<>(base.keySet());
+        written.forEach((key, value) -> {
+            if (value == REMOVED) {
+                keys.remove(key);
+            } else {
+                keys.add(key);
+            }
+        });
+        return Collections.unmodifiableSet(keys);
+    }
+
+    @Override
+    public Context asReadOnly() {
+        return after();
+    }
+
+    /**
+     * 是否为只读视图
+     *
+     * @return true 表示拒绝一切写操作
+     */
+    public boolean isReadOnly() {
+        return owner != null;
+    }
+
+    private DeltaContext writer() {
+        return owner == null ? this : owner;
+    }
+
+    private DeltaContext view() {
+        if (owner != null) {
+            return this;
+        }
+        if (readOnlyView == null) {
+            readOnlyView = new DeltaContext(this);
+        }
+        return readOnlyView;
+    }
+
+    private FactChange change(String key, Object previous, Object value) {
+        return previous == PENDING
+                ? new FactChange(currentRule, currentAction, key, null, value, false)
+                : new FactChange(currentRule, currentAction, key, previous, value);
+    }
+
+    /**
+     * 写入前的值，不触发按需事实的提供者；尚未求值时返回 {@link #PENDING}
+     */
+    private Object previous(String key) {
+        if (overlay != null) {
+            Object value = overlay.get(key);
+            if (value != null) {
+                return value == REMOVED ? null : value;
+            }
+        }
+        if (LazyContext.isPending(base, key)) {
+            return PENDING;
+        }
+        return base.get(key);
+    }
+
+    private void openOverlay() {
+        overlay = spareOverlay == null ? new LinkedHashMap<>() : spareOverlay;
+        spareOverlay = null;
+        changes = new ArrayList<>();
+    }
+
+    private void checkLive() {
+        if (owner != null && owner.generation != generation) {
+            throw new LogicFault(
+                    EngineErrorCode.CONTEXT_RELEASED,
+                    "Context view was used after its context had been reset",
+                    Map.of("context", "delta_context")
+            );
+        }
+    }
+
+    private void checkWritable(String key) {
+        if (owner != null) {
+            throw new LogicFault(
+                    EngineErrorCode.CONTEXT_FROZEN,
+                    "Read-only context cannot be modified",
+                    Map.of("key", String.valueOf(key))
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DeltaContext[base=" + base.keySet().size() + " facts, delta=" + delta() + "]";
+    }
+}
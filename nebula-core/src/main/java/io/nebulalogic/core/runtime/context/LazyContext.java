@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.context;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.context
+ * @ClassName LazyContext.java
+ * @Description 类 LazyContext 的实现描述：按需求值的上下文 - 事实在首次读取时才由宿主的提供者计算
+ * <p>宿主为每个键注册一个 {@link Supplier}（或直接给出值），{@link #get(String)}、{@link #getFinancial(String)}、
+ * {@link #getTyped(String, Class)} 在首次读取某个键时调用其提供者并缓存结果，之后的读取直接返回缓存值；
+ * 数值转换结果同样缓存。一次决策只为实际被读取的事实付出计算成本，未命中路径上的昂贵事实（如客户聚合指标）不会被计算。</p>
+ * <ul>
+ *     <li><b>生命周期：</b>实例与一次决策对应，缓存随实例存在；注册应在执行前完成，重新注册某个键会丢弃其缓存值。</li>
+ *     <li><b>线程：</b>提供者只在宿主调用线程上执行（C-DATA-001）：引擎配置了并行评估时，输入为按需上下文的决策
+ *     不分块，而是由快照自身的匹配器在调用线程上顺序评估，匹配集不变（C-RUNTIME-005）。每个提供者至多调用一次。</li>
+ *     <li><b>故障：</b>提供者返回 null 表示事实不存在；抛出的引擎故障原样传播，其他异常包装为 {@link LogicFault}。
+ *     故障同样被缓存，之后对该键的读取抛出同一故障而不再调用提供者。</li>
+ * </ul>
+ * <p>{@link #keySet()} 返回已注册的键而不求值；{@link #asMap()} 会求值全部提供者，仅供诊断与序列化使用。
+ * {@link #asReadOnly()} 返回只读委托：与源共享提供者与缓存，但不暴露 {@link #supply(String, Supplier)} 等注册方法。</p>
+ * @Date 2026年10月17日 09:40
+ * @Version 1.0.0
+ */
+public final class LazyContext implements Context {
+
+    private final Map<String, Fact> facts = new LinkedHashMap<>();
+
+    /**
+     * 只读委托，首次 {@link #asReadOnly()} 时创建
+     */
+    private View view;
+
+    /**
+     * 给定上下文是否按需求值
+     *
+     * @param context 上下文
+     * @return true 表示是 {@link LazyContext} 或其只读视图，读取可能调用宿主的提供者
+     */
+    public static boolean isLazy(Context context) {
+        return context instanceof LazyContext || context instanceof View;
+    }
+
+    /**
+     * 给定键在按需上下文中是否尚未求值
+     *
+     * @param context 上下文
+     * @param key     键名
+     * @return true 表示读取该键会调用提供者；非按需上下文恒为false
+     */
+    static boolean isPending(Context context, String key) {
+        LazyContext lazy = context instanceof View delegate ? delegate.source : context instanceof LazyContext self ? self : null;
+        return lazy != null && !lazy.isResolved(key);
+    }
+
+    /**
+     * 注册事实的提供者
+     *
+     * @param key      键名
+     * @param supplier 提供者，首次读取时调用，返回 null 表示事实不存在
+     * @return 当前上下文
+     */
+    public LazyContext supply(String key, Supplier<?> supplier) {
+        facts.put(key, new Fact(key, supplier));
+        return this;
+    }
+
+    /**
+     * 注册已知的事实值
+     *
+     * @param key   键名
+     * @param value 事实值，null 表示事实不存在
+     * @return 当前上下文
+     */
+    public LazyContext fact(String key, Object value) {
+        Fact fact = new Fact(key, null);
+        fact.value = value;
+        fact.resolved = true;
+        facts.put(key, fact);
+        return this;
+    }
+
+    /**
+     * 立即求值给定键的提供者
+     * <p>宿主需要提供者只在自身线程上执行时，可在执行前调用；未注册的键被忽略。</p>
+     *
+     * @param keys 待求值的键
+     */
+    public void resolve(Collection<String> keys) {
+        for (String key : keys) {
+            Fact fact = facts.get(key);
+            if (fact != null) {
+                fact.value();
+            }
+        }
+    }
+
+    /**
+     * 已求值的事实数
+     *
+     * @return 提供者已被调用或直接给出值的键数
+     */
+    public int resolvedCount() {
+        int count = 0;
+        for (Fact fact : facts.values()) {
+            if (fact.resolved) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 给定键的值是否已确定
+     *
+     * @param key 键名
+     * @return true 表示键未注册、已直接给出值或提供者已成功返回；读取它不会调用提供者
+     */
+    public boolean isResolved(String key) {
+        Fact fact = facts.get(key);
+        return fact == null || fact.resolved;
+    }
+
+    @Override
+    public Object get(String key) {
+        Fact fact = facts.get(key);
+        return fact == null ? null : fact.value();
+    }
+
+    @Override
+    public FinancialValue getFinancial(String key) {
+        Fact fact = facts.get(key);
+        return fact == null ? null : fact.financial();
+    }
+
+    @Override
+    public <T> Optional<T> getTyped(String key, Class<T> type) {
+        Object value = get(key);
+        return type.isInstance(value) ? Optional.of(type.cast(value)) : Optional.empty();
+    }
+
+    @Override
+    public Map<String, Object> asMap() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        for (Fact fact : facts.values()) {
+            Object value = fact.value();
+            if (value != null) {
+                view.put(fact.key, value);
+            }
+        }
+        return Collections.unmodifiableMap(view);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(facts.keySet());
+    }
+
+    @Override
+    public Context asReadOnly() {
+        View current = view;
+        if (current == null) {
+            current = new View(this);
+            view = current;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyContext[facts=" + facts.size() + ", resolved=" + resolvedCount() + "]";
+    }
+
+    /**
+     * 只读委托：读取经源的缓存求值，不提供注册方法
+     */
+    private static final class View implements Context {
+
+        private final LazyContext source;
+
+        View(LazyContext source) {
+            this.source = source;
+        }
+
+        @Override
+        public Object get(String key) {
+            return source.get(key);
+        }
+
+        @Override
+        public FinancialValue getFinancial(String key) {
+            return source.getFinancial(key);
+        }
+
+        @Override
+        public <T> Optional<T> getTyped(String key, Class<T> type) {
+            return source.getTyped(key, type);
+        }
+
+        @Override
+        public Map<String, Object> asMap() {
+            return source.asMap();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return source.keySet();
+        }
+
+        @Override
+        public Context asReadOnly() {
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return source.toString();
+        }
+    }
+
+    /**
+     * 单个键的提供者与缓存值
+     */
+    private static final class Fact {
+
+        private final String key;
+
+        private Supplier<?> supplier;
+
+        private Object value;
+
+        private volatile boolean resolved;
+
+        private volatile FinancialValue financial;
+
+        /**
+         * 提供者抛出的故障，非null时表示已求值失败
+         */
+        private RuntimeException failure;
+
+        Fact(String key, Supplier<?> supplier) {
+            this.key = key;
+            this.supplier = supplier;
+        }
+
+        Object value() {
+            if (!resolved) {
+                synchronized (this) {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    if (!resolved) {
+                        try {
+                            value = supply();
+                        } catch (RuntimeException e) {
+                            failure = e;
+                            supplier = null;
+                            throw e;
+                        }
+                        supplier = null;
+                        resolved = true;
+                    }
+                }
+            }
+            return value;
+        }
+
+        FinancialValue financial() {
+            FinancialValue cached = financial;
+            if (cached == null) {
+                Object raw = value();
+                if (raw == null) {
+                    return null;
+                }
+                cached = FinancialValues.convert(key, raw);
+                financial = cached;
+            }
+            return cached;
+        }
+
+        private Object supply() {
+            try {
+                return supplier.get();
+            } catch (EngineFault e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new LogicFault(
+                        EngineErrorCode.CONDITION_EVAL_ERROR,
+                        "Fact supplier failed",
+                        Map.of("key", key, "reason", String.valueOf(e.getMessage())),
+                        e
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.context;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.MutatorContext;
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.context
+ * @ClassName PersistentContext.java
+ * @Description 类 PersistentContext 的实现描述：基于持久化映射的上下文 - 阶段转换无复制
+ * <ul>
+ *     <li><b>可写实例：</b>写入经 {@link PersistentFactMap.Transient} 原地修改本批次拥有的节点，
+ *     {@link #evolve(java.util.function.Consumer)} 中的连续写入对每条路径只复制一次。</li>
+ *     <li><b>只读快照：</b>{@link #asReadOnly()} 作废编辑令牌并返回与可写实例共享结构的不可变快照，O(1)；
+ *     之后的写入只复制被修改的路径，已发布的快照永远不变，可跨线程共享。</li>
+ *     <li><b>派生：</b>{@link #toMutable()} 以任一版本为起点创建新的可写实例，同样 O(1)。</li>
+ * </ul>
+ * <p>引擎以只读快照作为决策输入时，{@link SlotContext#view(SlotSchema, Context)} 直接共享该快照，
+ * 只按槽位表读取规则引用的键，不复制其余事实。{@link #asMap()} / {@link #keySet()} 的迭代顺序由键哈希决定。
+ * 写入 null 等价于移除该键。</p>
+ * @Date 2026年10月16日 18:08
+ * @Version 1.0.0
+ */
+public final class PersistentContext implements MutatorContext {
+
+    /**
+     * 可写实例的编辑器；只读快照为null
+     */
+    private final PersistentFactMap.Transient editor;
+
+    /**
+     * 只读快照的映射；可写实例为null
+     */
+    private final PersistentFactMap facts;
+
+    /**
+     * 可写实例最近一次发布、且其后没有写入的快照
+     */
+    private PersistentContext published;
+
+    /**
+     * 创建空的可写上下文
+     */
+    public PersistentContext() {
+        this(PersistentFactMap.empty().asTransient(), null);
+    }
+
+    private PersistentContext(PersistentFactMap.Transient editor, PersistentFactMap facts) {
+        this.editor = editor;
+        this.facts = facts;
+    }
+
+    /**
+     * 以给定上下文的全部事实创建可写上下文；源为持久化上下文时共享结构，O(1)
+     *
+     * @param source 源上下文
+     * @return 新的可写上下文
+     */
+    public static PersistentContext copyOf(Context source) {
+        if (source instanceof PersistentContext persistent) {
+            return persistent.toMutable();
+        }
+        PersistentContext target = new PersistentContext();
+        for (String key : source.keySet()) {
+            target.put(key, source.get(key));
+        }
+        return target;
+    }
+
+    /**
+     * 以当前版本为起点创建新的可写实例，二者此后互不影响
+     *
+     * @return 新的可写上下文
+     */
+    public PersistentContext toMutable() {
+        return new PersistentContext(snapshot().asTransient(), null);
+    }
+
+    /**
+     * 当前版本的不可变映射，O(1)
+     *
+     * @return 持久化映射
+     */
+    PersistentFactMap snapshot() {
+        return editor == null ? facts : ((PersistentContext) asReadOnly()).facts;
+    }
+
+    @Override
+    public Object get(String key) {
+        return editor == null ? facts.get(key) : editor.get(key);
+    }
+
+    @Override
+    public FinancialValue getFinancial(String key) {
+        return FinancialValues.convert(key, get(key));
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public MutatorContext put(String key, Object value) {
+        checkWritable(key);
+        if (value == null) {
+            remove(key);
+            return this;
+        }
+        editor.put(key, value);
+        published = null;
+        return this;
+    }
+
+    @Override
+    public void putAll(Map<String, Object> data) {
+        checkWritable(null);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        checkWritable(key);
+        if (editor.remove(key)) {
+            published = null;
+        }
+    }
+
+    @Override
+    public Map<String, Object> asMap() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        snapshot().forEach(view::put);
+        return Collections.unmodifiableMap(view);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> keys = new LinkedHashSet<>();
+        snapshot().forEach((key, value) -> keys.add(key));
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * 事实数量
+     *
+     * @return 键值对个数
+     */
+    public int size() {
+        return editor == null ? facts.size() : editor.size();
+    }
+
+    @Override
+    public Context asReadOnly() {
+        if (editor == null) {
+            return this;
+        }
+        if (published == null) {
+            published = new PersistentContext(null, editor.persistent());
+        }
+        return published;
+    }
+
+    /**
+     * 是否为只读快照
+     *
+     * @return true 表示拒绝一切写操作
+     */
+    public boolean isReadOnly() {
+        return editor == null;
+    }
+
+    private void checkWritable(String key) {
+        if (editor == null) {
+            throw new LogicFault(
+                    EngineErrorCode.CONTEXT_FROZEN,
+                    "Read-only context cannot be modified",
+                    Map.of("key", String.valueOf(key))
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentContext" + asMap();
+    }
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.context;
+
+
+import java.util.function.BiConsumer;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.context
+ * @ClassName PersistentFactMap.java
+ * @Description 类 PersistentFactMap 的实现描述：持久化事实映射 - 哈希数组映射字典树（HAMT）
+ * <ul>
+ *     <li><b>结构：</b>每层按键哈希的 5 位分支（32 路），节点以位图压缩存储键值对或子节点；
+ *     完整哈希相同的键落入冲突节点线性查找。</li>
+ *     <li><b>持久化写入：</b>{@link #with(String, Object)} / {@link #without(String)} 只复制从根到目标的路径，
+ *     其余子树与旧版本共享，旧版本保持不变。</li>
+ *     <li><b>批量编辑：</b>{@link Transient} 持有编辑令牌，令牌所属的节点可原地修改，
+ *     同一批写入对每条路径只复制一次；{@link Transient#persistent()} 作废令牌后以 O(1) 产出不可变版本。</li>
+ * </ul>
+ * <p>值不允许为null。不可变版本可在线程间安全共享；{@link Transient} 视为单线程对象。</p>
+ * @Date 2026年10月16日 18:02
+ * @Version 1.0.0
+ */
+public final class PersistentFactMap {
+
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentFactMap EMPTY = new PersistentFactMap(null, 0);
+
+    private final Node root;
+
+    private final int size;
+
+    private PersistentFactMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 空映射
+     *
+     * @return 共享的空实例
+     */
+    public static PersistentFactMap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 读取事实
+     *
+     * @param key 键名
+     * @return 事实值，不存在时返回null
+     */
+    public Object get(String key) {
+        return root == null ? null : root.find(0, hash(key), key);
+    }
+
+    /**
+     * 事实数量
+     *
+     * @return 键值对个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 写入事实，返回新版本
+     *
+     * @param key   键名
+     * @param value 事实值，不应为null
+     * @return 新版本；值未变化时返回当前实例
+     */
+    public PersistentFactMap with(String key, Object value) {
+        boolean[] added = new boolean[1];
+        Node base = root == null ? BitmapNode.EMPTY : root;
+        Node next = base.assoc(null, 0, hash(key), key, value, added);
+        return next == root ? this : new PersistentFactMap(next, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * 移除事实，返回新版本
+     *
+     * @param key 键名
+     * @return 新版本；键不存在时返回当前实例
+     */
+    public PersistentFactMap without(String key) {
+        if (root == null) {
+            return this;
+        }
+        boolean[] removed = new boolean[1];
+        Node next = root.without(null, 0, hash(key), key, removed);
+        return removed[0] ? new PersistentFactMap(next, size - 1) : this;
+    }
+
+    /**
+     * 遍历全部事实，顺序由键哈希决定
+     *
+     * @param action 回调
+     */
+    public void forEach(BiConsumer<String, Object> action) {
+        if (root != null) {
+            root.forEach(action);
+        }
+    }
+
+    /**
+     * 以当前版本为起点开始批量编辑，O(1)
+     *
+     * @return 新的编辑器
+     */
+    public Transient asTransient() {
+        return new Transient(this);
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 批量编辑器：持有编辑令牌，令牌所属节点原地修改
+     */
+    public static final class Transient {
+
+        private Object edit = new Object();
+
+        private Node root;
+
+        private int size;
+
+        private final boolean[] flag = new boolean[1];
+
+        private Transient(PersistentFactMap origin) {
+            this.root = origin.root;
+            this.size = origin.size;
+        }
+
+        public Object get(String key) {
+            return root == null ? null : root.find(0, hash(key), key);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * 写入事实
+         *
+         * @param key   键名
+         * @param value 事实值，不应为null
+         */
+        public void put(String key, Object value) {
+            flag[0] = false;
+            Node base = root == null ? BitmapNode.EMPTY : root;
+            root = base.assoc(edit, 0, hash(key), key, value, flag);
+            if (flag[0]) {
+                size++;
+            }
+        }
+
+        /**
+         * 移除事实
+         *
+         * @param key 键名
+         * @return true 表示键原本存在
+         */
+        public boolean remove(String key) {
+            if (root == null) {
+                return false;
+            }
+            flag[0] = false;
+            root = root.without(edit, 0, hash(key), key, flag);
+            if (flag[0]) {
+                size--;
+            }
+            return flag[0];
+        }
+
+        /**
+         * 产出不可变版本并作废当前令牌，O(1)
+         * <p>之后的写入会复制被共享的节点，已产出的版本不受影响。</p>
+         *
+         * @return 不可变版本
+         */
+        public PersistentFactMap persistent() {
+            edit = new Object();
+            return size == 0 ? EMPTY : new PersistentFactMap(root, size);
+        }
+    }
+
+    private abstract static class Node {
+
+        abstract Object find(int shift, int hash, String key);
+
+        abstract Node assoc(Object edit, int shift, int hash, String key, Object value, boolean[] added);
+
+        abstract Node without(Object edit, int shift, int hash, String key, boolean[] removed);
+
+        abstract void forEach(BiConsumer<String, Object> action);
+
+        static Node pair(Object edit, int shift, String key1, Object value1, int hash2, String key2, Object value2) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(edit, hash1, new Object[]{key1, value1, key2, value2});
+            }
+            boolean[] ignored = new boolean[1];
+            return BitmapNode.EMPTY
+                    .assoc(edit, shift, hash1, key1, value1, ignored)
+                    .assoc(edit, shift, hash2, key2, value2, ignored);
+        }
+    }
+
+    /**
+     * 位图压缩节点：array 按 (键, 值) 成对存放，键为null时值为子节点
+     */
+    private static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        private final Object edit;
+
+        private int bitmap;
+
+        private Object[] array;
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            this.edit = edit;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private BitmapNode editable(Object edit) {
+            if (edit != null && this.edit == edit) {
+                return this;
+            }
+            return new BitmapNode(edit, bitmap, array.clone());
+        }
+
+        @Override
+        Object find(int shift, int hash, String key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int idx = index(bit);
+            Object k = array[2 * idx];
+            Object v = array[2 * idx + 1];
+            if (k == null) {
+                return ((Node) v).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? v : null;
+        }
+
+        @Override
+        Node assoc(Object edit, int shift, int hash, String key, Object value, boolean[] added) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int idx = index(bit);
+            if ((bitmap & bit) != 0) {
+                Object k = array[2 * idx];
+                Object v = array[2 * idx + 1];
+                if (k == null) {
+                    Node child = ((Node) v).assoc(edit, shift + BITS, hash, key, value, added);
+                    if (child == v) {
+                        return this;
+                    }
+                    BitmapNode target = editable(edit);
+                    target.array[2 * idx + 1] = child;
+                    return target;
+                }
+                if (key.equals(k)) {
+                    if (v == value) {
+                        return this;
+                    }
+                    BitmapNode target = editable(edit);
+                    target.array[2 * idx + 1] = value;
+                    return target;
+                }
+                added[0] = true;
+                BitmapNode target = editable(edit);
+                target.array[2 * idx] = null;
+                target.array[2 * idx + 1] = pair(edit, shift + BITS, (String) k, v, hash, key, value);
+                return target;
+            }
+            added[0] = true;
+            int count = Integer.bitCount(bitmap);
+            Object[] grown = new Object[2 * (count + 1)];
+            System.arraycopy(array, 0, grown, 0, 2 * idx);
+            grown[2 * idx] = key;
+            grown[2 * idx + 1] = value;
+            System.arraycopy(array, 2 * idx, grown, 2 * (idx + 1), 2 * (count - idx));
+            if (edit != null && this.edit == edit) {
+                this.array = grown;
+                this.bitmap |= bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap | bit, grown);
+        }
+
+        @Override
+        Node without(Object edit, int shift, int hash, String key, boolean[] removed) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int idx = index(bit);
+            Object k = array[2 * idx];
+            Object v = array[2 * idx + 1];
+            if (k == null) {
+                Node child = ((Node) v).without(edit, shift + BITS, hash, key, removed);
+                if (child == v) {
+                    return this;
+                }
+                if (child != null) {
+                    BitmapNode target = editable(edit);
+                    target.array[2 * idx + 1] = child;
+                    return target;
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            } else {
+                removed[0] = true;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            int count = Integer.bitCount(bitmap);
+            Object[] shrunk = new Object[2 * (count - 1)];
+            System.arraycopy(array, 0, shrunk, 0, 2 * idx);
+            System.arraycopy(array, 2 * (idx + 1), shrunk, 2 * idx, 2 * (count - idx - 1));
+            if (edit != null && this.edit == edit) {
+                this.array = shrunk;
+                this.bitmap ^= bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap ^ bit, shrunk);
+        }
+
+        @Override
+        void forEach(BiConsumer<String, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept((String) array[i], array[i + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 冲突节点：完整哈希相同的键值对，线性查找
+     */
+    private static final class CollisionNode extends Node {
+
+        private final Object edit;
+
+        private final int hash;
+
+        private Object[] array;
+
+        CollisionNode(Object edit, int hash, Object[] array) {
+            this.edit = edit;
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private CollisionNode withArray(Object edit, Object[] next) {
+            if (edit != null && this.edit == edit) {
+                this.array = next;
+                return this;
+            }
+            return new CollisionNode(edit, hash, next);
+        }
+
+        @Override
+        Object find(int shift, int hash, String key) {
+            int idx = indexOf(key);
+            return idx < 0 ? null : array[idx + 1];
+        }
+
+        @Override
+        Node assoc(Object edit, int shift, int hash, String key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // 哈希不同：在当前层级以位图节点承载本节点，再写入新键
+                BitmapNode wrapper = new BitmapNode(edit, 1 << ((this.hash >>> shift) & MASK), new Object[]{null, this});
+                return wrapper.assoc(edit, shift, hash, key, value, added);
+            }
+            int idx = indexOf(key);
+            if (idx >= 0) {
+                if (array[idx + 1] == value) {
+                    return this;
+                }
+                Object[] next = array.clone();
+                next[idx + 1] = value;
+                return withArray(edit, next);
+            }
+            added[0] = true;
+            Object[] next = new Object[array.length + 2];
+            System.arraycopy(array, 0, next, 0, array.length);
+            next[array.length] = key;
+            next[array.length + 1] = value;
+            return withArray(edit, next);
+        }
+
+        @Override
+        Node without(Object edit, int shift, int hash, String key, boolean[] removed) {
+            int idx = indexOf(key);
+            if (idx < 0) {
+                return this;
+            }
+            removed[0] = true;
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] next = new Object[array.length - 2];
+            System.arraycopy(array, 0, next, 0, idx);
+            System.arraycopy(array, idx + 2, next, idx, array.length - idx - 2);
+            return withArray(edit, next);
+        }
+
+        @Override
+        void forEach(BiConsumer<String, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept((String) array[i], array[i + 1]);
+            }
+        }
+    }
+}
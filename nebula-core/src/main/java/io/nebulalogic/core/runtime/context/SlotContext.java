@@ -0,0 +1,436 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.context;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.MutatorContext;
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.context
+ * @ClassName SlotContext.java
+ * @Description 类 SlotContext 的实现描述：基于槽位数组的上下文实现
+ * <ul>
+ *     <li><b>槽位区：</b>{@link SlotSchema} 中声明的键存放在 {@code Object[]} 中，编译后的条件按下标直接读取。</li>
+ *     <li><b>溢出区：</b>宿主写入的其他键落入按插入顺序排列的 Map，字符串 API 对宿主代码完全透明。</li>
+ *     <li><b>数值缓存：</b>{@link #getFinancial(String)} 的转换结果按槽位缓存，写入时失效，避免重复转换。</li>
+ *     <li><b>只读视图：</b>{@link #asReadOnly()} 与原实例共享底层数组，O(1) 且无复制；视图上的任何写操作都会被拒绝。</li>
+ *     <li><b>共享视图：</b>{@link #view(SlotSchema, Context)} 与 {@link #share(PersistentContext)} 以 {@link PersistentContext}
+ *     快照为源时，只把槽位表中的键读入数组，其余事实直接从共享的持久化映射读取，不复制。</li>
+ *     <li><b>复用：</b>{@link #reset()} / {@link #refill(Context)} 清空并复用底层数组；此前发出的只读视图随即失效，
+ *     之后的任何读取都会被拒绝。</li>
+ * </ul>
+ * <p>与 {@link Context} 契约一致，本类视为单线程对象。写入 null 等价于移除该键。</p>
+ * @Date 2026年10月16日 10:22
+ * @Version 1.0.0
+ */
+public final class SlotContext implements MutatorContext {
+
+    private final SlotSchema schema;
+
+    private final Object[] values;
+
+    private final FinancialValue[] financials;
+
+    /**
+     * 只读视图持有原始的可写实例，用于读取延迟创建的溢出区；可写实例自身为null
+     */
+    private final SlotContext owner;
+
+    /**
+     * 共享装入的持久化映射，承载槽位表之外的事实；未共享装入时为null
+     */
+    private PersistentFactMap shared;
+
+    private Map<String, Object> overflow;
+
+    private SlotContext readOnlyView;
+
+    /**
+     * 可写实例为当前代数，每次 {@link #reset()} 递增；只读视图为创建时捕获的代数
+     */
+    private int generation;
+
+    /**
+     * 创建空的可写上下文
+     *
+     * @param schema 槽位表，不应为null
+     */
+    public SlotContext(SlotSchema schema) {
+        this.schema = schema;
+        this.values = new Object[schema.size()];
+        this.financials = new FinancialValue[schema.size()];
+        this.owner = null;
+    }
+
+    private SlotContext(SlotContext owner) {
+        this.schema = owner.schema;
+        this.values = owner.values;
+        this.financials = owner.financials;
+        this.owner = owner;
+        this.shared = owner.shared;
+        this.generation = owner.generation;
+    }
+
+    /**
+     * 以给定上下文为源创建只读的槽位视图
+     * <p>源为 {@link PersistentContext} 时共享其不可变快照，成本与槽位表大小而非事实数量成正比；
+     * 源为 {@link LazyContext} 时返回其只读委托，事实在规则首次读取时才求值，源此后注册的提供者同样可见；
+     * 其他来源退化为 {@link #copyOf(SlotSchema, Context)} 后取只读视图。</p>
+     *
+     * @param schema 槽位表
+     * @param source 源上下文
+     * @return 只读上下文；除按需上下文外，源此后的修改不会反映到视图中
+     */
+    public static Context view(SlotSchema schema, Context source) {
+        if (source instanceof PersistentContext persistent) {
+            return new SlotContext(schema).share(persistent).asReadOnly();
+        }
+        if (LazyContext.isLazy(source)) {
+            return source.asReadOnly();
+        }
+        return copyOf(schema, source).asReadOnly();
+    }
+
+    /**
+     * 以给定上下文的全部事实创建可写上下文
+     * <p>若源上下文使用同一槽位表，直接复制数组，不经过键名查找。</p>
+     *
+     * @param schema 槽位表
+     * @param source 源上下文
+     * @return 新的可写上下文
+     */
+    public static SlotContext copyOf(SlotSchema schema, Context source) {
+        return new SlotContext(schema).refill(source);
+    }
+
+    /**
+     * 清空全部事实并装入给定上下文的事实，复用底层数组
+     * <p>语义同 {@link #copyOf(SlotSchema, Context)}，供复用的可写实例使用；此前发出的只读视图随即失效。</p>
+     *
+     * @param source 源上下文
+     * @return 当前上下文
+     * @throws LogicFault 如果当前实例是只读视图
+     */
+    public SlotContext refill(Context source) {
+        reset();
+        if (source instanceof SlotContext slotSource && slotSource.schema == schema && slotSource.shared == null) {
+            System.arraycopy(slotSource.values, 0, values, 0, values.length);
+            System.arraycopy(slotSource.financials, 0, financials, 0, financials.length);
+            Map<String, Object> sourceOverflow = slotSource.overflow();
+            if (sourceOverflow != null && !sourceOverflow.isEmpty()) {
+                if (overflow == null) {
+                    overflow = new LinkedHashMap<>(sourceOverflow);
+                } else {
+                    overflow.putAll(sourceOverflow);
+                }
+            }
+            return this;
+        }
+        for (String key : source.keySet()) {
+            put(key, source.get(key));
+        }
+        return this;
+    }
+
+    /**
+     * 清空全部事实并共享装入持久化上下文的快照，复用底层数组
+     * <p>只把槽位表中的键读入数组，其余事实从共享的不可变映射读取；装入后实例拒绝写入，直到下一次 {@link #reset()} 或
+     * {@link #refill(Context)}。此前发出的只读视图随即失效。</p>
+     *
+     * @param source 持久化上下文
+     * @return 当前上下文
+     * @throws LogicFault 如果当前实例是只读视图
+     */
+    public SlotContext share(PersistentContext source) {
+        reset();
+        PersistentFactMap snapshot = source.snapshot();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = snapshot.get(schema.keyAt(i));
+        }
+        shared = snapshot;
+        return this;
+    }
+
+    /**
+     * 清空全部事实，保留底层数组以便复用
+     * <p>此前由 {@link #asReadOnly()} 发出的只读视图随即失效，之后对其读取将抛出
+     * {@link EngineErrorCode#CONTEXT_RELEASED} 故障；下一次 {@link #asReadOnly()} 返回新的视图。</p>
+     *
+     * @throws LogicFault 如果当前实例是只读视图
+     */
+    public void reset() {
+        checkWritable(null, false);
+        Arrays.fill(values, null);
+        Arrays.fill(financials, null);
+        if (overflow != null) {
+            overflow.clear();
+        }
+        shared = null;
+        readOnlyView = null;
+        generation++;
+    }
+
+    /**
+     * 槽位感知的读取：若上下文是同一槽位表或其追加扩展的 SlotContext，按下标直接读取，否则回退到键名查找
+     *
+     * @param ctx    上下文
+     * @param schema 编译期使用的槽位表
+     * @param slot   编译期解析的槽位
+     * @param key    键名（回退路径使用）
+     * @return 原始事实值
+     */
+    public static Object read(Context ctx, SlotSchema schema, int slot, String key) {
+        if (slot >= 0 && ctx instanceof SlotContext slotCtx
+                && (slotCtx.schema == schema || slotCtx.schema.extendsFrom(schema))) {
+            return slotCtx.getSlot(slot);
+        }
+        return ctx.get(key);
+    }
+
+    /**
+     * 槽位感知的数值读取，语义同 {@link #read(Context, SlotSchema, int, String)}
+     *
+     * @return FinancialValue 实例，事实不存在时返回null
+     */
+    public static FinancialValue readFinancial(Context ctx, SlotSchema schema, int slot, String key) {
+        if (slot >= 0 && ctx instanceof SlotContext slotCtx
+                && (slotCtx.schema == schema || slotCtx.schema.extendsFrom(schema))) {
+            return slotCtx.getFinancialSlot(slot);
+        }
+        return ctx.getFinancial(key);
+    }
+
+    /**
+     * 当前上下文使用的槽位表
+     *
+     * @return 槽位表
+     */
+    public SlotSchema schema() {
+        return schema;
+    }
+
+    /**
+     * 按槽位读取原始事实
+     *
+     * @param slot 槽位下标
+     * @return 原始对象，不存在时返回null
+     */
+    public Object getSlot(int slot) {
+        checkLive();
+        return values[slot];
+    }
+
+    /**
+     * 按槽位读取金融数值，转换结果在写入前持续有效
+     *
+     * @param slot 槽位下标
+     * @return FinancialValue 实例，不存在时返回null
+     * @throws LogicFault 若数据无法转换为数值类型
+     */
+    public FinancialValue getFinancialSlot(int slot) {
+        checkLive();
+        FinancialValue cached = financials[slot];
+        if (cached == null) {
+            Object raw = values[slot];
+            if (raw == null) {
+                return null;
+            }
+            cached = FinancialValues.convert(schema.keyAt(slot), raw);
+            financials[slot] = cached;
+        }
+        return cached;
+    }
+
+    @Override
+    public Object get(String key) {
+        checkLive();
+        int slot = schema.slotOf(key);
+        if (slot >= 0) {
+            return values[slot];
+        }
+        Map<String, Object> extra = overflow();
+        Object value = extra == null ? null : extra.get(key);
+        if (value != null || shared == null) {
+            return value;
+        }
+        return shared.get(key);
+    }
+
+    @Override
+    public FinancialValue getFinancial(String key) {
+        checkLive();
+        int slot = schema.slotOf(key);
+        if (slot >= 0) {
+            return getFinancialSlot(slot);
+        }
+        return FinancialValues.convert(key, get(key));
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public MutatorContext put(String key, Object value) {
+        checkWritable(key, true);
+        if (value == null) {
+            remove(key);
+            return this;
+        }
+        int slot = schema.slotOf(key);
+        if (slot >= 0) {
+            values[slot] = value;
+            financials[slot] = null;
+        } else {
+            if (overflow == null) {
+                overflow = new LinkedHashMap<>();
+            }
+            overflow.put(key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public void putAll(Map<String, Object> data) {
+        checkWritable(null, true);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        checkWritable(key, true);
+        int slot = schema.slotOf(key);
+        if (slot >= 0) {
+            values[slot] = null;
+            financials[slot] = null;
+        } else if (overflow != null) {
+            overflow.remove(key);
+        }
+    }
+
+    @Override
+    public Map<String, Object> asMap() {
+        checkLive();
+        Map<String, Object> view = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                view.put(schema.keyAt(i), values[i]);
+            }
+        }
+        Map<String, Object> extra = overflow();
+        if (extra != null) {
+            view.putAll(extra);
+        }
+        if (shared != null) {
+            shared.forEach((key, value) -> {
+                if (schema.slotOf(key) < 0) {
+                    view.put(key, value);
+                }
+            });
+        }
+        return Collections.unmodifiableMap(view);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        checkLive();
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                keys.add(schema.keyAt(i));
+            }
+        }
+        Map<String, Object> extra = overflow();
+        if (extra != null) {
+            keys.addAll(extra.keySet());
+        }
+        if (shared != null) {
+            shared.forEach((key, value) -> {
+                if (schema.slotOf(key) < 0) {
+                    keys.add(key);
+                }
+            });
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    @Override
+    public Context asReadOnly() {
+        if (owner != null) {
+            return this;
+        }
+        if (readOnlyView == null) {
+            readOnlyView = new SlotContext(this);
+        }
+        return readOnlyView;
+    }
+
+    /**
+     * 是否为只读视图
+     *
+     * @return true 表示拒绝一切写操作
+     */
+    public boolean isReadOnly() {
+        return owner != null;
+    }
+
+    private Map<String, Object> overflow() {
+        return owner == null ? overflow : owner.overflow;
+    }
+
+    private void checkLive() {
+        if (owner != null && owner.generation != generation) {
+            throw new LogicFault(
+                    EngineErrorCode.CONTEXT_RELEASED,
+                    "Context view was used after its context had been reset",
+                    Map.of("context", "slot_context")
+            );
+        }
+    }
+
+    /**
+     * 检查写权限
+     *
+     * @param key   写入的键，仅用于诊断
+     * @param write true 表示写入事实；共享装入的实例只允许整体重置，不允许逐键写入
+     */
+    private void checkWritable(String key, boolean write) {
+        if (owner != null || (write && shared != null)) {
+            throw new LogicFault(
+                    EngineErrorCode.CONTEXT_FROZEN,
+                    "Read-only context cannot be modified",
+                    Map.of("key", String.valueOf(key))
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SlotContext" + asMap();
+    }
+}
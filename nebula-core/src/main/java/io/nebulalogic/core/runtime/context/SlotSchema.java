@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.context;
+
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.context
+ * @ClassName SlotSchema.java
+ * @Description 类 SlotSchema 的实现描述：事实槽位表 - 将规则集读取的键名一次性解析为整数槽位
+ * <p>槽位表在规则快照构建时生成，之后只读，可被所有执行线程无锁共享。</p>
+ * <p>条件在编译期持有槽位下标，执行期通过 {@link SlotContext#getSlot(int)} 直接读取数组，
+ * 绕开 String.hashCode / equals 与哈希查找。</p>
+ * <p>{@link #extend(Collection)} 得到的槽位表与原表属于同一谱系，原表的槽位在其中含义不变，
+ * 按原表绑定的条件读取扩展表的上下文时仍走下标路径（见 {@link #extendsFrom(SlotSchema)}）。
+ * 每个槽位表只有第一次扩展沿用谱系，之后的扩展（如回滚后从旧表再次扩展）另起谱系，因此同一谱系内的槽位表两两互为前缀。</p>
+ * @Date 2026年10月16日 10:15
+ * @Version 1.0.0
+ */
+public final class SlotSchema {
+
+    /**
+     * 空槽位表：所有事实都落入溢出区
+     */
+    public static final SlotSchema EMPTY = new SlotSchema(new String[0], new Object());
+
+    private final String[] keys;
+
+    private final Map<String, Integer> slots;
+
+    /**
+     * 谱系标记：同一谱系内的槽位表沿一条追加链扩展
+     */
+    private final Object lineage;
+
+    /**
+     * 是否已有扩展沿用了本表的谱系
+     */
+    private final AtomicBoolean extended = new AtomicBoolean();
+
+    private SlotSchema(String[] keys, Object lineage) {
+        this.keys = keys;
+        this.lineage = lineage;
+        this.slots = new HashMap<>(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            slots.put(keys[i], i);
+        }
+    }
+
+    /**
+     * 由键名集合创建槽位表，槽位顺序与集合迭代顺序一致，重复键名只保留第一次出现
+     *
+     * @param keys 规则集读取的键名
+     * @return 槽位表
+     */
+    public static SlotSchema of(Collection<String> keys) {
+        Set<String> distinct = new LinkedHashSet<>(keys);
+        distinct.remove(null);
+        return distinct.isEmpty() ? EMPTY : new SlotSchema(distinct.toArray(new String[0]), new Object());
+    }
+
+    /**
+     * 在当前槽位表之后追加新键名，已有键名的槽位保持不变
+     * <p>供增量重建快照使用：未变更规则已绑定的槽位下标在新槽位表中仍然有效。</p>
+     *
+     * @param keys 待追加的键名
+     * @return 没有新键名时返回当前实例，否则返回扩展后的槽位表
+     */
+    public SlotSchema extend(Collection<String> keys) {
+        Set<String> distinct = new LinkedHashSet<>(List.of(this.keys));
+        for (String key : keys) {
+            if (key != null) {
+                distinct.add(key);
+            }
+        }
+        if (distinct.size() == this.keys.length) {
+            return this;
+        }
+        Object family = extended.compareAndSet(false, true) ? lineage : new Object();
+        return new SlotSchema(distinct.toArray(new String[0]), family);
+    }
+
+    /**
+     * 本表是否为给定槽位表自身或其同一谱系内的追加扩展
+     *
+     * @param origin 条件绑定时使用的槽位表
+     * @return true 表示 origin 的每个槽位在本表中对应同一键名
+     */
+    public boolean extendsFrom(SlotSchema origin) {
+        return this == origin || (lineage == origin.lineage && keys.length >= origin.keys.length);
+    }
+
+    /**
+     * 查找键名对应的槽位
+     *
+     * @param key 键名
+     * @return 槽位下标，不在槽位表中时返回 -1
+     */
+    public int slotOf(String key) {
+        Integer slot = slots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * 槽位对应的键名
+     *
+     * @param slot 槽位下标
+     * @return 键名
+     */
+    public String keyAt(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * 槽位数量
+     *
+     * @return 槽位表大小
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * 全部键名（按槽位顺序）
+     *
+     * @return 不可变的键名列表
+     */
+    public List<String> keys() {
+        return List.of(keys);
+    }
+
+    @Override
+    public String toString() {
+        return "SlotSchema" + List.of(keys);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.dsl;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.NodeKind;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.dsl.DslParser.Expr;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.dsl
+ * @ClassName DslCondition.java
+ * @Description 类 DslCondition 的实现描述：原生规则 DSL 条件 - 编译为 MethodHandle 树的表达式叶子
+ * <p>表达式仅支持 AND / OR / NOT、比较与四则运算（C-EXT-003），在 {@link #compile(String)} 时一次性解析、校验类型并编译；
+ * 快照构建时 {@link #bind(SlotSchema)} 按槽位表重新编译，读取事实走槽位下标。句柄树由 {@link HandleCompiler#link}
+ * 放入专属隐藏类的 static final 常量，实例字段只持有该类的入口；求值不经过解释器，JIT 可将整棵句柄树内联。</p>
+ * <p>对匹配器而言是不透明的 PREDICATE 叶子；相等性按规范化后的语法树判定，空白、关键字写法不同的同一表达式
+ * 在位图匹配器中只求值一次。</p>
+ * @Date 2026年10月16日 18:42
+ * @Version 1.0.0
+ */
+public final class DslCondition implements ConditionNode {
+
+    private final String text;
+
+    private final Expr expr;
+
+    private final Set<String> keys;
+
+    private final DslProgram program;
+
+    private DslCondition(String text, Expr expr, Set<String> keys, DslProgram program) {
+        this.text = text;
+        this.expr = expr;
+        this.keys = keys;
+        this.program = program;
+    }
+
+    /**
+     * 解析并编译 DSL 表达式
+     *
+     * @param expression 条件表达式，如 {@code amount > 100 and (channel == 'web' or vip)}
+     * @return 按键名读取事实的条件
+     * @throws io.nebulalogic.core.exception.ConfigurationFault 如果表达式存在语法或类型错误
+     */
+    public static DslCondition compile(String expression) {
+        Set<String> keys = new LinkedHashSet<>();
+        Expr expr = DslParser.parse(expression, keys);
+        return new DslCondition(expression, expr, Collections.unmodifiableSet(keys),
+                HandleCompiler.link(HandleCompiler.compile(expression, expr, null)));
+    }
+
+    /**
+     * 按槽位表重新编译
+     *
+     * @param schema 快照的槽位表
+     * @return 事实读取绑定到槽位的等价条件
+     */
+    public DslCondition bind(SlotSchema schema) {
+        return new DslCondition(text, expr, keys, HandleCompiler.link(HandleCompiler.compile(text, expr, schema)));
+    }
+
+    /**
+     * 表达式读取的事实键名
+     *
+     * @return 不可变的键名集合
+     */
+    public Set<String> keys() {
+        return keys;
+    }
+
+    /**
+     * 表达式原文
+     *
+     * @return 编译时传入的文本
+     */
+    public String expression() {
+        return text;
+    }
+
+    @Override
+    public NodeKind kind() {
+        return NodeKind.PREDICATE;
+    }
+
+    @Override
+    public List<ConditionNode> operands() {
+        return List.of();
+    }
+
+    @Override
+    public boolean evaluate(ExecutionContext ctx) {
+        try {
+            return program.test(ctx.context());
+        } catch (EngineFault | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new LogicFault(
+                    EngineErrorCode.CONDITION_EVAL_ERROR,
+                    "DSL condition evaluation failed",
+                    Map.of("expression", text),
+                    e
+            );
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof DslCondition other && expr.equals(other.expr);
+    }
+
+    @Override
+    public int hashCode() {
+        return expr.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "dsl:" + expr;
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.dsl;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.dsl
+ * @ClassName DslParser.java
+ * @Description 类 DslParser 的实现描述：规则 DSL 的递归下降解析器（C-EXT-003）
+ * <p>语法（优先级由低到高）：</p>
+ * <pre>
+ * expr    := or
+ * or      := and (('||' | 'or') and)*
+ * and     := not (('&amp;&amp;' | 'and') not)*
+ * not     := ('!' | 'not') not | compare
+ * compare := sum (('==' | '!=' | '&gt;' | '&gt;=' | '&lt;' | '&lt;=') sum)?
+ * sum     := product (('+' | '-') product)*
+ * product := unary (('*' | '/') unary)*
+ * unary   := '-' unary | primary
+ * primary := NUMBER | 'text' | "text" | true | false | IDENT | '(' expr ')'
+ * </pre>
+ * <p>标识符即事实键名，可包含点号（如 {@code order.amount}）；关键字不区分大小写。语法错误抛出 {@link ConfigurationFault}。</p>
+ * @Date 2026年10月16日 18:34
+ * @Version 1.0.0
+ */
+final class DslParser {
+
+    /**
+     * 语法树节点
+     */
+    sealed interface Expr permits Num, Str, Bool, Fact, Unary, Binary {
+    }
+
+    record Num(BigDecimal value) implements Expr {
+        @Override
+        public String toString() {
+            return value.toPlainString();
+        }
+    }
+
+    record Str(String value) implements Expr {
+        @Override
+        public String toString() {
+            return "'" + value.replace("'", "\\'") + "'";
+        }
+    }
+
+    record Bool(boolean value) implements Expr {
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+
+    record Fact(String key) implements Expr {
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
+    record Unary(String op, Expr operand) implements Expr {
+        @Override
+        public String toString() {
+            return op + operand;
+        }
+    }
+
+    record Binary(String op, Expr left, Expr right) implements Expr {
+        @Override
+        public String toString() {
+            return "(" + left + " " + op + " " + right + ")";
+        }
+    }
+
+    private final String text;
+
+    private final Set<String> keys = new LinkedHashSet<>();
+
+    private int pos;
+
+    private DslParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * 解析表达式
+     *
+     * @param text 表达式文本
+     * @param keys 接收表达式读取的事实键名，按首次出现顺序
+     * @return 语法树
+     */
+    static Expr parse(String text, Set<String> keys) {
+        if (text == null || text.isBlank()) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "DSL expression cannot be empty",
+                    Map.of("context", "dsl_parse")
+            );
+        }
+        DslParser parser = new DslParser(text);
+        Expr expr = parser.or();
+        parser.skipSpaces();
+        if (parser.pos < text.length()) {
+            throw parser.error("Unexpected trailing input");
+        }
+        keys.addAll(parser.keys);
+        return expr;
+    }
+
+    private Expr or() {
+        Expr left = and();
+        while (accept("||") || acceptWord("or")) {
+            left = new Binary("||", left, and());
+        }
+        return left;
+    }
+
+    private Expr and() {
+        Expr left = not();
+        while (accept("&&") || acceptWord("and")) {
+            left = new Binary("&&", left, not());
+        }
+        return left;
+    }
+
+    private Expr not() {
+        skipSpaces();
+        if (peek('!') && !peekAt(1, '=')) {
+            pos++;
+            return new Unary("!", not());
+        }
+        if (acceptWord("not")) {
+            return new Unary("!", not());
+        }
+        return compare();
+    }
+
+    private Expr compare() {
+        Expr left = sum();
+        for (String op : new String[]{"==", "!=", ">=", "<=", ">", "<"}) {
+            if (accept(op)) {
+                return new Binary(op, left, sum());
+            }
+        }
+        return left;
+    }
+
+    private Expr sum() {
+        Expr left = product();
+        while (true) {
+            if (accept("+")) {
+                left = new Binary("+", left, product());
+            } else if (accept("-")) {
+                left = new Binary("-", left, product());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expr product() {
+        Expr left = unary();
+        while (true) {
+            if (accept("*")) {
+                left = new Binary("*", left, unary());
+            } else if (accept("/")) {
+                left = new Binary("/", left, unary());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expr unary() {
+        if (accept("-")) {
+            Expr operand = unary();
+            return operand instanceof Num num ? new Num(num.value().negate()) : new Unary("-", operand);
+        }
+        return primary();
+    }
+
+    private Expr primary() {
+        skipSpaces();
+        if (pos >= text.length()) {
+            throw error("Unexpected end of expression");
+        }
+        char c = text.charAt(pos);
+        if (c == '(') {
+            pos++;
+            Expr inner = or();
+            if (!accept(")")) {
+                throw error("Missing closing parenthesis");
+            }
+            return inner;
+        }
+        if (c == '\'' || c == '"') {
+            return string(c);
+        }
+        if (Character.isDigit(c) || (c == '.' && pos + 1 < text.length() && Character.isDigit(text.charAt(pos + 1)))) {
+            int start = pos;
+            while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                pos++;
+            }
+            try {
+                return new Num(new BigDecimal(text.substring(start, pos)));
+            } catch (NumberFormatException e) {
+                pos = start;
+                throw error("Malformed number");
+            }
+        }
+        if (Character.isLetter(c) || c == '_') {
+            int start = pos;
+            while (pos < text.length() && isIdentifierPart(text.charAt(pos))) {
+                pos++;
+            }
+            String word = text.substring(start, pos);
+            if (word.equalsIgnoreCase("true")) {
+                return new Bool(true);
+            }
+            if (word.equalsIgnoreCase("false")) {
+                return new Bool(false);
+            }
+            if (isKeyword(word)) {
+                pos = start;
+                throw error("Unexpected keyword '" + word + "'");
+            }
+            keys.add(word);
+            return new Fact(word);
+        }
+        throw error("Unexpected character '" + c + "'");
+    }
+
+    private Expr string(char quote) {
+        StringBuilder value = new StringBuilder();
+        pos++;
+        while (pos < text.length()) {
+            char c = text.charAt(pos++);
+            if (c == '\\' && pos < text.length()) {
+                value.append(text.charAt(pos++));
+            } else if (c == quote) {
+                return new Str(value.toString());
+            } else {
+                value.append(c);
+            }
+        }
+        throw error("Unterminated string literal");
+    }
+
+    private boolean accept(String token) {
+        skipSpaces();
+        if (text.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptWord(String word) {
+        skipSpaces();
+        int end = pos + word.length();
+        if (end <= text.length() && text.regionMatches(true, pos, word, 0, word.length())
+                && (end == text.length() || !isIdentifierPart(text.charAt(end)))) {
+            pos = end;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean peek(char c) {
+        return pos < text.length() && text.charAt(pos) == c;
+    }
+
+    private boolean peekAt(int offset, char c) {
+        return pos + offset < text.length() && text.charAt(pos + offset) == c;
+    }
+
+    private void skipSpaces() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+
+    private static boolean isKeyword(String word) {
+        return word.equalsIgnoreCase("and") || word.equalsIgnoreCase("or") || word.equalsIgnoreCase("not");
+    }
+
+    private ConfigurationFault error(String reason) {
+        return new ConfigurationFault(
+                EngineErrorCode.CONFIGURATION_ERROR,
+                "DSL syntax error",
+                Map.of("expression", text, "position", pos, "reason", reason)
+        );
+    }
+}
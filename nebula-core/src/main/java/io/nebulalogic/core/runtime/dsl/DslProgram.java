@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.dsl;
+
+
+import io.nebulalogic.core.model.context.Context;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.dsl
+ * @ClassName DslProgram.java
+ * @Description 类 DslProgram 的实现描述：已链接的 DSL 条件程序
+ * <p>由 {@link HandleCompiler#link} 产出，每个实例对应一个持有常量句柄树的隐藏类。</p>
+ * @Date 2026年10月17日 11:40
+ * @Version 1.0.0
+ */
+interface DslProgram {
+
+    /**
+     * 对事实上下文求值
+     *
+     * @param ctx 事实上下文
+     * @return 条件结果
+     * @throws Throwable 句柄树中原语抛出的异常，由调用方统一转换
+     */
+    boolean test(Context ctx) throws Throwable;
+}
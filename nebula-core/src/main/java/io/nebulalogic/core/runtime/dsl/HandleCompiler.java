@@ -0,0 +1,411 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.dsl;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.dsl.DslParser.Binary;
+import io.nebulalogic.core.runtime.dsl.DslParser.Bool;
+import io.nebulalogic.core.runtime.dsl.DslParser.Expr;
+import io.nebulalogic.core.runtime.dsl.DslParser.Fact;
+import io.nebulalogic.core.runtime.dsl.DslParser.Num;
+import io.nebulalogic.core.runtime.dsl.DslParser.Str;
+import io.nebulalogic.core.runtime.dsl.DslParser.Unary;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+import io.nebulalogic.core.runtime.types.ScaledFinancialValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.MathContext;
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.dsl
+ * @ClassName HandleCompiler.java
+ * @Description 类 HandleCompiler 的实现描述：将 DSL 语法树编译为 MethodHandle 组合树
+ * <p>每个节点编译为签名 {@code (Context)R} 的句柄，R 按静态类型取 FinancialValue / boolean / Object；
+ * 二元运算以 filterArguments + permuteArguments 拼接左右子句柄，AND / OR 以 guardWithTest 实现短路；
+ * 不含事实的数值子树在编译期折叠为常量。句柄树只由 JDK 组合器构成，经 {@link #link(MethodHandle)}
+ * 成为隐藏类 {@link HandleProgram} 的 static final 常量后，JIT 可沿句柄链整体内联。</p>
+ * <p>求值语义：</p>
+ * <ul>
+ *     <li>数值事实按 {@link FinancialValues#convert} 的规则读取，无法转换时抛出 TYPE_MISMATCH；算术遇缺失事实结果为缺失。</li>
+ *     <li>比较（含 == / !=）任一侧缺失时结果为 false；数值按 {@link FinancialValue#compareTo} 比较，忽略 scale。</li>
+ *     <li>四则运算沿用 {@link ScaledFinancialValue} 的紧凑 long 运算，溢出或除不尽时才回退到 BigDecimal。</li>
+ *     <li>布尔事实与 {@link Context#getBoolean} 一致：Boolean 原样、字符串按 true / false 解析，其余视为 false。</li>
+ *     <li>除法按 DECIMAL128 精度计算，除数为零抛出 VALUE_OUT_OF_RANGE。</li>
+ * </ul>
+ * @Date 2026年10月16日 18:38
+ * @Version 1.0.0
+ */
+final class HandleCompiler {
+
+    private enum Type { NUM, BOOL, STR, ANY }
+
+    private static final MethodHandle READ_NUM;
+    private static final MethodHandle READ_BOOL;
+    private static final MethodHandle READ_ANY;
+    private static final MethodHandle NOT;
+    private static final MethodHandle AND_FALSE;
+    private static final MethodHandle OR_TRUE;
+    private static final Map<String, MethodHandle> OPERATORS;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * {@link HandleProgram} 的类文件字节，作为隐藏类模板
+     */
+    private static final byte[] PROGRAM_TEMPLATE;
+
+    private static final ScaledFinancialValue ZERO = ScaledFinancialValue.of(0, 0);
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try (InputStream template = HandleCompiler.class.getResourceAsStream("HandleProgram.class")) {
+            if (template == null) {
+                throw new IOException("HandleProgram.class not found");
+            }
+            PROGRAM_TEMPLATE = template.readAllBytes();
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        try {
+            MethodType read = MethodType.methodType(Object.class, Context.class, SlotSchema.class, int.class, String.class);
+            READ_NUM = lookup.findStatic(HandleCompiler.class, "readNum", read.changeReturnType(FinancialValue.class));
+            READ_BOOL = lookup.findStatic(HandleCompiler.class, "readBool", read.changeReturnType(boolean.class));
+            READ_ANY = lookup.findStatic(HandleCompiler.class, "readAny", read);
+            NOT = lookup.findStatic(HandleCompiler.class, "not", MethodType.methodType(boolean.class, boolean.class));
+            AND_FALSE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, Context.class);
+            OR_TRUE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, Context.class);
+
+            MethodType arithmetic = MethodType.methodType(FinancialValue.class, FinancialValue.class, FinancialValue.class);
+            MethodType numeric = MethodType.methodType(boolean.class, FinancialValue.class, FinancialValue.class);
+            MethodType loose = MethodType.methodType(boolean.class, Object.class, Object.class);
+            MethodType logical = MethodType.methodType(boolean.class, boolean.class, boolean.class);
+            OPERATORS = Map.ofEntries(
+                    Map.entry("+", lookup.findStatic(HandleCompiler.class, "add", arithmetic)),
+                    Map.entry("-", lookup.findStatic(HandleCompiler.class, "subtract", arithmetic)),
+                    Map.entry("*", lookup.findStatic(HandleCompiler.class, "multiply", arithmetic)),
+                    Map.entry("/", lookup.findStatic(HandleCompiler.class, "divide", arithmetic)),
+                    Map.entry("neg", lookup.findStatic(HandleCompiler.class, "negate",
+                            MethodType.methodType(FinancialValue.class, FinancialValue.class))),
+                    Map.entry(">", lookup.findStatic(HandleCompiler.class, "gt", numeric)),
+                    Map.entry(">=", lookup.findStatic(HandleCompiler.class, "ge", numeric)),
+                    Map.entry("<", lookup.findStatic(HandleCompiler.class, "lt", numeric)),
+                    Map.entry("<=", lookup.findStatic(HandleCompiler.class, "le", numeric)),
+                    Map.entry("NUM==", lookup.findStatic(HandleCompiler.class, "eqNum", numeric)),
+                    Map.entry("NUM!=", lookup.findStatic(HandleCompiler.class, "neNum", numeric)),
+                    Map.entry("BOOL==", lookup.findStatic(HandleCompiler.class, "eqBool", logical)),
+                    Map.entry("BOOL!=", lookup.findStatic(HandleCompiler.class, "neBool", logical)),
+                    Map.entry("ANY==", lookup.findStatic(HandleCompiler.class, "eqAny", loose)),
+                    Map.entry("ANY!=", lookup.findStatic(HandleCompiler.class, "neAny", loose))
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String text;
+
+    private final SlotSchema schema;
+
+    private HandleCompiler(String text, SlotSchema schema) {
+        this.text = text;
+        this.schema = schema;
+    }
+
+    /**
+     * 编译条件表达式
+     *
+     * @param text   表达式原文（仅用于故障诊断）
+     * @param expr   语法树，静态类型必须为布尔
+     * @param schema 绑定的槽位表，null 表示按键名读取
+     * @return 签名为 {@code (Context)boolean} 的句柄
+     */
+    static MethodHandle compile(String text, Expr expr, SlotSchema schema) {
+        return new HandleCompiler(text, schema).bool(expr);
+    }
+
+    /**
+     * 以句柄树为类数据定义一个 {@link HandleProgram} 隐藏类并实例化
+     * <p>句柄树因此成为 static final 常量而非实例字段；隐藏类不被类加载器强引用，条件不可达后随之卸载。</p>
+     *
+     * @param tree 签名为 {@code (Context)boolean} 的句柄树
+     * @return 求值入口
+     */
+    static DslProgram link(MethodHandle tree) {
+        try {
+            MethodHandles.Lookup program = LOOKUP.defineHiddenClassWithClassData(PROGRAM_TEMPLATE, tree, true);
+            return (DslProgram) program.findConstructor(program.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Error | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to link DSL program", e);
+        }
+    }
+
+    private MethodHandle num(Expr expr) {
+        if (expr instanceof Num n) {
+            return constant(FinancialValue.class, ScaledFinancialValue.of(n.value()));
+        }
+        if (expr instanceof Fact f) {
+            return fact(READ_NUM, f.key());
+        }
+        MethodHandle handle;
+        if (expr instanceof Unary u && u.op().equals("-")) {
+            handle = MethodHandles.filterReturnValue(num(u.operand()), OPERATORS.get("neg"));
+        } else if (expr instanceof Binary b && typeOf(b) == Type.NUM) {
+            handle = combine(OPERATORS.get(b.op()), num(b.left()), num(b.right()));
+        } else {
+            throw typeError(expr, "numeric");
+        }
+        return readsFacts(expr) ? handle : fold(handle);
+    }
+
+    /**
+     * 在编译期求出不含事实的数值子树；求值失败（如除数为零）时保留原句柄，故障仍在求值期抛出
+     */
+    private static MethodHandle fold(MethodHandle handle) {
+        try {
+            return constant(FinancialValue.class, (FinancialValue) handle.invokeExact((Context) null));
+        } catch (RuntimeException e) {
+            return handle;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean readsFacts(Expr expr) {
+        if (expr instanceof Fact) {
+            return true;
+        }
+        if (expr instanceof Unary u) {
+            return readsFacts(u.operand());
+        }
+        return expr instanceof Binary b && (readsFacts(b.left()) || readsFacts(b.right()));
+    }
+
+    private MethodHandle bool(Expr expr) {
+        if (expr instanceof Bool b) {
+            return b.value() ? OR_TRUE : AND_FALSE;
+        }
+        if (expr instanceof Fact f) {
+            return fact(READ_BOOL, f.key());
+        }
+        if (expr instanceof Unary u && u.op().equals("!")) {
+            return MethodHandles.filterReturnValue(bool(u.operand()), NOT);
+        }
+        if (expr instanceof Binary b) {
+            switch (b.op()) {
+                case "&&":
+                    return MethodHandles.guardWithTest(bool(b.left()), bool(b.right()), AND_FALSE);
+                case "||":
+                    return MethodHandles.guardWithTest(bool(b.left()), OR_TRUE, bool(b.right()));
+                case ">", ">=", "<", "<=":
+                    return combine(OPERATORS.get(b.op()), num(b.left()), num(b.right()));
+                case "==", "!=":
+                    return equality(b);
+                default:
+                    break;
+            }
+        }
+        throw typeError(expr, "boolean");
+    }
+
+    private MethodHandle any(Expr expr) {
+        if (expr instanceof Str s) {
+            return constant(Object.class, s.value());
+        }
+        if (expr instanceof Fact f) {
+            return fact(READ_ANY, f.key());
+        }
+        Type type = typeOf(expr);
+        MethodHandle handle = type == Type.NUM ? num(expr) : bool(expr);
+        return handle.asType(MethodType.methodType(Object.class, Context.class));
+    }
+
+    private MethodHandle equality(Binary b) {
+        Type left = typeOf(b.left());
+        Type right = typeOf(b.right());
+        Type common = left == right || right == Type.ANY ? left : left == Type.ANY ? right : Type.ANY;
+        MethodHandle op = OPERATORS.get((common == Type.STR ? Type.ANY : common) + b.op());
+        return switch (common) {
+            case NUM -> combine(op, num(b.left()), num(b.right()));
+            case BOOL -> combine(op, bool(b.left()), bool(b.right()));
+            default -> combine(op, any(b.left()), any(b.right()));
+        };
+    }
+
+    private MethodHandle fact(MethodHandle reader, String key) {
+        int slot = schema == null ? -1 : schema.slotOf(key);
+        return MethodHandles.insertArguments(reader, 1, schema, slot, key);
+    }
+
+    private static MethodHandle combine(MethodHandle op, MethodHandle left, MethodHandle right) {
+        MethodHandle joined = MethodHandles.filterArguments(op, 0, left, right);
+        return MethodHandles.permuteArguments(joined, MethodType.methodType(op.type().returnType(), Context.class), 0, 0);
+    }
+
+    private static MethodHandle constant(Class<?> type, Object value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(type, value), 0, Context.class);
+    }
+
+    private static Type typeOf(Expr expr) {
+        if (expr instanceof Num) {
+            return Type.NUM;
+        }
+        if (expr instanceof Str) {
+            return Type.STR;
+        }
+        if (expr instanceof Bool) {
+            return Type.BOOL;
+        }
+        if (expr instanceof Unary u) {
+            return u.op().equals("-") ? Type.NUM : Type.BOOL;
+        }
+        if (expr instanceof Binary b) {
+            return switch (b.op()) {
+                case "+", "-", "*", "/" -> Type.NUM;
+                default -> Type.BOOL;
+            };
+        }
+        return Type.ANY;
+    }
+
+    private ConfigurationFault typeError(Expr expr, String expected) {
+        return new ConfigurationFault(
+                EngineErrorCode.CONFIGURATION_ERROR,
+                "DSL type error",
+                Map.of("expression", text, "operand", expr.toString(), "expected", expected)
+        );
+    }
+
+    // ---------------------------------------------------------------- 运行期原语
+
+    private static FinancialValue readNum(Context ctx, SlotSchema schema, int slot, String key) {
+        return SlotContext.readFinancial(ctx, schema, slot, key);
+    }
+
+    private static boolean readBool(Context ctx, SlotSchema schema, int slot, String key) {
+        Object value = SlotContext.read(ctx, schema, slot, key);
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        return value instanceof String s && Boolean.parseBoolean(s);
+    }
+
+    private static Object readAny(Context ctx, SlotSchema schema, int slot, String key) {
+        return SlotContext.read(ctx, schema, slot, key);
+    }
+
+    private static boolean not(boolean value) {
+        return !value;
+    }
+
+    private static FinancialValue add(FinancialValue a, FinancialValue b) {
+        return a == null || b == null ? null : scaled(a).add(b);
+    }
+
+    private static FinancialValue subtract(FinancialValue a, FinancialValue b) {
+        return a == null || b == null ? null : scaled(a).subtract(b);
+    }
+
+    private static FinancialValue multiply(FinancialValue a, FinancialValue b) {
+        return a == null || b == null ? null : scaled(a).multiply(b);
+    }
+
+    private static FinancialValue divide(FinancialValue a, FinancialValue b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        if (b.isZero()) {
+            throw new LogicFault(
+                    EngineErrorCode.VALUE_OUT_OF_RANGE,
+                    "Division by zero in DSL expression",
+                    Map.of("dividend", a.toString())
+            );
+        }
+        return scaled(a).divide(b, MathContext.DECIMAL128);
+    }
+
+    private static FinancialValue negate(FinancialValue a) {
+        return a == null ? null : ZERO.subtract(a);
+    }
+
+    private static ScaledFinancialValue scaled(FinancialValue value) {
+        return value instanceof ScaledFinancialValue scaled ? scaled : ScaledFinancialValue.of(value.decimalValue());
+    }
+
+    private static boolean gt(FinancialValue a, FinancialValue b) {
+        return a != null && b != null && a.compareTo(b) > 0;
+    }
+
+    private static boolean ge(FinancialValue a, FinancialValue b) {
+        return a != null && b != null && a.compareTo(b) >= 0;
+    }
+
+    private static boolean lt(FinancialValue a, FinancialValue b) {
+        return a != null && b != null && a.compareTo(b) < 0;
+    }
+
+    private static boolean le(FinancialValue a, FinancialValue b) {
+        return a != null && b != null && a.compareTo(b) <= 0;
+    }
+
+    private static boolean eqNum(FinancialValue a, FinancialValue b) {
+        return a != null && b != null && a.compareTo(b) == 0;
+    }
+
+    private static boolean neNum(FinancialValue a, FinancialValue b) {
+        return a != null && b != null && a.compareTo(b) != 0;
+    }
+
+    private static boolean eqBool(boolean a, boolean b) {
+        return a == b;
+    }
+
+    private static boolean neBool(boolean a, boolean b) {
+        return a != b;
+    }
+
+    private static boolean eqAny(Object a, Object b) {
+        return a != null && b != null && looseEquals(a, b);
+    }
+
+    private static boolean neAny(Object a, Object b) {
+        return a != null && b != null && !looseEquals(a, b);
+    }
+
+    private static boolean looseEquals(Object a, Object b) {
+        if (a.equals(b)) {
+            return true;
+        }
+        if (isNumeric(a) && isNumeric(b)) {
+            return FinancialValues.convert(null, a).compareTo(FinancialValues.convert(null, b)) == 0;
+        }
+        return a.toString().equals(b.toString());
+    }
+
+    private static boolean isNumeric(Object value) {
+        return value instanceof Number || value instanceof FinancialValue;
+    }
+}
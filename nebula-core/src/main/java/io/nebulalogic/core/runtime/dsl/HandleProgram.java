@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.dsl;
+
+
+import io.nebulalogic.core.model.context.Context;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.dsl
+ * @ClassName HandleProgram.java
+ * @Description 类 HandleProgram 的实现描述：DSL 程序模板 - 本类的字节码按原样被定义为隐藏类，不会以普通方式加载使用
+ * <p>每次链接以句柄树作为类数据定义一个新的隐藏类，{@link #TREE} 因而是该类的 static final 常量，
+ * JIT 编译 {@link #test(Context)} 时可将整棵句柄树连同原语内联展开。不生成字节码，只复用本模板。</p>
+ * @Date 2026年10月17日 11:40
+ * @Version 1.0.0
+ */
+final class HandleProgram implements DslProgram {
+
+    private static final MethodHandle TREE = tree();
+
+    private static MethodHandle tree() {
+        try {
+            return MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public boolean test(Context ctx) throws Throwable {
+        return (boolean) TREE.invokeExact(ctx);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.image;
+
+
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.model.rule.Condition;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.runtime.loader.RuleBindings;
+
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.image
+ * @ClassName ImageRule.java
+ * @Description 类 ImageRule 的实现描述：镜像规则视图 - 按需从映射区读取字段
+ * <p>规则表中每条规则占 36 字节：ID、名称、描述、版本（字符串编号，-1 表示null）、优先级、启用标志、条件根节点编号、
+ * 首个动作在动作表中的下标与动作数量。</p>
+ * <p>动作在首次访问时按镜像记录的名称或键值解码并缓存在视图上；具名动作已在打开规则视图时经 {@link RuleBindings} 解析。</p>
+ * @Date 2026年10月16日 19:40
+ * @Version 1.0.0
+ */
+final class ImageRule implements Rule {
+
+    private final SnapshotImage image;
+
+    private final int at;
+
+    private final RuleBindings bindings;
+
+    private final ConditionNode[] decoded;
+
+    private final Action[] named;
+
+    private List<Action> actions;
+
+    ImageRule(SnapshotImage image, int at, RuleBindings bindings, ConditionNode[] decoded, Action[] named) {
+        this.image = image;
+        this.at = at;
+        this.bindings = bindings;
+        this.decoded = decoded;
+        this.named = named;
+    }
+
+    @Override
+    public String getId() {
+        return image.string(image.intAt(at));
+    }
+
+    @Override
+    public String getName() {
+        return image.string(image.intAt(at + 4));
+    }
+
+    @Override
+    public String getDescription() {
+        return image.string(image.intAt(at + 8));
+    }
+
+    @Override
+    public String getVersion() {
+        return image.string(image.intAt(at + 12));
+    }
+
+    @Override
+    public int getPriority() {
+        return image.intAt(at + 16);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return image.intAt(at + 20) != 0;
+    }
+
+    @Override
+    public Condition getCondition() {
+        return image.node(image.intAt(at + 24), bindings, decoded);
+    }
+
+    @Override
+    public List<Action> getActions() {
+        List<Action> resolved = actions;
+        if (resolved == null) {
+            resolved = image.actions(image.intAt(at + 28), image.intAt(at + 32), named);
+            actions = resolved;
+        }
+        return resolved;
+    }
+
+    @Override
+    public String toString() {
+        return "ImageRule[" + getId() + "]";
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.image;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.model.rule.action.NamedAction;
+import io.nebulalogic.core.model.rule.action.VariableAssignment;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.ConstantCondition;
+import io.nebulalogic.core.model.rule.condition.FactPredicate;
+import io.nebulalogic.core.model.rule.condition.NodeKind;
+import io.nebulalogic.core.model.rule.condition.NotCondition;
+import io.nebulalogic.core.model.rule.condition.PredicateCondition;
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.dsl.DslCondition;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import static io.nebulalogic.core.runtime.image.SnapshotImage.*;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.image
+ * @ClassName ImageWriter.java
+ * @Description 类 ImageWriter 的实现描述：快照镜像编码器
+ * <p>先遍历全部规则收集字符串表、节点表与子节点表，再一次性写入精确大小的缓冲区。结构相同的条件节点只写入一次，
+ * 加载后仍是同一个实例。动作只记录具名动作的名称与赋值动作的键值，实现在加载时经 {@code RuleBindings} 解析。</p>
+ * @Date 2026年10月16日 19:30
+ * @Version 1.0.0
+ */
+final class ImageWriter {
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+    private final Map<ConditionNode, Integer> nodeIds = new HashMap<>();
+
+    private final List<int[]> nodes = new ArrayList<>();
+
+    private final List<Integer> children = new ArrayList<>();
+
+    private final List<int[]> actions = new ArrayList<>();
+
+    private String ruleId;
+
+    /**
+     * 将规则集编码为镜像
+     *
+     * @param rules 规则集，按声明顺序写入
+     * @return 含头部与校验和的完整镜像
+     * @throws ConfigurationFault 如果条件包含无法序列化的节点（匿名谓词等），或动作既非具名动作也非赋值动作
+     */
+    static ByteBuffer encode(Collection<? extends Rule> rules) {
+        return new ImageWriter().write(rules);
+    }
+
+    private ByteBuffer write(Collection<? extends Rule> rules) {
+        int[][] table = new int[rules.size()][];
+        int r = 0;
+        for (Rule rule : rules) {
+            ruleId = rule.getId();
+            int root = node(ConditionNode.of(rule.getCondition()));
+            int firstAction = actions.size();
+            for (Action action : rule.getActions()) {
+                actions.add(encode(action));
+            }
+            table[r++] = new int[]{
+                    string(rule.getId()), string(rule.getName()), string(rule.getDescription()),
+                    string(rule.getVersion()), rule.getPriority(), rule.isEnabled() ? 1 : 0, root,
+                    firstAction, actions.size() - firstAction
+            };
+        }
+
+        byte[][] encoded = new byte[strings.size()][];
+        int stringBytes = 0;
+        int s = 0;
+        for (String value : strings.keySet()) {
+            encoded[s] = value.getBytes(StandardCharsets.UTF_8);
+            stringBytes += encoded[s++].length;
+        }
+        int body = table.length * RULE_BYTES + nodes.size() * NODE_BYTES + children.size() * 4
+                + actions.size() * ACTION_BYTES + (encoded.length + 1) * 4 + stringBytes;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + body);
+        buffer.putInt(MAGIC).putShort(FORMAT_VERSION).putShort((short) 0)
+                .putInt(table.length).putInt(encoded.length).putInt(nodes.size()).putInt(children.size())
+                .putInt(body).putInt(0).putInt(actions.size());
+        for (int[] rule : table) {
+            for (int field : rule) {
+                buffer.putInt(field);
+            }
+        }
+        for (int[] node : nodes) {
+            buffer.put((byte) node[0]).put((byte) node[1]).put((byte) node[2]).put((byte) 0)
+                    .putInt(node[3]).putInt(node[4]);
+        }
+        for (int child : children) {
+            buffer.putInt(child);
+        }
+        for (int[] action : actions) {
+            buffer.put((byte) action[0]).put((byte) action[1]).putShort((short) 0).putInt(action[2]).putInt(action[3]);
+        }
+        int offset = 0;
+        for (byte[] bytes : encoded) {
+            buffer.putInt(offset);
+            offset += bytes.length;
+        }
+        buffer.putInt(offset);
+        for (byte[] bytes : encoded) {
+            buffer.put(bytes);
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_BYTES, body);
+        buffer.putInt(CHECKSUM_OFFSET, (int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    private int string(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = strings.get(value);
+        if (id == null) {
+            id = strings.size();
+            strings.put(value, id);
+        }
+        return id;
+    }
+
+    private int node(ConditionNode node) {
+        Integer id = nodeIds.get(node);
+        if (id != null) {
+            return id;
+        }
+        int[] record = encode(node);
+        id = nodes.size();
+        nodes.add(record);
+        nodeIds.put(node, id);
+        return id;
+    }
+
+    /**
+     * 编码为 {kind, operator, operandTag, a, b}
+     */
+    private int[] encode(ConditionNode node) {
+        if (node instanceof ConstantCondition constant) {
+            return new int[]{constant.value() ? KIND_TRUE : KIND_FALSE, 0, 0, 0, 0};
+        }
+        if (node.kind() == NodeKind.AND || node.kind() == NodeKind.OR) {
+            List<ConditionNode> operands = node.operands();
+            int[] ids = new int[operands.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = node(operands.get(i));
+            }
+            int start = children.size();
+            for (int child : ids) {
+                children.add(child);
+            }
+            return new int[]{node.kind() == NodeKind.AND ? KIND_AND : KIND_OR, 0, 0, start, ids.length};
+        }
+        if (node instanceof NotCondition not) {
+            return new int[]{KIND_NOT, 0, 0, node(not.operand()), 0};
+        }
+        if (node instanceof FactPredicate fact) {
+            int tag = tag(fact.operand());
+            if (tag == NONE) {
+                throw unsupported("Fact operand type cannot be written to a snapshot image", "node", typeOf(fact.operand()));
+            }
+            return new int[]{KIND_FACT, fact.operator().ordinal(), tag, string(fact.key()), string(text(fact.operand()))};
+        }
+        if (node instanceof DslCondition dsl) {
+            return new int[]{KIND_DSL, 0, 0, string(dsl.expression()), 0};
+        }
+        if (node instanceof PredicateCondition predicate && predicate.name() != null) {
+            return new int[]{KIND_NAMED, 0, 0, string(predicate.name()), 0};
+        }
+        throw unsupported("Anonymous or custom condition cannot be written to a snapshot image", "node", node.toString());
+    }
+
+    /**
+     * 编码为 {kind, operandTag, a, b}
+     */
+    private int[] encode(Action action) {
+        if (action instanceof NamedAction named) {
+            return new int[]{ACTION_CALL, 0, string(named.name()), NONE};
+        }
+        if (action instanceof VariableAssignment assignment) {
+            int tag = tag(assignment.value());
+            if (tag == NONE) {
+                throw unsupported("Action value type cannot be written to a snapshot image", "action", typeOf(assignment.value()));
+            }
+            return new int[]{ACTION_SET, tag, string(assignment.key()), string(text(assignment.value()))};
+        }
+        throw unsupported("Anonymous or custom action cannot be written to a snapshot image", "action", String.valueOf(action));
+    }
+
+    private static int tag(Object operand) {
+        if (operand instanceof FinancialValue) {
+            return OPERAND_FINANCIAL;
+        }
+        if (operand instanceof String) {
+            return OPERAND_STRING;
+        }
+        if (operand instanceof Boolean) {
+            return OPERAND_BOOLEAN;
+        }
+        if (operand instanceof Integer) {
+            return OPERAND_INT;
+        }
+        return operand instanceof Long ? OPERAND_LONG : NONE;
+    }
+
+    private static String text(Object operand) {
+        return operand instanceof FinancialValue financial ? financial.decimalValue().toPlainString() : operand.toString();
+    }
+
+    private static String typeOf(Object operand) {
+        return operand == null ? "null" : operand.getClass().getName();
+    }
+
+    private ConfigurationFault unsupported(String message, String field, String detail) {
+        return new ConfigurationFault(
+                EngineErrorCode.CONFIGURATION_ERROR,
+                message,
+                Map.of("ruleId", String.valueOf(ruleId), field, detail)
+        );
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.image;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.model.rule.Condition;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.model.rule.action.NamedAction;
+import io.nebulalogic.core.model.rule.condition.AndCondition;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.ConstantCondition;
+import io.nebulalogic.core.model.rule.condition.FactOperator;
+import io.nebulalogic.core.model.rule.condition.FactPredicate;
+import io.nebulalogic.core.model.rule.condition.NotCondition;
+import io.nebulalogic.core.model.rule.condition.OrCondition;
+import io.nebulalogic.core.model.rule.condition.PredicateCondition;
+import io.nebulalogic.core.runtime.dsl.DslCondition;
+import io.nebulalogic.core.runtime.loader.RuleBindings;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.image
+ * @ClassName SnapshotImage.java
+ * @Description 类 SnapshotImage 的实现描述：内存映射的规则快照镜像 - 免解析的二进制规则集格式
+ * <p>镜像保存解析完成的规则集：规则元数据（ID、名称、描述、版本、优先级、启用状态）、条件节点表、动作表与字符串表。
+ * {@link #open(Path)} 以 {@link FileChannel#map} 只读映射文件，校验魔数、格式版本与 CRC32C 校验和后即可使用，
+ * 不做整体反序列化：</p>
+ * <ul>
+ *     <li>{@link #rules(RuleBindings)} 返回规则视图，字符串与条件节点在首次访问时从映射区解码并缓存；</li>
+ *     <li>结构相同的条件节点在镜像中只存一份，解码后仍是同一实例，快照构建的绑定缓存可直接命中；</li>
+ *     <li>具名谓词与具名动作按名称记录，加载时经与规则文档加载器相同的 {@link RuleBindings} 解析，任一名称未注册即加载失败；
+ *     赋值动作记录键与值。匿名 lambda 谓词与动作无法写入镜像。</li>
+ * </ul>
+ * <p>布局（大端序）：36 字节头部 | 规则表（每条 36 字节）| 节点表（每个 12 字节）| 子节点表 | 动作表（每个 12 字节）|
+ * 字符串偏移表 | UTF-8 字符串区。
+ * 匹配器的谓词表与索引引用运行期对象，仍在快照构建时由映射的条件生成。</p>
+ * <p>实例不可变，可被多个线程共享；解码缓存的并发写入只可能写入相同的值。</p>
+ * @Date 2026年10月16日 19:36
+ * @Version 1.0.0
+ */
+public final class SnapshotImage {
+
+    static final int MAGIC = 0x4E42494D;
+
+    static final short FORMAT_VERSION = 2;
+
+    static final int HEADER_BYTES = 36;
+
+    static final int CHECKSUM_OFFSET = 28;
+
+    static final int RULE_BYTES = 36;
+
+    static final int NODE_BYTES = 12;
+
+    static final int ACTION_BYTES = 12;
+
+    static final int NONE = -1;
+
+    static final int KIND_TRUE = 0;
+    static final int KIND_FALSE = 1;
+    static final int KIND_AND = 2;
+    static final int KIND_OR = 3;
+    static final int KIND_NOT = 4;
+    static final int KIND_FACT = 5;
+    static final int KIND_NAMED = 6;
+    static final int KIND_DSL = 7;
+
+    static final int ACTION_CALL = 0;
+    static final int ACTION_SET = 1;
+
+    static final int OPERAND_STRING = 0;
+    static final int OPERAND_BOOLEAN = 1;
+    static final int OPERAND_INT = 2;
+    static final int OPERAND_LONG = 3;
+    static final int OPERAND_FINANCIAL = 4;
+
+    private static final FactOperator[] OPERATORS = FactOperator.values();
+
+    private final ByteBuffer buffer;
+
+    private final int ruleCount;
+
+    private final int nodeCount;
+
+    private final int rulesAt;
+
+    private final int nodesAt;
+
+    private final int childrenAt;
+
+    private final int actionCount;
+
+    private final int actionsAt;
+
+    private final int offsetsAt;
+
+    private final int stringsAt;
+
+    private final String[] strings;
+
+    private SnapshotImage(ByteBuffer buffer, int ruleCount, int stringCount, int nodeCount, int childCount,
+                          int actionCount) {
+        this.buffer = buffer;
+        this.ruleCount = ruleCount;
+        this.nodeCount = nodeCount;
+        this.actionCount = actionCount;
+        this.rulesAt = HEADER_BYTES;
+        this.nodesAt = rulesAt + ruleCount * RULE_BYTES;
+        this.childrenAt = nodesAt + nodeCount * NODE_BYTES;
+        this.actionsAt = childrenAt + childCount * 4;
+        this.offsetsAt = actionsAt + actionCount * ACTION_BYTES;
+        this.stringsAt = offsetsAt + (stringCount + 1) * 4;
+        this.strings = new String[stringCount];
+    }
+
+    /**
+     * 将规则集写入镜像文件
+     * <p>先写入同目录下的临时文件再原子替换，读取方不会看到写了一半的镜像。</p>
+     *
+     * @param rules 规则集，按声明顺序写入（禁用规则同样写入，加载后由快照构建剔除）
+     * @param path  目标文件
+     * @throws ConfigurationFault 如果条件无法序列化或写入失败
+     */
+    public static void write(Collection<? extends Rule> rules, Path path) {
+        ByteBuffer image = ImageWriter.encode(rules);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (image.hasRemaining()) {
+                channel.write(image);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw ioFault("Snapshot image cannot be written", path, e);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw ioFault("Snapshot image cannot be written", path, e);
+        }
+    }
+
+    /**
+     * 映射并校验镜像文件
+     *
+     * @param path 镜像文件
+     * @return 镜像
+     * @throws ConfigurationFault 如果文件无法读取、格式或版本不符、校验和不一致
+     */
+    public static SnapshotImage open(Path path) {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw corrupt(path, "Unexpected file size " + size);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw ioFault("Snapshot image cannot be read", path, e);
+        }
+        return wrap(mapped, path);
+    }
+
+    private static SnapshotImage wrap(ByteBuffer buffer, Path path) {
+        if (buffer.getInt(0) != MAGIC) {
+            throw corrupt(path, "Not a snapshot image");
+        }
+        short version = buffer.getShort(4);
+        if (version != FORMAT_VERSION) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Unsupported snapshot image version",
+                    Map.of("path", path.toString(), "version", version, "supported", FORMAT_VERSION)
+            );
+        }
+        int ruleCount = buffer.getInt(8);
+        int stringCount = buffer.getInt(12);
+        int nodeCount = buffer.getInt(16);
+        int childCount = buffer.getInt(20);
+        int body = buffer.getInt(24);
+        int actionCount = buffer.getInt(32);
+        if (body != buffer.capacity() - HEADER_BYTES || ruleCount < 0 || stringCount < 0 || nodeCount < 0 || childCount < 0
+                || actionCount < 0
+                || (long) ruleCount * RULE_BYTES + (long) nodeCount * NODE_BYTES + 4L * childCount
+                + (long) actionCount * ACTION_BYTES + 4L * (stringCount + 1) > body) {
+            throw corrupt(path, "Section sizes do not match the file length");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(HEADER_BYTES));
+        if ((int) crc.getValue() != buffer.getInt(CHECKSUM_OFFSET)) {
+            throw corrupt(path, "Checksum mismatch");
+        }
+        return new SnapshotImage(buffer, ruleCount, stringCount, nodeCount, childCount, actionCount);
+    }
+
+    /**
+     * 镜像中的规则数量（含禁用规则）
+     *
+     * @return 规则数
+     */
+    public int ruleCount() {
+        return ruleCount;
+    }
+
+    /**
+     * 镜像中不同条件节点的数量
+     *
+     * @return 节点表大小
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * 镜像的规则视图
+     * <p>列表与其中的规则都是对映射区的轻量视图，可直接交给 {@code EngineBuilder.addRules} 或 {@code SnapshotBuilder.addRules}。
+     * 具名动作在此一次性解析，每个名称只查找一次；具名谓词随条件在首次访问时解析。</p>
+     *
+     * @param bindings 具名谓词与动作的注册表
+     * @return 按写入顺序排列的不可变规则列表
+     * @throws ConfigurationFault 如果镜像引用的动作名称未注册
+     */
+    public List<Rule> rules(RuleBindings bindings) {
+        ConditionNode[] decoded = new ConditionNode[nodeCount];
+        Action[] named = bindActions(bindings);
+        return new AbstractList<>() {
+            @Override
+            public Rule get(int index) {
+                if (index < 0 || index >= ruleCount) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return new ImageRule(SnapshotImage.this, rulesAt + index * RULE_BYTES, bindings, decoded, named);
+            }
+
+            @Override
+            public int size() {
+                return ruleCount;
+            }
+        };
+    }
+
+    /**
+     * 解析全部具名动作，按名称的字符串编号存放
+     */
+    private Action[] bindActions(RuleBindings bindings) {
+        Action[] named = new Action[strings.length];
+        for (int i = 0; i < actionCount; i++) {
+            int at = actionsAt + i * ACTION_BYTES;
+            int id = buffer.getInt(at + 4);
+            if (buffer.get(at) != ACTION_CALL || named[id] != null) {
+                continue;
+            }
+            String name = string(id);
+            Action resolved = bindings.action(name);
+            if (resolved == null) {
+                throw new ConfigurationFault(
+                        EngineErrorCode.CONFIGURATION_ERROR,
+                        "Named action in snapshot image is not bound",
+                        Map.of("action", name)
+                );
+            }
+            named[id] = resolved instanceof NamedAction action && name.equals(action.name())
+                    ? action
+                    : Action.named(name, resolved);
+        }
+        return named;
+    }
+
+    /**
+     * 解码规则的动作
+     *
+     * @param first 规则的首个动作在动作表中的下标
+     * @param count 动作数量
+     * @param named {@link #bindActions(RuleBindings)} 的结果
+     * @return 不可变动作列表
+     */
+    List<Action> actions(int first, int count, Action[] named) {
+        Action[] actions = new Action[count];
+        for (int i = 0; i < count; i++) {
+            int at = actionsAt + (first + i) * ACTION_BYTES;
+            int a = buffer.getInt(at + 4);
+            if (buffer.get(at) == ACTION_CALL) {
+                actions[i] = named[a];
+            } else if (buffer.get(at) == ACTION_SET) {
+                actions[i] = Action.setVariable(string(a), operand(buffer.get(at + 1), string(buffer.getInt(at + 8))));
+            } else {
+                throw new ConfigurationFault(
+                        EngineErrorCode.CONFIGURATION_ERROR,
+                        "Corrupt snapshot image",
+                        Map.of("reason", "Unknown action kind " + buffer.get(at), "action", first + i)
+                );
+            }
+        }
+        return List.of(actions);
+    }
+
+    int intAt(int position) {
+        return buffer.getInt(position);
+    }
+
+    String string(int id) {
+        if (id == NONE) {
+            return null;
+        }
+        String cached = strings[id];
+        if (cached == null) {
+            int from = buffer.getInt(offsetsAt + id * 4);
+            int to = buffer.getInt(offsetsAt + id * 4 + 4);
+            byte[] bytes = new byte[to - from];
+            buffer.get(stringsAt + from, bytes);
+            cached = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = cached;
+        }
+        return cached;
+    }
+
+    ConditionNode node(int id, RuleBindings bindings, ConditionNode[] decoded) {
+        ConditionNode cached = decoded[id];
+        if (cached == null) {
+            cached = decode(id, bindings, decoded);
+            decoded[id] = cached;
+        }
+        return cached;
+    }
+
+    private ConditionNode decode(int id, RuleBindings bindings, ConditionNode[] decoded) {
+        int at = nodesAt + id * NODE_BYTES;
+        int kind = buffer.get(at);
+        int a = buffer.getInt(at + 4);
+        int b = buffer.getInt(at + 8);
+        switch (kind) {
+            case KIND_TRUE:
+                return ConstantCondition.TRUE;
+            case KIND_FALSE:
+                return ConstantCondition.FALSE;
+            case KIND_AND:
+            case KIND_OR: {
+                ConditionNode[] operands = new ConditionNode[b];
+                for (int i = 0; i < b; i++) {
+                    operands[i] = node(buffer.getInt(childrenAt + (a + i) * 4), bindings, decoded);
+                }
+                return kind == KIND_AND ? AndCondition.ofAll(operands) : OrCondition.ofAll(operands);
+            }
+            case KIND_NOT:
+                return new NotCondition(node(a, bindings, decoded));
+            case KIND_FACT:
+                return new FactPredicate(string(a), OPERATORS[buffer.get(at + 1)], operand(buffer.get(at + 2), string(b)));
+            case KIND_DSL:
+                return DslCondition.compile(string(a));
+            case KIND_NAMED: {
+                String name = string(a);
+                Condition resolved = bindings.predicate(name);
+                if (resolved == null) {
+                    throw new ConfigurationFault(
+                            EngineErrorCode.CONFIGURATION_ERROR,
+                            "Named predicate in snapshot image is not bound",
+                            Map.of("predicate", name)
+                    );
+                }
+                return resolved instanceof PredicateCondition named && name.equals(named.name())
+                        ? named
+                        : new PredicateCondition(resolved, name);
+            }
+            default:
+                throw new ConfigurationFault(
+                        EngineErrorCode.CONFIGURATION_ERROR,
+                        "Corrupt snapshot image",
+                        Map.of("reason", "Unknown node kind " + kind, "node", id)
+                );
+        }
+    }
+
+    private static Object operand(int tag, String text) {
+        return switch (tag) {
+            case OPERAND_BOOLEAN -> Boolean.valueOf(text);
+            case OPERAND_INT -> Integer.valueOf(text);
+            case OPERAND_LONG -> Long.valueOf(text);
+            case OPERAND_FINANCIAL -> FinancialValues.of(new BigDecimal(text));
+            default -> text;
+        };
+    }
+
+    private static ConfigurationFault corrupt(Path path, String reason) {
+        return new ConfigurationFault(
+                EngineErrorCode.CONFIGURATION_ERROR,
+                "Corrupt snapshot image",
+                Map.of("path", path.toString(), "reason", reason)
+        );
+    }
+
+    private static ConfigurationFault ioFault(String message, Path path, IOException e) {
+        return new ConfigurationFault(
+                EngineErrorCode.CONFIGURATION_ERROR,
+                message,
+                Map.of("path", path.toString()),
+                e
+        );
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.loader;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.ExecutionInterrupted;
+import io.nebulalogic.core.model.rule.Rule;
+
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.loader
+ * @ClassName JsonRuleLoader.java
+ * @Description 类 JsonRuleLoader 的实现描述：JSON 规则加载器 - 流式读取、按规则并行解析
+ * <p>文档形如 {@code {"rules": [ {...}, {...} ]}}，也接受顶层直接为规则数组；规则对象的写法见 {@link RuleDefinitionParser}。</p>
+ * <ul>
+ *     <li><b>流式：</b>词法分析器以固定缓冲区读取通道，每次只物化一条规则对象，不构建整篇文档的树，
+ *     内存占用与单条规则的大小相关而与文档大小无关。</li>
+ *     <li><b>并行：</b>规则对象物化后，条件与动作的解析、DSL 编译和校验作为独立任务提交给宿主的 {@link Executor}；
+ *     引擎自身不创建任何线程（C-RUNTIME-001）。在途任务数受窗口限制，读取速度超过解析速度时读取线程等待。</li>
+ *     <li><b>结果确定：</b>规则按文档中的声明顺序返回，与任务完成先后无关；出错时抛出声明顺序最靠前的故障，
+ *     即顺序加载会最先遇到的那一个。首个故障出现后不再读取与提交后续规则。</li>
+ *     <li><b>降级：</b>未配置执行器或执行器拒绝任务时，在调用线程上解析。</li>
+ * </ul>
+ * @Date 2026年10月17日 09:28
+ * @Version 1.0.0
+ */
+public final class JsonRuleLoader implements RuleLoader {
+
+    /**
+     * 每个并行度允许的在途解析任务数
+     */
+    private static final int WINDOW_PER_WORKER = 16;
+
+    private final RuleDefinitionParser parser;
+
+    private final Executor executor;
+
+    private final int window;
+
+    /**
+     * 创建在调用线程上顺序解析的加载器
+     *
+     * @param bindings 具名谓词与动作的绑定
+     */
+    public JsonRuleLoader(RuleBindings bindings) {
+        this.parser = new RuleDefinitionParser(bindings == null ? RuleBindings.NONE : bindings);
+        this.executor = null;
+        this.window = 0;
+    }
+
+    /**
+     * 创建在宿主执行器上并行解析的加载器
+     *
+     * @param bindings    具名谓词与动作的绑定，必须是线程安全的
+     * @param executor    宿主提供的执行器
+     * @param parallelism 期望的并行度
+     * @throws ConfigurationFault 如果执行器为空或并行度不是正数
+     */
+    public JsonRuleLoader(RuleBindings bindings, Executor executor, int parallelism) {
+        if (executor == null || parallelism <= 0) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Parallel loading requires an executor and positive parallelism",
+                    Map.of("parallelism", parallelism, "executorPresent", executor != null)
+            );
+        }
+        this.parser = new RuleDefinitionParser(bindings == null ? RuleBindings.NONE : bindings);
+        this.executor = executor;
+        this.window = parallelism * WINDOW_PER_WORKER;
+    }
+
+    @Override
+    public List<Rule> load(ReadableByteChannel source) {
+        if (source == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Rule source cannot be null",
+                    Map.of("context", "rule_loading")
+            );
+        }
+        JsonTokenizer tokenizer = new JsonTokenizer(source);
+        return executor == null ? loadSequential(tokenizer) : loadParallel(tokenizer);
+    }
+
+    private List<Rule> loadSequential(JsonTokenizer tokenizer) {
+        List<Rule> rules = new ArrayList<>();
+        boolean wrapped = openRules(tokenizer);
+        for (Object definition = nextRule(tokenizer, true); definition != null; definition = nextRule(tokenizer, false)) {
+            rules.add(parser.parse(definition, rules.size()));
+        }
+        closeRules(tokenizer, wrapped);
+        return List.copyOf(rules);
+    }
+
+    private List<Rule> loadParallel(JsonTokenizer tokenizer) {
+        List<ParseTask> tasks = new ArrayList<>();
+        Semaphore inFlight = new Semaphore(window);
+        AtomicBoolean failed = new AtomicBoolean();
+        RuntimeException readFailure = null;
+        try {
+            boolean wrapped = openRules(tokenizer);
+            for (Object definition = nextRule(tokenizer, true); definition != null; definition = nextRule(tokenizer, false)) {
+                inFlight.acquire();
+                if (failed.get()) {
+                    inFlight.release();
+                    break;
+                }
+                ParseTask task = new ParseTask(definition, tasks.size(), inFlight, failed);
+                tasks.add(task);
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    task.run();
+                }
+            }
+            if (!failed.get()) {
+                closeRules(tokenizer, wrapped);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionInterrupted("Parallel rule loading was interrupted");
+        } catch (RuntimeException e) {
+            readFailure = e;
+        }
+        try {
+            inFlight.acquire(window);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionInterrupted("Parallel rule loading was interrupted");
+        }
+
+        List<Rule> rules = new ArrayList<>(tasks.size());
+        for (ParseTask task : tasks) {
+            Throwable failure = task.failure;
+            if (failure instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            rules.add(task.rule);
+        }
+        if (readFailure != null) {
+            throw readFailure;
+        }
+        return List.copyOf(rules);
+    }
+
+    /**
+     * 定位到规则数组的第一个元素之前
+     *
+     * @return true 表示规则数组包裹在顶层对象的 rules 字段中
+     */
+    private static boolean openRules(JsonTokenizer tokenizer) {
+        JsonTokenizer.Token token = tokenizer.next();
+        if (token == JsonTokenizer.Token.BEGIN_ARRAY) {
+            return false;
+        }
+        if (token != JsonTokenizer.Token.BEGIN_OBJECT) {
+            throw tokenizer.error("Document must be an object with a 'rules' array or an array of rules");
+        }
+        token = tokenizer.next();
+        while (token == JsonTokenizer.Token.STRING) {
+            String field = tokenizer.text();
+            tokenizer.expect(JsonTokenizer.Token.COLON);
+            if ("rules".equals(field)) {
+                tokenizer.expect(JsonTokenizer.Token.BEGIN_ARRAY);
+                return true;
+            }
+            tokenizer.skipValue(tokenizer.next());
+            token = tokenizer.next();
+            if (token == JsonTokenizer.Token.COMMA) {
+                token = tokenizer.next();
+            } else if (token != JsonTokenizer.Token.END_OBJECT) {
+                throw tokenizer.error("Expected ',' or '}'");
+            }
+        }
+        if (token != JsonTokenizer.Token.END_OBJECT) {
+            throw tokenizer.error("Expected field name");
+        }
+        throw tokenizer.error("Field 'rules' is required");
+    }
+
+    /**
+     * 物化下一条规则对象
+     *
+     * @param first 是否为数组的第一个元素
+     * @return 规则对象，数组结束时返回 null
+     */
+    private static Object nextRule(JsonTokenizer tokenizer, boolean first) {
+        JsonTokenizer.Token token = tokenizer.next();
+        if (token == JsonTokenizer.Token.END_ARRAY) {
+            return null;
+        }
+        if (!first) {
+            if (token != JsonTokenizer.Token.COMMA) {
+                throw tokenizer.error("Expected ',' or ']'");
+            }
+            token = tokenizer.next();
+        }
+        return tokenizer.readValue(token);
+    }
+
+    /**
+     * 跳过规则数组之后的其余字段并确认文档结束
+     */
+    private static void closeRules(JsonTokenizer tokenizer, boolean wrapped) {
+        if (wrapped) {
+            JsonTokenizer.Token token = tokenizer.next();
+            while (token == JsonTokenizer.Token.COMMA) {
+                if (tokenizer.next() != JsonTokenizer.Token.STRING) {
+                    throw tokenizer.error("Expected field name");
+                }
+                tokenizer.expect(JsonTokenizer.Token.COLON);
+                tokenizer.skipValue(tokenizer.next());
+                token = tokenizer.next();
+            }
+            if (token != JsonTokenizer.Token.END_OBJECT) {
+                throw tokenizer.error("Expected ',' or '}'");
+            }
+        }
+        tokenizer.expect(JsonTokenizer.Token.EOF);
+    }
+
+    /**
+     * 单条规则的解析任务，完成后归还一个在途许可
+     * <p>结果字段在归还许可前写入，读取线程取回全部许可后读取，由信号量保证可见性。
+     * 规则对象解析后即释放，整份文档的物化结构不会滞留到加载结束。</p>
+     */
+    private final class ParseTask implements Runnable {
+
+        private Object definition;
+
+        private final int index;
+
+        private final Semaphore inFlight;
+
+        private final AtomicBoolean failed;
+
+        private Rule rule;
+
+        private Throwable failure;
+
+        ParseTask(Object definition, int index, Semaphore inFlight, AtomicBoolean failed) {
+            this.definition = definition;
+            this.index = index;
+            this.inFlight = inFlight;
+            this.failed = failed;
+        }
+
+        @Override
+        public void run() {
+            try {
+                rule = parser.parse(definition, index);
+            } catch (Throwable e) {
+                failure = e;
+                failed.set(true);
+            } finally {
+                definition = null;
+                inFlight.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.loader;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.loader
+ * @ClassName JsonTokenizer.java
+ * @Description 类 JsonTokenizer 的实现描述：增量 JSON 词法分析器 - 以固定大小的缓冲区从通道拉取词法单元
+ * <p>字节按块读入并增量解码为 UTF-8 字符，任意时刻只驻留一个字节块与一个字符块，与文档大小无关。
+ * {@link #readValue(Token)} 只把单个值（一条规则定义）物化为 Map / List / String / BigDecimal / Boolean，
+ * 文档的其余部分保持流式。</p>
+ * @Date 2026年10月17日 09:12
+ * @Version 1.0.0
+ */
+final class JsonTokenizer {
+
+    enum Token { BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, COLON, COMMA, STRING, NUMBER, TRUE, FALSE, NULL, EOF }
+
+    /**
+     * JSON null 在物化结果中的占位
+     */
+    static final Object NULL = new Object() {
+        @Override
+        public String toString() {
+            return "null";
+        }
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+    private final StringBuilder text = new StringBuilder();
+
+    private boolean drained;
+
+    private int line = 1;
+
+    private int column;
+
+    JsonTokenizer(ReadableByteChannel channel) {
+        this.channel = channel;
+        chars.limit(0);
+    }
+
+    /**
+     * 读取下一个词法单元
+     *
+     * @return 词法单元；STRING / NUMBER 的文本经 {@link #text()} 读取
+     */
+    Token next() {
+        int c = skipSpaces();
+        if (c < 0) {
+            return Token.EOF;
+        }
+        read();
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '}':
+                return Token.END_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case ']':
+                return Token.END_ARRAY;
+            case ':':
+                return Token.COLON;
+            case ',':
+                return Token.COMMA;
+            case '"':
+                string();
+                return Token.STRING;
+            case 't':
+                literal("rue");
+                return Token.TRUE;
+            case 'f':
+                literal("alse");
+                return Token.FALSE;
+            case 'n':
+                literal("ull");
+                return Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    number((char) c);
+                    return Token.NUMBER;
+                }
+                throw error("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    /**
+     * 最近一个 STRING / NUMBER 单元的文本
+     */
+    String text() {
+        return text.toString();
+    }
+
+    /**
+     * 读取下一个词法单元并要求其类型
+     */
+    void expect(Token expected) {
+        Token actual = next();
+        if (actual != expected) {
+            throw error("Expected " + expected + " but found " + actual);
+        }
+    }
+
+    /**
+     * 物化以 first 开头的完整值
+     */
+    Object readValue(Token first) {
+        switch (first) {
+            case BEGIN_OBJECT: {
+                Map<String, Object> object = new LinkedHashMap<>();
+                Token token = next();
+                if (token == Token.END_OBJECT) {
+                    return object;
+                }
+                while (true) {
+                    if (token != Token.STRING) {
+                        throw error("Expected field name but found " + token);
+                    }
+                    String name = text();
+                    expect(Token.COLON);
+                    object.put(name, readValue(next()));
+                    token = next();
+                    if (token == Token.END_OBJECT) {
+                        return object;
+                    }
+                    if (token != Token.COMMA) {
+                        throw error("Expected ',' or '}' but found " + token);
+                    }
+                    token = next();
+                }
+            }
+            case BEGIN_ARRAY: {
+                List<Object> array = new ArrayList<>();
+                Token token = next();
+                if (token == Token.END_ARRAY) {
+                    return array;
+                }
+                while (true) {
+                    array.add(readValue(token));
+                    token = next();
+                    if (token == Token.END_ARRAY) {
+                        return array;
+                    }
+                    if (token != Token.COMMA) {
+                        throw error("Expected ',' or ']' but found " + token);
+                    }
+                    token = next();
+                }
+            }
+            case STRING:
+                return text();
+            case NUMBER:
+                return new BigDecimal(text());
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case NULL:
+                return NULL;
+            default:
+                throw error("Unexpected " + first);
+        }
+    }
+
+    /**
+     * 跳过以 first 开头的完整值，不物化
+     */
+    void skipValue(Token first) {
+        if (first != Token.BEGIN_OBJECT && first != Token.BEGIN_ARRAY) {
+            if (first == Token.EOF || first == Token.COLON || first == Token.COMMA
+                    || first == Token.END_OBJECT || first == Token.END_ARRAY) {
+                throw error("Unexpected " + first);
+            }
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            Token token = next();
+            if (token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY) {
+                depth++;
+            } else if (token == Token.END_OBJECT || token == Token.END_ARRAY) {
+                depth--;
+            } else if (token == Token.EOF) {
+                throw error("Unexpected end of document");
+            }
+        }
+    }
+
+    ConfigurationFault error(String reason) {
+        return new ConfigurationFault(
+                EngineErrorCode.CONFIGURATION_ERROR,
+                "JSON syntax error",
+                Map.of("line", line, "column", column, "reason", reason)
+        );
+    }
+
+    private void string() {
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw error("Unterminated string");
+            }
+            if (c == '"') {
+                return;
+            }
+            if (c != '\\') {
+                if (c < 0x20) {
+                    throw error("Unescaped control character in string");
+                }
+                text.append((char) c);
+                continue;
+            }
+            int escaped = read();
+            switch (escaped) {
+                case '"', '\\', '/' -> text.append((char) escaped);
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'n' -> text.append('\n');
+                case 'r' -> text.append('\r');
+                case 't' -> text.append('\t');
+                case 'u' -> {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(read(), 16);
+                        if (digit < 0) {
+                            throw error("Malformed unicode escape");
+                        }
+                        code = code * 16 + digit;
+                    }
+                    text.append((char) code);
+                }
+                default -> throw error("Illegal escape sequence");
+            }
+        }
+    }
+
+    private void number(char first) {
+        text.setLength(0);
+        text.append(first);
+        while (true) {
+            int c = peek();
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                text.append((char) read());
+            } else {
+                break;
+            }
+        }
+        try {
+            new BigDecimal(text.toString());
+        } catch (NumberFormatException e) {
+            throw error("Malformed number '" + text + "'");
+        }
+    }
+
+    private void literal(String rest) {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw error("Malformed literal");
+            }
+        }
+    }
+
+    private int skipSpaces() {
+        while (true) {
+            int c = peek();
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '\uFEFF') {
+                read();
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private int peek() {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get(chars.position());
+    }
+
+    private int read() {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        char c = chars.get();
+        if (c == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        return c;
+    }
+
+    /**
+     * 读取并解码下一块数据
+     *
+     * @return false 表示文档已结束
+     */
+    private boolean fill() {
+        if (drained) {
+            return false;
+        }
+        chars.clear();
+        try {
+            while (chars.position() == 0) {
+                int read = channel.read(bytes);
+                bytes.flip();
+                CoderResult result = decoder.decode(bytes, chars, read < 0);
+                bytes.compact();
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (read < 0) {
+                    decoder.flush(chars);
+                    drained = true;
+                    break;
+                }
+            }
+        } catch (CharacterCodingException e) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Rule document is not valid UTF-8",
+                    Map.of("line", line, "column", column),
+                    e
+            );
+        } catch (IOException e) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Rule document cannot be read",
+                    Map.of("line", line, "column", column),
+                    e
+            );
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.loader;
+
+
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.model.rule.Condition;
+import io.nebulalogic.core.model.rule.Rule;
+
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.loader
+ * @ClassName LoadedRule.java
+ * @Description 类 LoadedRule 的实现描述：由规则文档解析得到的不可变规则
+ * @Date 2026年10月17日 09:20
+ * @Version 1.0.0
+ */
+record LoadedRule(String getId,
+                  String getName,
+                  String getDescription,
+                  int getPriority,
+                  String getVersion,
+                  boolean isEnabled,
+                  Condition getCondition,
+                  List<Action> getActions) implements Rule {
+
+    @Override
+    public String toString() {
+        return "LoadedRule[" + getId + "]";
+    }
+}
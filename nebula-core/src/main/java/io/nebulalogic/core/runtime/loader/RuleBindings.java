@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.loader;
+
+
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.model.rule.Condition;
+
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.loader
+ * @ClassName RuleBindings.java
+ * @Description 类 RuleBindings 的实现描述：规则文档的宿主绑定 - 具名谓词与动作的注册表（C-CORE-004）
+ * <p>规则文档只声明引用的名称，谓词与动作的实现由宿主注册，加载时按名称解析。</p>
+ * @Date 2026年10月17日 09:08
+ * @Version 1.0.0
+ */
+public interface RuleBindings {
+
+    /**
+     * 没有任何注册项的绑定
+     */
+    RuleBindings NONE = of(Map.of(), Map.of());
+
+    /**
+     * 解析具名谓词
+     *
+     * @param name 谓词名称
+     * @return 谓词实现，null 表示未注册
+     */
+    Condition predicate(String name);
+
+    /**
+     * 解析具名动作
+     *
+     * @param name 动作名称
+     * @return 动作实现，null 表示未注册
+     */
+    Action action(String name);
+
+    /**
+     * 以两张不可变注册表创建绑定
+     *
+     * @param predicates 谓词名称到实现
+     * @param actions    动作名称到实现
+     * @return 绑定
+     */
+    static RuleBindings of(Map<String, ? extends Condition> predicates, Map<String, ? extends Action> actions) {
+        Map<String, Condition> predicateTable = Map.copyOf(predicates);
+        Map<String, Action> actionTable = Map.copyOf(actions);
+        return new RuleBindings() {
+            @Override
+            public Condition predicate(String name) {
+                return predicateTable.get(name);
+            }
+
+            @Override
+            public Action action(String name) {
+                return actionTable.get(name);
+            }
+        };
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.loader;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.model.rule.Condition;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.model.rule.action.NamedAction;
+import io.nebulalogic.core.model.rule.condition.FactOperator;
+import io.nebulalogic.core.model.rule.condition.PredicateCondition;
+import io.nebulalogic.core.runtime.dsl.DslCondition;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.loader
+ * @ClassName RuleDefinitionParser.java
+ * @Description 类 RuleDefinitionParser 的实现描述：规则解析器 - 将单条规则定义转化为 {@link Rule} 并做静态校验
+ * <p>规则定义的字段：</p>
+ * <pre>
+ * { "id": "r1", "name": "...", "description": "...", "priority": 10, "version": "3", "enabled": true,
+ *   "condition": ..., "actions": [ ... ] }
+ * </pre>
+ * <p>条件的写法：</p>
+ * <ul>
+ *     <li>字符串：原生 DSL 表达式，如 {@code "amount > 100 and channel == 'WEB'"}；</li>
+ *     <li>{@code true} / {@code false}：恒真 / 恒假；</li>
+ *     <li>{@code {"all": [...]}}、{@code {"any": [...]}}、{@code {"not": ...}}：组合条件；</li>
+ *     <li>{@code {"fact": "amount", "op": ">=", "value": 100}}：事实谓词，数值常量按 FinancialValue 比较；</li>
+ *     <li>{@code {"predicate": "isVip"}}：宿主注册的具名谓词。</li>
+ * </ul>
+ * <p>动作的写法：{@code {"set": "discount", "value": 5}} 设置事实；{@code {"call": "notify"}} 或字符串 {@code "notify"} 调用宿主注册的动作。</p>
+ * <p>实例无状态，可被多个解析任务并发使用。未识别的规则级字段被忽略，条件与动作中的未知字段视为错误。</p>
+ * @Date 2026年10月17日 09:24
+ * @Version 1.0.0
+ */
+final class RuleDefinitionParser {
+
+    private static final Set<String> FACT_FIELDS = Set.of("fact", "op", "value");
+
+    private final RuleBindings bindings;
+
+    RuleDefinitionParser(RuleBindings bindings) {
+        this.bindings = bindings;
+    }
+
+    /**
+     * 解析单条规则定义
+     *
+     * @param raw   物化的规则对象
+     * @param index 规则在文档中的下标（仅用于诊断）
+     * @return 规则
+     * @throws ConfigurationFault 如果定义不合法，属性中包含规则下标与规则ID
+     */
+    Rule parse(Object raw, int index) {
+        if (!(raw instanceof Map<?, ?> definition)) {
+            throw invalid(index, null, "Rule definition must be an object", null);
+        }
+        String id = null;
+        try {
+            id = text(definition.get("id"), "id", true);
+            String name = text(definition.get("name"), "name", false);
+            String version = definition.get("version") instanceof BigDecimal number
+                    ? number.toPlainString()
+                    : text(definition.get("version"), "version", false);
+            Object condition = definition.get("condition");
+            if (condition == null || condition == JsonTokenizer.NULL) {
+                throw new IllegalArgumentException("Field 'condition' is required");
+            }
+            return new LoadedRule(
+                    id,
+                    name == null ? id : name,
+                    text(definition.get("description"), "description", false),
+                    integer(definition.get("priority")),
+                    version == null ? "1.0" : version,
+                    flag(definition.get("enabled")),
+                    condition(condition),
+                    actions(definition.get("actions"))
+            );
+        } catch (EngineFault e) {
+            throw invalid(index, id, e.getMessage(), e);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw invalid(index, id, e.getMessage(), null);
+        }
+    }
+
+    private Condition condition(Object raw) {
+        if (raw instanceof String expression) {
+            return DslCondition.compile(expression);
+        }
+        if (raw instanceof Boolean value) {
+            return value ? Condition.always() : Condition.never();
+        }
+        if (!(raw instanceof Map<?, ?> node) || node.isEmpty()) {
+            throw new IllegalArgumentException("Condition must be a DSL string, a boolean or a non-empty object");
+        }
+        if (node.containsKey("fact")) {
+            if (!FACT_FIELDS.containsAll(node.keySet())) {
+                throw new IllegalArgumentException("Unknown field in fact predicate: " + node.keySet());
+            }
+            String key = text(node.get("fact"), "fact", true);
+            return Condition.fact(key, operator(text(node.get("op"), "op", true)), constant(node.get("value")));
+        }
+        if (node.size() != 1) {
+            throw new IllegalArgumentException("Composite condition must have exactly one of all / any / not / predicate");
+        }
+        Map.Entry<?, ?> entry = node.entrySet().iterator().next();
+        Object operand = entry.getValue();
+        switch (String.valueOf(entry.getKey())) {
+            case "all": {
+                Condition result = Condition.always();
+                boolean first = true;
+                for (Object child : list(operand, "all")) {
+                    result = first ? condition(child) : result.and(condition(child));
+                    first = false;
+                }
+                return result;
+            }
+            case "any": {
+                Condition result = Condition.never();
+                boolean first = true;
+                for (Object child : list(operand, "any")) {
+                    result = first ? condition(child) : result.or(condition(child));
+                    first = false;
+                }
+                return result;
+            }
+            case "not":
+                return condition(operand).negate();
+            case "predicate": {
+                String name = text(operand, "predicate", true);
+                Condition resolved = bindings.predicate(name);
+                if (resolved == null) {
+                    throw new IllegalArgumentException("Predicate '" + name + "' is not registered");
+                }
+                return resolved instanceof PredicateCondition named && name.equals(named.name())
+                        ? resolved
+                        : Condition.named(name, resolved);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown condition field '" + entry.getKey() + "'");
+        }
+    }
+
+    private List<Action> actions(Object raw) {
+        if (raw == null || raw == JsonTokenizer.NULL) {
+            return List.of();
+        }
+        List<Object> definitions = list(raw, "actions");
+        List<Action> actions = new ArrayList<>(definitions.size());
+        for (Object definition : definitions) {
+            actions.add(action(definition));
+        }
+        return List.copyOf(actions);
+    }
+
+    private Action action(Object raw) {
+        if (raw instanceof String name) {
+            return registered(name);
+        }
+        if (raw instanceof Map<?, ?> node) {
+            if (node.size() == 1 && node.containsKey("call")) {
+                return registered(text(node.get("call"), "call", true));
+            }
+            if (node.size() == 2 && node.containsKey("set") && node.containsKey("value")) {
+                return Action.setVariable(text(node.get("set"), "set", true), constant(node.get("value")));
+            }
+        }
+        throw new IllegalArgumentException("Action must be a name, {\"call\": name} or {\"set\": key, \"value\": value}");
+    }
+
+    private Action registered(String name) {
+        Action action = bindings.action(name);
+        if (action == null) {
+            throw new IllegalArgumentException("Action '" + name + "' is not registered");
+        }
+        return action instanceof NamedAction named && name.equals(named.name()) ? named : Action.named(name, action);
+    }
+
+    private static FactOperator operator(String symbol) {
+        for (FactOperator operator : FactOperator.values()) {
+            if (operator.symbol().equals(symbol)) {
+                return operator;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operator '" + symbol + "'");
+    }
+
+    /**
+     * 常量：数值转为 FinancialValue，字符串与布尔值原样保留
+     */
+    private static Object constant(Object raw) {
+        if (raw instanceof BigDecimal number) {
+            return FinancialValues.of(number);
+        }
+        if (raw instanceof String || raw instanceof Boolean) {
+            return raw;
+        }
+        throw new IllegalArgumentException("Constant must be a number, string or boolean");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> list(Object raw, String field) {
+        if (raw instanceof List<?> list) {
+            return (List<Object>) list;
+        }
+        throw new IllegalArgumentException("Field '" + field + "' must be an array");
+    }
+
+    private static String text(Object raw, String field, boolean required) {
+        if (raw instanceof String value && !(required && value.isEmpty())) {
+            return value;
+        }
+        if (raw == null || raw == JsonTokenizer.NULL) {
+            if (required) {
+                throw new IllegalArgumentException("Field '" + field + "' is required");
+            }
+            return null;
+        }
+        throw new IllegalArgumentException("Field '" + field + "' must be a non-empty string");
+    }
+
+    private static int integer(Object raw) {
+        if (raw == null || raw == JsonTokenizer.NULL) {
+            return 0;
+        }
+        if (raw instanceof BigDecimal number) {
+            return number.intValueExact();
+        }
+        throw new IllegalArgumentException("Field 'priority' must be an integer");
+    }
+
+    private static boolean flag(Object raw) {
+        if (raw == null || raw == JsonTokenizer.NULL) {
+            return true;
+        }
+        if (raw instanceof Boolean value) {
+            return value;
+        }
+        throw new IllegalArgumentException("Field 'enabled' must be a boolean");
+    }
+
+    private static ConfigurationFault invalid(int index, String id, String reason, Throwable cause) {
+        return new ConfigurationFault(
+                EngineErrorCode.CONFIGURATION_ERROR,
+                "Invalid rule definition",
+                Map.of("ruleIndex", index, "ruleId", String.valueOf(id), "reason", String.valueOf(reason)),
+                cause
+        );
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.loader;
+
+
+import io.nebulalogic.core.model.rule.Rule;
+
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.loader
+ * @ClassName RuleLoader.java
+ * @Description 类 RuleLoader 的实现描述：规则加载器 SPI（C-EXT-002）
+ * <p>从外部源读取规则定义并转化为 {@link Rule} 集合，结果可直接交给引擎或快照构建器。
+ * 实现只负责解析与静态校验，规则ID唯一性、数量上限等仍由快照构建统一校验。</p>
+ * @Date 2026年10月17日 09:05
+ * @Version 1.0.0
+ */
+public interface RuleLoader {
+
+    /**
+     * 读取规则定义
+     * <p>通道由调用方负责关闭。</p>
+     *
+     * @param source 规则文档的字节流
+     * @return 按文档中声明顺序排列的规则
+     * @throws io.nebulalogic.core.exception.ConfigurationFault 如果文档无法读取、语法错误或规则定义不合法
+     */
+    List<Rule> load(ReadableByteChannel source);
+}
@@ -0,0 +1,517 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.matcher;
+
+
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.FactOperator;
+import io.nebulalogic.core.model.rule.condition.NodeKind;
+import io.nebulalogic.core.runtime.snapshot.BoundFactPredicate;
+import io.nebulalogic.core.runtime.snapshot.CompiledRule;
+import io.nebulalogic.core.runtime.snapshot.RuleSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.matcher
+ * @ClassName IndexedMatcher.java
+ * @Description 类 IndexedMatcher 的实现描述：索引匹配器 - 只评估索引命中的候选规则
+ * <p><b>构建期：</b>识别每条规则顶层合取中的 {@code key == constant} 事实谓词，将规则登记到该键的哈希索引中。
+ * 一条规则有多个可索引谓词时，选择被最多规则共享的键，使执行期需要查找的索引数量最少。
+ * 没有等值谓词的规则，退而按顶层 GT / GE / LT / LE 数值谓词登记到该键的 {@link IntervalIndex}。</p>
+ * <p><b>执行期：</b>对每个索引读取一次事实、查找一次桶或区间，得到候选规则；没有可索引谓词的规则始终作为候选。
+ * 候选规则按序号顺序完整评估条件，因此匹配结果与线性匹配完全一致；首次命中策略下候选规则改按优先级顺序评估，命中即停止。</p>
+ * <p><b>增量更新：</b>快照增量构建时经 {@link #update(List, BitSet)} 只撤下、登记变更的规则，其余索引结构按引用复用。</p>
+ * @Date 2026年10月16日 15:05
+ * @Version 1.0.0
+ */
+public final class IndexedMatcher implements Matcher {
+
+    /**
+     * {@link #placement} 中表示未被索引的取值
+     */
+    private static final int UNINDEXED = -1;
+
+    private final CompiledRule[] rules;
+
+    /**
+     * 没有可索引谓词、必须线性评估的规则
+     */
+    private final BitSet unindexed;
+
+    private final EqualityIndex[] indexes;
+
+    private final IntervalIndex[] intervals;
+
+    /**
+     * 归并键到等值索引下标
+     */
+    private final Map<IndexKey, Integer> indexPositions;
+
+    /**
+     * 键名到区间索引下标
+     */
+    private final Map<String, Integer> intervalPositions;
+
+    /**
+     * placement[o]：规则 o 登记的等值索引下标；登记在区间索引 p 时为 {@code -2 - p}；未被索引时为 {@link #UNINDEXED}
+     */
+    private final int[] placement;
+
+    public IndexedMatcher(List<CompiledRule> rules) {
+        this.rules = rules.toArray(new CompiledRule[0]);
+        this.unindexed = new BitSet(this.rules.length);
+        this.placement = new int[this.rules.length];
+
+        Map<IndexKey, Integer> popularity = new HashMap<>();
+        Map<String, Integer> rangePopularity = new HashMap<>();
+        for (CompiledRule rule : this.rules) {
+            for (BoundFactPredicate predicate : indexablePredicates(rule)) {
+                popularity.merge(IndexKey.of(predicate), 1, Integer::sum);
+            }
+            for (String key : rangePredicates(rule).keySet()) {
+                rangePopularity.merge(key, 1, Integer::sum);
+            }
+        }
+
+        Map<IndexKey, EqualityIndex> byKey = new LinkedHashMap<>();
+        Map<String, List<IntervalIndex.Interval>> intervalsByKey = new LinkedHashMap<>();
+        Map<String, BoundFactPredicate> intervalReaders = new HashMap<>();
+        for (CompiledRule rule : this.rules) {
+            BoundFactPredicate best = null;
+            int bestScore = 0;
+            for (BoundFactPredicate predicate : indexablePredicates(rule)) {
+                int score = popularity.get(IndexKey.of(predicate));
+                if (score > bestScore) {
+                    best = predicate;
+                    bestScore = score;
+                }
+            }
+            if (best != null) {
+                // 等值索引的选择性通常高于区间索引，存在时优先使用
+                BoundFactPredicate reader = best;
+                byKey.computeIfAbsent(IndexKey.of(best), k -> new EqualityIndex(k, reader))
+                        .add(best.source().operand(), rule.ordinal());
+                continue;
+            }
+            Map<String, List<BoundFactPredicate>> ranges = rangePredicates(rule);
+            String bestKey = null;
+            for (String key : ranges.keySet()) {
+                int score = rangePopularity.get(key);
+                if (score > bestScore) {
+                    bestKey = key;
+                    bestScore = score;
+                }
+            }
+            if (bestKey == null) {
+                unindexed.set(rule.ordinal());
+                placement[rule.ordinal()] = UNINDEXED;
+                continue;
+            }
+            List<BoundFactPredicate> bounds = ranges.get(bestKey);
+            intervalReaders.putIfAbsent(bestKey, bounds.get(0));
+            intervalsByKey.computeIfAbsent(bestKey, k -> new ArrayList<>())
+                    .add(IntervalIndex.Interval.of(bounds, rule.ordinal()));
+        }
+        this.indexes = byKey.values().toArray(new EqualityIndex[0]);
+        this.indexPositions = new HashMap<>(indexes.length * 2);
+        for (int i = 0; i < indexes.length; i++) {
+            indexPositions.put(indexes[i].key, i);
+            BitSet placed = indexes[i].all;
+            for (int o = placed.nextSetBit(0); o >= 0; o = placed.nextSetBit(o + 1)) {
+                placement[o] = i;
+            }
+        }
+        this.intervals = new IntervalIndex[intervalsByKey.size()];
+        this.intervalPositions = new HashMap<>(intervals.length * 2);
+        int i = 0;
+        for (Map.Entry<String, List<IntervalIndex.Interval>> entry : intervalsByKey.entrySet()) {
+            intervals[i] = new IntervalIndex(intervalReaders.get(entry.getKey()), entry.getValue());
+            intervalPositions.put(entry.getKey(), i);
+            for (IntervalIndex.Interval interval : entry.getValue()) {
+                placement[interval.ordinal()] = -2 - i;
+            }
+            i++;
+        }
+    }
+
+    private IndexedMatcher(CompiledRule[] rules, BitSet unindexed, EqualityIndex[] indexes, IntervalIndex[] intervals,
+                           Map<IndexKey, Integer> indexPositions, Map<String, Integer> intervalPositions,
+                           int[] placement) {
+        this.rules = rules;
+        this.unindexed = unindexed;
+        this.indexes = indexes;
+        this.intervals = intervals;
+        this.indexPositions = indexPositions;
+        this.intervalPositions = intervalPositions;
+        this.placement = placement;
+    }
+
+    /**
+     * 按变更的序号增量更新索引
+     * <p>被移除或变更的规则从其原先登记的桶、区间中撤下，新增或变更的规则按同样的规则登记：
+     * 等值索引优先，同一规则有多个候选键时选择现有索引中登记规则最多的键。未涉及的索引按引用共享；
+     * 涉及的等值索引浅复制桶表并复制被修改的桶，涉及的区间索引以更新后的区间列表重建。本实例保持不变。</p>
+     * <p>撤空的索引保留到下一次全量构建，执行期不再读取其事实。</p>
+     *
+     * @param next    新快照按序号排列的规则
+     * @param changed 条件发生变化、新增或被移除的序号，其余序号的可执行条件必须与本匹配器一致
+     * @return 新的匹配器
+     */
+    public IndexedMatcher update(List<CompiledRule> next, BitSet changed) {
+        CompiledRule[] updated = next.toArray(new CompiledRule[0]);
+        int[] places = Arrays.copyOf(placement, updated.length);
+        BitSet linear = (BitSet) unindexed.clone();
+        List<EqualityIndex> equality = new ArrayList<>(Arrays.asList(indexes));
+        Map<IndexKey, Integer> equalityPositions = new HashMap<>(indexPositions);
+        List<IntervalIndex> ranges = new ArrayList<>(Arrays.asList(intervals));
+        Map<String, Integer> rangePositions = new HashMap<>(intervalPositions);
+        BitSet copied = new BitSet(equality.size());
+        Map<Integer, BitSet> retracted = new HashMap<>();
+        Map<Integer, List<IntervalIndex.Interval>> registered = new HashMap<>();
+
+        for (int o = changed.nextSetBit(0); o >= 0 && o < rules.length; o = changed.nextSetBit(o + 1)) {
+            int place = placement[o];
+            if (place == UNINDEXED) {
+                linear.clear(o);
+            } else if (place >= 0) {
+                EqualityIndex index = own(equality, copied, place);
+                for (BoundFactPredicate predicate : indexablePredicates(rules[o])) {
+                    if (IndexKey.of(predicate).equals(index.key)) {
+                        index.remove(predicate.source().operand(), o);
+                    }
+                }
+            } else {
+                retracted.computeIfAbsent(-2 - place, k -> new BitSet()).set(o);
+            }
+        }
+
+        for (int o = changed.nextSetBit(0); o >= 0 && o < updated.length; o = changed.nextSetBit(o + 1)) {
+            CompiledRule rule = updated[o];
+            BoundFactPredicate best = null;
+            int bestScore = -1;
+            for (BoundFactPredicate predicate : indexablePredicates(rule)) {
+                Integer position = equalityPositions.get(IndexKey.of(predicate));
+                int score = position == null ? 0 : equality.get(position).size;
+                if (score > bestScore) {
+                    best = predicate;
+                    bestScore = score;
+                }
+            }
+            if (best != null) {
+                IndexKey key = IndexKey.of(best);
+                Integer position = equalityPositions.get(key);
+                if (position == null) {
+                    position = equality.size();
+                    equality.add(new EqualityIndex(key, best));
+                    equalityPositions.put(key, position);
+                    copied.set(position);
+                }
+                own(equality, copied, position).add(best.source().operand(), o);
+                places[o] = position;
+                continue;
+            }
+            Map<String, List<BoundFactPredicate>> bounds = rangePredicates(rule);
+            String bestKey = null;
+            for (String key : bounds.keySet()) {
+                Integer position = rangePositions.get(key);
+                int score = position == null ? 0 : ranges.get(position).intervals().size();
+                if (score > bestScore) {
+                    bestKey = key;
+                    bestScore = score;
+                }
+            }
+            if (bestKey == null) {
+                linear.set(o);
+                places[o] = UNINDEXED;
+                continue;
+            }
+            Integer position = rangePositions.get(bestKey);
+            if (position == null) {
+                position = ranges.size();
+                ranges.add(new IntervalIndex(bounds.get(bestKey).get(0), List.of()));
+                rangePositions.put(bestKey, position);
+            }
+            registered.computeIfAbsent(position, k -> new ArrayList<>())
+                    .add(IntervalIndex.Interval.of(bounds.get(bestKey), o));
+            places[o] = -2 - position;
+        }
+
+        for (int position = copied.nextSetBit(0); position >= 0; position = copied.nextSetBit(position + 1)) {
+            equality.get(position).seal();
+        }
+        Set<Integer> rebuilt = new HashSet<>(retracted.keySet());
+        rebuilt.addAll(registered.keySet());
+        for (int position : rebuilt) {
+            IntervalIndex index = ranges.get(position);
+            BitSet removed = retracted.getOrDefault(position, new BitSet());
+            List<IntervalIndex.Interval> kept = new ArrayList<>(index.intervals().size());
+            for (IntervalIndex.Interval interval : index.intervals()) {
+                if (!removed.get(interval.ordinal())) {
+                    kept.add(interval);
+                }
+            }
+            kept.addAll(registered.getOrDefault(position, List.of()));
+            ranges.set(position, new IntervalIndex(index.reader(), kept));
+        }
+        return new IndexedMatcher(updated, linear, equality.toArray(new EqualityIndex[0]),
+                ranges.toArray(new IntervalIndex[0]), equalityPositions, rangePositions, places);
+    }
+
+    /**
+     * 取得可修改的等值索引：沿用自本匹配器的索引先复制
+     */
+    private static EqualityIndex own(List<EqualityIndex> equality, BitSet copied, int position) {
+        if (!copied.get(position)) {
+            equality.set(position, equality.get(position).copy());
+            copied.set(position);
+        }
+        return equality.get(position);
+    }
+
+    /**
+     * 索引数量
+     *
+     * @return 按键名（及数值/对象语义）划分的哈希索引个数
+     */
+    public int indexCount() {
+        return indexes.length;
+    }
+
+    /**
+     * 区间索引数量
+     *
+     * @return 按数值键名划分的区间索引个数
+     */
+    public int intervalIndexCount() {
+        return intervals.length;
+    }
+
+    /**
+     * 未被索引的规则数量
+     *
+     * @return 每次执行都需要线性评估的规则数
+     */
+    public int unindexedCount() {
+        return unindexed.cardinality();
+    }
+
+    @Override
+    public BitSet match(ExecutionContext ctx) {
+        BitSet candidates = candidates(ctx.context());
+        BitSet matched = new BitSet(rules.length);
+        SessionScope scope = SessionScope.of(ctx);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (scope.evaluate(rules[i], ctx)) {
+                matched.set(i);
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 按优先级顺序只评估索引命中的候选规则，找到首条命中即停止
+     */
+    @Override
+    public int matchFirst(ExecutionContext ctx, RuleSnapshot snapshot) {
+        BitSet candidates = candidates(ctx.context());
+        SessionScope scope = SessionScope.of(ctx);
+        for (int ordinal : snapshot.priorityOrder()) {
+            if (candidates.get(ordinal) && scope.evaluate(rules[ordinal], ctx)) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    private BitSet candidates(Context context) {
+        BitSet candidates = (BitSet) unindexed.clone();
+        for (EqualityIndex index : indexes) {
+            index.collect(context, candidates);
+        }
+        for (IntervalIndex index : intervals) {
+            index.collect(context, candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * 规则顶层合取中的 EQ 事实谓词
+     */
+    private static List<BoundFactPredicate> indexablePredicates(CompiledRule rule) {
+        ConditionNode root = rule.executable();
+        List<ConditionNode> conjuncts = root.kind() == NodeKind.AND ? root.operands() : List.of(root);
+        List<BoundFactPredicate> result = new ArrayList<>(1);
+        for (ConditionNode conjunct : conjuncts) {
+            if (conjunct instanceof BoundFactPredicate bound && bound.source().operator() == FactOperator.EQ) {
+                result.add(bound);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 规则顶层合取中的数值区间谓词，按键名分组
+     */
+    private static Map<String, List<BoundFactPredicate>> rangePredicates(CompiledRule rule) {
+        ConditionNode root = rule.executable();
+        List<ConditionNode> conjuncts = root.kind() == NodeKind.AND ? root.operands() : List.of(root);
+        Map<String, List<BoundFactPredicate>> result = new LinkedHashMap<>(2);
+        for (ConditionNode conjunct : conjuncts) {
+            if (conjunct instanceof BoundFactPredicate bound && bound.source().operator().isRange()) {
+                result.computeIfAbsent(bound.source().key(), k -> new ArrayList<>(2)).add(bound);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 索引的归并键：同一键名、同一比较语义（数值 / 对象）的谓词共用一个索引
+     */
+    private record IndexKey(String key, boolean numeric) {
+
+        static IndexKey of(BoundFactPredicate predicate) {
+            return new IndexKey(predicate.source().key(), predicate.source().isNumeric());
+        }
+    }
+
+    /**
+     * 单个键上的哈希索引：常量值 → 规则位图
+     */
+    private static final class EqualityIndex {
+
+        private final IndexKey key;
+
+        /**
+         * 该键上任一谓词，仅借用其槽位感知的事实读取能力
+         */
+        private final BoundFactPredicate reader;
+
+        private final Map<Object, BitSet> buckets;
+
+        /**
+         * 登记在本索引下的全部规则，事实读取失败时整体退回为候选
+         */
+        private final BitSet all;
+
+        /**
+         * 登记的规则数
+         */
+        private int size;
+
+        /**
+         * 复制后已私有的桶；其余桶仍与原索引共享，修改前先复制。新建的索引为null，全部桶均为私有
+         */
+        private Set<Object> owned;
+
+        EqualityIndex(IndexKey key, BoundFactPredicate reader) {
+            this.key = key;
+            this.reader = reader;
+            this.buckets = new HashMap<>();
+            this.all = new BitSet();
+        }
+
+        private EqualityIndex(EqualityIndex source) {
+            this.key = source.key;
+            this.reader = source.reader;
+            this.buckets = new HashMap<>(source.buckets);
+            this.all = (BitSet) source.all.clone();
+            this.size = source.size;
+            this.owned = new HashSet<>();
+        }
+
+        /**
+         * 写时复制：桶表浅复制，桶在首次修改时才复制
+         */
+        EqualityIndex copy() {
+            return new EqualityIndex(this);
+        }
+
+        void add(Object operand, int ordinal) {
+            bucket(operand, true).set(ordinal);
+            all.set(ordinal);
+            size++;
+        }
+
+        void remove(Object operand, int ordinal) {
+            BitSet current = buckets.get(operand);
+            if (current == null || !current.get(ordinal)) {
+                return;
+            }
+            BitSet bucket = bucket(operand, false);
+            bucket.clear(ordinal);
+            if (bucket.isEmpty()) {
+                buckets.remove(operand);
+            }
+            all.clear(ordinal);
+            size--;
+        }
+
+        /**
+         * 结束修改，之后本索引只读
+         */
+        void seal() {
+            owned = null;
+        }
+
+        private BitSet bucket(Object operand, boolean create) {
+            BitSet bucket = buckets.get(operand);
+            if (bucket == null) {
+                if (!create) {
+                    return null;
+                }
+                bucket = new BitSet();
+                buckets.put(operand, bucket);
+                if (owned != null) {
+                    owned.add(operand);
+                }
+            } else if (owned != null && owned.add(operand)) {
+                bucket = (BitSet) bucket.clone();
+                buckets.put(operand, bucket);
+            }
+            return bucket;
+        }
+
+        void collect(Context context, BitSet candidates) {
+            if (size == 0) {
+                return;
+            }
+            Object fact;
+            try {
+                fact = reader.read(context);
+            } catch (EngineFault e) {
+                // 事实无法按索引语义读取（如非数值），交由规则自身评估以保持一致的故障语义
+                candidates.or(all);
+                return;
+            }
+            if (fact == null) {
+                return;
+            }
+            BitSet bucket = buckets.get(fact);
+            if (bucket != null) {
+                candidates.or(bucket);
+            }
+        }
+    }
+}
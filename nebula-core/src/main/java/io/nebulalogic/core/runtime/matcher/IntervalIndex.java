@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.matcher;
+
+
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.rule.condition.FactOperator;
+import io.nebulalogic.core.model.rule.condition.FactPredicate;
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.snapshot.BoundFactPredicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.matcher
+ * @ClassName IntervalIndex.java
+ * @Description 类 IntervalIndex 的实现描述：区间索引 - 单个数值键上的区间规则查找
+ * <p><b>构建期：</b>每条规则在该键上的 GT / GE / LT / LE 谓词收敛为一个区间。全部区间端点去重排序后，
+ * 数轴被切分为 2k+1 个基本段（k 个端点本身与其间的 k+1 个开区间），再以线段树登记每个区间覆盖的基本段，
+ * 存储为 O(n log n)。</p>
+ * <p><b>执行期：</b>读取一次事实，二分查找定位基本段，沿线段树自根向叶收集规则，
+ * 耗时为 O(log n + 命中数)，与区间数量无关。</p>
+ * <p>线段树不可原地修改：增量更新快照时，只有登记或移除了区间的键经 {@link #intervals()} 取回区间列表重新构建，其余键的索引按引用复用。</p>
+ * @Date 2026年10月16日 15:30
+ * @Version 1.0.0
+ */
+final class IntervalIndex {
+
+    private static final int[] NONE = new int[0];
+
+    /**
+     * 该键上任一谓词，仅借用其槽位感知的事实读取能力
+     */
+    private final BoundFactPredicate reader;
+
+    /**
+     * 构建时登记的全部区间
+     */
+    private final List<Interval> intervals;
+
+    /**
+     * 去重后升序排列的区间端点
+     */
+    private final FinancialValue[] points;
+
+    /**
+     * 线段树节点上登记的规则序号，下标从 1 开始
+     */
+    private final int[][] tree;
+
+    /**
+     * 基本段数量，即线段树叶子数
+     */
+    private final int segments;
+
+    /**
+     * 登记在本索引下的全部规则，事实读取失败时整体退回为候选
+     */
+    private final BitSet all = new BitSet();
+
+    IntervalIndex(BoundFactPredicate reader, List<Interval> intervals) {
+        this.reader = reader;
+        this.intervals = List.copyOf(intervals);
+        TreeSet<FinancialValue> distinct = new TreeSet<>();
+        for (Interval interval : intervals) {
+            if (interval.low() != null) {
+                distinct.add(interval.low());
+            }
+            if (interval.high() != null) {
+                distinct.add(interval.high());
+            }
+        }
+        this.points = distinct.toArray(new FinancialValue[0]);
+        this.segments = 2 * points.length + 1;
+
+        List<List<Integer>> pending = new ArrayList<>(4 * segments);
+        for (int i = 0; i < 4 * segments; i++) {
+            pending.add(null);
+        }
+        for (Interval interval : intervals) {
+            all.set(interval.ordinal());
+            int from = interval.low() == null ? 0
+                    : 2 * indexOf(interval.low()) + (interval.lowInclusive() ? 1 : 2);
+            int to = interval.high() == null ? segments - 1
+                    : 2 * indexOf(interval.high()) + (interval.highInclusive() ? 1 : 0);
+            if (from <= to) {
+                insert(pending, 1, 0, segments - 1, from, to, interval.ordinal());
+            }
+        }
+        this.tree = new int[pending.size()][];
+        for (int i = 0; i < tree.length; i++) {
+            List<Integer> ordinals = pending.get(i);
+            tree[i] = ordinals == null ? NONE : ordinals.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * 区间端点数量
+     *
+     * @return 去重后的端点个数
+     */
+    int pointCount() {
+        return points.length;
+    }
+
+    /**
+     * 借用其事实读取能力的谓词
+     *
+     * @return 该键上任一区间谓词
+     */
+    BoundFactPredicate reader() {
+        return reader;
+    }
+
+    /**
+     * 登记的全部区间
+     *
+     * @return 不可变列表
+     */
+    List<Interval> intervals() {
+        return intervals;
+    }
+
+    void collect(Context context, BitSet candidates) {
+        if (intervals.isEmpty()) {
+            return;
+        }
+        Object fact;
+        try {
+            fact = reader.read(context);
+        } catch (EngineFault e) {
+            // 事实无法按数值语义读取，交由规则自身评估以保持一致的故障语义
+            candidates.or(all);
+            return;
+        }
+        if (fact == null) {
+            return;
+        }
+        int position = Arrays.binarySearch(points, (FinancialValue) fact);
+        int segment = position >= 0 ? 2 * position + 1 : 2 * (-position - 1);
+
+        int node = 1;
+        int lo = 0;
+        int hi = segments - 1;
+        while (true) {
+            for (int ordinal : tree[node]) {
+                candidates.set(ordinal);
+            }
+            if (lo == hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (segment <= mid) {
+                node = 2 * node;
+                hi = mid;
+            } else {
+                node = 2 * node + 1;
+                lo = mid + 1;
+            }
+        }
+    }
+
+    private int indexOf(FinancialValue point) {
+        return Arrays.binarySearch(points, point);
+    }
+
+    private static void insert(List<List<Integer>> pending, int node, int lo, int hi, int from, int to, int ordinal) {
+        if (from <= lo && hi <= to) {
+            List<Integer> ordinals = pending.get(node);
+            if (ordinals == null) {
+                ordinals = new ArrayList<>(2);
+                pending.set(node, ordinals);
+            }
+            ordinals.add(ordinal);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (from <= mid) {
+            insert(pending, 2 * node, lo, mid, from, to, ordinal);
+        }
+        if (to > mid) {
+            insert(pending, 2 * node + 1, mid + 1, hi, from, to, ordinal);
+        }
+    }
+
+    /**
+     * 规则在单个键上的取值区间，null 端点表示无界
+     */
+    record Interval(FinancialValue low, boolean lowInclusive, FinancialValue high, boolean highInclusive, int ordinal) {
+
+        /**
+         * 将同一键上的多个区间谓词收敛为最紧的区间
+         *
+         * @param bounds  同一键上的 GT / GE / LT / LE 谓词
+         * @param ordinal 规则序号
+         * @return 区间
+         */
+        static Interval of(List<BoundFactPredicate> bounds, int ordinal) {
+            FinancialValue low = null;
+            boolean lowInclusive = false;
+            FinancialValue high = null;
+            boolean highInclusive = false;
+            for (BoundFactPredicate bound : bounds) {
+                FactPredicate predicate = bound.source();
+                FinancialValue value = (FinancialValue) predicate.operand();
+                switch (predicate.operator()) {
+                    case GT, GE -> {
+                        boolean inclusive = predicate.operator() == FactOperator.GE;
+                        int cmp = low == null ? 1 : value.compareTo(low);
+                        if (cmp > 0 || (cmp == 0 && !inclusive)) {
+                            low = value;
+                            lowInclusive = inclusive;
+                        }
+                    }
+                    case LT, LE -> {
+                        boolean inclusive = predicate.operator() == FactOperator.LE;
+                        int cmp = high == null ? -1 : value.compareTo(high);
+                        if (cmp < 0 || (cmp == 0 && !inclusive)) {
+                            high = value;
+                            highInclusive = inclusive;
+                        }
+                    }
+                    default -> {
+                        // 非区间谓词不参与收敛
+                    }
+                }
+            }
+            return new Interval(low, lowInclusive, high, highInclusive, ordinal);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.matcher;
+
+
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.runtime.snapshot.CompiledRule;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.matcher
+ * @ClassName LinearMatcher.java
+ * @Description 类 LinearMatcher 的实现描述：线性匹配器 - 按序号逐条评估规则条件
+ * <p>架构文档定义的基准匹配方式，复杂度 O(n)（C-NFR-006），也是其他匹配模式的语义参照。</p>
+ * @Date 2026年10月16日 13:18
+ * @Version 1.0.0
+ */
+public final class LinearMatcher implements Matcher {
+
+    private final CompiledRule[] rules;
+
+    public LinearMatcher(List<CompiledRule> rules) {
+        this.rules = rules.toArray(new CompiledRule[0]);
+    }
+
+    @Override
+    public BitSet match(ExecutionContext ctx) {
+        BitSet matched = new BitSet(rules.length);
+        SessionScope scope = SessionScope.of(ctx);
+        for (CompiledRule rule : rules) {
+            if (scope.evaluate(rule, ctx)) {
+                matched.set(rule.ordinal());
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.matcher;
+
+
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.runtime.snapshot.RuleSnapshot;
+
+import java.util.BitSet;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.matcher
+ * @ClassName Matcher.java
+ * @Description 类 Matcher 的实现描述：匹配器 - 规则评估阶段（CONDITION）的执行者
+ * <p>匹配器在规则快照构建时创建，持有针对该快照预先计算的结构（谓词表、索引等），之后只读。</p>
+ * <p><b>契约：</b></p>
+ * <ul>
+ *     <li>同一快照、同一输入必须得到相同的匹配集，与所采用的匹配模式无关（C-RUNTIME-005）。</li>
+ *     <li>实例必须支持多线程无锁并发调用（C-RUNTIME-004），单次调用的临时状态只能位于栈上或调用内分配。</li>
+ * </ul>
+ * @Date 2026年10月16日 13:15
+ * @Version 1.0.0
+ */
+public interface Matcher {
+
+    /**
+     * 计算匹配集
+     *
+     * @param ctx 处于 CONDITION 阶段的只读执行上下文
+     * @return 命中规则的序号位图（下标即 {@code CompiledRule.ordinal()}），调用方可自由修改
+     */
+    BitSet match(ExecutionContext ctx);
+
+    /**
+     * 按优先级顺序查找首条命中的规则，找到即停止评估
+     * <p>首次命中策略使用：结果等价于在完整匹配集中取待执行顺序最靠前的一条，但排在其后的规则不再评估，
+     * 其条件故障也不会出现。默认实现按 {@link RuleSnapshot#priorityOrder()} 逐条评估，跳过会话登记为必需事实缺失的规则。</p>
+     *
+     * @param ctx      处于 CONDITION 阶段的只读执行上下文
+     * @param snapshot 与本匹配器对应的快照
+     * @return 首条命中规则的序号，没有命中时返回 -1
+     */
+    default int matchFirst(ExecutionContext ctx, RuleSnapshot snapshot) {
+        SessionScope scope = SessionScope.of(ctx);
+        for (int ordinal : snapshot.priorityOrder()) {
+            if (scope.evaluate(snapshot.rule(ordinal), ctx)) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+}
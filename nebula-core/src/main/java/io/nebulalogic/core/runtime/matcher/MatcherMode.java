@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.matcher;
+
+
+import io.nebulalogic.core.runtime.snapshot.CompiledRule;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.matcher
+ * @ClassName MatcherMode.java
+ * @Description 类 MatcherMode 的实现描述：匹配模式枚举 - 规则快照采用的匹配器类型
+ * <p>不同模式只影响性能特征，不影响匹配结果（C-RUNTIME-005）。</p>
+ * <p>快照增量构建时经 {@link #update(Matcher, List, BitSet)} 在上一快照的匹配器上只处理变更的规则。</p>
+ * @Date 2026年10月16日 13:40
+ * @Version 1.0.0
+ */
+public enum MatcherMode {
+
+    /**
+     * 线性匹配：逐条评估，适合小规模规则集（默认）
+     */
+    LINEAR {
+        @Override
+        public Matcher create(List<CompiledRule> rules) {
+            return new LinearMatcher(rules);
+        }
+    },
+
+    /**
+     * 谓词位图匹配：每个不同谓词在单次决策中只评估一次，适合谓词高度共享的大规模规则集
+     */
+    PREDICATE_BITMAP {
+        @Override
+        public Matcher create(List<CompiledRule> rules) {
+            return new PredicateBitmapMatcher(rules);
+        }
+
+        @Override
+        public Matcher update(Matcher previous, List<CompiledRule> rules, BitSet changed) {
+            return previous instanceof PredicateBitmapMatcher bitmap ? bitmap.update(rules, changed) : create(rules);
+        }
+    },
+
+    /**
+     * 索引匹配：按顶层 {@code key == constant} 谓词建立哈希索引、按数值区间谓词建立区间索引，只评估候选规则，
+     * 适合按离散事实或数值分档分片的规则集
+     */
+    INDEXED {
+        @Override
+        public Matcher create(List<CompiledRule> rules) {
+            return new IndexedMatcher(rules);
+        }
+
+        @Override
+        public Matcher update(Matcher previous, List<CompiledRule> rules, BitSet changed) {
+            return previous instanceof IndexedMatcher indexed ? indexed.update(rules, changed) : create(rules);
+        }
+    };
+
+    /**
+     * 为给定的规则序列创建匹配器
+     *
+     * @param rules 按序号排列的编译规则
+     * @return 匹配器实例
+     */
+    public abstract Matcher create(List<CompiledRule> rules);
+
+    /**
+     * 在上一快照的匹配器上增量更新
+     * <p>默认实现重新创建：线性匹配只持有规则数组，没有可复用的预计算结构。</p>
+     *
+     * @param previous 同一模式下上一快照的匹配器
+     * @param rules    新快照按序号排列的编译规则
+     * @param changed  条件发生变化、新增或被移除的序号，其余序号的可执行条件必须与上一快照一致
+     * @return 匹配器实例
+     */
+    public Matcher update(Matcher previous, List<CompiledRule> rules, BitSet changed) {
+        return create(rules);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.matcher;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.ExecutionInterrupted;
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.runtime.snapshot.CompiledRule;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.matcher
+ * @ClassName ParallelMatcher.java
+ * @Description 类 ParallelMatcher 的实现描述：并行匹配器 - 在宿主提供的执行器上分块评估条件
+ * <p>CONDITION 阶段严格只读，条件可以安全并发评估。规则按序号切分为连续的块，
+ * 第一个块在调用线程上评估，其余块提交给宿主的 {@link Executor}（ForkJoinPool、虚拟线程等）；
+ * 引擎自身不创建任何线程（C-RUNTIME-001）。</p>
+ * <ul>
+ *     <li><b>结果确定：</b>各块的位图按序号合并，与完成先后无关，匹配集与顺序评估完全一致（C-RUNTIME-005）。</li>
+ *     <li><b>故障确定：</b>每个块在首个故障处停止；合并时抛出序号最小的块中的故障，即顺序评估会最先遇到的那一个。</li>
+ *     <li><b>降级：</b>执行器拒绝任务时，该块退回调用线程评估。</li>
+ *     <li><b>中断：</b>等待期间调用线程被中断时，通知各块在下一条规则前停止，并等待所有已提交的块退出后才抛出
+ *     {@link ExecutionInterrupted}，不会有任务在决策结束后继续读取会话。</li>
+ *     <li><b>首次命中：</b>{@link #matchFirst} 沿用默认实现，在调用线程上按优先级顺序评估并提前结束，不分块。</li>
+ *     <li><b>按需输入：</b>输入为 {@code LazyContext} 时管线不调用本匹配器，提供者不会在执行器线程上执行（C-DATA-001）。</li>
+ * </ul>
+ * @Date 2026年10月16日 16:12
+ * @Version 1.0.0
+ */
+public final class ParallelMatcher implements Matcher {
+
+    /**
+     * 单个块的最少规则数，避免任务调度开销超过评估本身
+     */
+    public static final int MIN_CHUNK_SIZE = 256;
+
+    private final CompiledRule[] rules;
+
+    private final Executor executor;
+
+    /**
+     * 第 i 个块覆盖 [bounds[i], bounds[i + 1]) 区间内的序号
+     */
+    private final int[] bounds;
+
+    public ParallelMatcher(List<CompiledRule> rules, Executor executor, int parallelism) {
+        if (executor == null || parallelism <= 0) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Parallel evaluation requires an executor and positive parallelism",
+                    Map.of("parallelism", parallelism, "executorPresent", executor != null)
+            );
+        }
+        this.rules = rules.toArray(new CompiledRule[0]);
+        this.executor = executor;
+        int chunks = Math.max(1, Math.min(parallelism, (this.rules.length + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE));
+        this.bounds = new int[chunks + 1];
+        for (int i = 0; i <= chunks; i++) {
+            bounds[i] = (int) ((long) this.rules.length * i / chunks);
+        }
+    }
+
+    /**
+     * 实际切分的块数
+     *
+     * @return 块数，规则较少时可能小于配置的并行度
+     */
+    public int chunkCount() {
+        return bounds.length - 1;
+    }
+
+    @Override
+    public BitSet match(ExecutionContext ctx) {
+        int chunks = chunkCount();
+        SessionScope scope = SessionScope.of(ctx);
+        if (chunks == 1) {
+            return evaluate(scope, ctx, 0, rules.length, new AtomicBoolean());
+        }
+        BitSet[] parts = new BitSet[chunks];
+        Throwable[] failures = new Throwable[chunks];
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CountDownLatch pending = new CountDownLatch(chunks - 1);
+        for (int c = 1; c < chunks; c++) {
+            int chunk = c;
+            Runnable task = () -> {
+                try {
+                    run(scope, ctx, chunk, parts, failures, cancelled);
+                } finally {
+                    pending.countDown();
+                }
+            };
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+        run(scope, ctx, 0, parts, failures, cancelled);
+        try {
+            pending.await();
+        } catch (InterruptedException e) {
+            cancelled.set(true);
+            awaitUninterruptibly(pending);
+            Thread.currentThread().interrupt();
+            throw new ExecutionInterrupted("Parallel condition evaluation was interrupted");
+        }
+
+        BitSet matched = new BitSet(rules.length);
+        for (int c = 0; c < chunks; c++) {
+            Throwable failure = failures[c];
+            if (failure instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            matched.or(parts[c]);
+        }
+        return matched;
+    }
+
+    private void run(SessionScope scope, ExecutionContext ctx, int chunk, BitSet[] parts, Throwable[] failures,
+                     AtomicBoolean cancelled) {
+        try {
+            parts[chunk] = evaluate(scope, ctx, bounds[chunk], bounds[chunk + 1], cancelled);
+        } catch (RuntimeException | Error e) {
+            failures[chunk] = e;
+        }
+    }
+
+    /**
+     * 评估一个块；被取消时在下一条规则前返回，此时的部分结果不会被使用
+     */
+    private BitSet evaluate(SessionScope scope, ExecutionContext ctx, int from, int to, AtomicBoolean cancelled) {
+        BitSet matched = new BitSet(rules.length);
+        for (int i = from; i < to && !cancelled.get(); i++) {
+            if (scope.evaluate(rules[i], ctx)) {
+                matched.set(rules[i].ordinal());
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 等待所有已提交的块退出，期间的中断在返回后由调用方恢复
+     */
+    private static void awaitUninterruptibly(CountDownLatch pending) {
+        while (true) {
+            try {
+                pending.await();
+                return;
+            } catch (InterruptedException ignored) {
+                // 调用方随后恢复中断标记
+            }
+        }
+    }
+}
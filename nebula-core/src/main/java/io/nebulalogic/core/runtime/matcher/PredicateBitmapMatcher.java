@@ -0,0 +1,462 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.matcher;
+
+
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.FaultPath;
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.ConstantCondition;
+import io.nebulalogic.core.model.rule.condition.NodeKind;
+import io.nebulalogic.core.model.rule.condition.NotCondition;
+import io.nebulalogic.core.runtime.metrics.RuleMetrics;
+import io.nebulalogic.core.runtime.session.EngineSession;
+import io.nebulalogic.core.runtime.snapshot.CompiledRule;
+import io.nebulalogic.core.runtime.snapshot.SharedCondition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.matcher
+ * @ClassName PredicateBitmapMatcher.java
+ * @Description 类 PredicateBitmapMatcher 的实现描述：谓词位图匹配器 - 每个不同的谓词在单次决策中最多评估一次
+ * <p><b>构建期：</b>收集快照内所有结构相同的原子谓词，编号形成谓词表；合取规则（字面量的 AND）编译为按声明顺序排列的字面量序列，
+ * 并对每个谓词记录以它为<b>首个</b>字面量的规则位图：</p>
+ * <ul>
+ *     <li>{@code firstTrue[p]}：首个字面量为 p 的合取规则；</li>
+ *     <li>{@code firstFalse[p]}：首个字面量为 NOT p 的合取规则。</li>
+ * </ul>
+ * <p><b>执行期：</b>按序号遍历存活候选，逐条沿字面量顺序经共享结果表求值，首个不满足的字面量即淘汰该规则，
+ * 与线性匹配的 AND 短路顺序一致：谓词只在规则前面的字面量均已成立时才会被求值，故障归属于正在评估的规则（C-RUNTIME-005）。
+ * 谓词首次得到结果时，以一次位运算淘汰所有以它开头且要求相反结果的后续规则，这些规则无需再逐条查表。
+ * 非合取形态（含 OR / 嵌套 NOT）的规则按语法树解释执行，叶子谓词与合取路径共享同一张结果表；
+ * 跨规则共享的组合子条件（{@link SharedCondition}）同样作为叶子登记。
+ * 两种执行方式抛出的故障与线性匹配携带相同的条件路径节点（如 {@code AND[1]/NOT[0]}）。
+ * 会话登记为必需事实缺失的规则在求值前即从候选集中移除。谓词在规则间共享求值，启用指标时只在匹配结束后记录各规则的条件结果，不记录规则延迟。</p>
+ * <p>谓词求值次数由 O(规则数 × 谓词数) 降为 O(不同谓词数)，其余开销为结果表查找与少量位运算。</p>
+ * <p><b>增量更新：</b>快照增量构建时经 {@link #update(List, BitSet)} 只撤下、登记变更的规则，其余结构按引用复用。</p>
+ * @Date 2026年10月16日 13:25
+ * @Version 1.0.0
+ */
+public final class PredicateBitmapMatcher implements Matcher {
+
+    private static final byte UNKNOWN = 0;
+
+    private static final byte TRUE = 1;
+
+    private static final byte FALSE = 2;
+
+    /**
+     * 字面量序列中表示恒假常量的标记：到达即判为未命中
+     */
+    private static final int FALSE_LITERAL = -1;
+
+    private final CompiledRule[] rules;
+
+    /**
+     * 谓词表：下标即谓词编号，顺序为规则序号内首次出现的顺序
+     */
+    private final ConditionNode[] predicates;
+
+    /**
+     * 谓词到编号，增量更新时沿用
+     */
+    private final Map<ConditionNode, Integer> ids;
+
+    /**
+     * 合取规则的字面量序列，按规则序号索引；元素为 {@code 谓词编号 × 2 + (取反 ? 1 : 0)} 或 {@link #FALSE_LITERAL}，
+     * 非合取规则为null
+     */
+    private final int[][] literals;
+
+    private final BitSet[] firstTrue;
+
+    private final BitSet[] firstFalse;
+
+    /**
+     * 初始候选：可能命中的合取规则（首个字面量即恒假的规则已在构建期排除）与全部非合取规则
+     */
+    private final BitSet initialCandidates;
+
+    /**
+     * 非合取规则编译后的解释树，按规则序号索引；合取规则为null
+     */
+    private final Node[] programs;
+
+    public PredicateBitmapMatcher(List<CompiledRule> rules) {
+        this(new Layout(rules.size()), rules.toArray(new CompiledRule[0]), null);
+    }
+
+    /**
+     * @param layout  构建中的结构，全量构建时为空
+     * @param rules   按序号排列的规则
+     * @param changed 需要重新登记的序号，null 表示登记全部规则
+     */
+    private PredicateBitmapMatcher(Layout layout, CompiledRule[] rules, BitSet changed) {
+        this.rules = rules;
+        if (changed == null) {
+            for (CompiledRule rule : rules) {
+                layout.place(rule);
+            }
+        } else {
+            for (int o = changed.nextSetBit(0); o >= 0 && o < rules.length; o = changed.nextSetBit(o + 1)) {
+                layout.place(rules[o]);
+            }
+        }
+        this.predicates = layout.table.toArray(new ConditionNode[0]);
+        this.ids = layout.ids;
+        this.literals = layout.literals;
+        this.programs = layout.programs;
+        this.initialCandidates = layout.initialCandidates;
+        this.firstTrue = layout.trueSets.toArray(new BitSet[0]);
+        this.firstFalse = layout.falseSets.toArray(new BitSet[0]);
+    }
+
+    /**
+     * 按变更的序号增量更新
+     * <p>被移除或变更的规则先从初始候选与首字面量位图中撤下，新增或变更的规则再按构建期的规则登记；
+     * 新出现的谓词追加到谓词表末尾。未涉及的位图、字面量序列与解释树按引用共享，涉及的位图先复制再修改，本实例保持不变。</p>
+     * <p>不再被任何规则引用的谓词保留在谓词表中直到下一次全量构建：它们不会被求值，只占用结果表的一个字节。</p>
+     *
+     * @param next    新快照按序号排列的规则
+     * @param changed 条件发生变化、新增或被移除的序号，其余序号的可执行条件必须与本匹配器一致
+     * @return 新的匹配器
+     */
+    public PredicateBitmapMatcher update(List<CompiledRule> next, BitSet changed) {
+        CompiledRule[] updated = next.toArray(new CompiledRule[0]);
+        Layout layout = new Layout(this, updated.length);
+        for (int o = changed.nextSetBit(0); o >= 0 && o < rules.length; o = changed.nextSetBit(o + 1)) {
+            layout.retract(o, literals[o]);
+        }
+        return new PredicateBitmapMatcher(layout, updated, changed);
+    }
+
+    /**
+     * 不同谓词的数量
+     *
+     * @return 谓词表大小
+     */
+    public int distinctPredicateCount() {
+        return predicates.length;
+    }
+
+    @Override
+    public BitSet match(ExecutionContext ctx) {
+        byte[] memo = new byte[predicates.length];
+        BitSet candidates = (BitSet) initialCandidates.clone();
+        EngineSession session = ctx instanceof EngineSession current ? current : null;
+        BitSet unsatisfiable = session == null ? null : session.unsatisfiable();
+        if (unsatisfiable != null) {
+            candidates.andNot(unsatisfiable);
+        }
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            boolean matched;
+            try {
+                matched = literals[ordinal] != null
+                        ? conjunction(ordinal, ctx, memo, candidates)
+                        : programs[ordinal].evaluate(this, ctx, memo);
+            } catch (EngineFault e) {
+                throw rules[ordinal].attribute(e);
+            }
+            if (!matched) {
+                candidates.clear(ordinal);
+            }
+        }
+        RuleMetrics[] ruleMetrics = session == null ? null : session.ruleMetrics();
+        if (ruleMetrics != null) {
+            for (int ordinal = 0; ordinal < rules.length; ordinal++) {
+                if (unsatisfiable == null || !unsatisfiable.get(ordinal)) {
+                    ruleMetrics[ordinal].record(candidates.get(ordinal));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * 按声明顺序求值合取规则的字面量，首个不满足即停止；谓词首次求值时淘汰以它开头且要求相反结果的候选
+     */
+    private boolean conjunction(int ordinal, ExecutionContext ctx, byte[] memo, BitSet candidates) {
+        int[] sequence = literals[ordinal];
+        for (int position = 0; position < sequence.length; position++) {
+            int literal = sequence[position];
+            if (literal == FALSE_LITERAL) {
+                return false;
+            }
+            int predicate = literal >>> 1;
+            boolean known = memo[predicate] != UNKNOWN;
+            boolean value;
+            try {
+                value = test(predicate, ctx, memo);
+            } catch (EngineFault e) {
+                throw locate(e, rules[ordinal].executable(), position);
+            }
+            if (!known) {
+                candidates.andNot(value ? firstFalse[predicate] : firstTrue[predicate]);
+            }
+            if (value == ((literal & 1) != 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 为合取路径上的故障补齐条件路径节点：字面量序列省略了恒真常量，按原操作数重新定位下标
+     *
+     * @param position 出错字面量在序列中的位置
+     */
+    private static EngineFault locate(EngineFault e, ConditionNode condition, int position) {
+        if (condition.kind() != NodeKind.AND) {
+            return condition.kind() == NodeKind.NOT ? e.at(FaultPath.Kind.CONDITION, "NOT", 0) : e;
+        }
+        List<ConditionNode> operands = condition.operands();
+        int remaining = position;
+        for (int i = 0; i < operands.size(); i++) {
+            ConditionNode operand = operands.get(i);
+            if (operand.kind() == NodeKind.CONSTANT) {
+                continue;
+            }
+            if (remaining-- == 0) {
+                EngineFault located = operand.kind() == NodeKind.NOT ? e.at(FaultPath.Kind.CONDITION, "NOT", 0) : e;
+                return located.at(FaultPath.Kind.CONDITION, "AND", i);
+            }
+        }
+        return e;
+    }
+
+    private boolean test(int predicate, ExecutionContext ctx, byte[] memo) {
+        byte known = memo[predicate];
+        if (known != UNKNOWN) {
+            return known == TRUE;
+        }
+        boolean value = predicates[predicate].evaluate(ctx);
+        memo[predicate] = value ? TRUE : FALSE;
+        return value;
+    }
+
+    /**
+     * 提取合取形态的字面量：单个字面量，或由字面量组成的 AND 节点；其他形态返回null
+     */
+    private static List<ConditionNode> conjunctiveLiterals(ConditionNode condition) {
+        if (isLiteral(condition)) {
+            return List.of(condition);
+        }
+        if (condition.kind() != NodeKind.AND) {
+            return null;
+        }
+        for (ConditionNode operand : condition.operands()) {
+            if (!isLiteral(operand)) {
+                return null;
+            }
+        }
+        return condition.operands();
+    }
+
+    private static boolean isLiteral(ConditionNode node) {
+        return switch (node.kind()) {
+            case PREDICATE, CONSTANT -> true;
+            case NOT -> ((NotCondition) node).operand().kind() == NodeKind.PREDICATE;
+            default -> false;
+        };
+    }
+
+    /**
+     * 构建中的可变结构：全量构建从空开始，增量更新从上一匹配器复制
+     */
+    private static final class Layout {
+
+        private final Map<ConditionNode, Integer> ids;
+
+        private final List<ConditionNode> table;
+
+        private final List<BitSet> trueSets;
+
+        private final List<BitSet> falseSets;
+
+        private final int[][] literals;
+
+        private final Node[] programs;
+
+        private final BitSet initialCandidates;
+
+        /**
+         * 已私有的首字面量位图编号；其余位图仍与上一匹配器共享，修改前先复制。全量构建时为null
+         */
+        private final BitSet ownedTrue;
+
+        private final BitSet ownedFalse;
+
+        Layout(int ruleCount) {
+            this.ids = new HashMap<>();
+            this.table = new ArrayList<>();
+            this.trueSets = new ArrayList<>();
+            this.falseSets = new ArrayList<>();
+            this.literals = new int[ruleCount][];
+            this.programs = new Node[ruleCount];
+            this.initialCandidates = new BitSet(ruleCount);
+            this.ownedTrue = null;
+            this.ownedFalse = null;
+        }
+
+        Layout(PredicateBitmapMatcher base, int ruleCount) {
+            this.ids = new HashMap<>(base.ids);
+            this.table = new ArrayList<>(Arrays.asList(base.predicates));
+            this.trueSets = new ArrayList<>(Arrays.asList(base.firstTrue));
+            this.falseSets = new ArrayList<>(Arrays.asList(base.firstFalse));
+            this.literals = Arrays.copyOf(base.literals, ruleCount);
+            this.programs = Arrays.copyOf(base.programs, ruleCount);
+            this.initialCandidates = (BitSet) base.initialCandidates.clone();
+            this.initialCandidates.clear(ruleCount, Math.max(ruleCount, base.rules.length));
+            this.ownedTrue = new BitSet();
+            this.ownedFalse = new BitSet();
+        }
+
+        void place(CompiledRule rule) {
+            int ordinal = rule.ordinal();
+            List<ConditionNode> conjuncts = conjunctiveLiterals(rule.executable());
+            if (conjuncts == null) {
+                literals[ordinal] = null;
+                programs[ordinal] = compile(rule.executable());
+                initialCandidates.set(ordinal);
+                return;
+            }
+            programs[ordinal] = null;
+            int[] sequence = new int[conjuncts.size()];
+            int length = 0;
+            for (ConditionNode literal : conjuncts) {
+                if (literal.kind() == NodeKind.CONSTANT) {
+                    if (((ConstantCondition) literal).value()) {
+                        continue;
+                    }
+                    // 其后的字面量在线性匹配中同样不会被求值
+                    sequence[length++] = FALSE_LITERAL;
+                    break;
+                }
+                boolean negated = literal.kind() == NodeKind.NOT;
+                ConditionNode predicate = negated ? ((NotCondition) literal).operand() : literal;
+                int id = register(predicate);
+                if (length == 0) {
+                    first(id, negated).set(ordinal);
+                }
+                sequence[length++] = id << 1 | (negated ? 1 : 0);
+            }
+            literals[ordinal] = length == sequence.length ? sequence : Arrays.copyOf(sequence, length);
+            if (length == 0 || sequence[0] != FALSE_LITERAL) {
+                initialCandidates.set(ordinal);
+            } else {
+                initialCandidates.clear(ordinal);
+            }
+        }
+
+        /**
+         * 撤下规则在首字面量位图与初始候选中的登记
+         *
+         * @param sequence 规则原先的字面量序列，非合取规则为null
+         */
+        void retract(int ordinal, int[] sequence) {
+            if (sequence != null && sequence.length > 0 && sequence[0] != FALSE_LITERAL) {
+                first(sequence[0] >>> 1, (sequence[0] & 1) != 0).clear(ordinal);
+            }
+            initialCandidates.clear(ordinal);
+            if (ordinal < literals.length) {
+                literals[ordinal] = null;
+                programs[ordinal] = null;
+            }
+        }
+
+        private BitSet first(int id, boolean negated) {
+            List<BitSet> sets = negated ? falseSets : trueSets;
+            BitSet owned = negated ? ownedFalse : ownedTrue;
+            if (owned != null && !owned.get(id)) {
+                sets.set(id, (BitSet) sets.get(id).clone());
+                owned.set(id);
+            }
+            return sets.get(id);
+        }
+
+        private int register(ConditionNode predicate) {
+            Integer id = ids.get(predicate);
+            if (id == null) {
+                id = table.size();
+                ids.put(predicate, id);
+                table.add(predicate);
+                trueSets.add(new BitSet());
+                falseSets.add(new BitSet());
+                if (ownedTrue != null) {
+                    ownedTrue.set(id);
+                    ownedFalse.set(id);
+                }
+            }
+            return id;
+        }
+
+        private Node compile(ConditionNode node) {
+            if (node.kind() == NodeKind.PREDICATE || node instanceof SharedCondition) {
+                return new Node(NodeKind.PREDICATE, register(node), null);
+            }
+            if (node.kind() == NodeKind.CONSTANT) {
+                return new Node(NodeKind.CONSTANT, ((ConstantCondition) node).value() ? 1 : 0, null);
+            }
+            List<ConditionNode> operands = node.operands();
+            Node[] children = new Node[operands.size()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = compile(operands.get(i));
+            }
+            return new Node(node.kind(), -1, children);
+        }
+    }
+
+    /**
+     * 非合取规则的解释树：叶子引用谓词编号，经由共享结果表求值
+     */
+    private record Node(NodeKind kind, int value, Node[] children) {
+
+        boolean evaluate(PredicateBitmapMatcher matcher, ExecutionContext ctx, byte[] memo) {
+            switch (kind) {
+                case AND:
+                case OR:
+                    boolean any = kind == NodeKind.OR;
+                    for (int i = 0; i < children.length; i++) {
+                        if (child(i, matcher, ctx, memo) == any) {
+                            return any;
+                        }
+                    }
+                    return !any;
+                case NOT:
+                    return !child(0, matcher, ctx, memo);
+                case CONSTANT:
+                    return value == 1;
+                default:
+                    return matcher.test(value, ctx, memo);
+            }
+        }
+
+        /**
+         * 求值第 i 个子节点，故障追加与条件节点相同的路径节点
+         */
+        private boolean child(int i, PredicateBitmapMatcher matcher, ExecutionContext ctx, byte[] memo) {
+            try {
+                return children[i].evaluate(matcher, ctx, memo);
+            } catch (EngineFault e) {
+                throw e.at(FaultPath.Kind.CONDITION, kind.name(), i);
+            }
+        }
+    }
+}
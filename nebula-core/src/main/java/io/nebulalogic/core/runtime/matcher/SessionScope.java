@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.matcher;
+
+
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.runtime.metrics.RuleMetrics;
+import io.nebulalogic.core.runtime.session.EngineSession;
+import io.nebulalogic.core.runtime.snapshot.CompiledRule;
+
+import java.util.BitSet;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.matcher
+ * @ClassName SessionScope.java
+ * @Description 类 SessionScope 的实现描述：逐条评估规则的匹配器在单次调用内读取的会话状态
+ * <p>调用开始时从 {@link EngineSession} 读取一次必需事实缺失的规则位图与规则指标：位图内的规则直接判为未命中、
+ * 不评估也不记录指标；其余规则评估后记录条件结果，被采样的决策还记录评估耗时。条件上下文不是会话时两者都不生效。</p>
+ * <p>与 {@link PredicateBitmapMatcher} 对候选位图的处理一致，编译规则本身不感知会话与指标。</p>
+ * @Date 2026年10月17日 10:20
+ * @Version 1.0.0
+ */
+final class SessionScope {
+
+    private static final SessionScope NONE = new SessionScope(null, null, false);
+
+    private final BitSet unsatisfiable;
+
+    private final RuleMetrics[] metrics;
+
+    private final boolean timed;
+
+    private SessionScope(BitSet unsatisfiable, RuleMetrics[] metrics, boolean timed) {
+        this.unsatisfiable = unsatisfiable;
+        this.metrics = metrics;
+        this.timed = timed;
+    }
+
+    /**
+     * 读取条件上下文所属会话的状态
+     *
+     * @param ctx 处于 CONDITION 阶段的只读执行上下文
+     * @return 会话状态；非会话上下文或会话既无缺失规则也未启用指标时返回共享的空状态
+     */
+    static SessionScope of(ExecutionContext ctx) {
+        if (!(ctx instanceof EngineSession session)) {
+            return NONE;
+        }
+        BitSet unsatisfiable = session.unsatisfiable();
+        RuleMetrics[] metrics = session.ruleMetrics();
+        if (unsatisfiable == null && metrics == null) {
+            return NONE;
+        }
+        return new SessionScope(unsatisfiable, metrics, metrics != null && session.isTimed());
+    }
+
+    /**
+     * 评估一条规则
+     *
+     * @param rule 编译规则
+     * @param ctx  只读执行上下文
+     * @return true 表示规则命中
+     */
+    boolean evaluate(CompiledRule rule, ExecutionContext ctx) {
+        int ordinal = rule.ordinal();
+        if (unsatisfiable != null && unsatisfiable.get(ordinal)) {
+            return false;
+        }
+        if (metrics == null) {
+            return rule.evaluate(ctx);
+        }
+        if (!timed) {
+            boolean result = rule.evaluate(ctx);
+            metrics[ordinal].record(result);
+            return result;
+        }
+        long start = System.nanoTime();
+        boolean result = rule.evaluate(ctx);
+        metrics[ordinal].record(result, System.nanoTime() - start);
+        return result;
+    }
+}
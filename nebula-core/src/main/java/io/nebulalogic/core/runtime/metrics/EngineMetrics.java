@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.metrics;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.FaultCategory;
+import io.nebulalogic.core.model.context.ExecutionPhase;
+import io.nebulalogic.core.runtime.snapshot.CompiledRule;
+import io.nebulalogic.core.runtime.snapshot.RuleSnapshot;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.metrics
+ * @ClassName EngineMetrics.java
+ * @Description 类 EngineMetrics 的实现描述：引擎指标注册表 - 无依赖、无锁的规则与阶段度量
+ * <ul>
+ *     <li><b>规则：</b>每条规则的条件真 / 假次数、故障次数，以及被采样决策中的条件评估延迟直方图。</li>
+ *     <li><b>阶段：</b>每个 {@link ExecutionPhase} 的耗时直方图与整次决策的耗时直方图。</li>
+ *     <li><b>故障：</b>{@link EngineFault} 按 {@code ErrorCode.code()} 与 {@link FaultCategory} 分组计数。</li>
+ * </ul>
+ * <p>记录路径只有 {@link LongAdder} 自增与直方图的原子自增，不加锁、不分配。规则计时每条规则需要两次
+ * {@link System#nanoTime()}，因此只在每 N 次决策中随机采样一次；计数则覆盖全部决策。
+ * 谓词位图匹配器在规则间共享谓词求值，只记录条件结果，不记录规则延迟。</p>
+ * <p>规则指标按规则ID登记，每个快照首次使用时绑定一次，此后按快照直接取用，多个引擎共享同一注册表时互不覆盖。
+ * 快照只被弱引用：规则只在引用它的快照全部被回收后、下一次绑定新快照时移除，ID 不变的规则沿用原有计数。
+ * {@link #snapshot()} 只读取计数器，可由任意线程周期性调用。</p>
+ * @Date 2026年10月17日 10:40
+ * @Version 1.0.0
+ */
+public final class EngineMetrics {
+
+    /**
+     * 默认的规则延迟采样间隔
+     */
+    public static final int DEFAULT_SAMPLE_EVERY = 64;
+
+    private final int sampleEvery;
+
+    private final LatencyHistogram decisions = new LatencyHistogram();
+
+    private final LatencyHistogram[] phases = new LatencyHistogram[ExecutionPhase.values().length];
+
+    private final Map<String, RuleMetrics> rules = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> faultsByCode = new ConcurrentHashMap<>();
+
+    private final LongAdder[] faultsByCategory = new LongAdder[FaultCategory.values().length];
+
+    /**
+     * 已绑定的快照及其按序号排列的规则指标；写时复制，通常只有一到两项
+     */
+    private volatile Binding[] bindings = new Binding[0];
+
+    public EngineMetrics() {
+        this(DEFAULT_SAMPLE_EVERY);
+    }
+
+    /**
+     * 创建注册表
+     *
+     * @param sampleEvery 平均每 N 次决策对规则评估计时一次，1 表示每次都计时
+     * @throws ConfigurationFault 如果采样间隔不是正数
+     */
+    public EngineMetrics(int sampleEvery) {
+        if (sampleEvery <= 0) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Metrics sample interval must be positive",
+                    Map.of("sampleEvery", sampleEvery)
+            );
+        }
+        this.sampleEvery = sampleEvery;
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < faultsByCategory.length; i++) {
+            faultsByCategory[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 快照内各规则的指标
+     * <p>按快照缓存，读取无锁；只有快照首次使用时加锁绑定。</p>
+     *
+     * @param snapshot 本次决策使用的快照
+     * @return 下标为规则序号的指标数组，调用方不得修改
+     */
+    public RuleMetrics[] rules(RuleSnapshot snapshot) {
+        for (Binding binding : bindings) {
+            if (binding.snapshot().get() == snapshot) {
+                return binding.rules();
+            }
+        }
+        return bind(snapshot);
+    }
+
+    /**
+     * 绑定新快照，同时丢弃已被回收的快照，并移除不再属于任何存活快照的规则指标
+     */
+    private synchronized RuleMetrics[] bind(RuleSnapshot snapshot) {
+        List<Binding> live = new ArrayList<>(bindings.length + 1);
+        Set<String> ids = new HashSet<>();
+        for (Binding binding : bindings) {
+            RuleSnapshot bound = binding.snapshot().get();
+            if (bound == snapshot) {
+                return binding.rules();
+            }
+            if (bound != null) {
+                live.add(binding);
+                for (CompiledRule rule : bound.rules()) {
+                    ids.add(rule.id());
+                }
+            }
+        }
+        List<CompiledRule> compiled = snapshot.rules();
+        RuleMetrics[] metrics = new RuleMetrics[compiled.size()];
+        for (CompiledRule rule : compiled) {
+            metrics[rule.ordinal()] = rules.computeIfAbsent(rule.id(), RuleMetrics::new);
+            ids.add(rule.id());
+        }
+        rules.keySet().retainAll(ids);
+        live.add(new Binding(new WeakReference<>(snapshot), metrics));
+        bindings = live.toArray(new Binding[0]);
+        return metrics;
+    }
+
+    /**
+     * 本次决策是否对规则评估计时
+     *
+     * @return true 表示被采样
+     */
+    public boolean sampleRuleLatency() {
+        return sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+    /**
+     * 记录阶段耗时
+     *
+     * @param phase 执行阶段
+     * @param nanos 耗时
+     */
+    public void recordPhase(ExecutionPhase phase, long nanos) {
+        phases[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * 记录一次成功决策的总耗时
+     *
+     * @param nanos 耗时
+     */
+    public void recordDecision(long nanos) {
+        decisions.record(nanos);
+    }
+
+    /**
+     * 记录一次故障
+     * <p>故障路径上带有规则ID时，同时计入该规则的故障次数。</p>
+     *
+     * @param fault 引擎故障
+     */
+    public void recordFault(EngineFault fault) {
+        faultsByCategory[fault.getCategory().ordinal()].increment();
+        String code = fault.getErrorCode().code();
+        LongAdder counter = faultsByCode.get(code);
+        if (counter == null) {
+            counter = faultsByCode.computeIfAbsent(code, key -> new LongAdder());
+        }
+        counter.increment();
+        String ruleId = fault.getRuleId();
+        if (ruleId != null) {
+            RuleMetrics rule = rules.get(ruleId);
+            if (rule != null) {
+                rule.fault();
+            }
+        }
+    }
+
+    /**
+     * 抓取当前指标
+     *
+     * @return 不可变快照，规则按ID排序
+     */
+    public MetricsSnapshot snapshot() {
+        Map<ExecutionPhase, HistogramSnapshot> phaseLatency = new EnumMap<>(ExecutionPhase.class);
+        for (ExecutionPhase phase : ExecutionPhase.values()) {
+            phaseLatency.put(phase, phases[phase.ordinal()].snapshot());
+        }
+        Map<String, MetricsSnapshot.RuleStats> ruleStats = new TreeMap<>();
+        for (RuleMetrics rule : rules.values()) {
+            ruleStats.put(rule.ruleId(), rule.snapshot());
+        }
+        Map<String, Long> byCode = new TreeMap<>();
+        faultsByCode.forEach((code, counter) -> byCode.put(code, counter.sum()));
+        Map<FaultCategory, Long> byCategory = new EnumMap<>(FaultCategory.class);
+        for (FaultCategory category : FaultCategory.values()) {
+            byCategory.put(category, faultsByCategory[category.ordinal()].sum());
+        }
+        return new MetricsSnapshot(
+                decisions.snapshot(),
+                Collections.unmodifiableMap(phaseLatency),
+                Collections.unmodifiableMap(ruleStats),
+                Collections.unmodifiableMap(byCode),
+                Collections.unmodifiableMap(byCategory)
+        );
+    }
+
+    /**
+     * 抓取当前指标并交给导出器
+     *
+     * @param exporter 导出适配器
+     */
+    public void export(MetricsExporter exporter) {
+        exporter.export(snapshot());
+    }
+
+    private record Binding(WeakReference<RuleSnapshot> snapshot, RuleMetrics[] rules) {
+    }
+}
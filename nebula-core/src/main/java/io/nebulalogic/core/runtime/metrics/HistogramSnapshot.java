@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.metrics;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.metrics
+ * @ClassName HistogramSnapshot.java
+ * @Description 类 HistogramSnapshot 的实现描述：延迟直方图的稀疏快照
+ * <p>只保存非空桶：{@code buckets[i]} 为桶下标（边界见 {@link LatencyHistogram#lowerBound(int)}），
+ * {@code counts[i]} 为该桶的计数，按桶下标升序排列。导出器可据此生成任意格式的累积分布。</p>
+ * @Date 2026年10月17日 10:24
+ * @Version 1.0.0
+ */
+public record HistogramSnapshot(long count, long sumNanos, int[] buckets, long[] counts) {
+
+    /**
+     * 空快照
+     */
+    public static final HistogramSnapshot EMPTY = new HistogramSnapshot(0, 0, new int[0], new long[0]);
+
+    /**
+     * 平均值
+     *
+     * @return 纳秒，没有观测值时为 0
+     */
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) sumNanos / count;
+    }
+
+    /**
+     * 分位数的上界估计
+     *
+     * @param quantile 分位数，取值 [0, 1]
+     * @return 包含该分位的桶的上界（纳秒），没有观测值时为 0
+     */
+    public long percentile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return LatencyHistogram.upperBound(buckets[i]);
+            }
+        }
+        return LatencyHistogram.upperBound(buckets[buckets.length - 1]);
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot[count=" + count + ", mean=" + (long) meanNanos() + "ns, p99=" + percentile(0.99) + "ns]";
+    }
+}
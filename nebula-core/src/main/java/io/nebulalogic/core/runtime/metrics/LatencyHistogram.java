@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.metrics;
+
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.metrics
+ * @ClassName LatencyHistogram.java
+ * @Description 类 LatencyHistogram 的实现描述：固定桶的对数线性延迟直方图（纳秒）
+ * <p>小于 {@value #SUB_BUCKETS} 的值各占一个桶；此后每个 2 的幂区间等分为 {@value #SUB_BUCKETS} 个子桶，
+ * 相对误差不超过 1/{@value #SUB_BUCKETS}；大于等于 2<sup>{@value #MAX_EXPONENT}</sup> 纳秒（约 18 分钟）的值计入最后一个桶。</p>
+ * <p>桶数固定为 {@link #BUCKETS}，记录为一次位运算与一次原子自增，无锁、无分配，可被任意线程并发记录。</p>
+ * @Date 2026年10月17日 10:20
+ * @Version 1.0.0
+ */
+public final class LatencyHistogram {
+
+    /**
+     * 每个 2 的幂区间的子桶数
+     */
+    public static final int SUB_BUCKETS = 4;
+
+    private static final int SUB_BITS = 2;
+
+    /**
+     * 可区分的最大指数
+     */
+    public static final int MAX_EXPONENT = 40;
+
+    /**
+     * 桶数：常规桶之后是一个溢出桶
+     */
+    public static final int BUCKETS = (MAX_EXPONENT - 1) * SUB_BUCKETS + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * 记录一个观测值
+     *
+     * @param nanos 纳秒，负数按 0 计
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        sum.add(value);
+    }
+
+    /**
+     * 当前计数的快照
+     * <p>各桶分别读取，与并发记录之间不保证原子一致，适用于周期性抓取。</p>
+     *
+     * @return 只包含非空桶的快照
+     */
+    public HistogramSnapshot snapshot() {
+        int used = 0;
+        long[] values = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            values[i] = counts.get(i);
+            if (values[i] != 0) {
+                used++;
+            }
+        }
+        int[] buckets = new int[used];
+        long[] bucketCounts = new long[used];
+        long total = 0;
+        for (int i = 0, j = 0; i < BUCKETS; i++) {
+            if (values[i] != 0) {
+                buckets[j] = i;
+                bucketCounts[j++] = values[i];
+                total += values[i];
+            }
+        }
+        return new HistogramSnapshot(total, sum.sum(), buckets, bucketCounts);
+    }
+
+    /**
+     * 观测值所属的桶
+     *
+     * @param nanos 非负纳秒
+     * @return 桶下标
+     */
+    public static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * 桶的下界（含）
+     *
+     * @param bucket 桶下标
+     * @return 纳秒
+     */
+    public static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + 1;
+        int sub = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+
+    /**
+     * 桶的上界（不含）；最后一个桶无上界，返回 {@link Long#MAX_VALUE}
+     *
+     * @param bucket 桶下标
+     * @return 纳秒
+     */
+    public static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(bucket + 1);
+    }
+}
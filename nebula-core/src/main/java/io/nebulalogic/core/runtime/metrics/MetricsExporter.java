@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.metrics;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.metrics
+ * @ClassName MetricsExporter.java
+ * @Description 类 MetricsExporter 的实现描述：指标导出 SPI
+ * <p>核心模块不依赖任何监控库（C-EXT-001）；Prometheus、OpenTelemetry 等适配器在独立模块中实现本接口，
+ * 由宿主按抓取周期调用 {@link EngineMetrics#export(MetricsExporter)}。</p>
+ * @Date 2026年10月17日 10:36
+ * @Version 1.0.0
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+
+    /**
+     * 导出一次抓取得到的指标
+     *
+     * @param snapshot 不可变指标快照
+     */
+    void export(MetricsSnapshot snapshot);
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.metrics;
+
+
+import io.nebulalogic.core.exception.FaultCategory;
+import io.nebulalogic.core.model.context.ExecutionPhase;
+
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.metrics
+ * @ClassName MetricsSnapshot.java
+ * @Description 类 MetricsSnapshot 的实现描述：一次抓取得到的不可变指标
+ * <p>计数均为自注册表创建以来的累计值，导出器按需换算速率。规则按ID索引，只包含当前快照中的规则。</p>
+ * <p>规则延迟只对被采样的决策计时：{@link RuleStats#latency()} 的计数约为评估次数的 1/N（N 为采样间隔），
+ * 估算规则的总耗时应以平均值乘以评估次数。</p>
+ * @Date 2026年10月17日 10:34
+ * @Version 1.0.0
+ */
+public record MetricsSnapshot(HistogramSnapshot decisionLatency,
+                              Map<ExecutionPhase, HistogramSnapshot> phaseLatency,
+                              Map<String, RuleStats> rules,
+                              Map<String, Long> faultsByCode,
+                              Map<FaultCategory, Long> faultsByCategory) {
+
+    /**
+     * 单条规则的累计指标
+     *
+     * @param ruleId    规则ID
+     * @param matched   条件为真的次数
+     * @param unmatched 条件为假的次数
+     * @param faults    归属于本规则的故障次数
+     * @param latency   被采样的条件评估耗时
+     */
+    public record RuleStats(String ruleId, long matched, long unmatched, long faults, HistogramSnapshot latency) {
+
+        /**
+         * 条件评估次数
+         *
+         * @return 真与假的次数之和
+         */
+        public long evaluations() {
+            return matched + unmatched;
+        }
+
+        /**
+         * 命中率
+         *
+         * @return 条件为真的比例，从未评估时为 0
+         */
+        public double hitRate() {
+            long total = evaluations();
+            return total == 0 ? 0 : (double) matched / total;
+        }
+
+        /**
+         * 估算的条件评估总耗时
+         *
+         * @return 采样平均耗时乘以评估次数（纳秒）
+         */
+        public double estimatedTotalNanos() {
+            return latency.meanNanos() * evaluations();
+        }
+    }
+}
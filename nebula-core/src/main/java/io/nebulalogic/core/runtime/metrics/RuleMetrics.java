@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.metrics;
+
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.metrics
+ * @ClassName RuleMetrics.java
+ * @Description 类 RuleMetrics 的实现描述：单条规则的计数与条件评估延迟
+ * <p>计数使用分段的 {@link LongAdder}，并发记录互不争用；延迟直方图在首次被采样时才创建，
+ * 从未被计时的规则只占用三个计数器。</p>
+ * @Date 2026年10月17日 10:30
+ * @Version 1.0.0
+ */
+public final class RuleMetrics {
+
+    private final String ruleId;
+
+    private final LongAdder matched = new LongAdder();
+
+    private final LongAdder unmatched = new LongAdder();
+
+    private final LongAdder faults = new LongAdder();
+
+    private volatile LatencyHistogram latency;
+
+    RuleMetrics(String ruleId) {
+        this.ruleId = ruleId;
+    }
+
+    /**
+     * 规则ID
+     *
+     * @return 规则ID
+     */
+    public String ruleId() {
+        return ruleId;
+    }
+
+    /**
+     * 记录一次条件结果
+     *
+     * @param result 条件是否为真
+     */
+    public void record(boolean result) {
+        (result ? matched : unmatched).increment();
+    }
+
+    /**
+     * 记录一次计时的条件评估
+     *
+     * @param result 条件是否为真
+     * @param nanos  评估耗时
+     */
+    public void record(boolean result, long nanos) {
+        record(result);
+        latency().record(nanos);
+    }
+
+    /**
+     * 记录一次归属于本规则的故障
+     */
+    public void fault() {
+        faults.increment();
+    }
+
+    MetricsSnapshot.RuleStats snapshot() {
+        LatencyHistogram histogram = latency;
+        return new MetricsSnapshot.RuleStats(
+                ruleId,
+                matched.sum(),
+                unmatched.sum(),
+                faults.sum(),
+                histogram == null ? HistogramSnapshot.EMPTY : histogram.snapshot()
+        );
+    }
+
+    private LatencyHistogram latency() {
+        LatencyHistogram histogram = latency;
+        if (histogram == null) {
+            synchronized (this) {
+                histogram = latency;
+                if (histogram == null) {
+                    histogram = new LatencyHistogram();
+                    latency = histogram;
+                }
+            }
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.pipeline;
+
+
+import io.nebulalogic.core.api.ExecutionStrategy;
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.FaultPath;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.ExecutionPhase;
+import io.nebulalogic.core.model.context.MutatorContext;
+import io.nebulalogic.core.model.decision.Decision;
+import io.nebulalogic.core.model.decision.DecisionTrace;
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.runtime.context.DeltaContext;
+import io.nebulalogic.core.runtime.context.LazyContext;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.matcher.Matcher;
+import io.nebulalogic.core.runtime.matcher.ParallelMatcher;
+import io.nebulalogic.core.runtime.metrics.EngineMetrics;
+import io.nebulalogic.core.runtime.session.EngineSession;
+import io.nebulalogic.core.runtime.session.SessionPool;
+import io.nebulalogic.core.runtime.snapshot.CompiledRule;
+import io.nebulalogic.core.runtime.snapshot.KeyFootprint;
+import io.nebulalogic.core.runtime.snapshot.RuleSnapshot;
+import io.nebulalogic.core.runtime.trace.TracePolicy;
+import io.nebulalogic.core.runtime.trace.TraceRecorder;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.pipeline
+ * @ClassName ExecutionPipeline.java
+ * @Description 类 ExecutionPipeline 的实现描述：执行管线 - 按阶段推进一次决策
+ * <ol>
+ *     <li><b>PRE_EVALUATION：</b>按快照槽位表复制输入事实，输入为 {@link io.nebulalogic.core.runtime.context.PersistentContext}
+ *     时共享其不可变快照而不复制，为 {@link LazyContext} 时不复制、事实在首次读取时求值；宿主的 Context 不会被修改。</li>
+ *     <li><b>CONDITION：</b>进入前按快照的键足迹一次性求出输入的在场键，必需事实缺失的规则不再评估；
+ *     匹配器在只读视图上计算匹配集，跨规则共享的子条件经会话的结果表只求值一次。
+ *     首次命中策略不计算完整匹配集，而是按快照预排的优先级顺序评估，首条命中即停止。
+ *     输入为 {@link LazyContext} 时不使用 {@link ParallelMatcher}，改由快照自身的匹配器在调用线程上评估，
+ *     使宿主的提供者只在宿主线程上执行（C-DATA-001）。</li>
+ *     <li><b>冲突解决：</b>全部命中策略按优先级升序、同优先级按序号排列匹配集，得到待执行列表。</li>
+ *     <li><b>ACTION：</b>依次执行动作，写入落在 {@link DeltaContext} 覆盖层并逐条记录变更，复制的输入事实保持不变；
+ *     动作故障在路径上记录动作下标与规则ID后向上传播。</li>
+ *     <li><b>POST_ACTION：</b>冻结上下文并生成 {@link Decision}。</li>
+ * </ol>
+ * <p>配置 {@link SessionPool} 时，槽位上下文、覆盖上下文、执行会话与触发规则列表取自池中的租约并在决策之间复用，
+ * 宿主关闭 {@link Decision} 时归还；决策失败时租约立即归还。</p>
+ * <p>配置 {@link EngineMetrics} 时记录各阶段与整次决策的耗时、故障计数，并经会话让匹配器记录各规则的条件结果与采样延迟。</p>
+ * <p>追踪按 {@link TracePolicy} 进行：记录器为线程私有的预分配缓冲区，追踪关闭或本次未被采样时各阶段不做任何记录。</p>
+ * @Date 2026年10月16日 16:16
+ * @Version 1.0.0
+ */
+public final class ExecutionPipeline {
+
+    private final ExecutionStrategy strategy;
+
+    private final TracePolicy tracePolicy;
+
+    /**
+     * 上下文池；未启用复用时为null
+     */
+    private final SessionPool pool;
+
+    /**
+     * 指标注册表；未启用指标时为null
+     */
+    private final EngineMetrics metrics;
+
+    public ExecutionPipeline(ExecutionStrategy strategy) {
+        this(strategy, TracePolicy.OFF);
+    }
+
+    public ExecutionPipeline(ExecutionStrategy strategy, TracePolicy tracePolicy) {
+        this(strategy, tracePolicy, null);
+    }
+
+    public ExecutionPipeline(ExecutionStrategy strategy, TracePolicy tracePolicy, SessionPool pool) {
+        this(strategy, tracePolicy, pool, null);
+    }
+
+    public ExecutionPipeline(ExecutionStrategy strategy, TracePolicy tracePolicy, SessionPool pool,
+                             EngineMetrics metrics) {
+        this.strategy = strategy;
+        this.tracePolicy = tracePolicy;
+        this.pool = pool;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 执行策略
+     *
+     * @return 冲突解决策略
+     */
+    public ExecutionStrategy strategy() {
+        return strategy;
+    }
+
+    /**
+     * 追踪策略
+     *
+     * @return 追踪级别、采样间隔与慢决策阈值
+     */
+    public TracePolicy tracePolicy() {
+        return tracePolicy;
+    }
+
+    /**
+     * 在给定快照上执行一次决策
+     *
+     * @param snapshot 本次决策全程使用的快照
+     * @param matcher  与快照对应的匹配器
+     * @param input    宿主输入的上下文
+     * @return 决策结果
+     */
+    public Decision run(RuleSnapshot snapshot, Matcher matcher, Context input) {
+        if (input == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Execution context cannot be null",
+                    Map.of("context", "engine_execute")
+            );
+        }
+        long start = System.nanoTime();
+        SessionPool.Lease lease = pool == null ? null : pool.acquire();
+        TraceRecorder recorder = TraceRecorder.open(tracePolicy, start);
+        try {
+            return execute(snapshot, matcher, input, start, recorder, lease);
+        } catch (RuntimeException | Error e) {
+            // 轨迹读取会话的变更日志，须在归还会话之前生成
+            EngineFault traced = recorder != null && e instanceof EngineFault fault ? recorder.fail(snapshot, fault) : null;
+            if (lease != null) {
+                lease.release();
+            }
+            if (metrics != null && e instanceof EngineFault fault) {
+                metrics.recordFault(fault);
+            }
+            if (traced != null) {
+                throw traced;
+            }
+            throw e;
+        } finally {
+            if (recorder != null) {
+                recorder.close();
+            }
+        }
+    }
+
+    private Decision execute(RuleSnapshot snapshot, Matcher matcher, Context input, long start, TraceRecorder recorder,
+                             SessionPool.Lease lease) {
+        Context before = lease == null ? SlotContext.view(snapshot.schema(), input) : lease.load(snapshot.schema(), input);
+        DeltaContext facts = lease == null ? new DeltaContext(before) : lease.facts(before);
+        KeyFootprint footprint = snapshot.footprint();
+        BitSet unsatisfiable = footprint.unsatisfiable(footprint.presentSlots(before));
+        EngineSession session = lease == null
+                ? new EngineSession(facts, snapshot.sharedConditionCount(), unsatisfiable)
+                : lease.session(snapshot.sharedConditionCount(), unsatisfiable);
+        long mark = 0;
+        if (metrics != null) {
+            session.observe(metrics.rules(snapshot), metrics.sampleRuleLatency());
+            mark = System.nanoTime();
+            metrics.recordPhase(ExecutionPhase.PRE_EVALUATION, mark - start);
+        }
+
+        session.enter(ExecutionPhase.CONDITION);
+        BitSet matched;
+        List<CompiledRule> agenda;
+        if (strategy == ExecutionStrategy.FIRE_FIRST) {
+            int first = matcher.matchFirst(session, snapshot);
+            matched = new BitSet();
+            if (first >= 0) {
+                matched.set(first);
+            }
+            agenda = first < 0 ? List.of() : List.of(snapshot.rule(first));
+        } else {
+            Matcher effective = matcher instanceof ParallelMatcher && LazyContext.isLazy(before)
+                    ? snapshot.matcher()
+                    : matcher;
+            matched = effective.match(session);
+            agenda = resolve(snapshot, matched);
+        }
+        if (recorder != null) {
+            recorder.matched(matched);
+        }
+        if (metrics != null) {
+            long now = System.nanoTime();
+            metrics.recordPhase(ExecutionPhase.CONDITION, now - mark);
+            mark = now;
+        }
+
+        session.enter(ExecutionPhase.ACTION);
+        MutatorContext mutator = session.mutator().orElseThrow();
+        if (recorder != null) {
+            recorder.watch(facts);
+        }
+        List<String> fired = lease == null ? new ArrayList<>(agenda.size()) : lease.fired();
+        for (CompiledRule rule : agenda) {
+            List<Action> actions = rule.rule().getActions();
+            for (int i = 0; i < actions.size(); i++) {
+                facts.beginAction(rule.id(), i);
+                if (recorder != null) {
+                    recorder.actionStarted(rule.ordinal(), i);
+                }
+                try {
+                    actions.get(i).execute(mutator);
+                } catch (EngineFault e) {
+                    throw rule.attribute(e.at(FaultPath.Kind.ACTION, "action", i));
+                }
+                if (recorder != null) {
+                    recorder.actionExecuted();
+                }
+            }
+            fired.add(rule.id());
+            if (recorder != null) {
+                recorder.ruleFired(rule.ordinal());
+            }
+        }
+        if (metrics != null) {
+            long now = System.nanoTime();
+            metrics.recordPhase(ExecutionPhase.ACTION, now - mark);
+            mark = now;
+        }
+
+        session.enter(ExecutionPhase.POST_ACTION);
+        Context result = session.freeze();
+        long elapsed = System.nanoTime() - start;
+        if (metrics != null) {
+            metrics.recordPhase(ExecutionPhase.POST_ACTION, start + elapsed - mark);
+            metrics.recordDecision(elapsed);
+        }
+        DecisionTrace trace = recorder == null ? null : recorder.complete(snapshot, elapsed);
+        if (lease != null) {
+            before = lease.expose(before);
+            result = lease.expose(result);
+        }
+        return new Decision(fired, matched.cardinality(), before, result, facts.changes(), elapsed, trace, lease);
+    }
+
+    private static List<CompiledRule> resolve(RuleSnapshot snapshot, BitSet matched) {
+        if (matched.isEmpty()) {
+            return List.of();
+        }
+        List<CompiledRule> agenda = new ArrayList<>(matched.cardinality());
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            agenda.add(snapshot.rule(i));
+        }
+        agenda.sort(CompiledRule.AGENDA_ORDER);
+        return agenda;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.session;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.context.ExecutionPhase;
+import io.nebulalogic.core.model.context.MutatorContext;
+import io.nebulalogic.core.runtime.metrics.RuleMetrics;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.session
+ * @ClassName EngineSession.java
+ * @Description 类 EngineSession 的实现描述：单次决策的执行会话 - {@link ExecutionContext} 的内核实现
+ * <ul>
+ *     <li>阶段只能按 {@link ExecutionPhase} 的声明顺序前进，不可回退。</li>
+ *     <li>{@link #context()} 在同一阶段内返回同一个只读视图，离开可写阶段或冻结时刷新，以反映覆盖式上下文的写入；
+ *     写能力只在 ACTION 阶段、且未冻结时授予。</li>
+ *     <li>{@link #freeze()} 是语义锁而非复制：冻结后任何阶段都不再授予写能力。</li>
+ * </ul>
+ * <p>会话还持有本次决策的子条件结果表（{@link #memo()}），供跨规则共享的子条件记录求值结果；
+ * 以及必需事实缺失、无需评估的规则位图（{@link #unsatisfiable()}）；启用指标时还持有本次决策记录规则指标的目标（{@link #ruleMetrics()}）。</p>
+ * <p>会话与一次决策一一对应，只在宿主调用线程上推进阶段；CONDITION 阶段的只读视图可被并行评估安全共享。
+ * 复用模式下由 {@link SessionPool} 在决策之间重置后再次使用；归还之后、下次重置之前，访问上下文或推进阶段都会被拒绝
+ * （{@link EngineErrorCode#CONTEXT_RELEASED}）。</p>
+ * @Date 2026年10月16日 16:08
+ * @Version 1.0.0
+ */
+public final class EngineSession implements ExecutionContext {
+
+    private static final byte[] EMPTY_MEMO = new byte[0];
+
+    private MutatorContext facts;
+
+    private Context view;
+
+    private Optional<MutatorContext> writable;
+
+    private byte[] memo;
+
+    private BitSet unsatisfiable;
+
+    private RuleMetrics[] ruleMetrics;
+
+    private boolean timed;
+
+    private ExecutionPhase phase = ExecutionPhase.PRE_EVALUATION;
+
+    private boolean frozen;
+
+    private boolean released;
+
+    /**
+     * 创建会话
+     *
+     * @param facts 本次决策独占的可写上下文，不应与其他会话共享
+     */
+    public EngineSession(MutatorContext facts) {
+        this(facts, 0);
+    }
+
+    /**
+     * 创建会话并分配子条件结果表
+     *
+     * @param facts    本次决策独占的可写上下文，不应与其他会话共享
+     * @param memoSize 结果表长度，通常为快照的共享子条件数
+     */
+    public EngineSession(MutatorContext facts, int memoSize) {
+        this(facts, memoSize, null);
+    }
+
+    /**
+     * 创建会话并登记无需评估的规则
+     *
+     * @param facts         本次决策独占的可写上下文，不应与其他会话共享
+     * @param memoSize      结果表长度，通常为快照的共享子条件数
+     * @param unsatisfiable 必需事实缺失的规则序号位图，null 表示没有
+     */
+    public EngineSession(MutatorContext facts, int memoSize, BitSet unsatisfiable) {
+        this.facts = facts;
+        this.unsatisfiable = unsatisfiable;
+        this.view = facts.asReadOnly();
+        this.writable = Optional.of(facts);
+        this.memo = memoSize == 0 ? EMPTY_MEMO : new byte[memoSize];
+    }
+
+    /**
+     * 为下一次决策重置会话，复用结果表数组
+     *
+     * @param facts         本次决策独占的可写上下文
+     * @param memoSize      结果表长度
+     * @param unsatisfiable 必需事实缺失的规则序号位图，null 表示没有
+     */
+    void reset(MutatorContext facts, int memoSize, BitSet unsatisfiable) {
+        if (this.facts != facts) {
+            this.facts = facts;
+            this.writable = Optional.of(facts);
+        }
+        this.view = facts.asReadOnly();
+        if (memo.length == memoSize) {
+            Arrays.fill(memo, (byte) 0);
+        } else {
+            this.memo = memoSize == 0 ? EMPTY_MEMO : new byte[memoSize];
+        }
+        this.unsatisfiable = unsatisfiable;
+        this.ruleMetrics = null;
+        this.timed = false;
+        this.phase = ExecutionPhase.PRE_EVALUATION;
+        this.frozen = false;
+        this.released = false;
+    }
+
+    /**
+     * 随租约归还：之后直到下次重置，访问上下文或推进阶段都会被拒绝
+     */
+    void release() {
+        this.released = true;
+    }
+
+    /**
+     * 进入下一执行阶段
+     *
+     * @param next 目标阶段，必须位于当前阶段之后
+     * @throws LogicFault 如果阶段回退或停留
+     */
+    public void enter(ExecutionPhase next) {
+        checkLive();
+        if (next.ordinal() <= phase.ordinal()) {
+            throw new LogicFault(
+                    EngineErrorCode.PHASE_ILLEGAL,
+                    "Execution phase can only move forward",
+                    Map.of("currentPhase", phase.name(), "requestedPhase", next.name())
+            );
+        }
+        boolean leavingWritable = phase.isWritable();
+        this.phase = next;
+        if (leavingWritable) {
+            view = facts.asReadOnly();
+        }
+    }
+
+    @Override
+    public Context context() {
+        checkLive();
+        return view;
+    }
+
+    @Override
+    public Optional<MutatorContext> mutator() {
+        checkLive();
+        return phase.isWritable() && !frozen ? writable : Optional.empty();
+    }
+
+    @Override
+    public ExecutionPhase getPhase() {
+        return phase;
+    }
+
+    @Override
+    public Context freeze() {
+        checkLive();
+        frozen = true;
+        view = facts.asReadOnly();
+        return view;
+    }
+
+    /**
+     * 本次决策的子条件结果表
+     * <p>下标为快照内的共享子条件编号，0 表示尚未求值；只在 CONDITION 阶段读写。</p>
+     *
+     * @return 会话独占的结果表
+     */
+    public byte[] memo() {
+        return memo;
+    }
+
+    /**
+     * 必需事实缺失的规则
+     * <p>会话创建后不再修改，CONDITION 阶段可被并行评估安全共享。</p>
+     *
+     * @return 规则序号位图，调用方不得修改；没有这样的规则时返回null
+     */
+    public BitSet unsatisfiable() {
+        return unsatisfiable;
+    }
+
+    /**
+     * 规则是否因必需事实缺失而无需评估
+     *
+     * @param ordinal 规则序号
+     * @return true 表示规则不可能命中
+     */
+    public boolean isUnsatisfiable(int ordinal) {
+        return unsatisfiable != null && unsatisfiable.get(ordinal);
+    }
+
+    /**
+     * 登记本次决策的规则指标
+     *
+     * @param ruleMetrics 下标为规则序号的指标数组
+     * @param timed       是否对规则评估计时
+     */
+    public void observe(RuleMetrics[] ruleMetrics, boolean timed) {
+        this.ruleMetrics = ruleMetrics;
+        this.timed = timed;
+    }
+
+    /**
+     * 本次决策的规则指标
+     *
+     * @return 下标为规则序号的指标数组，未启用指标时返回null
+     */
+    public RuleMetrics[] ruleMetrics() {
+        return ruleMetrics;
+    }
+
+    /**
+     * 本次决策是否对规则评估计时
+     *
+     * @return true 表示被采样
+     */
+    public boolean isTimed() {
+        return timed;
+    }
+
+    /**
+     * 是否已冻结
+     *
+     * @return true 表示已调用过 {@link #freeze()}
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkLive() {
+        if (released) {
+            throw new LogicFault(
+                    EngineErrorCode.CONTEXT_RELEASED,
+                    "Execution session was used after its decision had been closed",
+                    Map.of("context", "engine_session")
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EngineSession[phase=" + phase + ", frozen=" + frozen + "]";
+    }
+}
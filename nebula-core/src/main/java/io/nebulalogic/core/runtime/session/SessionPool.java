@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.session;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.types.FinancialValue;
+import io.nebulalogic.core.runtime.context.DeltaContext;
+import io.nebulalogic.core.runtime.context.LazyContext;
+import io.nebulalogic.core.runtime.context.PersistentContext;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.session
+ * @ClassName SessionPool.java
+ * @Description 类 SessionPool 的实现描述：决策上下文池 - 复用单次决策的上下文对象图以降低分配
+ * <p>每个 {@link Lease} 持有一次决策所需的可复用对象：输入事实的槽位上下文、覆盖上下文、执行会话及其结果表、触发规则列表。
+ * 租约在决策开始时取出，宿主关闭决策结果时归还；归还时清空全部事实并递增代数，此前发出的上下文视图随即失效，
+ * 之后的任何读取都会被拒绝（{@link EngineErrorCode#CONTEXT_RELEASED}）。持久化输入共享装入复用的槽位上下文，
+ * 按需求值的输入交给宿主时包装为随租约失效的视图，执行会话在归还后同样拒绝访问。</p>
+ * <ul>
+ *     <li><b>无锁：</b>空闲租约存放在定长的原子槽位数组中，以 CAS 取出与归还，不依赖 ThreadLocal，
+ *     平台线程与虚拟线程均可安全使用，也不会为大量虚拟线程各自保留一份对象。</li>
+ *     <li><b>有界：</b>池空时新建租约，池满时丢弃归还的租约；未关闭的决策结果只是不再被复用，不会泄漏。</li>
+ * </ul>
+ * @Date 2026年10月17日 10:06
+ * @Version 1.0.0
+ */
+public final class SessionPool {
+
+    private static final Context EMPTY = new SlotContext(SlotSchema.EMPTY).asReadOnly();
+
+    private final AtomicReferenceArray<Lease> idle;
+
+    /**
+     * 创建上下文池
+     *
+     * @param capacity 最多保留的空闲租约数，通常为并发执行决策的线程数
+     * @throws ConfigurationFault 如果容量不是正数
+     */
+    public SessionPool(int capacity) {
+        if (capacity <= 0) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Context pool capacity must be positive",
+                    Map.of("capacity", capacity)
+            );
+        }
+        this.idle = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * 最多保留的空闲租约数
+     *
+     * @return 池容量
+     */
+    public int capacity() {
+        return idle.length();
+    }
+
+    /**
+     * 取出一个空闲租约，池空时新建
+     *
+     * @return 已登记为使用中的租约
+     */
+    public Lease acquire() {
+        int start = probe();
+        for (int i = 0; i < idle.length(); i++) {
+            int slot = (start + i) % idle.length();
+            if (idle.get(slot) != null) {
+                Lease lease = idle.getAndSet(slot, null);
+                if (lease != null) {
+                    lease.leased = true;
+                    return lease;
+                }
+            }
+        }
+        Lease lease = new Lease(this);
+        lease.leased = true;
+        return lease;
+    }
+
+    private void release(Lease lease) {
+        if (!lease.leased) {
+            throw new LogicFault(
+                    EngineErrorCode.CONTEXT_RELEASED,
+                    "Pooled context has already been released",
+                    Map.of("context", "session_pool")
+            );
+        }
+        lease.leased = false;
+        lease.clear();
+        int start = probe();
+        for (int i = 0; i < idle.length(); i++) {
+            if (idle.compareAndSet((start + i) % idle.length(), null, lease)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 起始槽位按线程分散，减少并发取还时的 CAS 冲突
+     */
+    private int probe() {
+        return (System.identityHashCode(Thread.currentThread()) & Integer.MAX_VALUE) % idle.length();
+    }
+
+    /**
+     * 单次决策的可复用对象图
+     * <p>同一时刻只属于一个决策；{@link #run()} 即归还，供决策结果在关闭时回调。</p>
+     */
+    public static final class Lease implements Runnable {
+
+        private final SessionPool pool;
+
+        private final List<String> fired = new ArrayList<>();
+
+        private SlotContext input;
+
+        private DeltaContext facts;
+
+        private EngineSession session;
+
+        private boolean leased;
+
+        /**
+         * 每次归还递增，{@link LeasedView} 据此判断是否失效
+         */
+        private int generation;
+
+        private Lease(SessionPool pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * 装入决策输入
+         * <p>与 {@link SlotContext#view(SlotSchema, Context)} 语义一致：持久化上下文共享装入、其余来源复制到复用的槽位数组，
+         * 槽位表变化（快照切换）时重建数组；按需求值的上下文取其只读委托，交给宿主前经 {@link #expose(Context)} 包装。</p>
+         *
+         * @param schema 快照的槽位表
+         * @param source 宿主输入
+         * @return 决策前的只读事实视图
+         */
+        public Context load(SlotSchema schema, Context source) {
+            if (LazyContext.isLazy(source)) {
+                return source.asReadOnly();
+            }
+            if (input == null || input.schema() != schema) {
+                input = new SlotContext(schema);
+            }
+            if (source instanceof PersistentContext persistent) {
+                return input.share(persistent).asReadOnly();
+            }
+            return input.refill(source).asReadOnly();
+        }
+
+        /**
+         * 交给宿主的上下文：宿主自有的按需求值上下文包装为随租约归还而失效的视图，其余上下文本身即随租约失效
+         *
+         * @param context 决策前或决策后的事实视图
+         * @return 归还后拒绝读取的视图
+         */
+        public Context expose(Context context) {
+            return LazyContext.isLazy(context) ? new LeasedView(this, context) : context;
+        }
+
+        /**
+         * 以给定基底重置复用的覆盖上下文
+         *
+         * @param before 决策前的只读事实视图
+         * @return 本次决策的可写上下文
+         */
+        public DeltaContext facts(Context before) {
+            if (facts == null) {
+                facts = new DeltaContext(before);
+            } else {
+                facts.reset(before);
+            }
+            return facts;
+        }
+
+        /**
+         * 重置复用的执行会话，须在 {@link #facts(Context)} 之后调用
+         *
+         * @param memoSize      结果表长度
+         * @param unsatisfiable 必需事实缺失的规则序号位图，null 表示没有
+         * @return 本次决策的执行会话
+         */
+        public EngineSession session(int memoSize, BitSet unsatisfiable) {
+            if (session == null) {
+                session = new EngineSession(facts, memoSize, unsatisfiable);
+            } else {
+                session.reset(facts, memoSize, unsatisfiable);
+            }
+            return session;
+        }
+
+        /**
+         * 清空后的触发规则列表
+         *
+         * @return 复用的可变列表
+         */
+        public List<String> fired() {
+            fired.clear();
+            return fired;
+        }
+
+        /**
+         * 归还租约
+         *
+         * @throws LogicFault 如果租约已被归还
+         */
+        public void release() {
+            pool.release(this);
+        }
+
+        @Override
+        public void run() {
+            release();
+        }
+
+        /**
+         * 清空全部事实引用，使已发出的视图失效
+         */
+        private void clear() {
+            generation++;
+            if (session != null) {
+                session.release();
+            }
+            if (input != null) {
+                input.reset();
+            }
+            if (facts != null) {
+                facts.reset(EMPTY);
+            }
+            fired.clear();
+        }
+    }
+
+    /**
+     * 宿主自有上下文的租约视图：只读委托，租约归还后拒绝读取
+     */
+    private static final class LeasedView implements Context {
+
+        private final Lease lease;
+
+        private final int generation;
+
+        private final Context target;
+
+        LeasedView(Lease lease, Context target) {
+            this.lease = lease;
+            this.generation = lease.generation;
+            this.target = target;
+        }
+
+        @Override
+        public Object get(String key) {
+            return live().get(key);
+        }
+
+        @Override
+        public FinancialValue getFinancial(String key) {
+            return live().getFinancial(key);
+        }
+
+        @Override
+        public Map<String, Object> asMap() {
+            return live().asMap();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return live().keySet();
+        }
+
+        @Override
+        public Context asReadOnly() {
+            return this;
+        }
+
+        private Context live() {
+            if (lease.generation != generation) {
+                throw new LogicFault(
+                        EngineErrorCode.CONTEXT_RELEASED,
+                        "Context view was used after its decision had been closed",
+                        Map.of("context", "session_pool")
+                );
+            }
+            return target;
+        }
+
+        @Override
+        public String toString() {
+            return "LeasedView[" + target + "]";
+        }
+    }
+}
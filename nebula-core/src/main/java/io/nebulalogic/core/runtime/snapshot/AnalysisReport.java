@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName AnalysisReport.java
+ * @Description 类 AnalysisReport 的实现描述：快照构建期静态分析报告
+ * <p>各列表按规则声明顺序排列，均为不可变集合：</p>
+ * <ul>
+ *     <li>{@code disabledRules}：{@code isEnabled() == false}，未进入快照；</li>
+ *     <li>{@code deadRules}：条件折叠后恒假、永远不会命中，未进入快照；</li>
+ *     <li>{@code simplifiedRules}：条件经常量折叠或双重否定消除后被简化；</li>
+ *     <li>{@code shadowedRules}：首次命中策略下被遮蔽的规则ID到遮蔽它的规则ID - 遮蔽规则排在其前，
+ *     且其顶层合取项是被遮蔽规则的子集，后者命中时前者必然命中。该项只报告，不改变快照。</li>
+ * </ul>
+ * @Date 2026年10月16日 19:08
+ * @Version 1.0.0
+ */
+public record AnalysisReport(List<String> disabledRules,
+                             List<String> deadRules,
+                             List<String> simplifiedRules,
+                             Map<String, String> shadowedRules) {
+
+    public AnalysisReport {
+        disabledRules = List.copyOf(disabledRules);
+        deadRules = List.copyOf(deadRules);
+        simplifiedRules = List.copyOf(simplifiedRules);
+        shadowedRules = Map.copyOf(shadowedRules);
+    }
+
+    /**
+     * 是否没有任何发现
+     *
+     * @return true 表示所有规则均已启用、可能命中、无需简化且未被遮蔽
+     */
+    public boolean isClean() {
+        return disabledRules.isEmpty() && deadRules.isEmpty() && simplifiedRules.isEmpty() && shadowedRules.isEmpty();
+    }
+}
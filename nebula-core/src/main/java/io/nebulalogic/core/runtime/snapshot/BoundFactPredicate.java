@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.FactPredicate;
+import io.nebulalogic.core.model.rule.condition.NodeKind;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName BoundFactPredicate.java
+ * @Description 类 BoundFactPredicate 的实现描述：绑定槽位的事实谓词 - FactPredicate 的可执行形态
+ * <p>在快照构建时将键名解析为 {@link SlotSchema} 中的槽位；执行期对同一槽位表或其追加扩展（{@link SlotSchema#extendsFrom(SlotSchema)}）的
+ * {@link SlotContext} 直接按下标读取，其他 Context 实现回退到键名查找，语义与源谓词完全一致。</p>
+ * <p>相等性委托给源谓词，因此结构相同的谓词在位图、索引中仍被识别为同一个。</p>
+ * @Date 2026年10月16日 14:40
+ * @Version 1.0.0
+ */
+public final class BoundFactPredicate implements ConditionNode {
+
+    private final FactPredicate source;
+
+    private final SlotSchema schema;
+
+    private final int slot;
+
+    private final boolean numeric;
+
+    BoundFactPredicate(FactPredicate source, SlotSchema schema) {
+        this.source = source;
+        this.schema = schema;
+        this.slot = schema.slotOf(source.key());
+        this.numeric = source.isNumeric();
+    }
+
+    /**
+     * 源事实谓词
+     *
+     * @return 模型层的谓词定义
+     */
+    public FactPredicate source() {
+        return source;
+    }
+
+    /**
+     * 绑定的槽位
+     *
+     * @return 槽位下标
+     */
+    public int slot() {
+        return slot;
+    }
+
+    /**
+     * 从上下文读取本谓词所需的事实（数值谓词返回 FinancialValue）
+     *
+     * @param context 只读上下文
+     * @return 事实值，不存在时返回null
+     */
+    public Object read(Context context) {
+        return numeric
+                ? SlotContext.readFinancial(context, schema, slot, source.key())
+                : SlotContext.read(context, schema, slot, source.key());
+    }
+
+    @Override
+    public NodeKind kind() {
+        return NodeKind.PREDICATE;
+    }
+
+    @Override
+    public List<ConditionNode> operands() {
+        return List.of();
+    }
+
+    @Override
+    public boolean evaluate(ExecutionContext ctx) {
+        return source.test(read(ctx.context()));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof BoundFactPredicate other && source.equals(other.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return source.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return source.toString();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.FaultPath;
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+
+import java.util.Comparator;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName CompiledRule.java
+ * @Description 类 CompiledRule 的实现描述：编译后的规则 - 规则快照中的不可变执行单元
+ * <p>持有原始 {@link Rule}、条件语法树的两种形态以及在快照内的序号（ordinal）：</p>
+ * <ul>
+ *     <li>{@link #condition()}：模型层语法树，供索引、静态分析等构建期结构读取；</li>
+ *     <li>{@link #executable()}：绑定槽位后的可执行树，执行期求值使用。</li>
+ * </ul>
+ * <p>序号是匹配器位图、索引的统一下标，快照内从 0 连续编号。</p>
+ * @Date 2026年10月16日 13:10
+ * @Version 1.0.0
+ */
+public final class CompiledRule {
+
+    /**
+     * 待执行顺序：按优先级升序，优先级相同时按序号（即声明顺序）
+     */
+    public static final Comparator<CompiledRule> AGENDA_ORDER =
+            Comparator.comparingInt((CompiledRule rule) -> rule.rule().getPriority())
+                    .thenComparingInt(CompiledRule::ordinal);
+
+    private final Rule rule;
+
+    private final ConditionNode condition;
+
+    private final ConditionNode executable;
+
+    private final int ordinal;
+
+    CompiledRule(Rule rule, ConditionNode condition, ConditionNode executable, int ordinal) {
+        this.rule = rule;
+        this.condition = condition;
+        this.executable = executable;
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * 原始规则定义
+     *
+     * @return 规则
+     */
+    public Rule rule() {
+        return rule;
+    }
+
+    /**
+     * 规则ID
+     *
+     * @return 规则ID
+     */
+    public String id() {
+        return rule.getId();
+    }
+
+    /**
+     * 规则条件的语法树
+     *
+     * @return 条件根节点
+     */
+    public ConditionNode condition() {
+        return condition;
+    }
+
+    /**
+     * 绑定槽位后的可执行条件树
+     *
+     * @return 可执行条件根节点
+     */
+    public ConditionNode executable() {
+        return executable;
+    }
+
+    /**
+     * 规则在快照内的序号
+     *
+     * @return 从 0 开始的序号
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+
+    /**
+     * 以新的规则实例与序号复用已编译的条件树
+     * <p>增量重建快照时使用：ID 与版本未变的规则不再重新解析、绑定条件。</p>
+     *
+     * @param rule    新规则集中的规则实例
+     * @param ordinal 新快照内的序号
+     * @return 规则实例与序号均未变化时返回当前实例，否则返回共享条件树的新实例
+     */
+    CompiledRule rebase(Rule rule, int ordinal) {
+        if (this.rule == rule && this.ordinal == ordinal) {
+            return this;
+        }
+        return new CompiledRule(rule, condition, executable, ordinal);
+    }
+
+    /**
+     * 评估规则条件
+     * <p>条件抛出的故障会在其路径上记录规则ID后继续向上传播。跳过必需事实缺失的规则与记录规则指标由匹配器负责。</p>
+     *
+     * @param ctx 只读执行上下文
+     * @return true 表示规则命中
+     */
+    public boolean evaluate(ExecutionContext ctx) {
+        try {
+            return executable.evaluate(ctx);
+        } catch (EngineFault e) {
+            throw attribute(e);
+        }
+    }
+
+    /**
+     * 为故障补充当前规则的诊断信息
+     * <p>规则ID记录为故障路径的最外层节点（经 {@link EngineFault#getRuleId()} 读取），只复制故障外壳而不重新包装；
+     * 已归属其他规则的故障保持不变。</p>
+     *
+     * @param fault 原始故障
+     * @return 补充诊断信息后的故障
+     */
+    public EngineFault attribute(EngineFault fault) {
+        if (fault.getRuleId() == null) {
+            return fault.at(FaultPath.Kind.RULE, id(), ordinal);
+        }
+        return fault;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledRule[" + ordinal + ":" + id() + "]";
+    }
+}
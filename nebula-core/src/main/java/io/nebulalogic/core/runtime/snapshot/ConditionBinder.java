@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import io.nebulalogic.core.model.rule.condition.AndCondition;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.FactPredicate;
+import io.nebulalogic.core.model.rule.condition.NodeKind;
+import io.nebulalogic.core.model.rule.condition.NotCondition;
+import io.nebulalogic.core.model.rule.condition.OrCondition;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.dsl.DslCondition;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName ConditionBinder.java
+ * @Description 类 ConditionBinder 的实现描述：条件绑定器 - 将模型层条件树改写为绑定槽位的可执行树
+ * <ul>
+ *     <li>{@link FactPredicate} 改写为 {@link BoundFactPredicate}，{@link DslCondition} 按槽位表重新编译，其余叶子原样保留。</li>
+ *     <li>没有任何叶子被改写的子树原样复用，不产生新对象。</li>
+ *     <li>同一子树实例在多个规则中被引用时只改写一次（按实例身份缓存）。</li>
+ * </ul>
+ * @Date 2026年10月16日 14:48
+ * @Version 1.0.0
+ */
+final class ConditionBinder {
+
+    private final SlotSchema schema;
+
+    private final Map<ConditionNode, ConditionNode> bound = new IdentityHashMap<>();
+
+    ConditionBinder(SlotSchema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * 收集条件树中事实谓词与 DSL 条件读取的全部键名，按首次出现顺序追加到目标集合
+     *
+     * @param condition 条件根节点
+     * @param keys      目标集合
+     */
+    static void collectKeys(ConditionNode condition, Set<String> keys) {
+        if (condition instanceof FactPredicate fact) {
+            keys.add(fact.key());
+            return;
+        }
+        if (condition instanceof DslCondition dsl) {
+            keys.addAll(dsl.keys());
+            return;
+        }
+        for (ConditionNode operand : condition.operands()) {
+            collectKeys(operand, keys);
+        }
+    }
+
+    /**
+     * 由一组条件树生成槽位表
+     *
+     * @param conditions 条件根节点集合
+     * @return 槽位表
+     */
+    static SlotSchema schemaOf(Collection<ConditionNode> conditions) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (ConditionNode condition : conditions) {
+            collectKeys(condition, keys);
+        }
+        return SlotSchema.of(keys);
+    }
+
+    /**
+     * 改写条件树
+     *
+     * @param node 模型层条件节点
+     * @return 可执行条件节点
+     */
+    ConditionNode bind(ConditionNode node) {
+        ConditionNode cached = bound.get(node);
+        if (cached != null) {
+            return cached;
+        }
+        ConditionNode result = rewrite(node);
+        bound.put(node, result);
+        return result;
+    }
+
+    private ConditionNode rewrite(ConditionNode node) {
+        if (node instanceof FactPredicate fact) {
+            return new BoundFactPredicate(fact, schema);
+        }
+        if (node instanceof DslCondition dsl) {
+            return dsl.bind(schema);
+        }
+        if (!node.kind().isComposite()) {
+            return node;
+        }
+        List<ConditionNode> operands = node.operands();
+        ConditionNode[] rewritten = new ConditionNode[operands.size()];
+        boolean changed = false;
+        for (int i = 0; i < rewritten.length; i++) {
+            rewritten[i] = bind(operands.get(i));
+            changed |= rewritten[i] != operands.get(i);
+        }
+        if (!changed) {
+            return node;
+        }
+        if (node.kind() == NodeKind.AND) {
+            return AndCondition.ofAll(rewritten);
+        }
+        if (node.kind() == NodeKind.OR) {
+            return OrCondition.ofAll(rewritten);
+        }
+        return new NotCondition(rewritten[0]);
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.FactOperator;
+import io.nebulalogic.core.model.rule.condition.FactPredicate;
+import io.nebulalogic.core.model.rule.condition.NodeKind;
+import io.nebulalogic.core.runtime.context.LazyContext;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.dsl.DslCondition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName KeyFootprint.java
+ * @Description 类 KeyFootprint 的实现描述：规则的事实键足迹 - 以槽位位图描述每条规则读取与必需的键
+ * <ul>
+ *     <li><b>读取足迹：</b>条件中事实谓词与 DSL 表达式引用的全部键。</li>
+ *     <li><b>必需键：</b>缺失即可断定条件为假的键。除 {@code !=} 外的事实谓词在事实缺失时为假；
+ *     AND 取各分支的并集，OR 取交集，NOT、DSL 与具名谓词不贡献必需键。</li>
+ * </ul>
+ * <p>执行期先一次性求出输入上下文的在场键位图（{@link #presentSlots(Context)}），再按槽位的反向索引
+ * 得到必需键缺失的规则（{@link #unsatisfiable(BitSet)}），匹配器不再逐条评估这些规则，其条件故障也不会出现。</p>
+ * <p>具名谓词读取的键无法静态得知，此时 {@link #isComplete()} 为 false，{@link #keys()} 只是下界。</p>
+ * <p>增量构建快照时经 {@link #update(List, SlotSchema, BitSet)} 只重新计算变更序号的足迹，其余规则的位图与槽位反向索引按引用共享，
+ * 被修改的反向索引项先复制再修改，上一快照的足迹保持不变。</p>
+ * @Date 2026年10月17日 09:52
+ * @Version 1.0.0
+ */
+public final class KeyFootprint {
+
+    private final SlotSchema schema;
+
+    private final int ruleCount;
+
+    private final BitSet[] reads;
+
+    private final BitSet[] required;
+
+    /**
+     * 含读取键未知的谓词的规则
+     */
+    private final BitSet opaque;
+
+    /**
+     * readers[slot]：读取该槽位的规则数
+     */
+    private final int[] readers;
+
+    /**
+     * index[slot]：必需该槽位的规则序号位图，没有规则必需时为null或空
+     */
+    private final BitSet[] index;
+
+    /**
+     * 至少被一条规则必需的槽位
+     */
+    private final int[] requiredSlots;
+
+    /**
+     * requiredBy[i]：必需槽位 requiredSlots[i] 的规则序号位图
+     */
+    private final BitSet[] requiredBy;
+
+    private final Set<String> keys;
+
+    private final boolean complete;
+
+    KeyFootprint(List<CompiledRule> rules, SlotSchema schema) {
+        this(null, rules, schema, allOrdinals(rules.size()));
+    }
+
+    /**
+     * @param base    上一快照的足迹，null 表示全量计算
+     * @param changed 需要重新计算的序号，可包含已不在 rules 中的旧序号
+     */
+    private KeyFootprint(KeyFootprint base, List<CompiledRule> rules, SlotSchema schema, BitSet changed) {
+        this.schema = schema;
+        this.ruleCount = rules.size();
+        int slotCount = schema.size();
+        this.reads = base == null ? new BitSet[ruleCount] : Arrays.copyOf(base.reads, ruleCount);
+        this.required = base == null ? new BitSet[ruleCount] : Arrays.copyOf(base.required, ruleCount);
+        this.opaque = base == null ? new BitSet(ruleCount) : (BitSet) base.opaque.clone();
+        this.readers = base == null ? new int[slotCount] : Arrays.copyOf(base.readers, slotCount);
+        this.index = base == null ? new BitSet[slotCount] : Arrays.copyOf(base.index, slotCount);
+        BitSet owned = new BitSet(slotCount);
+        if (base != null) {
+            for (int o = changed.nextSetBit(0); o >= 0 && o < base.ruleCount; o = changed.nextSetBit(o + 1)) {
+                BitSet read = base.reads[o];
+                for (int slot = read.nextSetBit(0); slot >= 0; slot = read.nextSetBit(slot + 1)) {
+                    readers[slot]--;
+                }
+                BitSet need = base.required[o];
+                for (int slot = need.nextSetBit(0); slot >= 0; slot = need.nextSetBit(slot + 1)) {
+                    own(slot, owned).clear(o);
+                }
+                opaque.clear(o);
+            }
+        }
+        for (int o = changed.nextSetBit(0); o >= 0 && o < ruleCount; o = changed.nextSetBit(o + 1)) {
+            ConditionNode condition = rules.get(o).condition();
+            BitSet read = new BitSet();
+            if (collectReads(condition, read)) {
+                opaque.set(o);
+            }
+            BitSet need = requiredOf(condition);
+            reads[o] = read;
+            required[o] = need;
+            for (int slot = read.nextSetBit(0); slot >= 0; slot = read.nextSetBit(slot + 1)) {
+                readers[slot]++;
+            }
+            for (int slot = need.nextSetBit(0); slot >= 0; slot = need.nextSetBit(slot + 1)) {
+                own(slot, owned).set(o);
+            }
+        }
+        List<Integer> slots = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (index[slot] != null && !index[slot].isEmpty()) {
+                slots.add(slot);
+            }
+            if (readers[slot] > 0) {
+                names.add(schema.keyAt(slot));
+            }
+        }
+        this.requiredSlots = new int[slots.size()];
+        this.requiredBy = new BitSet[slots.size()];
+        for (int i = 0; i < requiredSlots.length; i++) {
+            requiredSlots[i] = slots.get(i);
+            requiredBy[i] = index[requiredSlots[i]];
+        }
+        this.keys = Set.copyOf(names);
+        this.complete = opaque.isEmpty();
+    }
+
+    /**
+     * 增量计算新快照的足迹
+     *
+     * @param rules   新快照按序号排列的规则
+     * @param schema  新快照的槽位表，必须是本足迹槽位表的追加扩展
+     * @param changed 条件发生变化、新增或被移除的序号，其余序号的条件必须与本足迹一致
+     * @return 新的足迹，本实例不变
+     */
+    KeyFootprint update(List<CompiledRule> rules, SlotSchema schema, BitSet changed) {
+        return new KeyFootprint(this, rules, schema, changed);
+    }
+
+    /**
+     * 全部规则读取的键的并集
+     * <p>宿主可据此只组装规则用得到的事实；{@link #isComplete()} 为 false 时具名谓词可能还会读取其他键。</p>
+     *
+     * @return 不可变的键集合
+     */
+    public Set<String> keys() {
+        return keys;
+    }
+
+    /**
+     * 足迹是否完整
+     *
+     * @return true 表示没有规则包含读取键未知的具名谓词
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * 规则读取的槽位
+     *
+     * @param ordinal 规则序号
+     * @return 槽位位图的副本
+     */
+    public BitSet readSlots(int ordinal) {
+        return (BitSet) reads[ordinal].clone();
+    }
+
+    /**
+     * 规则必需的槽位
+     *
+     * @param ordinal 规则序号
+     * @return 槽位位图的副本，任一槽位的事实缺失时规则不可能命中
+     */
+    public BitSet requiredSlots(int ordinal) {
+        return (BitSet) required[ordinal].clone();
+    }
+
+    /**
+     * 输入上下文的在场键位图
+     * <p>只检查被规则必需的槽位。同一槽位表（或其追加扩展）的 {@link SlotContext} 按下标判断；{@link LazyContext} 以已注册的键判断，
+     * 不触发提供者；其他上下文经 {@link Context#contains(String)} 判断。</p>
+     *
+     * @param ctx 决策输入
+     * @return 在场槽位的位图
+     */
+    public BitSet presentSlots(Context ctx) {
+        BitSet present = new BitSet(schema.size());
+        SlotContext slots = ctx instanceof SlotContext slotCtx && slotCtx.schema().extendsFrom(schema) ? slotCtx : null;
+        Set<String> registered = LazyContext.isLazy(ctx) ? ctx.keySet() : null;
+        for (int slot : requiredSlots) {
+            boolean found;
+            if (slots != null) {
+                found = slots.getSlot(slot) != null;
+            } else if (registered != null) {
+                found = registered.contains(schema.keyAt(slot));
+            } else {
+                found = ctx.contains(schema.keyAt(slot));
+            }
+            if (found) {
+                present.set(slot);
+            }
+        }
+        return present;
+    }
+
+    /**
+     * 必需键缺失的规则
+     *
+     * @param present 在场槽位位图
+     * @return 不可能命中的规则序号位图，没有这样的规则时返回null
+     */
+    public BitSet unsatisfiable(BitSet present) {
+        BitSet result = null;
+        for (int i = 0; i < requiredSlots.length; i++) {
+            if (!present.get(requiredSlots[i])) {
+                if (result == null) {
+                    result = new BitSet(ruleCount);
+                }
+                result.or(requiredBy[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 收集读取的槽位
+     *
+     * @return true 表示遇到读取键未知的谓词
+     */
+    private boolean collectReads(ConditionNode node, BitSet read) {
+        if (node instanceof FactPredicate fact) {
+            markSlot(fact.key(), read);
+            return false;
+        }
+        if (node instanceof DslCondition dsl) {
+            for (String key : dsl.keys()) {
+                markSlot(key, read);
+            }
+            return false;
+        }
+        boolean opaque = node.kind() == NodeKind.PREDICATE;
+        for (ConditionNode operand : node.operands()) {
+            opaque |= collectReads(operand, read);
+        }
+        return opaque;
+    }
+
+    private BitSet requiredOf(ConditionNode node) {
+        BitSet need = new BitSet();
+        if (node instanceof FactPredicate fact) {
+            if (fact.operator() != FactOperator.NE) {
+                markSlot(fact.key(), need);
+            }
+            return need;
+        }
+        if (node.kind() == NodeKind.AND) {
+            for (ConditionNode operand : node.operands()) {
+                need.or(requiredOf(operand));
+            }
+        } else if (node.kind() == NodeKind.OR) {
+            List<ConditionNode> operands = node.operands();
+            if (operands.isEmpty()) {
+                return need;
+            }
+            need.or(requiredOf(operands.get(0)));
+            for (int i = 1; i < operands.size() && !need.isEmpty(); i++) {
+                need.and(requiredOf(operands.get(i)));
+            }
+        }
+        return need;
+    }
+
+    /**
+     * 取得可修改的反向索引项：从上一足迹继承的位图先复制
+     */
+    private BitSet own(int slot, BitSet owned) {
+        if (!owned.get(slot)) {
+            index[slot] = index[slot] == null ? new BitSet(ruleCount) : (BitSet) index[slot].clone();
+            owned.set(slot);
+        }
+        return index[slot];
+    }
+
+    private static BitSet allOrdinals(int count) {
+        BitSet all = new BitSet(count);
+        all.set(0, count);
+        return all;
+    }
+
+    private void markSlot(String key, BitSet slots) {
+        int slot = schema.slotOf(key);
+        if (slot >= 0) {
+            slots.set(slot);
+        }
+    }
+}
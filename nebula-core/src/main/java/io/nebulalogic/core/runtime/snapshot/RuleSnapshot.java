@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.matcher.Matcher;
+import io.nebulalogic.core.runtime.matcher.MatcherMode;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName RuleSnapshot.java
+ * @Description 类 RuleSnapshot 的实现描述：不可变规则快照 - 引擎初始化完成后持有的全部规则与预计算结构
+ * <p>构建时按 {@link CompiledRule#AGENDA_ORDER} 预排出规则序号（{@link #priorityOrder()}），首次命中策略据此按优先级评估并提前结束；
+ * 同时计算每条规则的事实键足迹（{@link #footprint()}）。</p>
+ * <p>遮蔽分析（{@link #analysis()}）需两两比较规则的合取项，首次读取时才计算，不占用发布路径。</p>
+ * <p>快照一经构建即不可变，可被任意数量的执行线程无锁共享（C-RUNTIME-004）。</p>
+ * @Date 2026年10月16日 13:45
+ * @Version 1.0.0
+ */
+public final class RuleSnapshot {
+
+    private final List<CompiledRule> rules;
+
+    private final SlotSchema schema;
+
+    private final MatcherMode matcherMode;
+
+    private final Matcher matcher;
+
+    private final int sharedConditionCount;
+
+    private final int[] priorityOrder;
+
+    /**
+     * 构建期已确定的分析结果，遮蔽关系留空
+     */
+    private final AnalysisReport findings;
+
+    private volatile AnalysisReport analysis;
+
+    private final KeyFootprint footprint;
+
+    private final Map<ConditionNode, SharedCondition> sharedConditions;
+
+    private final int drift;
+
+    /**
+     * @param matcher          匹配器，null 表示按匹配模式新建
+     * @param footprint        键足迹，null 表示重新计算
+     * @param sharedConditions 共享节点登记表，见 {@link SharedConditionPlanner#registry()}
+     * @param findings         剔除与简化的规则，遮蔽关系留空
+     * @param drift            自上次全量构建以来增量替换的规则数
+     */
+    RuleSnapshot(List<CompiledRule> rules, SlotSchema schema, MatcherMode matcherMode, Matcher matcher,
+                 KeyFootprint footprint, Map<ConditionNode, SharedCondition> sharedConditions,
+                 int sharedConditionCount, AnalysisReport findings, int drift) {
+        this.rules = List.copyOf(rules);
+        this.schema = schema;
+        this.matcherMode = matcherMode;
+        this.sharedConditions = sharedConditions;
+        this.sharedConditionCount = sharedConditionCount;
+        this.priorityOrder = priorityOrder(this.rules);
+        this.findings = findings;
+        this.drift = drift;
+        this.footprint = footprint != null ? footprint : new KeyFootprint(this.rules, schema);
+        this.matcher = matcher != null ? matcher : matcherMode.create(this.rules);
+    }
+
+    private static int[] priorityOrder(List<CompiledRule> rules) {
+        CompiledRule[] sorted = rules.toArray(new CompiledRule[0]);
+        Arrays.sort(sorted, CompiledRule.AGENDA_ORDER);
+        int[] order = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            order[i] = sorted[i].ordinal();
+        }
+        return order;
+    }
+
+    /**
+     * 按序号排列的编译规则
+     *
+     * @return 不可变列表
+     */
+    public List<CompiledRule> rules() {
+        return rules;
+    }
+
+    /**
+     * 按序号获取规则
+     *
+     * @param ordinal 规则序号
+     * @return 编译规则
+     */
+    public CompiledRule rule(int ordinal) {
+        return rules.get(ordinal);
+    }
+
+    /**
+     * 规则数量
+     *
+     * @return 快照内的规则数
+     */
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * 快照的事实槽位表
+     * <p>以此槽位表创建的 {@code SlotContext} 可让条件按下标直接读取事实。</p>
+     *
+     * @return 槽位表
+     */
+    public SlotSchema schema() {
+        return schema;
+    }
+
+    /**
+     * 按待执行顺序排列的规则序号
+     * <p>返回快照内部数组以避免复制，调用方不得修改。</p>
+     *
+     * @return 第 i 个元素为待执行顺序中第 i 条规则的序号
+     */
+    public int[] priorityOrder() {
+        return priorityOrder;
+    }
+
+    /**
+     * 构建期静态分析报告
+     *
+     * @return 被剔除、被简化与被遮蔽的规则
+     */
+    public AnalysisReport analysis() {
+        AnalysisReport report = analysis;
+        if (report == null) {
+            report = new AnalysisReport(findings.disabledRules(), findings.deadRules(), findings.simplifiedRules(),
+                    StaticAnalyzer.shadowed(rules));
+            analysis = report;
+        }
+        return report;
+    }
+
+    /**
+     * 条件被简化的规则，不触发遮蔽分析
+     */
+    List<String> simplifiedRules() {
+        return findings.simplifiedRules();
+    }
+
+    Map<ConditionNode, SharedCondition> sharedConditions() {
+        return sharedConditions;
+    }
+
+    int drift() {
+        return drift;
+    }
+
+    /**
+     * 规则的事实键足迹
+     * <p>执行期据此在评估前排除必需事实缺失的规则；{@link KeyFootprint#keys()} 是全部规则读取的键。</p>
+     *
+     * @return 键足迹
+     */
+    public KeyFootprint footprint() {
+        return footprint;
+    }
+
+    /**
+     * 共享子条件的编号上界
+     * <p>执行期据此分配单次决策的子条件结果表，见 {@link SharedCondition}。</p>
+     *
+     * @return 结果表长度，没有跨规则重复的子条件时为 0
+     */
+    public int sharedConditionCount() {
+        return sharedConditionCount;
+    }
+
+    /**
+     * 快照采用的匹配模式
+     *
+     * @return 匹配模式
+     */
+    public MatcherMode matcherMode() {
+        return matcherMode;
+    }
+
+    /**
+     * 快照绑定的匹配器
+     *
+     * @return 匹配器
+     */
+    public Matcher matcher() {
+        return matcher;
+    }
+
+    /**
+     * 计算匹配集
+     *
+     * @param ctx 处于 CONDITION 阶段的只读执行上下文
+     * @return 命中规则的序号位图
+     */
+    public BitSet match(ExecutionContext ctx) {
+        return matcher.match(ctx);
+    }
+}
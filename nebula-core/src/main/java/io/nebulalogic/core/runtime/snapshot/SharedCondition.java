@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import io.nebulalogic.core.model.context.ExecutionContext;
+import io.nebulalogic.core.model.context.ExecutionPhase;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.NodeKind;
+import io.nebulalogic.core.runtime.session.EngineSession;
+
+import java.util.List;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName SharedCondition.java
+ * @Description 类 SharedCondition 的实现描述：跨规则共享的子条件 - 单次决策内最多求值一次
+ * <p>快照构建时，结构相同、在规则集中出现两次及以上的子条件被替换为同一个本节点，并分配快照内唯一的编号。
+ * CONDITION 阶段求值时，结果记录在 {@link EngineSession#memo()} 的对应下标中，后续规则直接读取。</p>
+ * <ul>
+ *     <li><b>透明：</b>{@link #kind()} 与 {@link #operands()} 委托给原子条件，匹配器与静态分析看到的结构不变；故障原样传播，不记录结果。</li>
+ *     <li><b>前提：</b>依赖 {@code Rule.getCondition()} 幂等、无副作用的契约，同一事实下的重复求值结果必然相同。</li>
+ *     <li><b>并行：</b>并行评估时多个线程可能同时写入同一下标，写入值必然相同，最坏情况只是重复求值一次。</li>
+ * </ul>
+ * <p>非 CONDITION 阶段或非引擎会话的上下文中直接求值原子条件，不做记录。</p>
+ * @Date 2026年10月16日 18:52
+ * @Version 1.0.0
+ */
+public final class SharedCondition implements ConditionNode {
+
+    private static final byte UNKNOWN = 0;
+
+    private static final byte TRUE = 1;
+
+    private static final byte FALSE = 2;
+
+    private final ConditionNode delegate;
+
+    private final int id;
+
+    SharedCondition(ConditionNode delegate, int id) {
+        this.delegate = delegate;
+        this.id = id;
+    }
+
+    /**
+     * 被共享的原子条件
+     *
+     * @return 绑定后的可执行子树
+     */
+    public ConditionNode delegate() {
+        return delegate;
+    }
+
+    /**
+     * 快照内的共享编号
+     *
+     * @return 结果表下标
+     */
+    public int id() {
+        return id;
+    }
+
+    @Override
+    public NodeKind kind() {
+        return delegate.kind();
+    }
+
+    @Override
+    public List<ConditionNode> operands() {
+        return delegate.operands();
+    }
+
+    @Override
+    public boolean evaluate(ExecutionContext ctx) {
+        if (ctx instanceof EngineSession session && session.getPhase() == ExecutionPhase.CONDITION) {
+            byte[] memo = session.memo();
+            if (id < memo.length) {
+                byte known = memo[id];
+                if (known != UNKNOWN) {
+                    return known == TRUE;
+                }
+                boolean value = delegate.evaluate(ctx);
+                memo[id] = value ? TRUE : FALSE;
+                return value;
+            }
+        }
+        return delegate.evaluate(ctx);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof SharedCondition other && delegate.equals(other.delegate);
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import io.nebulalogic.core.model.rule.condition.AndCondition;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.NodeKind;
+import io.nebulalogic.core.model.rule.condition.NotCondition;
+import io.nebulalogic.core.model.rule.condition.OrCondition;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName SharedConditionPlanner.java
+ * @Description 类 SharedConditionPlanner 的实现描述：公共子条件消除 - 为跨规则重复出现的子条件分配 {@link SharedCondition}
+ * <p>先统计全部可执行树中每个候选子树（AND / OR 组合，以及槽位谓词以外的不透明谓词）的结构出现次数，
+ * 再改写新编译的规则：出现两次及以上的子树替换为同一个共享节点。</p>
+ * <ul>
+ *     <li>槽位谓词（{@link BoundFactPredicate}）求值只是一次下标读取与比较，记录结果并不更快，且需保持其类型以供索引识别，因此不参与。</li>
+ *     <li>全量构建对全部规则重新规划，编号从 0 紧凑分配：复用规则的可执行树须先经 {@link #strip(ConditionNode)}
+ *     剥离上一快照的共享节点，避免编号与单次决策的结果表随发布次数增长。</li>
+ *     <li>增量构建只规划变更的规则：以上一快照的共享节点登记表为起点（{@link #SharedConditionPlanner(Map, int)}），
+ *     与已有共享节点结构相同的子树直接复用其编号，变更规则之间重复的子树追加新编号；未变更规则的可执行树保持不变。
+ *     不再被引用的编号保留到下一次全量构建。</li>
+ * </ul>
+ * @Date 2026年10月16日 18:56
+ * @Version 1.0.0
+ */
+final class SharedConditionPlanner {
+
+    /**
+     * 以剥离共享节点后的结构为键
+     */
+    private final Map<ConditionNode, Integer> occurrences = new HashMap<>();
+
+    private final Map<ConditionNode, SharedCondition> shared = new HashMap<>();
+
+    private final Map<ConditionNode, ConditionNode> rewritten = new IdentityHashMap<>();
+
+    private int nextId;
+
+    SharedConditionPlanner() {
+    }
+
+    /**
+     * 以上一快照的共享节点为起点增量规划
+     *
+     * @param registry 上一快照的共享节点登记表，见 {@link #registry()}
+     * @param nextId   上一快照的共享编号上界
+     */
+    SharedConditionPlanner(Map<ConditionNode, SharedCondition> registry, int nextId) {
+        this.shared.putAll(registry);
+        this.nextId = nextId;
+    }
+
+    /**
+     * 登记一棵可执行树：统计候选子树的出现次数
+     *
+     * @param executable 不含共享节点的可执行条件根节点
+     */
+    void count(ConditionNode executable) {
+        if (isCandidate(executable)) {
+            occurrences.merge(executable, 1, Integer::sum);
+        }
+        for (ConditionNode operand : executable.operands()) {
+            count(operand);
+        }
+    }
+
+    /**
+     * 改写一棵新编译的可执行树
+     *
+     * @param node 不含共享节点的可执行条件节点，必须已经过 {@link #count(ConditionNode)}
+     * @return 重复子树替换为共享节点后的树；没有可共享子树时返回原实例
+     */
+    ConditionNode share(ConditionNode node) {
+        ConditionNode cached = rewritten.get(node);
+        if (cached != null) {
+            return cached;
+        }
+        ConditionNode result = rewriteOperands(node);
+        if (isCandidate(node) && (occurrences.getOrDefault(node, 0) > 1 || shared.containsKey(node))) {
+            ConditionNode body = result;
+            result = shared.computeIfAbsent(node, key -> new SharedCondition(body, nextId++));
+        }
+        rewritten.put(node, result);
+        return result;
+    }
+
+    /**
+     * 已分配的共享编号上界
+     *
+     * @return 单次决策结果表的长度
+     */
+    int size() {
+        return nextId;
+    }
+
+    /**
+     * 共享节点登记表：以剥离共享节点后的结构为键
+     *
+     * @return 不可变的登记表，供下一次增量构建沿用
+     */
+    Map<ConditionNode, SharedCondition> registry() {
+        return Map.copyOf(shared);
+    }
+
+    private ConditionNode rewriteOperands(ConditionNode node) {
+        if (!node.kind().isComposite()) {
+            return node;
+        }
+        List<ConditionNode> operands = node.operands();
+        ConditionNode[] children = new ConditionNode[operands.size()];
+        boolean changed = false;
+        for (int i = 0; i < children.length; i++) {
+            children[i] = share(operands.get(i));
+            changed |= children[i] != operands.get(i);
+        }
+        return changed ? rebuild(node.kind(), children) : node;
+    }
+
+    private static boolean isCandidate(ConditionNode node) {
+        return switch (node.kind()) {
+            case AND, OR -> true;
+            case PREDICATE -> !(node instanceof BoundFactPredicate);
+            default -> false;
+        };
+    }
+
+    /**
+     * 剥离共享节点，得到只由原始节点构成的等价结构
+     *
+     * @param node 可执行条件节点
+     * @return 不含共享节点的等价树；本身不含共享节点时返回原实例
+     */
+    static ConditionNode strip(ConditionNode node) {
+        if (node instanceof SharedCondition wrapped) {
+            return strip(wrapped.delegate());
+        }
+        if (!node.kind().isComposite()) {
+            return node;
+        }
+        List<ConditionNode> operands = node.operands();
+        ConditionNode[] children = new ConditionNode[operands.size()];
+        boolean changed = false;
+        for (int i = 0; i < children.length; i++) {
+            children[i] = strip(operands.get(i));
+            changed |= children[i] != operands.get(i);
+        }
+        return changed ? rebuild(node.kind(), children) : node;
+    }
+
+    private static ConditionNode rebuild(NodeKind kind, ConditionNode[] children) {
+        if (kind == NodeKind.AND) {
+            return AndCondition.ofAll(children);
+        }
+        if (kind == NodeKind.OR) {
+            return OrCondition.ofAll(children);
+        }
+        return new NotCondition(children[0]);
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.ConstantCondition;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.matcher.MatcherMode;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName SnapshotBuilder.java
+ * @Description 类 SnapshotBuilder 的实现描述：规则快照构建器 - 校验、编译规则并生成不可变快照
+ * <ul>
+ *     <li>禁用规则（{@code isEnabled() == false}）在构建期即被剔除，不进入快照。</li>
+ *     <li>条件经 {@link StaticAnalyzer} 折叠常量、消除双重否定；折叠为恒假的规则永远不会命中，同样剔除。
+ *     剔除与简化的规则、首次命中策略下被遮蔽的规则汇总为快照的 {@link AnalysisReport}。</li>
+ *     <li>规则ID必须非空且在快照内唯一。</li>
+ *     <li>规则数量受内存安全边界约束（C-DATA-004），默认上限 1000 条。</li>
+ *     <li>事实谓词读取的键名汇总为快照的 {@link SlotSchema}，条件树随之绑定到槽位。</li>
+ *     <li>跨规则结构相同的子条件替换为 {@link SharedCondition}，单次决策内只求值一次。</li>
+ *     <li>指定 {@link #basedOn(RuleSnapshot)} 时增量构建：ID 与版本均未变化的规则直接复用上一快照的编译结果，
+ *     槽位表只追加新键名（{@link SlotSchema#extend}），已有绑定继续有效。规则序列未发生任何变化时连同匹配器与键足迹一并复用。</li>
+ *     <li>复用规则的序号全部保持不变时（只替换、追加或从末尾移除规则），只编译变更的规则：匹配器与键足迹按变更序号
+ *     增删条目（{@link MatcherMode#update}、{@link KeyFootprint#update}），共享子条件以上一快照的登记表为起点只规划变更规则。
+ *     代价与变更规则数成正比，与快照规模无关。</li>
+ *     <li>增量构建会留下空的索引桶、不再被引用的共享编号，且跨越新旧规则的重复子条件不会合并。累计增量替换的规则数
+ *     超过快照规模的一半，或中部移除、调整顺序导致序号平移，或槽位表已被另一快照扩展时，改为全量构建并回到紧凑状态。</li>
+ * </ul>
+ * @Date 2026年10月16日 13:50
+ * @Version 1.0.0
+ */
+public final class SnapshotBuilder {
+
+    /**
+     * 单个快照的默认规则数量上限（C-DATA-004）
+     */
+    public static final int DEFAULT_MAX_RULES = 1000;
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    private MatcherMode matcherMode = MatcherMode.LINEAR;
+
+    private int maxRules = DEFAULT_MAX_RULES;
+
+    private RuleSnapshot previous;
+
+    /**
+     * 追加单条规则
+     *
+     * @param rule 规则定义，不应为null
+     * @return 当前构建器
+     */
+    public SnapshotBuilder addRule(Rule rule) {
+        rules.add(rule);
+        return this;
+    }
+
+    /**
+     * 追加一组规则，保持给定顺序
+     *
+     * @param rules 规则定义集合
+     * @return 当前构建器
+     */
+    public SnapshotBuilder addRules(Collection<? extends Rule> rules) {
+        this.rules.addAll(rules);
+        return this;
+    }
+
+    /**
+     * 以上一快照为基础增量构建，并沿用其匹配模式
+     * <p>规则按 {@code getId()} 与 {@code getVersion()} 识别：两者均未变化即视为未变更，
+     * 业务方修改规则时必须同时提升版本号。</p>
+     *
+     * @param previous 上一快照，null 表示全量构建
+     * @return 当前构建器
+     */
+    public SnapshotBuilder basedOn(RuleSnapshot previous) {
+        this.previous = previous;
+        if (previous != null) {
+            this.matcherMode = previous.matcherMode();
+        }
+        return this;
+    }
+
+    /**
+     * 指定匹配模式
+     *
+     * @param matcherMode 匹配模式，默认 {@link MatcherMode#LINEAR}
+     * @return 当前构建器
+     */
+    public SnapshotBuilder matcherMode(MatcherMode matcherMode) {
+        this.matcherMode = matcherMode;
+        return this;
+    }
+
+    /**
+     * 调整规则数量上限
+     *
+     * @param maxRules 上限，必须为正数
+     * @return 当前构建器
+     */
+    public SnapshotBuilder maxRules(int maxRules) {
+        if (maxRules <= 0) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Rule limit must be positive",
+                    Map.of("maxRules", maxRules)
+            );
+        }
+        this.maxRules = maxRules;
+        return this;
+    }
+
+    /**
+     * 校验、编译并生成快照
+     *
+     * @return 不可变规则快照
+     * @throws ConfigurationFault 如果规则定义不合法或超出数量上限
+     */
+    public RuleSnapshot build() {
+        if (matcherMode == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Matcher mode cannot be null",
+                    Map.of("context", "snapshot_build")
+            );
+        }
+        List<Rule> enabled = new ArrayList<>(rules.size());
+        List<String> disabled = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        for (Rule rule : rules) {
+            validate(rule, ids);
+            if (rule.isEnabled()) {
+                enabled.add(rule);
+            } else {
+                disabled.add(rule.getId());
+            }
+        }
+        if (enabled.size() > maxRules) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Rule count exceeds snapshot limit",
+                    Map.of("ruleCount", enabled.size(), "maxRules", maxRules)
+            );
+        }
+        Map<String, CompiledRule> reusable = reusable(previous);
+        Set<String> previouslySimplified = previous == null
+                ? Set.of()
+                : new HashSet<>(previous.simplifiedRules());
+        List<Rule> live = new ArrayList<>(enabled.size());
+        List<CompiledRule> carried = new ArrayList<>(enabled.size());
+        List<ConditionNode> changed = new ArrayList<>();
+        List<String> dead = new ArrayList<>();
+        List<String> simplified = new ArrayList<>();
+        boolean ordinalsKept = true;
+        for (Rule rule : enabled) {
+            CompiledRule prior = reusable.get(rule.getId());
+            if (prior != null && Objects.equals(prior.rule().getVersion(), rule.getVersion())) {
+                ordinalsKept &= prior.ordinal() == live.size();
+                carried.add(prior.rebase(rule, live.size()));
+                live.add(rule);
+                if (previouslySimplified.contains(rule.getId())) {
+                    simplified.add(rule.getId());
+                }
+                continue;
+            }
+            ConditionNode condition = ConditionNode.of(rule.getCondition());
+            ConditionNode folded = StaticAnalyzer.fold(condition);
+            if (folded == ConstantCondition.FALSE) {
+                dead.add(rule.getId());
+                continue;
+            }
+            if (folded != condition) {
+                simplified.add(rule.getId());
+            }
+            carried.add(null);
+            live.add(rule);
+            changed.add(folded);
+        }
+
+        SlotSchema schema = previous == null
+                ? ConditionBinder.schemaOf(changed)
+                : previous.schema().extend(ConditionBinder.schemaOf(changed).keys());
+        AnalysisReport findings = new AnalysisReport(disabled, dead, simplified, Map.of());
+        if (previous != null && changed.isEmpty() && previous.schema() == schema
+                && previous.matcherMode() == matcherMode && sameSequence(previous.rules(), carried)) {
+            return new RuleSnapshot(carried, schema, matcherMode, previous.matcher(), previous.footprint(),
+                    previous.sharedConditions(), previous.sharedConditionCount(), findings, previous.drift());
+        }
+        if (previous != null && ordinalsKept && previous.matcherMode() == matcherMode
+                && schema.extendsFrom(previous.schema())) {
+            int drift = previous.drift() + changed.size() + Math.max(0, previous.size() - live.size());
+            if (drift <= live.size() / 2) {
+                return incremental(live, carried, changed, schema, findings, drift);
+            }
+        }
+
+        // 复用规则的绑定只对同一谱系的槽位表有效
+        boolean rebind = previous == null || !schema.extendsFrom(previous.schema());
+        ConditionBinder binder = new ConditionBinder(schema);
+        ConditionNode[] executables = new ConditionNode[live.size()];
+        int next = 0;
+        for (int i = 0; i < live.size(); i++) {
+            CompiledRule prior = carried.get(i);
+            if (prior == null) {
+                executables[i] = binder.bind(changed.get(next++));
+            } else if (rebind) {
+                executables[i] = binder.bind(prior.condition());
+            } else {
+                executables[i] = SharedConditionPlanner.strip(prior.executable());
+            }
+        }
+        SharedConditionPlanner planner = new SharedConditionPlanner();
+        for (ConditionNode executable : executables) {
+            planner.count(executable);
+        }
+        List<CompiledRule> compiled = new ArrayList<>(live.size());
+        next = 0;
+        for (int i = 0; i < live.size(); i++) {
+            CompiledRule prior = carried.get(i);
+            ConditionNode executable = planner.share(executables[i]);
+            if (prior == null) {
+                compiled.add(new CompiledRule(live.get(i), changed.get(next++), executable, i));
+            } else if (prior.executable() == executable) {
+                compiled.add(prior);
+            } else {
+                compiled.add(new CompiledRule(prior.rule(), prior.condition(), executable, i));
+            }
+        }
+        return new RuleSnapshot(compiled, schema, matcherMode, null, null, planner.registry(), planner.size(),
+                findings, 0);
+    }
+
+    /**
+     * 只编译变更的规则，匹配器、键足迹与共享子条件在上一快照的基础上增删
+     *
+     * @param carried 与 {@code live} 等长，复用的规则占据其原序号，变更位置为 null
+     * @param changed 变更规则折叠后的条件，按序号排列
+     */
+    private RuleSnapshot incremental(List<Rule> live, List<CompiledRule> carried, List<ConditionNode> changed,
+                                     SlotSchema schema, AnalysisReport findings, int drift) {
+        ConditionBinder binder = new ConditionBinder(schema);
+        SharedConditionPlanner planner = new SharedConditionPlanner(previous.sharedConditions(),
+                previous.sharedConditionCount());
+        ConditionNode[] executables = new ConditionNode[changed.size()];
+        for (int i = 0; i < executables.length; i++) {
+            executables[i] = binder.bind(changed.get(i));
+            planner.count(executables[i]);
+        }
+        List<CompiledRule> compiled = new ArrayList<>(live.size());
+        BitSet touched = new BitSet();
+        int next = 0;
+        for (int i = 0; i < live.size(); i++) {
+            CompiledRule prior = carried.get(i);
+            if (prior != null) {
+                compiled.add(prior);
+                continue;
+            }
+            compiled.add(new CompiledRule(live.get(i), changed.get(next), planner.share(executables[next]), i));
+            next++;
+            touched.set(i);
+        }
+        // 从末尾移除的规则
+        touched.set(live.size(), Math.max(live.size(), previous.size()));
+        return new RuleSnapshot(compiled, schema, matcherMode,
+                matcherMode.update(previous.matcher(), compiled, touched),
+                previous.footprint().update(compiled, schema, touched),
+                planner.registry(), planner.size(), findings, drift);
+    }
+
+    private static Map<String, CompiledRule> reusable(RuleSnapshot previous) {
+        if (previous == null) {
+            return Map.of();
+        }
+        Map<String, CompiledRule> byId = new HashMap<>(previous.size() * 2);
+        for (CompiledRule rule : previous.rules()) {
+            byId.put(rule.id(), rule);
+        }
+        return byId;
+    }
+
+    /**
+     * 两个规则序列是否逐位复用同一份编译条件，此时匹配器的预计算结构仍然有效
+     */
+    private static boolean sameSequence(List<CompiledRule> before, List<CompiledRule> after) {
+        if (before.size() != after.size()) {
+            return false;
+        }
+        for (int i = 0; i < before.size(); i++) {
+            if (before.get(i).executable() != after.get(i).executable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void validate(Rule rule, Set<String> ids) {
+        if (rule == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Rule cannot be null",
+                    Map.of("context", "snapshot_build")
+            );
+        }
+        String id = rule.getId();
+        if (id == null || id.isEmpty()) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Rule id cannot be null or empty",
+                    Map.of("context", "snapshot_build", "ruleName", String.valueOf(rule.getName()))
+            );
+        }
+        if (!ids.add(id)) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Duplicate rule id",
+                    Map.of("ruleId", id)
+            );
+        }
+        if (rule.getCondition() == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Rule condition cannot be null",
+                    Map.of("ruleId", id)
+            );
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.model.rule.Rule;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName SnapshotHolder.java
+ * @Description 类 SnapshotHolder 的实现描述：快照持有者 - 规则热更新的原子切换点
+ * <ul>
+ *     <li><b>读：</b>{@link #current()} 只是一次 volatile 读，执行线程不加锁（C-RUNTIME-004）；
+ *     一次决策应只读取一次快照并全程使用，切换不会影响进行中的决策。</li>
+ *     <li><b>写：</b>更新基于当前快照增量构建（见 {@link SnapshotBuilder#basedOn(RuleSnapshot)}），
+ *     构建完成后以单次引用替换发布；写操作之间串行，构建失败时当前快照保持不变。</li>
+ *     <li><b>回滚：</b>保留上一代快照，{@link #rollback()} 为 O(1) 的引用替换，不重新编译。</li>
+ * </ul>
+ * @Date 2026年10月16日 15:55
+ * @Version 1.0.0
+ */
+public final class SnapshotHolder {
+
+    private final AtomicReference<Generation> generation;
+
+    private final List<SnapshotListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final int maxRules;
+
+    public SnapshotHolder(RuleSnapshot initial) {
+        this(initial, SnapshotBuilder.DEFAULT_MAX_RULES);
+    }
+
+    public SnapshotHolder(RuleSnapshot initial, int maxRules) {
+        if (initial == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Initial snapshot cannot be null",
+                    Map.of("context", "snapshot_holder")
+            );
+        }
+        this.generation = new AtomicReference<>(new Generation(initial, null));
+        this.maxRules = maxRules;
+    }
+
+    /**
+     * 当前生效的快照
+     *
+     * @return 快照，不为null
+     */
+    public RuleSnapshot current() {
+        return generation.get().current();
+    }
+
+    /**
+     * 可回滚到的上一代快照
+     *
+     * @return 快照，没有可回滚的版本时为null
+     */
+    public RuleSnapshot previous() {
+        return generation.get().previous();
+    }
+
+    /**
+     * 注册快照切换监听器
+     *
+     * @param listener 监听器
+     */
+    public void addListener(SnapshotListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 移除快照切换监听器
+     *
+     * @param listener 监听器
+     */
+    public void removeListener(SnapshotListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 以新的完整规则集增量重建并发布快照
+     * <p>ID 与版本未变化的规则复用当前快照的编译结果，只有新增或变更的规则被重新编译。</p>
+     *
+     * @param rules 新的完整规则集
+     * @return 新发布的快照
+     * @throws ConfigurationFault 如果规则定义不合法或超出数量上限，此时当前快照保持不变
+     */
+    public synchronized RuleSnapshot update(Collection<? extends Rule> rules) {
+        RuleSnapshot next = new SnapshotBuilder()
+                .basedOn(current())
+                .maxRules(maxRules)
+                .addRules(rules)
+                .build();
+        return publish(next);
+    }
+
+    /**
+     * 发布外部构建的快照
+     *
+     * @param snapshot 新快照，不应为null
+     * @return 新发布的快照
+     */
+    public synchronized RuleSnapshot publish(RuleSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Published snapshot cannot be null",
+                    Map.of("context", "snapshot_holder")
+            );
+        }
+        RuleSnapshot replaced = generation.get().current();
+        generation.set(new Generation(snapshot, replaced));
+        notifyListeners(snapshot, replaced);
+        return snapshot;
+    }
+
+    /**
+     * 回滚到上一代快照
+     * <p>回滚后不再保留可回滚的版本，连续两次回滚不会在两代之间来回切换。</p>
+     *
+     * @return 回滚后生效的快照
+     * @throws ConfigurationFault 如果没有可回滚的快照
+     */
+    public synchronized RuleSnapshot rollback() {
+        Generation now = generation.get();
+        if (now.previous() == null) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "No previous snapshot to roll back to",
+                    Map.of("context", "snapshot_holder", "currentSize", now.current().size())
+            );
+        }
+        generation.set(new Generation(now.previous(), null));
+        notifyListeners(now.previous(), now.current());
+        return now.previous();
+    }
+
+    private void notifyListeners(RuleSnapshot current, RuleSnapshot replaced) {
+        for (SnapshotListener listener : listeners) {
+            listener.onSwap(current, replaced);
+        }
+    }
+
+    /**
+     * 一次发布产生的快照代：当前快照与可回滚的上一代，整体原子替换
+     */
+    private record Generation(RuleSnapshot current, RuleSnapshot previous) {
+    }
+}
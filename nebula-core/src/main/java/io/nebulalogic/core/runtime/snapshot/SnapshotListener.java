@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName SnapshotListener.java
+ * @Description 类 SnapshotListener 的实现描述：快照切换监听器 - 在新快照发布（含回滚）后收到通知
+ * <p>回调在发布线程上同步执行，此时新快照已对所有读者可见；监听器抛出的异常不会撤销本次发布。</p>
+ * @Date 2026年10月16日 15:50
+ * @Version 1.0.0
+ */
+@FunctionalInterface
+public interface SnapshotListener {
+
+    /**
+     * 快照已切换
+     *
+     * @param current  当前生效的快照
+     * @param replaced 被替换的快照，首次发布时为null
+     */
+    void onSwap(RuleSnapshot current, RuleSnapshot replaced);
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.snapshot;
+
+
+import io.nebulalogic.core.model.rule.condition.AndCondition;
+import io.nebulalogic.core.model.rule.condition.ConditionNode;
+import io.nebulalogic.core.model.rule.condition.ConstantCondition;
+import io.nebulalogic.core.model.rule.condition.NodeKind;
+import io.nebulalogic.core.model.rule.condition.NotCondition;
+import io.nebulalogic.core.model.rule.condition.OrCondition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.snapshot
+ * @ClassName StaticAnalyzer.java
+ * @Description 类 StaticAnalyzer 的实现描述：快照构建期的条件静态分析
+ * <ul>
+ *     <li><b>折叠：</b>AND 遇恒假即为恒假、丢弃恒真操作数；OR 对称处理；NOT 作用于常量时取反；
+ *     {@code NOT(NOT(x))} 消去为 x；折叠后只剩一个操作数的组合节点退化为该操作数，嵌套的同类组合重新展开。</li>
+ *     <li><b>遮蔽：</b>按待执行顺序扫描规则，借助合取项的倒排表找出顶层合取项全部被当前规则包含的前序规则。</li>
+ * </ul>
+ * <p>折叠只依据条件的结构与常量，不求值任何谓词；没有可折叠部分的子树原样复用。</p>
+ * @Date 2026年10月16日 19:12
+ * @Version 1.0.0
+ */
+final class StaticAnalyzer {
+
+    private StaticAnalyzer() {
+    }
+
+    /**
+     * 折叠常量并消除双重否定
+     *
+     * @param node 模型层条件节点
+     * @return 等价的简化条件；无可简化部分时返回原实例
+     */
+    static ConditionNode fold(ConditionNode node) {
+        switch (node.kind()) {
+            case NOT: {
+                ConditionNode operand = fold(((NotCondition) node).operand());
+                if (operand instanceof ConstantCondition constant) {
+                    return ConstantCondition.of(!constant.value());
+                }
+                if (operand instanceof NotCondition inner) {
+                    return inner.operand();
+                }
+                return operand == ((NotCondition) node).operand() ? node : new NotCondition(operand);
+            }
+            case AND:
+            case OR:
+                return foldJunction(node);
+            default:
+                return node;
+        }
+    }
+
+    private static ConditionNode foldJunction(ConditionNode node) {
+        NodeKind kind = node.kind();
+        boolean absorbing = kind == NodeKind.OR;
+        List<ConditionNode> operands = node.operands();
+        List<ConditionNode> kept = new ArrayList<>(operands.size());
+        boolean changed = false;
+        for (ConditionNode operand : operands) {
+            ConditionNode folded = fold(operand);
+            changed |= folded != operand;
+            if (folded instanceof ConstantCondition constant) {
+                if (constant.value() == absorbing) {
+                    return constant;
+                }
+                changed = true;
+                continue;
+            }
+            if (folded.kind() == kind) {
+                kept.addAll(folded.operands());
+                changed = true;
+            } else {
+                kept.add(folded);
+            }
+        }
+        if (!changed) {
+            return node;
+        }
+        if (kept.isEmpty()) {
+            return ConstantCondition.of(!absorbing);
+        }
+        if (kept.size() == 1) {
+            return kept.get(0);
+        }
+        ConditionNode[] array = kept.toArray(new ConditionNode[0]);
+        return kind == NodeKind.AND ? AndCondition.ofAll(array) : OrCondition.ofAll(array);
+    }
+
+    /**
+     * 首次命中策略下的遮蔽关系
+     *
+     * @param rules 快照内按序号排列的规则
+     * @return 被遮蔽规则ID到遮蔽它的、待执行顺序最靠前的规则ID，按被遮蔽规则的序号排列
+     */
+    static Map<String, String> shadowed(List<CompiledRule> rules) {
+        CompiledRule[] agenda = rules.toArray(new CompiledRule[0]);
+        Arrays.sort(agenda, CompiledRule.AGENDA_ORDER);
+        int[] required = new int[agenda.length];
+        int[] hits = new int[agenda.length];
+        Map<ConditionNode, List<Integer>> postings = new HashMap<>();
+        int firstAlways = -1;
+        CompiledRule[] shadowing = new CompiledRule[rules.size()];
+        List<Integer> touched = new ArrayList<>();
+
+        for (int position = 0; position < agenda.length; position++) {
+            CompiledRule rule = agenda[position];
+            Set<ConditionNode> literals = literals(rule.condition());
+            int best = firstAlways;
+            for (ConditionNode literal : literals) {
+                List<Integer> earlier = postings.get(literal);
+                if (earlier == null) {
+                    continue;
+                }
+                for (int candidate : earlier) {
+                    if (hits[candidate]++ == 0) {
+                        touched.add(candidate);
+                    }
+                    if (hits[candidate] == required[candidate] && (best < 0 || candidate < best)) {
+                        best = candidate;
+                    }
+                }
+            }
+            for (int candidate : touched) {
+                hits[candidate] = 0;
+            }
+            touched.clear();
+            if (best >= 0) {
+                shadowing[rule.ordinal()] = agenda[best];
+            }
+
+            required[position] = literals.size();
+            if (literals.isEmpty() && firstAlways < 0) {
+                firstAlways = position;
+            }
+            for (ConditionNode literal : literals) {
+                postings.computeIfAbsent(literal, key -> new ArrayList<>(2)).add(position);
+            }
+        }
+
+        Map<String, String> result = new LinkedHashMap<>();
+        for (int ordinal = 0; ordinal < shadowing.length; ordinal++) {
+            if (shadowing[ordinal] != null) {
+                result.put(rules.get(ordinal).id(), shadowing[ordinal].id());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 顶层合取项：恒真条件没有合取项，AND 取其操作数，其余条件自身即唯一的合取项
+     */
+    private static Set<ConditionNode> literals(ConditionNode condition) {
+        if (condition == ConstantCondition.TRUE) {
+            return Set.of();
+        }
+        if (condition.kind() == NodeKind.AND) {
+            return new LinkedHashSet<>(condition.operands());
+        }
+        return Set.of(condition);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.trace;
+
+
+import io.nebulalogic.core.api.TraceLevel;
+import io.nebulalogic.core.exception.ConfigurationFault;
+import io.nebulalogic.core.exception.EngineErrorCode;
+
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.trace
+ * @ClassName TracePolicy.java
+ * @Description 类 TracePolicy 的实现描述：追踪策略 - 追踪级别、采样间隔与慢决策阈值
+ *
+ * @param level              追踪级别
+ * @param sampleEvery        平均每 N 次决策采样一次，1 表示全部采样
+ * @param slowThresholdNanos 尾部追踪下视为慢决策的耗时阈值
+ * @Date 2026年10月16日 17:40
+ * @Version 1.0.0
+ */
+public record TracePolicy(TraceLevel level, int sampleEvery, long slowThresholdNanos) {
+
+    /**
+     * 默认采样间隔：千分之一
+     */
+    public static final int DEFAULT_SAMPLE_EVERY = 1000;
+
+    /**
+     * 默认慢决策阈值：5ms，即 C-NFR-001 的 P95 预算
+     */
+    public static final long DEFAULT_SLOW_THRESHOLD_NANOS = 5_000_000L;
+
+    /**
+     * 关闭追踪
+     */
+    public static final TracePolicy OFF = new TracePolicy(TraceLevel.OFF, DEFAULT_SAMPLE_EVERY, DEFAULT_SLOW_THRESHOLD_NANOS);
+
+    public TracePolicy {
+        if (level == null || sampleEvery <= 0 || slowThresholdNanos < 0) {
+            throw new ConfigurationFault(
+                    EngineErrorCode.CONFIGURATION_ERROR,
+                    "Trace policy requires a level, positive sampling interval and non-negative slow threshold",
+                    Map.of("level", String.valueOf(level), "sampleEvery", sampleEvery,
+                            "slowThresholdNanos", slowThresholdNanos)
+            );
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.trace;
+
+
+import io.nebulalogic.core.api.TraceLevel;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.model.decision.DecisionTrace;
+import io.nebulalogic.core.model.decision.FactChange;
+import io.nebulalogic.core.model.decision.TraceEvent;
+import io.nebulalogic.core.runtime.context.DeltaContext;
+import io.nebulalogic.core.runtime.snapshot.RuleSnapshot;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.trace
+ * @ClassName TraceRecorder.java
+ * @Description 类 TraceRecorder 的实现描述：决策追踪记录器 - 线程私有、预分配的环形事件缓冲区
+ * <p><b>零分配记录：</b>事件以并列的基本类型数组写入固定容量的环形缓冲区，规则以序号记录，
+ * 只在生成 {@link DecisionTrace} 时才解析为规则ID并创建事件对象。事实变更事件取自会话 {@link DeltaContext} 的变更日志，
+ * 每个动作结束时读取新增条目，与 {@link io.nebulalogic.core.model.decision.Decision#changes()} 逐条一致。每个线程持有一个记录器，写入无需同步；
+ * 同一线程上重入的决策（如动作内再次调用引擎）使用临时记录器。</p>
+ * <p><b>按需占用：</b>采样判定先于读取线程私有记录器，SAMPLED 级别下未被采样的决策不创建记录器；
+ * 事件缓冲区在线程首次需要记录事件时才分配，COUNTERS 级别只使用计数器。</p>
+ * <p><b>生命周期：</b>{@link #open(TracePolicy, long)} → 记录 → {@link #complete(RuleSnapshot, long)}
+ * 或 {@link #fail(RuleSnapshot, EngineFault)} → {@link #close()}。</p>
+ * @Date 2026年10月16日 17:44
+ * @Version 1.0.0
+ */
+public final class TraceRecorder {
+
+    /**
+     * 单次决策最多保留的事件数，须为 2 的幂
+     */
+    public static final int CAPACITY = 1024;
+
+    private static final ThreadLocal<TraceRecorder> LOCAL = ThreadLocal.withInitial(TraceRecorder::new);
+
+    private static final int NONE = -1;
+
+    /**
+     * 事件缓冲区，首次以保留事件的级别打开时分配
+     */
+    private TraceEvent.Kind[] kinds;
+
+    private int[] rules;
+
+    private int[] indexes;
+
+    private String[] keys;
+
+    private Object[] values;
+
+    private long[] offsets;
+
+    private DeltaContext facts;
+
+    /**
+     * 已转为事件的变更日志条目数
+     */
+    private int logged;
+
+    private boolean active;
+
+    private boolean keepEvents;
+
+    private boolean sampled;
+
+    private long slowThresholdNanos;
+
+    private long start;
+
+    private int written;
+
+    private int matched;
+
+    private int fired;
+
+    private int actions;
+
+    private int changes;
+
+    private int currentRule = NONE;
+
+    private int currentAction = NONE;
+
+    private TraceRecorder() {
+    }
+
+    /**
+     * 为一次决策打开记录器
+     *
+     * @param policy 追踪策略
+     * @param start  决策开始的 nanoTime
+     * @return 记录器；本次决策无需追踪时为null
+     */
+    public static TraceRecorder open(TracePolicy policy, long start) {
+        TraceLevel level = policy.level();
+        if (level == TraceLevel.OFF) {
+            return null;
+        }
+        int sampleEvery = policy.sampleEvery();
+        boolean sampled = sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+        if (level == TraceLevel.SAMPLED && !sampled) {
+            return null;
+        }
+        TraceRecorder local = LOCAL.get();
+        TraceRecorder recorder = local.active ? new TraceRecorder() : local;
+        recorder.active = true;
+        recorder.keepEvents = level != TraceLevel.COUNTERS;
+        if (recorder.keepEvents && recorder.kinds == null) {
+            recorder.allocate();
+        }
+        recorder.sampled = sampled;
+        recorder.slowThresholdNanos = level == TraceLevel.TAIL ? policy.slowThresholdNanos() : Long.MAX_VALUE;
+        recorder.start = start;
+        return recorder;
+    }
+
+    /**
+     * 记录匹配集
+     *
+     * @param matched 匹配集位图
+     */
+    public void matched(BitSet matched) {
+        this.matched = matched.cardinality();
+        if (keepEvents) {
+            for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+                record(TraceEvent.Kind.RULE_MATCHED, i, NONE, null, null);
+            }
+        }
+    }
+
+    /**
+     * 登记会话的事实变更日志，之后每个动作结束时其新增条目记为当前动作的事实事件
+     *
+     * @param facts 会话的增量上下文
+     */
+    public void watch(DeltaContext facts) {
+        this.facts = facts;
+    }
+
+    /**
+     * 标记动作开始，之后的事实变更归属该动作
+     *
+     * @param rule  规则序号
+     * @param index 动作下标
+     */
+    public void actionStarted(int rule, int index) {
+        currentRule = rule;
+        currentAction = index;
+    }
+
+    /**
+     * 记录动作执行完成
+     */
+    public void actionExecuted() {
+        drain();
+        actions++;
+        record(TraceEvent.Kind.ACTION_EXECUTED, currentRule, currentAction, null, null);
+    }
+
+    /**
+     * 记录规则全部动作执行完成
+     *
+     * @param rule 规则序号
+     */
+    public void ruleFired(int rule) {
+        fired++;
+        currentRule = NONE;
+        currentAction = NONE;
+        record(TraceEvent.Kind.RULE_FIRED, rule, NONE, null, null);
+    }
+
+    private void drain() {
+        if (facts == null) {
+            return;
+        }
+        List<FactChange> log = facts.changes();
+        for (int i = logged; i < log.size(); i++) {
+            FactChange change = log.get(i);
+            changes++;
+            record(change.isRemoval() ? TraceEvent.Kind.FACT_REMOVED : TraceEvent.Kind.FACT_CHANGED,
+                    currentRule, currentAction, change.key(), change.after());
+        }
+        logged = log.size();
+    }
+
+    /**
+     * 决策正常结束：按级别与耗时决定是否生成轨迹
+     *
+     * @param snapshot     本次决策使用的快照
+     * @param elapsedNanos 决策耗时
+     * @return 决策轨迹；尾部追踪下决策既不慢也未被采样时为null
+     */
+    public DecisionTrace complete(RuleSnapshot snapshot, long elapsedNanos) {
+        if (!keepEvents) {
+            return materialize(snapshot, DecisionTrace.Trigger.COUNTERS);
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            return materialize(snapshot, DecisionTrace.Trigger.SLOW);
+        }
+        if (sampled) {
+            return materialize(snapshot, DecisionTrace.Trigger.SAMPLED);
+        }
+        return null;
+    }
+
+    /**
+     * 决策以故障结束：生成轨迹并经 {@link EngineFault#withTrace(DecisionTrace)} 附加到故障上
+     *
+     * @param snapshot 本次决策使用的快照
+     * @param fault    原始故障
+     * @return 携带轨迹、类型不变的故障
+     */
+    public EngineFault fail(RuleSnapshot snapshot, EngineFault fault) {
+        drain();
+        record(TraceEvent.Kind.FAULT, currentRule, currentAction, null, fault.getErrorCode().code());
+        return fault.withTrace(materialize(snapshot, DecisionTrace.Trigger.FAULTED));
+    }
+
+    /**
+     * 结束本次决策，释放对事实值与上下文的引用
+     */
+    public void close() {
+        int used = Math.min(written, CAPACITY);
+        for (int i = 0; i < used; i++) {
+            keys[i] = null;
+            values[i] = null;
+        }
+        facts = null;
+        logged = 0;
+        written = 0;
+        matched = 0;
+        fired = 0;
+        actions = 0;
+        changes = 0;
+        currentRule = NONE;
+        currentAction = NONE;
+        active = false;
+    }
+
+    private void allocate() {
+        kinds = new TraceEvent.Kind[CAPACITY];
+        rules = new int[CAPACITY];
+        indexes = new int[CAPACITY];
+        keys = new String[CAPACITY];
+        values = new Object[CAPACITY];
+        offsets = new long[CAPACITY];
+    }
+
+    private void record(TraceEvent.Kind kind, int rule, int index, String key, Object value) {
+        if (!keepEvents) {
+            return;
+        }
+        int slot = written++ & (CAPACITY - 1);
+        kinds[slot] = kind;
+        rules[slot] = rule;
+        indexes[slot] = index;
+        keys[slot] = key;
+        values[slot] = value;
+        offsets[slot] = System.nanoTime() - start;
+    }
+
+    private DecisionTrace materialize(RuleSnapshot snapshot, DecisionTrace.Trigger trigger) {
+        int kept = Math.min(written, CAPACITY);
+        List<TraceEvent> events = new ArrayList<>(kept);
+        for (int i = written - kept; i < written; i++) {
+            int slot = i & (CAPACITY - 1);
+            String ruleId = rules[slot] == NONE ? null : snapshot.rule(rules[slot]).id();
+            events.add(new TraceEvent(kinds[slot], ruleId, indexes[slot], keys[slot], values[slot], offsets[slot]));
+        }
+        return new DecisionTrace(trigger, matched, fired, actions, changes, written - kept, events);
+    }
+}
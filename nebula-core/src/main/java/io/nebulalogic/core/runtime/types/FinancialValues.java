@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.types;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.types.FinancialValue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.types
+ * @ClassName FinancialValues.java
+ * @Description 类 FinancialValues 的实现描述：FinancialValue 的统一创建与转换入口
+ * <p>所有进入引擎的数值（Context 中的 String / Number / BigDecimal）都经由此类转换为 {@link FinancialValue}，
+ * 保证"单向一致性"：同一原始值总是得到相等的 FinancialValue。</p>
+ * <p>运行时统一采用 {@link ScaledFinancialValue}：绝大多数金额以 long + scale 的紧凑形态存在，比较不产生分配。</p>
+ * @Date 2026年10月16日 10:08
+ * @Version 1.0.0
+ */
+public final class FinancialValues {
+
+    private FinancialValues() {
+    }
+
+    /**
+     * 由 BigDecimal 创建数值
+     *
+     * @param value 原始数值，不应为null
+     * @return FinancialValue 实例
+     */
+    public static FinancialValue of(BigDecimal value) {
+        return ScaledFinancialValue.of(value);
+    }
+
+    /**
+     * 由 BigDecimal 与元数据创建数值
+     *
+     * @param value    原始数值，不应为null
+     * @param metadata 元数据（如币种），可为null
+     * @return FinancialValue 实例
+     */
+    public static FinancialValue of(BigDecimal value, Map<String, Object> metadata) {
+        return ScaledFinancialValue.of(value, metadata);
+    }
+
+    /**
+     * 由 long 创建整数数值
+     *
+     * @param value 原始数值
+     * @return FinancialValue 实例
+     */
+    public static FinancialValue of(long value) {
+        return ScaledFinancialValue.of(value, 0);
+    }
+
+    /**
+     * 由字符串创建数值
+     *
+     * @param value 数值字符串，如 "500.00"
+     * @return FinancialValue 实例
+     * @throws LogicFault 如果字符串不是合法数值
+     */
+    public static FinancialValue parse(String value) {
+        return convert("literal", value);
+    }
+
+    /**
+     * 将 Context 中的原始事实转换为 FinancialValue
+     * <ul>
+     *     <li>已是 FinancialValue：直接返回，不做任何复制。</li>
+     *     <li>BigDecimal / BigInteger / 整型：精确转换。</li>
+     *     <li>浮点型：按十进制字符串表示转换（{@link BigDecimal#valueOf(double)}），避免二进制误差扩散。</li>
+     *     <li>String：去除首尾空白后解析，普通十进制串不经过 BigDecimal。</li>
+     * </ul>
+     *
+     * @param key   事实键名（仅用于故障诊断）
+     * @param value 原始值，null 表示事实不存在
+     * @return FinancialValue 实例，事实不存在时返回null
+     * @throws LogicFault 若数据无法转换为数值类型
+     */
+    public static FinancialValue convert(String key, Object value) {
+        if (value == null || value instanceof FinancialValue) {
+            return (FinancialValue) value;
+        }
+        try {
+            if (value instanceof BigDecimal d) {
+                return of(d);
+            }
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return of(((Number) value).longValue());
+            }
+            if (value instanceof BigInteger i) {
+                return of(new BigDecimal(i));
+            }
+            if (value instanceof Double || value instanceof Float) {
+                return of(BigDecimal.valueOf(((Number) value).doubleValue()));
+            }
+            if (value instanceof CharSequence s) {
+                return ScaledFinancialValue.parse(s);
+            }
+        } catch (NumberFormatException e) {
+            // 落入下方的统一类型故障
+        }
+        throw new LogicFault(
+                EngineErrorCode.TYPE_MISMATCH,
+                "Fact cannot be converted to FinancialValue",
+                Map.of("key", String.valueOf(key), "type", value.getClass().getName())
+        );
+    }
+}
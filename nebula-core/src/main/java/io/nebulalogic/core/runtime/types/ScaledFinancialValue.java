@@ -0,0 +1,443 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.types;
+
+
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.types.FinancialValue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Map;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.types
+ * @ClassName ScaledFinancialValue.java
+ * @Description 类 ScaledFinancialValue 的实现描述：定标长整型 FinancialValue 运行时实现
+ * <p>数值表示为 {@code unscaled × 10^-scale}，与 BigDecimal 的定义一致：</p>
+ * <ul>
+ *     <li><b>紧凑形态：</b>非标度值可放入 long 时，比较、加减、判零全部在 long 上完成，不产生任何对象分配。</li>
+ *     <li><b>膨胀形态：</b>超出 long 范围时（构造或运算溢出）退化为 BigDecimal，语义不变。</li>
+ *     <li><b>相等性：</b>遵循 compareTo 语义（1.0 == 1.00），hashCode 基于去除尾零后的 (unscaled, scale)，两种形态保持一致。</li>
+ * </ul>
+ * @Date 2026年10月16日 11:02
+ * @Version 1.0.0
+ */
+public final class ScaledFinancialValue implements FinancialValue {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    /**
+     * long 可精确容纳的十进制位数
+     */
+    private static final int MAX_COMPACT_DIGITS = 18;
+
+    private static final Map<String, Object> NO_METADATA = Map.of();
+
+    private final long unscaled;
+
+    private final int scale;
+
+    /**
+     * 膨胀形态的数值，紧凑形态下为null
+     */
+    private final BigDecimal inflated;
+
+    private final Map<String, Object> metadata;
+
+    /**
+     * decimalValue() 的惰性缓存，仅在宿主显式索取 BigDecimal 时创建
+     */
+    private BigDecimal decimal;
+
+    private ScaledFinancialValue(long unscaled, int scale, BigDecimal inflated, Map<String, Object> metadata) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+        this.inflated = inflated;
+        this.metadata = metadata;
+        this.decimal = inflated;
+    }
+
+    /**
+     * 由非标度值与标度创建数值，如 {@code of(50000, 2)} 表示 500.00
+     *
+     * @param unscaled 非标度值
+     * @param scale    标度
+     * @return 数值实例
+     */
+    public static ScaledFinancialValue of(long unscaled, int scale) {
+        return new ScaledFinancialValue(unscaled, scale, null, NO_METADATA);
+    }
+
+    /**
+     * 由 BigDecimal 创建数值，非标度值可放入 long 时采用紧凑形态
+     *
+     * @param value 原始数值，不应为null
+     * @return 数值实例
+     */
+    public static ScaledFinancialValue of(BigDecimal value) {
+        return of(value, null);
+    }
+
+    /**
+     * 由 BigDecimal 与元数据创建数值
+     *
+     * @param value    原始数值，不应为null
+     * @param metadata 元数据（如币种），可为null
+     * @return 数值实例
+     */
+    public static ScaledFinancialValue of(BigDecimal value, Map<String, Object> metadata) {
+        Map<String, Object> meta = metadata == null || metadata.isEmpty() ? NO_METADATA : Map.copyOf(metadata);
+        BigInteger unscaledValue = value.unscaledValue();
+        if (unscaledValue.bitLength() < 64) {
+            return new ScaledFinancialValue(unscaledValue.longValue(), value.scale(), null, meta);
+        }
+        return new ScaledFinancialValue(0L, value.scale(), value, meta);
+    }
+
+    /**
+     * 解析十进制字符串
+     * <p>形如 {@code [+-]digits[.digits]} 且有效位数不超过 18 的字符串直接解析为紧凑形态，
+     * 不经过 BigDecimal；其余格式（指数、超长位数）交由 BigDecimal 解析。</p>
+     *
+     * @param text 数值字符串，首尾空白会被忽略
+     * @return 数值实例
+     * @throws NumberFormatException 如果字符串不是合法数值
+     */
+    public static ScaledFinancialValue parse(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long value = 0L;
+        int digits = 0;
+        int scale = -1;
+        boolean compact = i < end;
+        for (; i < end && compact; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits > 0 || c != '0') {
+                    digits++;
+                }
+                value = value * 10 + (c - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                compact = false;
+            }
+        }
+        if (compact && digits <= MAX_COMPACT_DIGITS && text.charAt(end - 1) != '.') {
+            return of(negative ? -value : value, Math.max(scale, 0));
+        }
+        return of(new BigDecimal(text.subSequence(start, end).toString()));
+    }
+
+    /**
+     * 是否处于紧凑（long）形态
+     *
+     * @return true 表示运算无需分配
+     */
+    public boolean isCompact() {
+        return inflated == null;
+    }
+
+    /**
+     * 非标度值（仅紧凑形态有效）
+     *
+     * @return 非标度值
+     */
+    public long unscaledValue() {
+        return unscaled;
+    }
+
+    /**
+     * 标度
+     *
+     * @return 标度
+     */
+    public int scale() {
+        return scale;
+    }
+
+    @Override
+    public BigDecimal decimalValue() {
+        BigDecimal d = decimal;
+        if (d == null) {
+            d = BigDecimal.valueOf(unscaled, scale);
+            decimal = d;
+        }
+        return d;
+    }
+
+    @Override
+    public Object getMetadata(String key) {
+        return metadata.get(key);
+    }
+
+    /**
+     * 符号
+     *
+     * @return -1、0 或 1
+     */
+    public int signum() {
+        return inflated == null ? Long.signum(unscaled) : inflated.signum();
+    }
+
+    @Override
+    public boolean isZero() {
+        return signum() == 0;
+    }
+
+    @Override
+    public boolean isPositive() {
+        return signum() > 0;
+    }
+
+    @Override
+    public boolean isNegative() {
+        return signum() < 0;
+    }
+
+    @Override
+    public int compareTo(FinancialValue other) {
+        if (inflated == null && other instanceof ScaledFinancialValue o && o.inflated == null) {
+            return compareCompact(unscaled, scale, o.unscaled, o.scale);
+        }
+        return decimalValue().compareTo(other.decimalValue());
+    }
+
+    /**
+     * 与 {@code unscaled × 10^-scale} 比较，不创建数值实例
+     * <p>供列式求值直接比较原始 long 列：当前数值为紧凑形态时全部在 long 上完成。</p>
+     *
+     * @param unscaled 对方的非标度值
+     * @param scale    对方的标度
+     * @return 负数、0 或正数，分别表示当前数值小于、等于或大于对方
+     */
+    public int compareTo(long unscaled, int scale) {
+        if (inflated == null) {
+            return compareCompact(this.unscaled, this.scale, unscaled, scale);
+        }
+        return inflated.compareTo(BigDecimal.valueOf(unscaled, scale));
+    }
+
+    /**
+     * 加法：两者均为紧凑形态且结果不溢出时不分配 BigDecimal
+     *
+     * @param other 加数，不应为null
+     * @return 和，沿用当前数值的元数据
+     * @throws LogicFault 如果两个数值不具备计算兼容性
+     */
+    public ScaledFinancialValue add(FinancialValue other) {
+        return addSigned(other, false);
+    }
+
+    /**
+     * 减法：两者均为紧凑形态且结果不溢出时不分配 BigDecimal
+     *
+     * @param other 减数，不应为null
+     * @return 差，沿用当前数值的元数据
+     * @throws LogicFault 如果两个数值不具备计算兼容性
+     */
+    public ScaledFinancialValue subtract(FinancialValue other) {
+        return addSigned(other, true);
+    }
+
+    /**
+     * 乘法：两者均为紧凑形态且非标度值之积不溢出时不分配 BigDecimal
+     *
+     * @param other 乘数，不应为null
+     * @return 积，标度为两者标度之和，沿用当前数值的元数据
+     * @throws LogicFault 如果两个数值不具备计算兼容性
+     */
+    public ScaledFinancialValue multiply(FinancialValue other) {
+        if (!isCompatible(other)) {
+            throw new LogicFault(
+                    EngineErrorCode.TYPE_MISMATCH,
+                    "Incompatible financial values cannot be combined",
+                    Map.of("operation", "multiply")
+            );
+        }
+        if (inflated == null && other instanceof ScaledFinancialValue o && o.inflated == null) {
+            long product = unscaled * o.unscaled;
+            // 高 64 位恰为低 64 位的符号扩展时，乘积可放入 long
+            if (Math.multiplyHigh(unscaled, o.unscaled) == product >> 63) {
+                return new ScaledFinancialValue(product, scale + o.scale, null, metadata);
+            }
+        }
+        return of(decimalValue().multiply(other.decimalValue()), metadata);
+    }
+
+    /**
+     * 除法：两者均为紧凑形态且商能以 long 精确表示时不分配 BigDecimal，否则按给定精度经 BigDecimal 计算
+     *
+     * @param other 除数，不应为null或零
+     * @param mc    精度，两条路径的结果数值相等
+     * @return 商，沿用当前数值的元数据
+     * @throws LogicFault          如果两个数值不具备计算兼容性
+     * @throws ArithmeticException 如果除数为零
+     */
+    public ScaledFinancialValue divide(FinancialValue other, MathContext mc) {
+        if (!isCompatible(other)) {
+            throw new LogicFault(
+                    EngineErrorCode.TYPE_MISMATCH,
+                    "Incompatible financial values cannot be combined",
+                    Map.of("operation", "divide")
+            );
+        }
+        if (inflated == null && other instanceof ScaledFinancialValue o && o.inflated == null && o.unscaled != 0
+                && (mc.getPrecision() == 0 || mc.getPrecision() > MAX_COMPACT_DIGITS)
+                && !(unscaled == Long.MIN_VALUE && o.unscaled == -1)) {
+            // 被除数逐位放大直到整除；放大溢出即放弃，long 可容纳的商不会超出精度
+            for (int shift = 0; fitsScaled(unscaled, shift); shift++) {
+                long dividend = scaleUp(unscaled, shift);
+                if (dividend % o.unscaled == 0) {
+                    return new ScaledFinancialValue(dividend / o.unscaled, scale + shift - o.scale, null, metadata);
+                }
+            }
+        }
+        return of(decimalValue().divide(other.decimalValue(), mc), metadata);
+    }
+
+    private ScaledFinancialValue addSigned(FinancialValue other, boolean negate) {
+        if (!isCompatible(other)) {
+            throw new LogicFault(
+                    EngineErrorCode.TYPE_MISMATCH,
+                    "Incompatible financial values cannot be combined",
+                    Map.of("operation", negate ? "subtract" : "add")
+            );
+        }
+        if (inflated == null && other instanceof ScaledFinancialValue o && o.inflated == null
+                && (!negate || o.unscaled != Long.MIN_VALUE)) {
+            long right = negate ? -o.unscaled : o.unscaled;
+            int targetScale = Math.max(scale, o.scale);
+            if (fitsScaled(unscaled, targetScale - scale) && fitsScaled(right, targetScale - o.scale)) {
+                long a = scaleUp(unscaled, targetScale - scale);
+                long b = scaleUp(right, targetScale - o.scale);
+                long sum = a + b;
+                // 同号相加结果变号即为溢出
+                if (((a ^ sum) & (b ^ sum)) >= 0) {
+                    return new ScaledFinancialValue(sum, targetScale, null, metadata);
+                }
+            }
+        }
+        BigDecimal result = negate
+                ? decimalValue().subtract(other.decimalValue())
+                : decimalValue().add(other.decimalValue());
+        return of(result, metadata);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof FinancialValue other && compareTo(other) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        long u;
+        int s;
+        if (inflated == null) {
+            u = unscaled;
+            s = scale;
+        } else {
+            BigDecimal stripped = inflated.stripTrailingZeros();
+            if (stripped.unscaledValue().bitLength() >= 64) {
+                return stripped.hashCode();
+            }
+            u = stripped.unscaledValue().longValue();
+            s = stripped.scale();
+        }
+        if (u == 0) {
+            return 0;
+        }
+        while (u % 10 == 0) {
+            u /= 10;
+            s--;
+        }
+        return 31 * Long.hashCode(u) + s;
+    }
+
+    @Override
+    public String toString() {
+        return decimalValue().toPlainString();
+    }
+
+    /**
+     * 紧凑形态的比较：同标度直接比较；否则将低标度一方放大后比较，放大溢出时说明其绝对值更大
+     */
+    private static int compareCompact(long a, int aScale, long b, int bScale) {
+        if (aScale == bScale) {
+            return Long.compare(a, b);
+        }
+        int aSign = Long.signum(a);
+        int bSign = Long.signum(b);
+        if (aSign != bSign) {
+            return Integer.compare(aSign, bSign);
+        }
+        if (aScale < bScale) {
+            int shift = bScale - aScale;
+            if (!fitsScaled(a, shift)) {
+                return aSign;
+            }
+            return Long.compare(scaleUp(a, shift), b);
+        }
+        int shift = aScale - bScale;
+        if (!fitsScaled(b, shift)) {
+            return -bSign;
+        }
+        return Long.compare(a, scaleUp(b, shift));
+    }
+
+    /**
+     * 检查 value × 10^shift 是否仍可放入 long
+     */
+    private static boolean fitsScaled(long value, int shift) {
+        if (shift == 0 || value == 0) {
+            return true;
+        }
+        if (shift >= POWERS_OF_TEN.length || value == Long.MIN_VALUE) {
+            return false;
+        }
+        return Math.abs(value) <= Long.MAX_VALUE / POWERS_OF_TEN[shift];
+    }
+
+    /**
+     * 计算 value × 10^shift，调用方须先以 {@link #fitsScaled(long, int)} 确认不溢出
+     */
+    private static long scaleUp(long value, int shift) {
+        return value == 0 ? 0 : value * POWERS_OF_TEN[shift];
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.context;
+
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.context
+ * @ClassName PersistentFactMapTest.java
+ * @Description 类 PersistentFactMapTest 的实现描述：哈希冲突节点、逐键删除至空以及版本间的结构共享
+ * @Date 2026年10月17日 11:20
+ * @Version 1.0.0
+ */
+class PersistentFactMapTest {
+
+    /**
+     * "Aa" 与 "BB" 的 hashCode 相同，由它们拼接出的等长键两两冲突
+     */
+    private static final List<String> COLLIDING = List.of("AaAa", "AaBB", "BBAa", "BBBB");
+
+    @Test
+    void collidingKeysKeepTheirOwnValues() {
+        PersistentFactMap map = PersistentFactMap.empty();
+        for (String key : COLLIDING) {
+            map = map.with(key, key.toLowerCase());
+        }
+        assertEquals(COLLIDING.size(), map.size());
+        for (String key : COLLIDING) {
+            assertEquals(key.toLowerCase(), map.get(key));
+        }
+
+        PersistentFactMap updated = map.with("AaBB", "changed");
+        assertEquals(COLLIDING.size(), updated.size());
+        assertEquals("changed", updated.get("AaBB"));
+        assertEquals("aabb", map.get("AaBB"));
+        assertEquals("bbaa", updated.get("BBAa"));
+        assertNull(updated.get("CcCc"));
+    }
+
+    @Test
+    void collisionNodeAcceptsKeysWithDifferentHash() {
+        PersistentFactMap map = PersistentFactMap.empty().with("Aa", 1).with("BB", 2);
+        Map<String, Object> expected = new HashMap<>(Map.of("Aa", 1, "BB", 2));
+        for (int i = 0; i < 500; i++) {
+            map = map.with("k" + i, i);
+            expected.put("k" + i, i);
+        }
+        assertEquals(expected, contents(map));
+
+        map = map.without("Aa");
+        expected.remove("Aa");
+        assertEquals(expected, contents(map));
+        assertEquals(2, map.get("BB"));
+    }
+
+    @Test
+    void removingCollidingKeysDownToEmpty() {
+        PersistentFactMap map = PersistentFactMap.empty();
+        for (String key : COLLIDING) {
+            map = map.with(key, key);
+        }
+        for (int i = 0; i < COLLIDING.size(); i++) {
+            map = map.without(COLLIDING.get(i));
+            assertEquals(COLLIDING.size() - i - 1, map.size());
+            assertNull(map.get(COLLIDING.get(i)));
+            for (String remaining : COLLIDING.subList(i + 1, COLLIDING.size())) {
+                assertEquals(remaining, map.get(remaining));
+            }
+        }
+        assertTrue(contents(map).isEmpty());
+        assertSame(map, map.without("AaAa"));
+
+        PersistentFactMap reused = map.with("BBBB", 1);
+        assertEquals(1, reused.size());
+        assertEquals(1, reused.get("BBBB"));
+    }
+
+    @Test
+    void removingAllKeysInRandomOrderLeavesEarlierVersionsIntact() {
+        List<String> keys = new ArrayList<>();
+        PersistentFactMap full = PersistentFactMap.empty();
+        for (int i = 0; i < 2000; i++) {
+            keys.add("fact." + i);
+            full = full.with("fact." + i, i);
+        }
+        Collections.shuffle(keys, new Random(17));
+
+        PersistentFactMap map = full;
+        for (String key : keys) {
+            PersistentFactMap next = map.without(key);
+            assertEquals(map.size() - 1, next.size());
+            assertNull(next.get(key));
+            map = next;
+        }
+        assertEquals(0, map.size());
+        assertTrue(contents(map).isEmpty());
+
+        assertEquals(2000, full.size());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(i, full.get("fact." + i));
+        }
+    }
+
+    @Test
+    void transientEditsDoNotLeakIntoPublishedVersions() {
+        PersistentFactMap base = PersistentFactMap.empty().with("AaAa", 1).with("x", 2);
+        PersistentFactMap.Transient edit = base.asTransient();
+        edit.put("AaBB", 3);
+        assertTrue(edit.remove("x"));
+        assertFalse(edit.remove("missing"));
+        PersistentFactMap first = edit.persistent();
+
+        edit.put("BBAa", 4);
+        assertTrue(edit.remove("AaAa"));
+        PersistentFactMap second = edit.persistent();
+
+        assertEquals(Map.of("AaAa", 1, "x", 2), contents(base));
+        assertEquals(Map.of("AaAa", 1, "AaBB", 3), contents(first));
+        assertEquals(Map.of("AaBB", 3, "BBAa", 4), contents(second));
+
+        assertTrue(edit.remove("AaBB"));
+        assertTrue(edit.remove("BBAa"));
+        assertSame(PersistentFactMap.empty(), edit.persistent());
+        assertEquals(Map.of("AaBB", 3, "BBAa", 4), contents(second));
+    }
+
+    private static Map<String, Object> contents(PersistentFactMap map) {
+        Map<String, Object> out = new HashMap<>();
+        map.forEach((key, value) -> assertNull(out.put(key, value)));
+        assertEquals(map.size(), out.size());
+        return out;
+    }
+}
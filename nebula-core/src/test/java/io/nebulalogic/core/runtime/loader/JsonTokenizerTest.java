@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.loader;
+
+
+import io.nebulalogic.core.exception.ConfigurationFault;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.loader
+ * @ClassName JsonTokenizerTest.java
+ * @Description 类 JsonTokenizerTest 的实现描述：跨越 64 KiB 读缓冲边界的多字节字符、转义序列与编码错误
+ * @Date 2026年10月17日 12:05
+ * @Version 1.0.0
+ */
+class JsonTokenizerTest {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String PREFIX = "{\"pad\":\"";
+
+    @Test
+    void multiByteCharacterSplitAcrossBufferBoundary() {
+        for (String character : List.of("é", "中", "😀")) {
+            int length = character.getBytes(StandardCharsets.UTF_8).length;
+            for (int before = 1; before < length; before++) {
+                // 字符的前 before 个字节落在第一块缓冲的末尾
+                String padding = "a".repeat(BUFFER_SIZE - before - PREFIX.length());
+                String value = padding + character + "z";
+                Object parsed = read(bytes(PREFIX + value + "\"}"));
+                assertEquals(Map.of("pad", value), parsed);
+            }
+        }
+    }
+
+    @Test
+    void surrogatePairSplitAcrossCharacterBuffer() {
+        // 代理对的高位落在字符缓冲的最后一格
+        String value = "a".repeat(BUFFER_SIZE - PREFIX.length() - 1) + "😀";
+        assertEquals(Map.of("pad", value), read(bytes(PREFIX + value + "\"}")));
+    }
+
+    @Test
+    void tinyReadsDecodeTheSameDocument() {
+        String json = "[{\"name\":\"规则-😀\",\"amount\":12.50,\"flags\":[true,false,null]}]";
+        Object parsed = read(new ChunkedChannel(bytes(json), 1));
+        assertEquals(List.of(Map.of("name", "规则-😀", "amount", new BigDecimal("12.50"),
+                "flags", List.of(true, false, JsonTokenizer.NULL))), parsed);
+    }
+
+    @Test
+    void escapesAreDecoded() {
+        String json = "\"q\\\" b\\\\ s\\/ \\b\\f\\n\\r\\t \\u00e9 \\ud83d\\ude00 \\u4E2D\"";
+        assertEquals("q\" b\\ s/ \b\f\n\r\t é 😀 中", read(bytes(json)));
+    }
+
+    @Test
+    void escapeSplitAcrossBufferBoundary() {
+        String padding = "a".repeat(BUFFER_SIZE - PREFIX.length() - 3);
+        Object parsed = read(bytes(PREFIX + padding + "\\u00e9\\n\"}"));
+        assertEquals(Map.of("pad", padding + "é\n"), parsed);
+    }
+
+    @Test
+    void malformedEscapesAndEncodingAreRejected() {
+        assertEquals("Illegal escape sequence", reason(bytes("\"\\x\"")));
+        assertEquals("Malformed unicode escape", reason(bytes("\"\\u12G4\"")));
+        assertEquals("Unescaped control character in string", reason(bytes("\"a\tb\"")));
+
+        ConfigurationFault fault = assertThrows(ConfigurationFault.class,
+                () -> read(new byte[]{'"', (byte) 0xC3, (byte) 0x28, '"'}));
+        assertEquals("Rule document is not valid UTF-8", fault.getDetail());
+    }
+
+    @Test
+    void nullIsMaterializedAsPlaceholder() {
+        assertSame(JsonTokenizer.NULL, read(bytes(" \uFEFF null ")));
+    }
+
+    private static Object read(byte[] document) {
+        return read(Channels.newChannel(new ByteArrayInputStream(document)));
+    }
+
+    private static Object read(ReadableByteChannel channel) {
+        JsonTokenizer tokenizer = new JsonTokenizer(channel);
+        Object value = tokenizer.readValue(tokenizer.next());
+        tokenizer.expect(JsonTokenizer.Token.EOF);
+        return value;
+    }
+
+    private static String reason(byte[] document) {
+        ConfigurationFault fault = assertThrows(ConfigurationFault.class, () -> read(document));
+        return (String) fault.getAttribute("reason");
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 每次最多交出 chunk 个字节的通道，模拟网络流的零碎读取
+     */
+    private static final class ChunkedChannel implements ReadableByteChannel {
+
+        private final ByteBuffer source;
+
+        private final int chunk;
+
+        ChunkedChannel(byte[] data, int chunk) {
+            this.source = ByteBuffer.wrap(data);
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(ByteBuffer target) {
+            if (!source.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(chunk, Math.min(source.remaining(), target.remaining()));
+            ByteBuffer slice = source.slice();
+            slice.limit(n);
+            target.put(slice);
+            source.position(source.position() + n);
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
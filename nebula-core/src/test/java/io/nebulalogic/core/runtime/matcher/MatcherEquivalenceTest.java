@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.matcher;
+
+
+import io.nebulalogic.core.api.ExecutionStrategy;
+import io.nebulalogic.core.api.NebulaBootstrap;
+import io.nebulalogic.core.api.NebulaEngine;
+import io.nebulalogic.core.exception.EngineErrorCode;
+import io.nebulalogic.core.exception.EngineFault;
+import io.nebulalogic.core.exception.LogicFault;
+import io.nebulalogic.core.model.context.Context;
+import io.nebulalogic.core.model.decision.Decision;
+import io.nebulalogic.core.model.rule.Action;
+import io.nebulalogic.core.model.rule.Condition;
+import io.nebulalogic.core.model.rule.Rule;
+import io.nebulalogic.core.runtime.context.SlotContext;
+import io.nebulalogic.core.runtime.context.SlotSchema;
+import io.nebulalogic.core.runtime.types.FinancialValues;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.matcher
+ * @ClassName MatcherEquivalenceTest.java
+ * @Description 类 MatcherEquivalenceTest 的实现描述：同一规则集与上下文在线性、索引、谓词位图与并行匹配下的决策与故障一致
+ * @Date 2026年10月17日 16:40
+ * @Version 1.0.0
+ */
+class MatcherEquivalenceTest {
+
+    private static final Condition VIP = Condition.named("vip", ctx -> ctx.context().contains("vip"));
+
+    private static final Condition BOOM = Condition.named("boom", ctx -> {
+        if (ctx.context().contains("boom")) {
+            throw new LogicFault(EngineErrorCode.CONDITION_EVAL_ERROR, "boom", Map.of());
+        }
+        return false;
+    });
+
+    /**
+     * 超过两个并行块的规则数，使并行匹配真正切分
+     */
+    private static final int RULE_COUNT = 640;
+
+    private static final List<Rule> RULES = rules();
+
+    private static final Object[] AMOUNTS = {
+            null, 0, 49, 50, 51, 100, new BigDecimal("100.00"), 101, 149, 150, 151, 500, 501, 999
+    };
+
+    @Test
+    void fireFirstAndFireAllMatchLinear() {
+        List<Context> contexts = new ArrayList<>();
+        for (Object amount : AMOUNTS) {
+            for (String channel : Arrays.asList(null, "app", "web", "c1")) {
+                for (String tier : Arrays.asList(null, "t1")) {
+                    contexts.add(context(amount, channel, tier, false, false));
+                    contexts.add(context(amount, channel, tier, true, false));
+                }
+            }
+        }
+        for (ExecutionStrategy strategy : ExecutionStrategy.values()) {
+            assertTrue(assertEquivalent(strategy, contexts) > 0, strategy + " should hit some rules");
+        }
+    }
+
+    @Test
+    void absentKeysMatchLinear() {
+        List<Context> contexts = List.of(
+                context(null, null, null, false, false),
+                context(null, "app", null, false, false),
+                context(null, null, "t2", true, false),
+                context(150, null, null, false, false),
+                new SlotContext(SlotSchema.EMPTY).evolve(facts -> facts.put("unrelated", 1))
+        );
+        for (ExecutionStrategy strategy : ExecutionStrategy.values()) {
+            assertEquivalent(strategy, contexts);
+        }
+    }
+
+    @Test
+    void intervalBoundariesMatchLinear() {
+        List<Context> contexts = new ArrayList<>();
+        for (int base = 0; base <= 500; base += 50) {
+            for (int offset = -1; offset <= 1; offset++) {
+                contexts.add(context(base + offset, "app", null, false, false));
+            }
+            contexts.add(context(FinancialValues.of(base), "web", null, false, false));
+        }
+        for (ExecutionStrategy strategy : ExecutionStrategy.values()) {
+            assertEquivalent(strategy, contexts);
+        }
+    }
+
+    @Test
+    void faultsMatchLinear() {
+        List<Context> contexts = new ArrayList<>();
+        for (Object amount : AMOUNTS) {
+            contexts.add(context(amount, "app", null, false, true));
+            contexts.add(context(amount, null, "t3", true, true));
+        }
+        int faults = 0;
+        for (ExecutionStrategy strategy : ExecutionStrategy.values()) {
+            for (Context ctx : contexts) {
+                String expected = outcome(engine(strategy, MatcherMode.LINEAR, false), ctx);
+                if (expected.startsWith("fault ")) {
+                    faults++;
+                }
+                assertSameOutcome(strategy, ctx, expected);
+            }
+        }
+        assertTrue(faults > 0, "some contexts should reach the failing predicate");
+    }
+
+    /**
+     * @return 线性匹配下的命中决策数
+     */
+    private static int assertEquivalent(ExecutionStrategy strategy, List<Context> contexts) {
+        NebulaEngine linear = engine(strategy, MatcherMode.LINEAR, false);
+        int hits = 0;
+        for (Context ctx : contexts) {
+            String expected = outcome(linear, ctx);
+            if (!expected.startsWith("fault ") && !expected.startsWith("[]")) {
+                hits++;
+            }
+            assertSameOutcome(strategy, ctx, expected);
+        }
+        return hits;
+    }
+
+    private static void assertSameOutcome(ExecutionStrategy strategy, Context ctx, String expected) {
+        assertEquals(expected, outcome(engine(strategy, MatcherMode.INDEXED, false), ctx),
+                strategy + " INDEXED " + ctx.asMap());
+        assertEquals(expected, outcome(engine(strategy, MatcherMode.PREDICATE_BITMAP, false), ctx),
+                strategy + " PREDICATE_BITMAP " + ctx.asMap());
+        assertEquals(expected, outcome(engine(strategy, MatcherMode.LINEAR, true), ctx),
+                strategy + " parallel " + ctx.asMap());
+    }
+
+    private static String outcome(NebulaEngine engine, Context ctx) {
+        try {
+            Decision decision = engine.execute(ctx);
+            return decision.firedRules() + " matched=" + decision.matchedCount() + " " + decision.context().asMap();
+        } catch (EngineFault e) {
+            return "fault " + e.getMessage();
+        }
+    }
+
+    private static final Map<String, NebulaEngine> ENGINES = new HashMap<>();
+
+    private static NebulaEngine engine(ExecutionStrategy strategy, MatcherMode mode, boolean parallel) {
+        return ENGINES.computeIfAbsent(strategy + "/" + mode + "/" + parallel, key -> {
+            var builder = NebulaBootstrap.builder().addRules(RULES).strategy(strategy).matcherMode(mode);
+            if (parallel) {
+                builder.parallelEvaluation(ForkJoinPool.commonPool(), 4);
+            }
+            return builder.build();
+        });
+    }
+
+    private static Context context(Object amount, String channel, String tier, boolean vip, boolean boom) {
+        return new SlotContext(SlotSchema.EMPTY).evolve(facts -> {
+            if (amount != null) {
+                facts.put("amount", amount);
+            }
+            if (channel != null) {
+                facts.put("channel", channel);
+            }
+            if (tier != null) {
+                facts.put("tier", tier);
+            }
+            if (vip) {
+                facts.put("vip", true);
+            }
+            if (boom) {
+                facts.put("boom", true);
+            }
+        });
+    }
+
+    /**
+     * 八种条件形态循环生成：区间、单侧比较、离散等值、OR / NOT 嵌套与共享的具名谓词，边界按 50 递增
+     */
+    private static List<Rule> rules() {
+        List<Rule> rules = new ArrayList<>(RULE_COUNT);
+        for (int i = 0; i < RULE_COUNT; i++) {
+            long bound = 50L * (i / 8 % 11);
+            Condition condition = switch (i % 8) {
+                case 0 -> Condition.between("amount", FinancialValues.of(bound), FinancialValues.of(bound + 50));
+                case 1 -> Condition.lessOrEqual("amount", FinancialValues.of(bound));
+                case 2 -> Condition.greaterThan("amount", FinancialValues.of(bound))
+                        .and(Condition.equalTo("channel", "app"));
+                case 3 -> Condition.greaterOrEqual("amount", FinancialValues.of(bound))
+                        .and(Condition.lessThan("amount", FinancialValues.of(bound + 100)))
+                        .and(Condition.notEqualTo("channel", "web"));
+                case 4 -> Condition.equalTo("channel", "c" + i % 3)
+                        .or(Condition.between("score", FinancialValues.of(bound), FinancialValues.of(bound + 10)).negate());
+                case 5 -> VIP.and(Condition.greaterThan("amount", FinancialValues.of(bound))).negate();
+                case 6 -> Condition.equalTo("tier", "t" + i % 4)
+                        .and(Condition.lessOrEqual("amount", FinancialValues.of(bound + 25)).or(VIP));
+                default -> Condition.lessThan("amount", FinancialValues.of(bound)).and(BOOM.negate());
+            };
+            rules.add(new TestRule("r" + i, condition, i % 5, List.of(Action.setVariable("last", "r" + i))));
+        }
+        return rules;
+    }
+
+    private record TestRule(String getId, Condition getCondition, int getPriority, List<Action> getActions)
+            implements Rule {
+
+        @Override
+        public String getName() {
+            return getId;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 jabbey and Nebula-Engine contributors
+ * Nebula-Engine: A lightweight, rule-driven automation engine designed for complex SaaS business logic.
+ *
+ * "Nebulae are silent, but destined to collapse into stars."
+ *
+ * Licensed under the Apache License, Version 2.0 (http://www.apache.org/licenses/LICENSE-2.0)
+ *
+ * Project: https://github.com/devhjb/nebula-engine
+ */
+package io.nebulalogic.core.runtime.types;
+
+
+import io.nebulalogic.core.model.types.FinancialValue;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author jabbey
+ * @BelongProject nebula-engine
+ * @BelongPackage io.nebulalogic.core.runtime.types
+ * @ClassName ScaledFinancialValueTest.java
+ * @Description 类 ScaledFinancialValueTest 的实现描述：紧凑形态与 BigDecimal 膨胀形态之间的边界
+ * @Date 2026年10月17日 11:05
+ * @Version 1.0.0
+ */
+class ScaledFinancialValueTest {
+
+    @Test
+    void addOverflowFallsBackToBigDecimal() {
+        ScaledFinancialValue max = ScaledFinancialValue.of(Long.MAX_VALUE, 0);
+        ScaledFinancialValue sum = max.add(ScaledFinancialValue.of(1, 0));
+        assertFalse(sum.isCompact());
+        assertEquals(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE), sum.decimalValue());
+    }
+
+    @Test
+    void subtractOverflowFallsBackToBigDecimal() {
+        ScaledFinancialValue min = ScaledFinancialValue.of(Long.MIN_VALUE, 0);
+        ScaledFinancialValue difference = min.subtract(ScaledFinancialValue.of(1, 0));
+        assertFalse(difference.isCompact());
+        assertEquals(BigDecimal.valueOf(Long.MIN_VALUE).subtract(BigDecimal.ONE), difference.decimalValue());
+
+        ScaledFinancialValue negated = ScaledFinancialValue.of(0, 0).subtract(min);
+        assertFalse(negated.isCompact());
+        assertEquals(BigDecimal.valueOf(Long.MIN_VALUE).negate(), negated.decimalValue());
+    }
+
+    @Test
+    void rescaleOverflowFallsBackToBigDecimal() {
+        // 对齐标度时 Long.MAX_VALUE × 10^2 溢出
+        ScaledFinancialValue sum = ScaledFinancialValue.of(Long.MAX_VALUE, 0).add(ScaledFinancialValue.of(1, 2));
+        assertFalse(sum.isCompact());
+        assertEquals(new BigDecimal(Long.MAX_VALUE + "00").add(BigDecimal.ONE).movePointLeft(2), sum.decimalValue());
+    }
+
+    @Test
+    void sumWithinRangeStaysCompact() {
+        ScaledFinancialValue sum = ScaledFinancialValue.of(50_000, 2).add(ScaledFinancialValue.of(15, 1));
+        assertTrue(sum.isCompact());
+        assertEquals(2, sum.scale());
+        assertEquals(50_150, sum.unscaledValue());
+    }
+
+    @Test
+    void multiplyOverflowFallsBackToBigDecimal() {
+        ScaledFinancialValue product = ScaledFinancialValue.of(1_500, 2).multiply(ScaledFinancialValue.of(-3, 1));
+        assertTrue(product.isCompact());
+        assertEquals(new BigDecimal("-4.500"), product.decimalValue());
+
+        ScaledFinancialValue overflow = ScaledFinancialValue.of(Long.MAX_VALUE, 0).multiply(ScaledFinancialValue.of(2, 0));
+        assertFalse(overflow.isCompact());
+        assertEquals(BigDecimal.valueOf(Long.MAX_VALUE).multiply(BigDecimal.valueOf(2)), overflow.decimalValue());
+    }
+
+    @Test
+    void divideStaysCompactOnlyWhenExact() {
+        ScaledFinancialValue quarter = ScaledFinancialValue.of(10, 0).divide(ScaledFinancialValue.of(4, 0), MathContext.DECIMAL128);
+        assertTrue(quarter.isCompact());
+        assertEquals(0, quarter.compareTo(ScaledFinancialValue.of(25, 1)));
+
+        ScaledFinancialValue third = ScaledFinancialValue.of(10, 0).divide(ScaledFinancialValue.of(3, 0), MathContext.DECIMAL128);
+        assertEquals(BigDecimal.TEN.divide(BigDecimal.valueOf(3), MathContext.DECIMAL128), third.decimalValue());
+
+        ScaledFinancialValue negated = ScaledFinancialValue.of(Long.MIN_VALUE, 0).divide(ScaledFinancialValue.of(-1, 0), MathContext.DECIMAL128);
+        assertEquals(BigDecimal.valueOf(Long.MIN_VALUE).negate(), negated.decimalValue());
+    }
+
+    @Test
+    void wideValuesAreInflatedOnConstructionAndParse() {
+        BigDecimal wide = new BigDecimal("123456789012345678901234.5");
+        assertFalse(ScaledFinancialValue.of(wide).isCompact());
+        assertFalse(ScaledFinancialValue.parse("1234567890123456789.01").isCompact());
+        assertTrue(ScaledFinancialValue.parse(" -123456789012345678 ").isCompact());
+        assertEquals(wide, ScaledFinancialValue.parse(wide.toPlainString()).decimalValue());
+    }
+
+    @Test
+    void compareAcrossFormsAndScales() {
+        FinancialValue inflated = ScaledFinancialValue.of(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE));
+        FinancialValue compact = ScaledFinancialValue.of(Long.MAX_VALUE, 0);
+        assertTrue(compact.compareTo(inflated) < 0);
+        assertTrue(inflated.compareTo(compact) > 0);
+        // 放大溢出时绝对值较大的一方胜出
+        assertTrue(ScaledFinancialValue.of(Long.MAX_VALUE / 10, 0).compareTo(ScaledFinancialValue.of(1, 5)) > 0);
+        assertTrue(ScaledFinancialValue.of(-Long.MAX_VALUE / 10, 0).compareTo(ScaledFinancialValue.of(-1, 5)) < 0);
+        assertEquals(0, ScaledFinancialValue.of(100, 2).compareTo(ScaledFinancialValue.of(1, 0)));
+    }
+
+    @Test
+    void equalValuesHashAlikeInBothForms() {
+        BigDecimal value = new BigDecimal("500.00");
+        ScaledFinancialValue compact = ScaledFinancialValue.of(value);
+        // 尾零使非标度值超出 long，同一数值落入膨胀形态
+        ScaledFinancialValue inflated = ScaledFinancialValue.of(new BigDecimal("500.000000000000000000000"));
+        assertTrue(compact.isCompact());
+        assertFalse(inflated.isCompact());
+        assertEquals(compact, inflated);
+        assertEquals(compact.hashCode(), inflated.hashCode());
+        assertEquals(ScaledFinancialValue.of(5, 0).hashCode(), ScaledFinancialValue.of(500, 2).hashCode());
+    }
+}